@@ -1,6 +1,7 @@
 package com.nexus.core;
 
 import com.nexus.auth.NexusAuth;
+import com.nexus.core.cache.CacheManager;
 import com.nexus.core.commands.*;
 import com.nexus.core.listeners.*;
 import com.nexus.core.utils.ConfigManager;
@@ -24,6 +25,7 @@ import com.nexus.ranks.RankCommand;
 import com.nexus.stats.StatsManager;
 import com.nexus.stats.ScoreboardManager;
 import com.nexus.stats.TabListManager;
+import com.nexus.stats.DisplayUpdater;
 import com.nexus.stats.StatsCommand;
 import com.nexus.warp.WarpManager;
 import com.nexus.warp.WarpCommand;
@@ -31,6 +33,10 @@ import com.nexus.staff.StaffCommand;
 import com.nexus.guilds.GuildManager;
 import com.nexus.guilds.GuildCommand;
 import com.nexus.guilds.listeners.GuildListener;
+import com.nexus.network.GlobalLeaderboards;
+import com.nexus.network.LoopbackMessageBus;
+import com.nexus.network.MessageBus;
+import com.nexus.network.PluginMessageBus;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -49,6 +55,7 @@ public class NexusCore extends JavaPlugin {
     private Logger logger;
     private ConfigManager configManager;
     private DatabaseManager databaseManager;
+    private CacheManager cacheManager;
     private EconomyManager economyManager;
     private HubManager hubManager;
     private SkyBlockManager skyBlockManager;
@@ -74,6 +81,7 @@ public class NexusCore extends JavaPlugin {
     private StatsManager statsManager;
     private ScoreboardManager scoreboardManager;
     private TabListManager tabListManager;
+    private DisplayUpdater displayUpdater;
 
     // Warp System
     private WarpManager warpManager;
@@ -81,6 +89,12 @@ public class NexusCore extends JavaPlugin {
     // Guild System
     private GuildManager guildManager;
 
+    // Network
+    private GlobalLeaderboards globalLeaderboards;
+
+    // Staff System
+    private StaffCommand staffCommand;
+
     // Server metrics and stats
     private int playerCount = 0;
     private long serverStartTime;
@@ -123,6 +137,10 @@ public class NexusCore extends JavaPlugin {
             return;
         }
 
+        // Player data caches are registered by the managers below
+        cacheManager = new CacheManager(this);
+        cacheManager.start();
+
         // Initialize economy
         initializeEconomy();
 
@@ -158,6 +176,9 @@ public class NexusCore extends JavaPlugin {
         // Initialize Guild system
         initializeGuildSystem();
 
+        // Initialize cross-server features
+        initializeNetwork();
+
         // Register commands
         registerCommands();
 
@@ -240,13 +261,17 @@ public class NexusCore extends JavaPlugin {
 
         // Scoreboard system
         scoreboardManager = new ScoreboardManager(this);
-        scoreboardManager.startAutoUpdateTask();
         logger.info("ScoreboardManager initialized");
 
         // Tab list system
         tabListManager = new TabListManager(this);
-        tabListManager.startAutoUpdateTask();
         logger.info("TabListManager initialized");
+
+        // Both are refreshed when what they show changes
+        displayUpdater = new DisplayUpdater(this);
+        displayUpdater.addTarget(scoreboardManager);
+        displayUpdater.addTarget(tabListManager);
+        displayUpdater.start();
     }
 
     /**
@@ -269,10 +294,36 @@ public class NexusCore extends JavaPlugin {
         logger.info("GuildManager initialized");
     }
 
+    /**
+     * Initialize network-wide leaderboards, if enabled
+     */
+    private void initializeNetwork() {
+        if (!configManager.getBoolean("network.leaderboards.enabled", false)) {
+            return;
+        }
+
+        String serverId = configManager.getString("network.server-id", "");
+        if (serverId.isEmpty()) {
+            serverId = Bukkit.getServerName() + ":" + Bukkit.getPort();
+        }
+        MessageBus bus = configManager.getString("network.leaderboards.bus", "plugin-message").equalsIgnoreCase("loopback")
+            ? new LoopbackMessageBus()
+            : new PluginMessageBus(this);
+
+        globalLeaderboards = new GlobalLeaderboards(this, bus, serverId);
+        statsManager.registerGlobalLeaderboards(globalLeaderboards);
+        guildManager.registerGlobalLeaderboards(globalLeaderboards);
+        globalLeaderboards.start();
+        logger.info("Global leaderboards initialized as " + serverId);
+    }
+
     @Override
     public void onDisable() {
         logger.info("Disabling NexusCore...");
 
+        // Stop publishing before the boards behind it shut down
+        if (globalLeaderboards != null) globalLeaderboards.shutdown();
+
         // Shutdown SkyBlock managers
         if (treasureManager != null) treasureManager.shutdown();
         if (hotmManager != null) {} // HotM doesn't have shutdown
@@ -288,6 +339,7 @@ public class NexusCore extends JavaPlugin {
 
         // Shutdown Stats system
         if (statsManager != null) statsManager.shutdown();
+        if (displayUpdater != null) displayUpdater.shutdown();
         if (scoreboardManager != null) scoreboardManager.shutdown();
         if (tabListManager != null) tabListManager.shutdown();
 
@@ -297,15 +349,19 @@ public class NexusCore extends JavaPlugin {
         // Shutdown Guild system
         if (guildManager != null) guildManager.shutdown();
 
-        // Save all data
+        // Write back anything the managers left dirty
+        if (cacheManager != null) cacheManager.shutdown();
+
+        // Save all data, then drain queued writes before closing
         if (databaseManager != null) {
             databaseManager.saveAllData();
+            databaseManager.shutdownWriteQueue();
             databaseManager.closeConnection();
         }
 
-        // Save economy data
+        // Snapshot balances and close the economy journal
         if (economyManager != null) {
-            economyManager.saveEconomyData();
+            economyManager.shutdown();
         }
 
         // Unload worlds
@@ -397,7 +453,8 @@ public class NexusCore extends JavaPlugin {
         getCommand("stats").setExecutor(new StatsCommand(this));
 
         // Staff commands
-        getCommand("staff").setExecutor(new StaffCommand(this));
+        staffCommand = new StaffCommand(this);
+        getCommand("staff").setExecutor(staffCommand);
 
         // Guild commands
         getCommand("guild").setExecutor(new GuildCommand(this));
@@ -412,6 +469,7 @@ public class NexusCore extends JavaPlugin {
         PluginManager pm = Bukkit.getPluginManager();
 
         // Core listeners
+        pm.registerEvents(new PlayerProfileListener(this), this);
         pm.registerEvents(new PlayerJoinListener(this), this);
         pm.registerEvents(new PlayerQuitListener(this), this);
         pm.registerEvents(new PlayerInteractListener(this), this);
@@ -453,9 +511,6 @@ public class NexusCore extends JavaPlugin {
             if (databaseManager != null) {
                 databaseManager.saveAllData();
             }
-            if (economyManager != null) {
-                economyManager.saveEconomyData();
-            }
         }, 6000L, 6000L);
 
         // Update player count (every 30 seconds)
@@ -498,6 +553,14 @@ public class NexusCore extends JavaPlugin {
         return databaseManager;
     }
 
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    public StaffCommand getStaffCommand() {
+        return staffCommand;
+    }
+
     public EconomyManager getEconomyManager() {
         return economyManager;
     }
@@ -567,6 +630,10 @@ public class NexusCore extends JavaPlugin {
         return tabListManager;
     }
 
+    public DisplayUpdater getDisplayUpdater() {
+        return displayUpdater;
+    }
+
     public WarpManager getWarpManager() {
         return warpManager;
     }
@@ -575,6 +642,13 @@ public class NexusCore extends JavaPlugin {
         return guildManager;
     }
 
+    /**
+     * Get the network-wide leaderboards, or null if disabled
+     */
+    public GlobalLeaderboards getGlobalLeaderboards() {
+        return globalLeaderboards;
+    }
+
     public int getPlayerCount() {
         return playerCount;
     }
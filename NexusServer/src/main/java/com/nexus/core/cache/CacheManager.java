@@ -0,0 +1,89 @@
+package com.nexus.core.cache;
+
+import com.nexus.core.NexusCore;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Owns every player data cache and runs their eviction sweep.
+ * Online players are always pinned; offline players are evicted once idle
+ * past cache.idle-minutes or when a cache grows past cache.max-size.
+ */
+public class CacheManager {
+
+    private final NexusCore plugin;
+    private final List<PlayerDataCache<?>> caches;
+    private final long idleMillis;
+    private final int maxSize;
+    private BukkitTask sweepTask;
+
+    public CacheManager(NexusCore plugin) {
+        this.plugin = plugin;
+        this.caches = new ArrayList<>();
+        this.idleMillis = plugin.getConfigManager().getLong("cache.idle-minutes", 30) * 60000L;
+        this.maxSize = plugin.getConfigManager().getInt("cache.max-size", 5000);
+    }
+
+    /**
+     * Create and register a cache with the configured bounds
+     * @param writer persists dirty values on eviction, or null for memory-only data, which is never evicted
+     */
+    public <V> PlayerDataCache<V> createCache(String name, Function<UUID, V> loader, BiConsumer<UUID, V> writer) {
+        PlayerDataCache<V> cache = new PlayerDataCache<>(name, loader, writer, idleMillis, maxSize);
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Start the periodic eviction sweep
+     */
+    public void start() {
+        long interval = plugin.getConfigManager().getLong("cache.sweep-interval-seconds", 60) * 20L;
+        // Runs on the main thread: pin checks use Bukkit.getPlayer and write-backs read live objects
+        sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, interval, interval);
+    }
+
+    /**
+     * Evict idle offline players from every cache
+     */
+    public void sweep() {
+        for (PlayerDataCache<?> cache : caches) {
+            try {
+                cache.evict(playerId -> Bukkit.getPlayer(playerId) != null);
+            } catch (Exception e) {
+                plugin.getNexusLogger().log(Level.WARNING, "Cache sweep failed for " + cache.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Write back every dirty entry in every cache
+     */
+    public void flushAll() {
+        for (PlayerDataCache<?> cache : caches) {
+            cache.flushDirty();
+        }
+    }
+
+    /**
+     * Stop sweeping and write back dirty entries
+     */
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+        }
+        flushAll();
+    }
+
+    public List<PlayerDataCache<?>> getCaches() {
+        return Collections.unmodifiableList(caches);
+    }
+}
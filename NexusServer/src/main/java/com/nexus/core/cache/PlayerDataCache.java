@@ -0,0 +1,305 @@
+package com.nexus.core.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded per-player data cache.
+ * Entries carry a dirty flag and a last-access time. Offline players are evicted
+ * once idle for too long or when the cache exceeds its size bound (least recently
+ * used first); dirty entries are written back before they are dropped.
+ * Caches without a writer hold memory-only data that has nowhere to go, so their
+ * entries are never evicted; dropping one would let the loader hand back defaults.
+ */
+public class PlayerDataCache<V> {
+
+    private final String name;
+    private final Function<UUID, V> loader;
+    private final BiConsumer<UUID, V> writer;
+    private final long idleMillis;
+    private final int maxSize;
+    private final Map<UUID, Entry<V>> entries;
+    private volatile BiConsumer<UUID, V> evictionListener;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong writeBacks = new AtomicLong();
+
+    /**
+     * @param loader creates the value for a player on a miss
+     * @param writer persists a dirty value, or null for memory-only data, which is never evicted
+     */
+    public PlayerDataCache(String name, Function<UUID, V> loader, BiConsumer<UUID, V> writer,
+                           long idleMillis, int maxSize) {
+        this.name = name;
+        this.loader = loader;
+        this.writer = writer;
+        this.idleMillis = idleMillis;
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Be told about every player dropped by the sweep or {@link #remove}, after any write-back
+     */
+    public void setEvictionListener(BiConsumer<UUID, V> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Get a cached value, loading it on a miss
+     */
+    public V get(UUID playerId) {
+        Entry<V> entry = entries.get(playerId);
+        if (entry != null) {
+            hits.incrementAndGet();
+            entry.touch();
+            return entry.value;
+        }
+
+        misses.incrementAndGet();
+        return entries.computeIfAbsent(playerId, k -> new Entry<>(loader.apply(k))).value;
+    }
+
+    /**
+     * Get a cached value without loading
+     * @return the value, or null if not cached
+     */
+    public V getIfPresent(UUID playerId) {
+        Entry<V> entry = entries.get(playerId);
+        if (entry == null) {
+            return null;
+        }
+        entry.touch();
+        return entry.value;
+    }
+
+    /**
+     * Check if a player is cached
+     */
+    public boolean contains(UUID playerId) {
+        return entries.containsKey(playerId);
+    }
+
+    /**
+     * Insert or replace a value
+     */
+    public void put(UUID playerId, V value) {
+        entries.put(playerId, new Entry<>(value));
+    }
+
+    /**
+     * Insert a value unless one is already cached
+     */
+    public void putIfAbsent(UUID playerId, V value) {
+        entries.putIfAbsent(playerId, new Entry<>(value));
+    }
+
+    /**
+     * Flag a player's value as changed since it was last written
+     */
+    public void markDirty(UUID playerId) {
+        Entry<V> entry = entries.get(playerId);
+        if (entry != null) {
+            entry.dirty = true;
+            entry.touch();
+        }
+    }
+
+    /**
+     * Flag a player's value as written
+     */
+    public void markClean(UUID playerId) {
+        Entry<V> entry = entries.get(playerId);
+        if (entry != null) {
+            entry.dirty = false;
+        }
+    }
+
+    /**
+     * Remove a player, writing the value back first if it is dirty
+     */
+    public V remove(UUID playerId) {
+        Entry<V> entry = entries.remove(playerId);
+        if (entry == null) {
+            return null;
+        }
+        writeBack(playerId, entry);
+        notifyEvicted(playerId, entry);
+        return entry.value;
+    }
+
+    /**
+     * Get a snapshot of every cached player id
+     */
+    public Set<UUID> keySet() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Get a snapshot of every cached value, without touching access times
+     */
+    public Map<UUID, V> snapshot() {
+        Map<UUID, V> copy = new HashMap<>(entries.size());
+        entries.forEach((id, entry) -> copy.put(id, entry.value));
+        return copy;
+    }
+
+    /**
+     * Write back every dirty entry
+     * @return number of entries written
+     */
+    public int flushDirty() {
+        int written = 0;
+        for (Map.Entry<UUID, Entry<V>> e : entries.entrySet()) {
+            if (writeBack(e.getKey(), e.getValue())) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Evict idle entries and trim the cache to its size bound
+     * @param pinned players that must stay cached (online players)
+     * @return number of entries evicted
+     */
+    public int evict(Predicate<UUID> pinned) {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        List<Map.Entry<UUID, Entry<V>>> candidates = new ArrayList<>();
+
+        for (Map.Entry<UUID, Entry<V>> e : entries.entrySet()) {
+            if (pinned.test(e.getKey()) || !isEvictable(e.getValue())) {
+                continue;
+            }
+            if (idleMillis > 0 && now - e.getValue().lastAccess > idleMillis) {
+                if (evict(e.getKey(), e.getValue())) {
+                    evicted++;
+                }
+            } else {
+                candidates.add(e);
+            }
+        }
+
+        // Least recently used first until back under the bound
+        if (maxSize > 0 && entries.size() > maxSize) {
+            candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<UUID, Entry<V>> e : candidates) {
+                if (entries.size() <= maxSize) {
+                    break;
+                }
+                if (evict(e.getKey(), e.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+
+        return evicted;
+    }
+
+    /**
+     * Drop every entry after writing back dirty ones
+     */
+    public void clear() {
+        flushDirty();
+        entries.clear();
+    }
+
+    private boolean isEvictable(Entry<V> entry) {
+        return writer != null;
+    }
+
+    private boolean evict(UUID playerId, Entry<V> entry) {
+        writeBack(playerId, entry);
+        // Only drop the exact entry we wrote; a concurrent put wins
+        if (entries.remove(playerId, entry)) {
+            evictions.incrementAndGet();
+            notifyEvicted(playerId, entry);
+            return true;
+        }
+        return false;
+    }
+
+    private void notifyEvicted(UUID playerId, Entry<V> entry) {
+        BiConsumer<UUID, V> listener = evictionListener;
+        if (listener != null) {
+            listener.accept(playerId, entry.value);
+        }
+    }
+
+    private boolean writeBack(UUID playerId, Entry<V> entry) {
+        if (!entry.dirty || writer == null) {
+            return false;
+        }
+        entry.dirty = false;
+        writer.accept(playerId, entry.value);
+        writeBacks.incrementAndGet();
+        return true;
+    }
+
+    // Metrics getters
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getDirtyCount() {
+        return entries.values().stream().filter(entry -> entry.dirty).count();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getWriteBackCount() {
+        return writeBacks.get();
+    }
+
+    /**
+     * Cached value plus its bookkeeping
+     */
+    private static class Entry<V> {
+        private final V value;
+        private volatile long lastAccess;
+        private volatile boolean dirty;
+
+        Entry(V value) {
+            this.value = value;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
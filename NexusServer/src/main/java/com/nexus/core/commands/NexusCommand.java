@@ -1,6 +1,13 @@
 package com.nexus.core.commands;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.cache.CacheManager;
+import com.nexus.core.cache.PlayerDataCache;
+import com.nexus.database.ConnectionPool;
+import com.nexus.database.StorageBackend;
+import com.nexus.database.WriteBehindQueue;
+import com.nexus.economy.EconomyAggregates;
+import com.nexus.economy.EconomyManager;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -11,6 +18,9 @@ import org.bukkit.entity.Player;
 import java.lang.management.ManagementPermission;
 import java.lang.management.RuntimeMXBean;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
 
 /**
  * Main administrative command for NexusBlock Network
@@ -45,6 +55,14 @@ public class NexusCommand implements CommandExecutor {
                 return handleVersion(sender);
             case "broadcast":
                 return handleBroadcast(sender, args);
+            case "database":
+            case "db":
+                return handleDatabase(sender);
+            case "cache":
+                return handleCache(sender);
+            case "economy":
+            case "eco":
+                return handleEconomy(sender, args);
             case "help":
             default:
                 sendHelp(sender);
@@ -61,6 +79,9 @@ public class NexusCommand implements CommandExecutor {
         sender.sendMessage(ChatColor.YELLOW + "/nexus broadcast <msg>" + ChatColor.GRAY + " - Broadcast message");
         if (sender.hasPermission("nexus.admin")) {
             sender.sendMessage(ChatColor.RED + "/nexus reload" + ChatColor.GRAY + " - Reload configuration");
+            sender.sendMessage(ChatColor.RED + "/nexus database" + ChatColor.GRAY + " - Database write queue status");
+            sender.sendMessage(ChatColor.RED + "/nexus cache" + ChatColor.GRAY + " - Player data cache status");
+            sender.sendMessage(ChatColor.RED + "/nexus economy [currency]" + ChatColor.GRAY + " - Money supply and flows");
         }
         sender.sendMessage(ChatColor.GOLD + "==============================");
     }
@@ -159,6 +180,133 @@ public class NexusCommand implements CommandExecutor {
         return true;
     }
 
+    private boolean handleDatabase(CommandSender sender) {
+        if (!sender.hasPermission("nexus.admin")) {
+            sender.sendMessage(ChatColor.RED + "No permission!");
+            return true;
+        }
+
+        WriteBehindQueue queue = NexusCore.getInstance().getDatabaseManager().getWriteQueue();
+        if (queue == null) {
+            sender.sendMessage(ChatColor.RED + "Database is not initialized!");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "=== " + ChatColor.AQUA + "Database Write Queue" + ChatColor.GOLD + " ===");
+        sender.sendMessage(ChatColor.YELLOW + "Pending: " + ChatColor.WHITE + queue.getPendingCount() + "/" + queue.getCapacity()
+                + ChatColor.GRAY + " (peak " + queue.getHighWaterMark() + ")");
+        sender.sendMessage(ChatColor.YELLOW + "Enqueued: " + ChatColor.WHITE + queue.getEnqueuedCount()
+                + ChatColor.GRAY + " | Coalesced: " + ChatColor.WHITE + queue.getCoalescedCount());
+        sender.sendMessage(ChatColor.YELLOW + "Written: " + ChatColor.WHITE + queue.getWrittenCount()
+                + ChatColor.GRAY + " in " + queue.getBatchCount() + " batches (last " + queue.getLastFlushMillis() + "ms)");
+        sender.sendMessage(ChatColor.YELLOW + "Backpressure stalls: " + ChatColor.WHITE + queue.getBackpressureStalls()
+                + ChatColor.GRAY + " | Inline writes: " + ChatColor.WHITE + queue.getCallerRunsCount());
+        sender.sendMessage(ChatColor.YELLOW + "Failed: " + ChatColor.RED + queue.getFailedCount());
+
+        StorageBackend backend = NexusCore.getInstance().getDatabaseManager().getBackend();
+        sendPoolStatus(sender, backend.getPool());
+        if (backend.getReadPool() != backend.getPool()) {
+            sendPoolStatus(sender, backend.getReadPool());
+        }
+        sender.sendMessage(ChatColor.GOLD + "==============================");
+        return true;
+    }
+
+    private void sendPoolStatus(CommandSender sender, ConnectionPool pool) {
+        sender.sendMessage(ChatColor.GOLD + "=== " + ChatColor.AQUA + "Connection Pool (" + pool.getName() + ")" + ChatColor.GOLD + " ===");
+        sender.sendMessage(ChatColor.YELLOW + "Active: " + ChatColor.WHITE + pool.getActiveCount() + "/" + pool.getMaxSize()
+                + ChatColor.GRAY + " | Idle: " + ChatColor.WHITE + pool.getIdleCount()
+                + ChatColor.GRAY + " | Waiting: " + ChatColor.WHITE + pool.getWaitingCount());
+        sender.sendMessage(ChatColor.YELLOW + "Created: " + ChatColor.WHITE + pool.getCreatedCount()
+                + ChatColor.GRAY + " | Evicted: " + ChatColor.WHITE + pool.getEvictedCount());
+        sender.sendMessage(ChatColor.YELLOW + "Timeouts: " + ChatColor.RED + pool.getTimeoutCount()
+                + ChatColor.GRAY + " | Leaks: " + ChatColor.RED + pool.getLeakCount());
+        if (pool.getStatementCacheSize() > 0) {
+            sender.sendMessage(ChatColor.YELLOW + "Statement cache: " + ChatColor.WHITE + pool.getStatementHitCount() + " hits"
+                    + ChatColor.GRAY + " / " + ChatColor.WHITE + pool.getStatementMissCount() + " prepares");
+        }
+    }
+
+    private boolean handleCache(CommandSender sender) {
+        if (!sender.hasPermission("nexus.admin")) {
+            sender.sendMessage(ChatColor.RED + "No permission!");
+            return true;
+        }
+
+        CacheManager cacheManager = NexusCore.getInstance().getCacheManager();
+        if (cacheManager == null) {
+            sender.sendMessage(ChatColor.RED + "Caches are not initialized!");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "=== " + ChatColor.AQUA + "Player Data Caches" + ChatColor.GOLD + " ===");
+        for (PlayerDataCache<?> cache : cacheManager.getCaches()) {
+            long lookups = cache.getHitCount() + cache.getMissCount();
+            double hitRate = lookups == 0 ? 0 : cache.getHitCount() * 100.0 / lookups;
+            sender.sendMessage(ChatColor.YELLOW + cache.getName() + ": " + ChatColor.WHITE + cache.getSize() + "/" + cache.getMaxSize()
+                    + ChatColor.GRAY + " (" + cache.getDirtyCount() + " dirty)"
+                    + ChatColor.GRAY + " | Hit rate: " + ChatColor.WHITE + String.format("%.1f%%", hitRate));
+            sender.sendMessage(ChatColor.GRAY + "  Hits: " + ChatColor.WHITE + cache.getHitCount()
+                    + ChatColor.GRAY + " | Misses: " + ChatColor.WHITE + cache.getMissCount()
+                    + ChatColor.GRAY + " | Evictions: " + ChatColor.WHITE + cache.getEvictionCount()
+                    + ChatColor.GRAY + " | Write-backs: " + ChatColor.WHITE + cache.getWriteBackCount());
+        }
+        sender.sendMessage(ChatColor.GOLD + "==============================");
+        return true;
+    }
+
+    private boolean handleEconomy(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("nexus.admin")) {
+            sender.sendMessage(ChatColor.RED + "No permission!");
+            return true;
+        }
+
+        EconomyManager economyManager = NexusCore.getInstance().getEconomyManager();
+        if (economyManager == null) {
+            sender.sendMessage(ChatColor.RED + "Economy is not initialized!");
+            return true;
+        }
+
+        String currency = args.length > 1 ? args[1].toLowerCase() : EconomyManager.CURRENCY_COINS;
+        if (!economyManager.getLedger().getCurrencies().contains(currency)) {
+            sender.sendMessage(ChatColor.RED + "Unknown currency! Known: " + String.join(", ", economyManager.getLedger().getCurrencies()));
+            return true;
+        }
+
+        EconomyAggregates.Metrics metrics = economyManager.getMetrics(currency);
+        sender.sendMessage(ChatColor.GOLD + "=== " + ChatColor.AQUA + "Economy (" + currency + ")" + ChatColor.GOLD + " ===");
+        if (EconomyManager.CURRENCY_COINS.equals(currency) && economyManager.isVaultActive()) {
+            sender.sendMessage(ChatColor.GRAY + "Coins are held by an external Vault economy; only internal data is shown");
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Supply: " + ChatColor.WHITE + metrics.getSupply()
+                + ChatColor.GRAY + " across " + ChatColor.WHITE + metrics.getAccounts() + ChatColor.GRAY + " accounts");
+
+        sender.sendMessage(ChatColor.YELLOW + "Richest:");
+        int rank = 1;
+        for (Map.Entry<UUID, Long> entry : metrics.getTop()) {
+            String name = Bukkit.getOfflinePlayer(entry.getKey()).getName();
+            sender.sendMessage(ChatColor.GRAY + "  " + rank++ + ". " + ChatColor.WHITE + (name != null ? name : entry.getKey())
+                    + ChatColor.GRAY + " - " + ChatColor.GOLD + entry.getValue());
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Balances:");
+        long[] histogram = metrics.getHistogram();
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            if (histogram[bucket] > 0) {
+                String range = bucket == 0 ? "0" : EconomyAggregates.bucketFloor(bucket) + "+";
+                sender.sendMessage(ChatColor.GRAY + "  " + range + ": " + ChatColor.WHITE + histogram[bucket]);
+            }
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Flows since startup (in / out):");
+        for (Map.Entry<String, long[]> flow : new TreeMap<>(metrics.getFlows()).entrySet()) {
+            sender.sendMessage(ChatColor.GRAY + "  " + flow.getKey() + ": " + ChatColor.GREEN + "+" + flow.getValue()[0]
+                    + ChatColor.GRAY + " / " + ChatColor.RED + "-" + flow.getValue()[1]);
+        }
+        sender.sendMessage(ChatColor.GOLD + "==============================");
+        return true;
+    }
+
     private boolean handleVersion(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== " + ChatColor.AQUA + "Version Info" + ChatColor.GOLD + " ===");
         sender.sendMessage(ChatColor.YELLOW + "NexusCore: " + ChatColor.WHITE + "v1.0.0");
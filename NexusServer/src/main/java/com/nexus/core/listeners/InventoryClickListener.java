@@ -1,12 +1,14 @@
 package com.nexus.core.listeners;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.utils.GUIUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
@@ -29,6 +31,12 @@ public class InventoryClickListener implements Listener {
 
         Player player = (Player) event.getWhoClicked();
 
+        // Leaderboard menus are read-only everywhere
+        if (event.getInventory().getHolder() instanceof GUIUtils.LeaderboardMenuHolder) {
+            event.setCancelled(true);
+            return;
+        }
+
         // Only apply restrictions in hub
         if (!plugin.getHubManager().isInHub(player)) {
             return;
@@ -62,6 +70,14 @@ public class InventoryClickListener implements Listener {
         }
     }
 
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        // Dragging is a separate event from clicking; items must not be spread into the menu either
+        if (event.getInventory().getHolder() instanceof GUIUtils.LeaderboardMenuHolder) {
+            event.setCancelled(true);
+        }
+    }
+
     /**
      * Check if item is a hub item
      */
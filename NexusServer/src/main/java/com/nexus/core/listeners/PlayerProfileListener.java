@@ -0,0 +1,87 @@
+package com.nexus.core.listeners;
+
+import com.nexus.core.NexusCore;
+import com.nexus.database.PlayerProfile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Preloads player profiles off the main thread at pre-login and hands them
+ * to the managers at login, before PlayerJoinEvent fires.
+ */
+public class PlayerProfileListener implements Listener {
+
+    // Profiles not claimed by a login within this window are dropped
+    private static final long PENDING_EXPIRY_MILLIS = 60000;
+
+    private final NexusCore plugin;
+    private final Map<UUID, PlayerProfile> pendingProfiles;
+
+    public PlayerProfileListener(NexusCore plugin) {
+        this.plugin = plugin;
+        this.pendingProfiles = new ConcurrentHashMap<>();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        pendingProfiles.values().removeIf(profile -> now - profile.getLoadedAt() > PENDING_EXPIRY_MILLIS);
+
+        PlayerProfile profile = plugin.getDatabaseManager().loadPlayerProfile(event.getUniqueId(), event.getName());
+        if (profile != null) {
+            pendingProfiles.put(event.getUniqueId(), profile);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        PlayerProfile profile = pendingProfiles.remove(event.getPlayer().getUniqueId());
+        if (profile == null || event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            // Without a profile the managers fall back to loading on demand
+            return;
+        }
+
+        applyProfile(profile);
+    }
+
+    /**
+     * Hand a preloaded profile to every manager that owns part of it
+     */
+    private void applyProfile(PlayerProfile profile) {
+        UUID playerId = profile.getPlayerId();
+
+        if (plugin.getStatsManager() != null) {
+            plugin.getStatsManager().loadPlayer(playerId, profile.getPlayerName(), profile.getStatsColumns(),
+                profile.getStatDays());
+        }
+
+        if (plugin.getRankManager() != null) {
+            plugin.getRankManager().loadPlayerRank(playerId, profile.getRankId());
+        }
+
+        if (plugin.getSkillsManager() != null) {
+            if (profile.getSkills() == null) {
+                plugin.getSkillsManager().initializePlayer(playerId);
+            } else {
+                plugin.getSkillsManager().loadPlayerSkills(playerId, profile.getSkills());
+            }
+        }
+
+        if (plugin.getStaffCommand() != null && profile.getMute() != null) {
+            plugin.getStaffCommand().loadMute(playerId, profile.getMute());
+        }
+
+        // Guild membership is held in memory by GuildManager from startup
+    }
+}
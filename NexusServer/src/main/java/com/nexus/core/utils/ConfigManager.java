@@ -119,6 +119,27 @@ public class ConfigManager {
         if (!config.contains("economy.starting-gems")) {
             config.set("economy.starting-gems", 0);
         }
+        if (!config.contains("economy.ledger-stripes")) {
+            config.set("economy.ledger-stripes", 64);
+        }
+        if (!config.contains("economy.top-size")) {
+            config.set("economy.top-size", 10);
+        }
+        if (!config.contains("economy.vault.balance-cache-ms")) {
+            config.set("economy.vault.balance-cache-ms", 3000);
+        }
+        if (!config.contains("economy.journal.buffer-kb")) {
+            config.set("economy.journal.buffer-kb", 64);
+        }
+        if (!config.contains("economy.journal.flush-interval-ms")) {
+            config.set("economy.journal.flush-interval-ms", 1000);
+        }
+        if (!config.contains("economy.journal.fsync")) {
+            config.set("economy.journal.fsync", true);
+        }
+        if (!config.contains("economy.journal.compact-interval-minutes")) {
+            config.set("economy.journal.compact-interval-minutes", 5);
+        }
 
         // Chat
         if (!config.contains("chat.enabled")) {
@@ -136,6 +157,97 @@ public class ConfigManager {
             config.set("skyblock.default-island-size", 100);
         }
 
+        // Database write-behind queue
+        if (!config.contains("database.pool.max-size")) {
+            config.set("database.pool.max-size", 10);
+        }
+        if (!config.contains("database.pool.connection-timeout-ms")) {
+            config.set("database.pool.connection-timeout-ms", 5000);
+        }
+        if (!config.contains("database.sqlite.pool-size")) {
+            config.set("database.sqlite.pool-size", 2);
+        }
+        if (!config.contains("database.sqlite.read-pool-size")) {
+            config.set("database.sqlite.read-pool-size", 4);
+        }
+        if (!config.contains("database.sqlite.journal-mode")) {
+            config.set("database.sqlite.journal-mode", "WAL");
+        }
+        if (!config.contains("database.sqlite.synchronous")) {
+            config.set("database.sqlite.synchronous", "NORMAL");
+        }
+        if (!config.contains("database.sqlite.cache-size-kb")) {
+            config.set("database.sqlite.cache-size-kb", 16384);
+        }
+        if (!config.contains("database.sqlite.mmap-size-mb")) {
+            config.set("database.sqlite.mmap-size-mb", 256);
+        }
+        if (!config.contains("database.sqlite.statement-cache-size")) {
+            config.set("database.sqlite.statement-cache-size", 64);
+        }
+        if (!config.contains("database.write-behind.queue-capacity")) {
+            config.set("database.write-behind.queue-capacity", 10000);
+        }
+        if (!config.contains("database.write-behind.batch-size")) {
+            config.set("database.write-behind.batch-size", 500);
+        }
+        if (!config.contains("database.write-behind.flush-interval-ms")) {
+            config.set("database.write-behind.flush-interval-ms", 250);
+        }
+        if (!config.contains("database.write-behind.offer-timeout-ms")) {
+            config.set("database.write-behind.offer-timeout-ms", 50);
+        }
+        if (!config.contains("database.write-behind.shutdown-timeout-ms")) {
+            config.set("database.write-behind.shutdown-timeout-ms", 30000);
+        }
+
+        // Player data caches
+        if (!config.contains("cache.idle-minutes")) {
+            config.set("cache.idle-minutes", 30);
+        }
+        if (!config.contains("cache.max-size")) {
+            config.set("cache.max-size", 5000);
+        }
+        if (!config.contains("cache.sweep-interval-seconds")) {
+            config.set("cache.sweep-interval-seconds", 60);
+        }
+
+        // Stats
+        if (!config.contains("stats.leaderboard-seed-size")) {
+            config.set("stats.leaderboard-seed-size", 100);
+        }
+        if (!config.contains("stats.max-staleness-ms")) {
+            config.set("stats.max-staleness-ms", 5000);
+        }
+        if (!config.contains("stats.windows.timezone")) {
+            config.set("stats.windows.timezone", "");
+        }
+        if (!config.contains("stats.snapshots.size")) {
+            config.set("stats.snapshots.size", 10);
+        }
+        if (!config.contains("stats.snapshots.refresh-ticks")) {
+            config.set("stats.snapshots.refresh-ticks", 40);
+        }
+
+        // Scoreboard and tab list refreshes
+        if (!config.contains("display.min-interval-ms")) {
+            config.set("display.min-interval-ms", 1000);
+        }
+        if (!config.contains("display.vault-balance-poll-seconds")) {
+            config.set("display.vault-balance-poll-seconds", 5);
+        }
+
+        // Minions
+        if (!config.contains("minions.scheduler.max-catch-up-ticks")) {
+            config.set("minions.scheduler.max-catch-up-ticks", 200);
+        }
+        if (!config.contains("minions.offline.max-hours")) {
+            config.set("minions.offline.max-hours", 12);
+        }
+        if (!config.contains("minions.save-interval-seconds")) {
+            config.set("minions.save-interval-seconds", 30);
+        }
+
         // Server info
         if (!config.contains("server.name")) {
             config.set("server.name", "NexusBlock Network");
@@ -143,6 +255,26 @@ public class ConfigManager {
         if (!config.contains("server.max-players")) {
             config.set("server.max-players", 100);
         }
+
+        // Network
+        if (!config.contains("network.server-id")) {
+            config.set("network.server-id", "");
+        }
+        if (!config.contains("network.leaderboards.enabled")) {
+            config.set("network.leaderboards.enabled", false);
+        }
+        if (!config.contains("network.leaderboards.bus")) {
+            config.set("network.leaderboards.bus", "plugin-message");
+        }
+        if (!config.contains("network.leaderboards.size")) {
+            config.set("network.leaderboards.size", 10);
+        }
+        if (!config.contains("network.leaderboards.publish-interval-seconds")) {
+            config.set("network.leaderboards.publish-interval-seconds", 10);
+        }
+        if (!config.contains("network.leaderboards.full-every")) {
+            config.set("network.leaderboards.full-every", 30);
+        }
     }
 
     /**
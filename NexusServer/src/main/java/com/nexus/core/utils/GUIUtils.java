@@ -1,10 +1,12 @@
 package com.nexus.core.utils;
 
+import com.nexus.stats.LeaderboardSnapshot;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
@@ -12,6 +14,7 @@ import org.bukkit.inventory.meta.SkullMeta;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -116,6 +119,40 @@ public class GUIUtils {
         player.openInventory(gui);
     }
 
+    /**
+     * Open a leaderboard menu from a pre-rendered snapshot
+     */
+    public static void openLeaderboardMenu(Player player, LeaderboardSnapshot snapshot) {
+        String title = "Top " + snapshot.getType().getCategory();
+        if (snapshot.getWindow() != null) {
+            title += " (" + snapshot.getWindow().getName() + ")";
+        }
+        List<ItemStack> items = snapshot.getMenuItems();
+        int size = Math.min(54, ((Math.max(9, items.size()) + 8) / 9) * 9);
+        LeaderboardMenuHolder holder = new LeaderboardMenuHolder();
+        Inventory gui = Bukkit.createInventory(holder, size, title);
+        holder.inventory = gui;
+
+        for (int i = 0; i < items.size() && i < gui.getSize(); i++) {
+            gui.setItem(i, items.get(i));
+        }
+        fillEmptySlots(gui, ChatColor.GRAY);
+
+        player.openInventory(gui);
+    }
+
+    /**
+     * Marks a leaderboard menu, which is read only; matched by holder rather than title
+     */
+    public static class LeaderboardMenuHolder implements InventoryHolder {
+        private Inventory inventory;
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+
     /**
      * Create a menu item with specified properties
      */
@@ -3,28 +3,234 @@ package com.nexus.core.utils;
 import org.bukkit.Bukkit;
 import org.bukkit.Server;
 import org.bukkit.entity.Entity;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * NMS utilities for version-independent operations
  * Handles packet sending, entity spawning, and other NMS operations
+ * Everything needed for tab lists, titles and action bars is resolved once, when the
+ * plugin loads, into cached {@link MethodHandle}s. Each feature uses the Bukkit API
+ * if this server has it and a packet otherwise; {@link #getCapabilities()} says which.
  */
 public class NMSUtils {
 
+    /**
+     * Client displays this class can send to
+     */
+    public enum Feature {
+        TAB_LIST, TITLE, ACTION_BAR
+    }
+
+    /**
+     * How a feature is sent on this server
+     */
+    public enum Backend {
+        BUKKIT, PACKET, NONE
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private final String version;
     private final int versionNumber;
+    private final Map<Feature, Backend> capabilities;
+
+    // Connection plumbing: CraftPlayer -> EntityPlayer -> PlayerConnection.sendPacket
+    private MethodHandle getHandle;
+    private MethodHandle getConnection;
+    private MethodHandle sendPacket;
+    private Function<String, Object> chatComponent;
+
+    // Bukkit API methods newer than the API this is built against
+    private MethodHandle bukkitHeaderFooter;
+    private MethodHandle bukkitTitle;
+    private MethodHandle bukkitActionBar;
+
+    // Packet constructors, typed (...)Object
+    private MethodHandle newHeaderFooterPacket;
+    private MethodHandle setHeader;
+    private MethodHandle setFooter;
+    private MethodHandle newTitlePacket;
+    private Object titleAction;
+    private Object subtitleAction;
+    private Object timesAction;
+    private MethodHandle newActionBarPacket;
 
     public NMSUtils() throws Exception {
         Server server = Bukkit.getServer();
         String packageName = server.getClass().getPackage().getName();
         this.version = packageName.substring(packageName.lastIndexOf('.') + 1);
         this.versionNumber = parseVersionNumber();
+        this.capabilities = new EnumMap<>(Feature.class);
+
+        resolveConnection();
+        capabilities.put(Feature.TAB_LIST, resolveTabList());
+        capabilities.put(Feature.TITLE, resolveTitle());
+        capabilities.put(Feature.ACTION_BAR, resolveActionBar());
+
+        Bukkit.getLogger().info("Detected server version: " + version + " " + capabilities);
+    }
+
+    /**
+     * Resolve the path from a player to their packet connection and the chat component factory
+     */
+    private void resolveConnection() {
+        try {
+            Class<?> craftPlayer = getCraftBukkitClass("entity.CraftPlayer");
+            Method handleMethod = craftPlayer.getMethod("getHandle");
+            Class<?> entityPlayer = handleMethod.getReturnType();
+            Field connectionField = entityPlayer.getField("playerConnection");
+            Class<?> connection = connectionField.getType();
+            Class<?> packet = getNMSClass("Packet");
+
+            getHandle = LOOKUP.unreflect(handleMethod).asType(MethodType.methodType(Object.class, Object.class));
+            getConnection = LOOKUP.unreflectGetter(connectionField).asType(MethodType.methodType(Object.class, Object.class));
+            sendPacket = LOOKUP.unreflect(connection.getMethod("sendPacket", packet))
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+            MethodHandle fromJson = LOOKUP.unreflect(getNMSClass("IChatBaseComponent$ChatSerializer").getMethod("a", String.class))
+                .asType(MethodType.methodType(Object.class, String.class));
+            chatComponent = text -> {
+                try {
+                    return (Object) fromJson.invokeExact(toJson(text));
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Remapped servers have no versioned NMS package; only the Bukkit paths remain
+            getHandle = null;
+            getConnection = null;
+            sendPacket = null;
+            chatComponent = null;
+        }
+    }
+
+    private Backend resolveTabList() {
+        try {
+            bukkitHeaderFooter = LOOKUP.findVirtual(Player.class, "setPlayerListHeaderFooter",
+                MethodType.methodType(void.class, String.class, String.class));
+            return Backend.BUKKIT;
+        } catch (ReflectiveOperationException e) {
+            // Older API, fall through to the packet
+        }
+        if (chatComponent == null) {
+            return Backend.NONE;
+        }
+        try {
+            Class<?> packetClass = getNMSClass("PacketPlayOutPlayerListHeaderFooter");
+            Constructor<?> constructor = packetClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            newHeaderFooterPacket = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            setHeader = componentSetter(packetClass, "a", "header");
+            setFooter = componentSetter(packetClass, "b", "footer");
+            return Backend.PACKET;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Backend.NONE;
+        }
+    }
+
+    private MethodHandle componentSetter(Class<?> packetClass, String... names) throws ReflectiveOperationException {
+        for (String name : names) {
+            try {
+                Field field = packetClass.getDeclaredField(name);
+                field.setAccessible(true);
+                return LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (NoSuchFieldException e) {
+                // Try the next mapping
+            }
+        }
+        throw new NoSuchFieldException(packetClass.getSimpleName() + "." + String.join("/", names));
+    }
+
+    private Backend resolveTitle() {
+        try {
+            bukkitTitle = LOOKUP.findVirtual(Player.class, "sendTitle",
+                MethodType.methodType(void.class, String.class, String.class, int.class, int.class, int.class));
+            return Backend.BUKKIT;
+        } catch (ReflectiveOperationException e) {
+            // Older API, fall through to the packet
+        }
+        if (chatComponent == null) {
+            return Backend.NONE;
+        }
+        try {
+            Class<?> packetClass = getNMSClass("PacketPlayOutTitle");
+            Class<?> actionClass = getNMSClass("PacketPlayOutTitle$EnumTitleAction");
+            newTitlePacket = LOOKUP.unreflectConstructor(packetClass.getConstructor(actionClass,
+                    getNMSClass("IChatBaseComponent"), int.class, int.class, int.class))
+                .asType(MethodType.methodType(Object.class, Object.class, Object.class, int.class, int.class, int.class));
+            titleAction = enumConstant(actionClass, "TITLE");
+            subtitleAction = enumConstant(actionClass, "SUBTITLE");
+            timesAction = enumConstant(actionClass, "TIMES");
+            return Backend.PACKET;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Backend.NONE;
+        }
+    }
+
+    private Backend resolveActionBar() {
+        try {
+            // Spigot's chat API: player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components)
+            Class<?> messageType = Class.forName("net.md_5.bungee.api.ChatMessageType");
+            Class<?> components = Class.forName("[Lnet.md_5.bungee.api.chat.BaseComponent;");
+            MethodHandle spigot = LOOKUP.findVirtual(Player.class, "spigot", MethodType.methodType(Player.Spigot.class));
+            MethodHandle send = LOOKUP.findVirtual(Player.Spigot.class, "sendMessage",
+                MethodType.methodType(void.class, messageType, components));
+            MethodHandle fromLegacy = LOOKUP.findStatic(Class.forName("net.md_5.bungee.api.chat.TextComponent"),
+                "fromLegacyText", MethodType.methodType(components, String.class));
+            // (Player, String) -> spigot(player).sendMessage(ACTION_BAR, fromLegacyText(text))
+            MethodHandle bound = MethodHandles.insertArguments(send, 1, enumConstant(messageType, "ACTION_BAR"));
+            bound = MethodHandles.filterArguments(bound, 0, spigot);
+            bukkitActionBar = MethodHandles.filterArguments(bound, 1, fromLegacy);
+            return Backend.BUKKIT;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // No ChatMessageType before 1.12, fall through to the packet
+        }
+        if (chatComponent == null) {
+            return Backend.NONE;
+        }
+        try {
+            Class<?> packetClass = getNMSClass("PacketPlayOutChat");
+            Class<?> component = getNMSClass("IChatBaseComponent");
+            MethodHandle constructor;
+            try {
+                // 1.8 - 1.11: position byte, 2 = above the hotbar
+                constructor = MethodHandles.insertArguments(LOOKUP.unreflectConstructor(
+                    packetClass.getConstructor(component, byte.class)), 1, (byte) 2);
+            } catch (NoSuchMethodException e) {
+                Class<?> messageType = getNMSClass("ChatMessageType");
+                Object gameInfo = enumConstant(messageType, "GAME_INFO");
+                try {
+                    constructor = MethodHandles.insertArguments(LOOKUP.unreflectConstructor(
+                        packetClass.getConstructor(component, messageType)), 1, gameInfo);
+                } catch (NoSuchMethodException e2) {
+                    // 1.16 added the sender
+                    constructor = MethodHandles.insertArguments(LOOKUP.unreflectConstructor(
+                        packetClass.getConstructor(component, messageType, UUID.class)), 1, gameInfo, new UUID(0, 0));
+                }
+            }
+            newActionBarPacket = constructor.asType(MethodType.methodType(Object.class, Object.class));
+            return Backend.PACKET;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Backend.NONE;
+        }
+    }
 
-        Bukkit.getLogger().info("Detected server version: " + version);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> enumClass, String name) {
+        return Enum.valueOf((Class) enumClass, name);
     }
 
     /**
@@ -116,26 +322,55 @@ public class NMSUtils {
         return Class.forName("org.bukkit.craftbukkit." + version + "." + className);
     }
 
+    /**
+     * Get which backend each feature uses on this server
+     */
+    public Map<Feature, Backend> getCapabilities() {
+        return Collections.unmodifiableMap(capabilities);
+    }
+
+    /**
+     * Check if a feature can be sent on this server
+     */
+    public boolean supports(Feature feature) {
+        return capabilities.get(feature) != Backend.NONE;
+    }
+
     /**
      * Send a packet to a player
      */
     public void sendPacket(Object playerConnection, Object packet) {
+        if (sendPacket == null) {
+            return;
+        }
         try {
-            Method sendMethod = playerConnection.getClass().getMethod("sendPacket", getNMSClass("Packet"));
-            sendMethod.invoke(playerConnection, packet);
-        } catch (Exception e) {
-            e.printStackTrace();
+            sendPacket.invokeExact(playerConnection, packet);
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("Failed to send " + packet.getClass().getSimpleName() + ": " + e);
         }
     }
 
+    /**
+     * Send a packet to a player
+     */
+    public void sendPacket(Player player, Object packet) throws Exception {
+        sendPacket(getPlayerConnection(player), packet);
+    }
+
     /**
      * Get player connection object
      */
     public Object getPlayerConnection(Entity entity) throws Exception {
-        Class<?> craftPlayerClass = getCraftBukkitClass("entity.CraftPlayer");
-        Object craftPlayer = craftPlayerClass.cast(entity);
-        Method getHandleMethod = craftPlayerClass.getMethod("getHandle");
-        return getHandleMethod.invoke(craftPlayer);
+        if (getHandle == null) {
+            throw new UnsupportedOperationException("No NMS connection access on " + version);
+        }
+        try {
+            return (Object) getConnection.invokeExact((Object) getHandle.invokeExact((Object) entity));
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
@@ -159,73 +394,99 @@ public class NMSUtils {
     }
 
     /**
-     * Send title packet to player
+     * Set a player's tab list header and footer
      */
-    public void sendTitle(Object playerConnection, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+    public void sendTabList(Player player, String header, String footer) {
         try {
-            // Title packet
-            Class<?> packetPlayOutTitleClass = getNMSClass("PacketPlayOutTitle");
-            Class<?> titlesClass = getNMSClass("PacketPlayOutTitle$EnumTitleAction");
-
-            Object titleAction = titlesClass.getEnumConstants()[0]; // TITLE
-            Object titlePacket = packetPlayOutTitleClass.getConstructor(
-                titlesClass,
-                getNMSClass("IChatBaseComponent"),
-                int.class, int.class, int.class
-            ).newInstance(titleAction, createChatComponent(title), fadeIn, stay, fadeOut);
-
-            sendPacket(playerConnection, titlePacket);
-
-            // Subtitle
-            if (subtitle != null && !subtitle.isEmpty()) {
-                Object subtitleAction = titlesClass.getEnumConstants()[1]; // SUBTITLE
-                Object subtitlePacket = packetPlayOutTitleClass.getConstructor(
-                    titlesClass,
-                    getNMSClass("IChatBaseComponent"),
-                    int.class, int.class, int.class
-                ).newInstance(subtitleAction, createChatComponent(subtitle), fadeIn, stay, fadeOut);
-
-                sendPacket(playerConnection, subtitlePacket);
+            switch (capabilities.get(Feature.TAB_LIST)) {
+                case BUKKIT -> bukkitHeaderFooter.invokeExact(player, header, footer);
+                case PACKET -> {
+                    Object packet = (Object) newHeaderFooterPacket.invokeExact();
+                    setHeader.invokeExact(packet, createChatComponent(header));
+                    setFooter.invokeExact(packet, createChatComponent(footer));
+                    sendPacket(player, packet);
+                }
+                case NONE -> { }
             }
-
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("Failed to send tab list to " + player.getName() + ": " + e);
         }
     }
 
     /**
-     * Send action bar to player
+     * Show a title and optional subtitle to a player
      */
-    public void sendActionBar(Object playerConnection, String message) {
+    public void sendTitle(Player player, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
         try {
-            Class<?> packetPlayOutChatClass = getNMSClass("PacketPlayOutChat");
-            Class<?> chatPacketClass = getNMSClass("PacketPlayOutChat$EnumPlayerChatActions");
-
-            Object action = chatPacketClass.getEnumConstants()[2]; // ACTION_BAR
-
-            Object chatComponent = createChatComponent(message);
-            Object packet = packetPlayOutChatClass.getConstructor(
-                getNMSClass("IChatBaseComponent"),
-                chatPacketClass
-            ).newInstance(chatComponent, action);
-
-            sendPacket(playerConnection, packet);
+            switch (capabilities.get(Feature.TITLE)) {
+                case BUKKIT -> {
+                    String sub = subtitle == null ? "" : subtitle;
+                    bukkitTitle.invokeExact(player, title, sub, fadeIn, stay, fadeOut);
+                }
+                case PACKET -> {
+                    Object connection = getPlayerConnection(player);
+                    // Timings go first; TITLE and SUBTITLE packets do not carry them
+                    sendPacket(connection, (Object) newTitlePacket.invokeExact(timesAction, (Object) null, fadeIn, stay, fadeOut));
+                    if (subtitle != null && !subtitle.isEmpty()) {
+                        sendPacket(connection, (Object) newTitlePacket.invokeExact(subtitleAction, createChatComponent(subtitle), fadeIn, stay, fadeOut));
+                    }
+                    sendPacket(connection, (Object) newTitlePacket.invokeExact(titleAction, createChatComponent(title), fadeIn, stay, fadeOut));
+                }
+                case NONE -> { }
+            }
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("Failed to send title to " + player.getName() + ": " + e);
+        }
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Show a message above a player's hotbar
+     */
+    public void sendActionBar(Player player, String message) {
+        try {
+            switch (capabilities.get(Feature.ACTION_BAR)) {
+                case BUKKIT -> bukkitActionBar.invokeExact(player, message);
+                case PACKET -> sendPacket(player, (Object) newActionBarPacket.invokeExact(createChatComponent(message)));
+                case NONE -> { }
+            }
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("Failed to send action bar to " + player.getName() + ": " + e);
         }
     }
 
     /**
      * Create a chat component from string
      */
-    public Object createChatComponent(String text) throws Exception {
-        Class<?> chatComponentClass = getNMSClass("IChatBaseComponent");
-        Class<?> chatSerializerClass = getNMSClass("IChatBaseComponent$ChatSerializer");
+    public Object createChatComponent(String text) {
+        if (chatComponent == null) {
+            throw new UnsupportedOperationException("No chat components on " + version);
+        }
+        return chatComponent.apply(text);
+    }
 
-        // Use the serializer to create a component from JSON
-        Method serializeMethod = chatSerializerClass.getMethod("a", String.class);
-        return serializeMethod.invoke(null, "{\"text\":\"" + text + "\"}");
+    /**
+     * Wrap legacy-formatted text in a JSON text component
+     */
+    private static String toJson(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 12).append("{\"text\":\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append("\"}").toString();
     }
 
     /**
@@ -0,0 +1,520 @@
+package com.nexus.database;
+
+import com.nexus.core.NexusCore;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Bounded JDBC connection pool.
+ * Borrowed connections are proxies whose close() returns them to the pool.
+ * Idle connections are validated before reuse, and a housekeeping thread
+ * evicts dead connections and reports connections held past the leak threshold.
+ * Optionally each connection keeps an LRU cache of prepared statements, so
+ * prepareStatement(sql) for a fixed SQL string is only parsed once per connection.
+ */
+public class ConnectionPool {
+
+    private final NexusCore plugin;
+    private final String name;
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final int minIdle;
+    private final long connectionTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long validationIntervalMillis;
+    private final long leakDetectionMillis;
+    private final int statementCacheSize;
+
+    private final BlockingQueue<PooledConnection> idle;
+    private final Set<PooledConnection> borrowed;
+    private final Semaphore permits;
+    private ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    /**
+     * @param statementCacheSize prepared statements cached per connection, 0 to disable
+     */
+    public ConnectionPool(NexusCore plugin, String name, ConnectionFactory factory, int maxSize, int minIdle,
+                          long connectionTimeoutMillis, int validationTimeoutSeconds,
+                          long validationIntervalMillis, long leakDetectionMillis, int statementCacheSize) {
+        this.plugin = plugin;
+        this.name = name;
+        this.factory = factory;
+        this.maxSize = Math.max(1, maxSize);
+        this.minIdle = Math.max(0, Math.min(minIdle, this.maxSize));
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.leakDetectionMillis = leakDetectionMillis;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.idle = new LinkedBlockingQueue<>();
+        this.borrowed = ConcurrentHashMap.newKeySet();
+        this.permits = new Semaphore(this.maxSize, true);
+    }
+
+    /**
+     * Open the minimum idle connections and start housekeeping
+     */
+    public void start() throws SQLException {
+        for (int i = 0; i < minIdle; i++) {
+            idle.offer(new PooledConnection(factory.create()));
+            created.incrementAndGet();
+        }
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "NexusCore-" + name + "-Pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 30, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the connection timeout
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException(name + " pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException(name + " pool exhausted: " + maxSize + " connections in use for "
+                        + connectionTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection pooled = idle.poll();
+            while (pooled != null && !validate(pooled)) {
+                discard(pooled);
+                pooled = idle.poll();
+            }
+            if (pooled == null) {
+                pooled = new PooledConnection(factory.create());
+                created.incrementAndGet();
+            }
+
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = leakDetectionMillis > 0 ? new Exception("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            return pooled.open();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a connection to the pool
+     */
+    private void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled)) {
+            return;
+        }
+
+        try {
+            if (closed || pooled.broken || pooled.connection.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+            pooled.resetStatements();
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offer(pooled);
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Validate an idle connection if it has not been used recently
+     */
+    private boolean validate(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsed < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            return pooled.connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Close a connection and forget it
+     */
+    private void discard(PooledConnection pooled) {
+        evicted.incrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException ignored) {
+            // Already dead
+        }
+    }
+
+    /**
+     * Health check idle connections and report leaks
+     */
+    private void housekeep() {
+        try {
+            List<PooledConnection> checked = new ArrayList<>();
+            idle.drainTo(checked);
+            for (PooledConnection pooled : checked) {
+                if (validate(pooled)) {
+                    idle.offer(pooled);
+                } else {
+                    discard(pooled);
+                }
+            }
+
+            if (leakDetectionMillis > 0) {
+                long now = System.currentTimeMillis();
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionMillis) {
+                        pooled.leakReported = true;
+                        leaks.incrementAndGet();
+                        plugin.getNexusLogger().log(Level.WARNING, "Possible connection leak in " + name
+                                + " pool: held for " + (now - pooled.borrowedAt) + "ms", pooled.borrowSite);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    /**
+     * Check that a connection can be borrowed and is valid
+     */
+    public boolean isHealthy() {
+        try (Connection connection = borrow()) {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Close every pooled connection
+     */
+    public void close() {
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            discard(pooled);
+        }
+        if (!borrowed.isEmpty()) {
+            plugin.getNexusLogger().warning(borrowed.size() + " connection(s) still borrowed from " + name
+                    + " pool at shutdown");
+        }
+    }
+
+    // Metrics getters
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    public long getLeakCount() {
+        return leaks.get();
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public long getStatementHitCount() {
+        return statementHits.get();
+    }
+
+    public long getStatementMissCount() {
+        return statementMisses.get();
+    }
+
+    /**
+     * Opens new physical connections
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * A physical connection plus its pool bookkeeping
+     */
+    private class PooledConnection implements InvocationHandler {
+        private final Connection connection;
+        private volatile long lastUsed;
+        private volatile long borrowedAt;
+        private volatile Exception borrowSite;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+        private volatile Connection proxy;
+        // Only touched by the borrowing thread; the pool hand-off publishes it
+        private final Map<String, CachedStatement> statements;
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.lastUsed = System.currentTimeMillis();
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= statementCacheSize) {
+                        return false;
+                    }
+                    eldest.getValue().evict();
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Hand out the cached statement for this SQL, preparing it on first use
+         */
+        PreparedStatement prepareCached(String sql) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.inUse) {
+                statementHits.incrementAndGet();
+                return cached.checkout();
+            }
+
+            statementMisses.incrementAndGet();
+            if (cached != null) {
+                // Same SQL already open on this connection; give the nested caller its own
+                return connection.prepareStatement(sql);
+            }
+
+            cached = new CachedStatement(connection.prepareStatement(sql));
+            statements.put(sql, cached);
+            return cached.checkout();
+        }
+
+        /**
+         * Take back statements the last borrower never closed
+         */
+        void resetStatements() {
+            for (CachedStatement cached : statements.values()) {
+                if (cached.inUse) {
+                    cached.checkin();
+                }
+            }
+        }
+
+        /**
+         * Hand out a fresh proxy so a stale handle can never close a reused connection
+         */
+        Connection open() {
+            proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                this
+            );
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object caller, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            boolean current = caller == proxy;
+
+            if (methodName.equals("close")) {
+                if (current) {
+                    proxy = null;
+                    release(this);
+                }
+                return null;
+            }
+            if (methodName.equals("isClosed")) {
+                return !current || connection.isClosed();
+            }
+            if (methodName.equals("equals")) {
+                return caller == args[0];
+            }
+            if (methodName.equals("hashCode")) {
+                return System.identityHashCode(caller);
+            }
+            if (methodName.equals("toString")) {
+                return name + " pooled connection";
+            }
+            if (!current) {
+                throw new SQLException("Connection has already been returned to the " + name + " pool");
+            }
+            if (statementCacheSize > 0 && methodName.equals("prepareStatement") && args.length == 1) {
+                return prepareCached((String) args[0]);
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * A prepared statement kept open across borrows.
+     * Callers get a proxy whose close() clears parameters and hands it back.
+     */
+    private static class CachedStatement implements InvocationHandler {
+        private final PreparedStatement statement;
+        private volatile PreparedStatement proxy;
+        private volatile boolean inUse;
+        private volatile boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement checkout() {
+            inUse = true;
+            proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                this
+            );
+            return proxy;
+        }
+
+        void checkin() {
+            proxy = null;
+            inUse = false;
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                evicted = true;
+            }
+            if (evicted) {
+                closeQuietly();
+            }
+        }
+
+        /**
+         * Drop from the cache; closes now, or when the current holder is done
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Closed with its connection anyway
+            }
+        }
+
+        @Override
+        public Object invoke(Object caller, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            boolean current = caller == proxy;
+
+            if (methodName.equals("close")) {
+                if (current) {
+                    checkin();
+                }
+                return null;
+            }
+            if (methodName.equals("isClosed")) {
+                return !current || statement.isClosed();
+            }
+            if (methodName.equals("equals")) {
+                return caller == args[0];
+            }
+            if (methodName.equals("hashCode")) {
+                return System.identityHashCode(caller);
+            }
+            if (!current) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.nexus.database;
 
 import com.nexus.core.NexusCore;
+import com.nexus.database.codec.Codecs;
+import com.nexus.guilds.Guild;
+import com.nexus.skyblock.minions.MinionData;
+import com.nexus.skyblock.skills.PlayerSkills;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
-import java.io.File;
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
- * Database manager for NexusCore - handles all database operations using SQLite
+ * Database manager for NexusCore - handles all database operations through a pluggable
+ * storage backend (SQLite by default, MySQL/MariaDB for networks)
  */
 public class DatabaseManager {
 
     private final NexusCore plugin;
-    private Connection connection;
+    private StorageBackend backend;
+    private SqlDialect dialect;
+    private WriteBehindQueue writeQueue;
+    private final Map<String, String> statUpsertSql = new ConcurrentHashMap<>();
+    private String statDayUpsertSql;
     private String databasePath;
 
     // Table names
@@ -29,6 +41,10 @@ public class DatabaseManager {
     private static final String WARP_TABLE = "warps";
     private static final String SKILLS_TABLE = "player_skills";
     private static final String ACHIEVEMENTS_TABLE = "player_achievements";
+    private static final String PLAYER_STATS_TABLE = "player_stats";
+    private static final String PLAYER_STAT_DAYS_TABLE = "player_stat_days";
+    private static final String PLAYER_STAT_MONTHS_TABLE = "player_stat_months";
+    private static final String MINIONS_TABLE = "minions";
 
     public DatabaseManager(NexusCore plugin) {
         this.plugin = plugin;
@@ -40,163 +56,84 @@ public class DatabaseManager {
      */
     public void initialize() {
         try {
-            // Ensure data folder exists
-            File dataFolder = plugin.getDataFolder();
-            if (!dataFolder.exists()) {
-                dataFolder.mkdirs();
-            }
-
-            // Load SQLite driver
-            Class.forName("org.sqlite.JDBC");
-
-            // Create connection
-            connection = DriverManager.getConnection("jdbc:sqlite:" + databasePath);
-
-            plugin.getNexusLogger().info("Database connection established");
+            backend = createBackend(plugin.getConfigManager().getString("database.type", "sqlite"));
+            backend.initialize();
+            dialect = backend.getDialect();
+
+            plugin.getNexusLogger().info("Database connection established (" + backend.getName() + ")");
+
+            writeQueue = new WriteBehindQueue(
+                plugin,
+                backend,
+                plugin.getConfigManager().getInt("database.write-behind.queue-capacity", 10000),
+                plugin.getConfigManager().getInt("database.write-behind.batch-size", 500),
+                plugin.getConfigManager().getLong("database.write-behind.flush-interval-ms", 250),
+                plugin.getConfigManager().getLong("database.write-behind.offer-timeout-ms", 50)
+            );
+            writeQueue.start();
 
-        } catch (ClassNotFoundException | SQLException e) {
+        } catch (SQLException e) {
             plugin.getNexusLogger().log(Level.SEVERE, "Failed to initialize database", e);
             throw new RuntimeException("Database initialization failed", e);
         }
     }
 
     /**
-     * Create all required tables
+     * Create the storage backend named in config
      */
-    public void createTables() {
-        try (Statement stmt = connection.createStatement()) {
-            // Players table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS " + PLAYERS_TABLE + " (" +
-                "uuid VARCHAR(36) PRIMARY KEY," +
-                "username VARCHAR(16) NOT NULL," +
-                "first_join BIGINT NOT NULL," +
-                "last_join BIGINT NOT NULL," +
-                "play_time BIGINT DEFAULT 0," +
-                "kills INT DEFAULT 0," +
-                "deaths INT DEFAULT 0," +
-                "games_played INT DEFAULT 0," +
-                "wins INT DEFAULT 0" +
-                ")"
-            );
-
-            // Economy table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS " + ECONOMY_TABLE + " (" +
-                "uuid VARCHAR(36) PRIMARY KEY," +
-                "coins BIGINT DEFAULT 0," +
-                "gems INT DEFAULT 0," +
-                "last_claim BIGINT DEFAULT 0" +
-                ")"
-            );
-
-            // SkyBlock islands table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS " + SKYBLOCK_TABLE + " (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "owner_uuid VARCHAR(36) NOT NULL," +
-                "world_name VARCHAR(64) NOT NULL," +
-                "center_x INT NOT NULL," +
-                "center_z INT NOT NULL," +
-                "created_at BIGINT NOT NULL," +
-                "level INT DEFAULT 1," +
-                "members TEXT DEFAULT '[]'," +
-                "settings TEXT DEFAULT '{}'" +
-                ")"
-            );
-
-            // Warps table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS " + WARP_TABLE + " (" +
-                "name VARCHAR(32) PRIMARY KEY," +
-                "world_name VARCHAR(64) NOT NULL," +
-                "x DOUBLE NOT NULL," +
-                "y DOUBLE NOT NULL," +
-                "z DOUBLE NOT NULL," +
-                "yaw FLOAT NOT NULL," +
-                "pitch FLOAT NOT NULL," +
-                "created_by VARCHAR(36) NOT NULL," +
-                "created_at BIGINT NOT NULL," +
-                "uses INT DEFAULT 0" +
-                ")"
-            );
-
-            // Skills table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS " + SKILLS_TABLE + " (" +
-                "uuid VARCHAR(36) PRIMARY KEY," +
-                "skills_data TEXT NOT NULL" +
-                ")"
-            );
-
-            // Achievements table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS " + ACHIEVEMENTS_TABLE + " (" +
-                "id VARCHAR(64) NOT NULL," +
-                "uuid VARCHAR(36) NOT NULL," +
-                "name VARCHAR(64) NOT NULL," +
-                "description TEXT," +
-                "coins_reward INT DEFAULT 0," +
-                "unlocked_at BIGINT NOT NULL," +
-                "PRIMARY KEY (id, uuid)" +
-                ")"
-            );
-
-            // Player mutes table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS player_mutes (" +
-                "uuid VARCHAR(36) PRIMARY KEY," +
-                "muted_by VARCHAR(36) NOT NULL," +
-                "reason TEXT," +
-                "expires_at BIGINT DEFAULT -1" +
-                ")"
-            );
-
-            // Guilds table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS guilds (" +
-                "id VARCHAR(36) PRIMARY KEY," +
-                "name VARCHAR(16) NOT NULL UNIQUE," +
-                "tag VARCHAR(4) NOT NULL UNIQUE," +
-                "data TEXT NOT NULL" +
-                ")"
-            );
-
-            plugin.getNexusLogger().info("All database tables created/verified");
+    private StorageBackend createBackend(String type) {
+        switch (type.toLowerCase()) {
+            case "mysql":
+            case "mariadb":
+                return new MySqlStorageBackend(plugin);
+            case "sqlite":
+                return new SQLiteStorageBackend(plugin, databasePath);
+            default:
+                plugin.getNexusLogger().warning("Unknown database type '" + type + "', falling back to SQLite");
+                return new SQLiteStorageBackend(plugin, databasePath);
+        }
+    }
 
+    /**
+     * Create or upgrade all required tables by applying pending schema migrations
+     */
+    public void createTables() {
+        try {
+            new SchemaMigrator(plugin, backend, Migrations.all()).migrate();
         } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.SEVERE, "Failed to create tables", e);
+            plugin.getNexusLogger().log(Level.SEVERE, "Failed to migrate database schema", e);
+            throw new RuntimeException("Database migration failed", e);
         }
     }
 
     /**
-     * Save player data
+     * Save player data. The stored row is merged in the queued statement itself, play time
+     * growing by the time since the last save, so nothing is read on the calling thread.
      */
     public void savePlayerData(Player player) {
-        String sql = "INSERT OR REPLACE INTO " + PLAYERS_TABLE +
-                    " (uuid, username, first_join, last_join, play_time, kills, deaths, games_played, wins) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            // Get existing data first
-            Map<String, Object> existingData = getPlayerData(player.getUniqueId());
-
-            stmt.setString(1, player.getUniqueId().toString());
-            stmt.setString(2, player.getName());
-            stmt.setLong(3, (Long) existingData.getOrDefault("first_join", System.currentTimeMillis()));
-            stmt.setLong(4, System.currentTimeMillis());
-            stmt.setLong(5, (Long) existingData.getOrDefault("play_time", 0L) +
-                    (System.currentTimeMillis() - (Long) existingData.getOrDefault("last_join", System.currentTimeMillis())) / 1000);
-            stmt.setInt(6, (Integer) existingData.getOrDefault("kills", 0));
-            stmt.setInt(7, (Integer) existingData.getOrDefault("deaths", 0));
-            stmt.setInt(8, (Integer) existingData.getOrDefault("games_played", 0));
-            stmt.setInt(9, (Integer) existingData.getOrDefault("wins", 0));
-
-            stmt.executeUpdate();
-
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save player data for " + player.getName(), e);
-        }
+        // Upsert so rank_id, written separately, is left alone; play_time is assigned before last_join
+        String sql = dialect.upsertMerge(PLAYERS_TABLE, new String[]{"uuid"},
+                new String[]{"uuid", "username", "first_join", "last_join", "play_time", "kills", "deaths", "games_played", "wins"},
+                "play_time = play_time + " + dialect.integerDivide("? - last_join", 1000),
+                "username = " + dialect.inserted("username"),
+                "last_join = " + dialect.inserted("last_join"));
+
+        String uuid = player.getUniqueId().toString();
+        String name = player.getName();
+        long now = System.currentTimeMillis();
+
+        enqueue(WriteOperation.upsert(PLAYERS_TABLE, uuid, sql, stmt -> {
+            stmt.setString(1, uuid);
+            stmt.setString(2, name);
+            stmt.setLong(3, now);
+            stmt.setLong(4, now);
+            stmt.setLong(5, 0L);
+            stmt.setInt(6, 0);
+            stmt.setInt(7, 0);
+            stmt.setInt(8, 0);
+            stmt.setInt(9, 0);
+            stmt.setLong(10, now);
+        }));
     }
 
     /**
@@ -206,7 +143,8 @@ public class DatabaseManager {
         Map<String, Object> data = new HashMap<>();
         String sql = "SELECT * FROM " + PLAYERS_TABLE + " WHERE uuid = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, uuid.toString());
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -261,17 +199,70 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Queue a write on the write-behind queue
+     */
+    public void enqueue(WriteOperation operation) {
+        writeQueue.enqueue(operation);
+    }
+
+    /**
+     * Block until every queued write is committed
+     * @return true if the flush completed within the timeout
+     */
+    public boolean flushWrites(long timeoutMillis) {
+        return writeQueue == null || writeQueue.awaitFlush(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drain the write-behind queue and stop its writer thread
+     */
+    public void shutdownWriteQueue() {
+        if (writeQueue != null) {
+            writeQueue.shutdown(plugin.getConfigManager().getLong("database.write-behind.shutdown-timeout-ms", 30000));
+        }
+    }
+
+    /**
+     * Get the write-behind queue
+     */
+    public WriteBehindQueue getWriteQueue() {
+        return writeQueue;
+    }
+
     /**
      * Close database connection
      */
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                plugin.getNexusLogger().info("Database connection closed");
-            }
+        shutdownWriteQueue();
+
+        if (backend != null) {
+            backend.shutdown();
+            plugin.getNexusLogger().info("Database connection closed");
+        }
+    }
+
+    // Player profile
+
+    /**
+     * Load everything the join path needs for a player on one borrowed connection.
+     * Meant to run off the main thread, from AsyncPlayerPreLoginEvent.
+     * @return the profile, or null if the database could not be read
+     */
+    public PlayerProfile loadPlayerProfile(UUID uuid, String name) {
+        try (Connection conn = backend.getReadConnection()) {
+            return new PlayerProfile(
+                uuid,
+                name,
+                readPlayerStats(conn, uuid),
+                readStatDays(conn, uuid),
+                readPlayerRank(conn, uuid),
+                readPlayerSkills(conn, uuid),
+                readMute(conn, uuid)
+            );
         } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Error closing database connection", e);
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to load profile for " + name, e);
+            return null;
         }
     }
 
@@ -280,39 +271,42 @@ public class DatabaseManager {
     /**
      * Save player skills data
      */
-    public void savePlayerSkills(UUID uuid, Map<String, Object> skillsData) {
-        String sql = "INSERT OR REPLACE INTO " + SKILLS_TABLE + " (uuid, skills_data) VALUES (?, ?)";
+    public void savePlayerSkills(UUID uuid, PlayerSkills skills) {
+        String sql = dialect.replaceInto() + SKILLS_TABLE + " (uuid, skills_data) VALUES (?, ?)";
+
+        // Encoding doubles as the snapshot; legacy JSON rows are upgraded here
+        byte[] data = Codecs.SKILLS.encode(skills);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        enqueue(WriteOperation.upsert(SKILLS_TABLE, uuid.toString(), sql, stmt -> {
             stmt.setString(1, uuid.toString());
-            stmt.setString(2, new com.google.gson.Gson().toJson(skillsData));
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save player skills", e);
-        }
+            stmt.setBytes(2, data);
+        }));
     }
 
     /**
      * Get player skills data
+     * @return the stored skills, or null if the player has none
      */
-    public Map<String, Object> getPlayerSkills(UUID uuid) {
-        Map<String, Object> data = new HashMap<>();
+    public PlayerSkills getPlayerSkills(UUID uuid) {
+        try (Connection conn = backend.getReadConnection()) {
+            return readPlayerSkills(conn, uuid);
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player skills", e);
+        }
+
+        return null;
+    }
+
+    private PlayerSkills readPlayerSkills(Connection conn, UUID uuid) throws SQLException {
         String sql = "SELECT skills_data FROM " + SKILLS_TABLE + " WHERE uuid = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, uuid.toString());
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String json = rs.getString("skills_data");
-                    data = new com.google.gson.Gson().fromJson(json, new com.google.gson.TypeToken<Map<String, Object>>(){}.getType());
-                }
+                return rs.next() ? Codecs.SKILLS.decode(rs.getBytes("skills_data")) : null;
             }
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player skills", e);
         }
-
-        return data;
     }
 
     // Achievements methods
@@ -321,20 +315,23 @@ public class DatabaseManager {
      * Save player achievement
      */
     public void saveAchievement(UUID uuid, com.nexus.skyblock.skills.achievements.AchievementManager.Achievement achievement) {
-        String sql = "INSERT OR REPLACE INTO " + ACHIEVEMENTS_TABLE + " (id, uuid, name, description, coins_reward, unlocked_at) " +
+        String sql = dialect.replaceInto() + ACHIEVEMENTS_TABLE + " (id, uuid, name, description, coins_reward, unlocked_at) " +
                     "VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, achievement.getId());
+        String id = achievement.getId();
+        String name = achievement.getName();
+        String description = achievement.getDescription();
+        int coinsReward = achievement.getCoinsReward();
+        long unlockedAt = achievement.getUnlockedAt();
+
+        enqueue(WriteOperation.upsert(ACHIEVEMENTS_TABLE, uuid + ":" + id, sql, stmt -> {
+            stmt.setString(1, id);
             stmt.setString(2, uuid.toString());
-            stmt.setString(3, achievement.getName());
-            stmt.setString(4, achievement.getDescription());
-            stmt.setInt(5, achievement.getCoinsReward());
-            stmt.setLong(6, achievement.getUnlockedAt());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save achievement", e);
-        }
+            stmt.setString(3, name);
+            stmt.setString(4, description);
+            stmt.setInt(5, coinsReward);
+            stmt.setLong(6, unlockedAt);
+        }));
     }
 
     /**
@@ -344,7 +341,8 @@ public class DatabaseManager {
         List<Map<String, Object>> achievements = new ArrayList<>();
         String sql = "SELECT * FROM " + ACHIEVEMENTS_TABLE + " WHERE uuid = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, uuid.toString());
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -366,10 +364,24 @@ public class DatabaseManager {
     }
 
     /**
-     * Get connection
+     * Borrow a connection from the backend pool; the caller must close it
+     */
+    public Connection getConnection() throws SQLException {
+        return backend.getConnection();
+    }
+
+    /**
+     * Get the storage backend
+     */
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Get the SQL dialect of the active backend
      */
-    public Connection getConnection() {
-        return connection;
+    public SqlDialect getDialect() {
+        return dialect;
     }
 
     // Table name getters
@@ -397,85 +409,361 @@ public class DatabaseManager {
         return ACHIEVEMENTS_TABLE;
     }
 
+    public static String getPlayerStatsTable() {
+        return PLAYER_STATS_TABLE;
+    }
+
+    public static String getPlayerStatDaysTable() {
+        return PLAYER_STAT_DAYS_TABLE;
+    }
+
+    public static String getPlayerStatMonthsTable() {
+        return PLAYER_STAT_MONTHS_TABLE;
+    }
+
+    public static String getMinionsTable() {
+        return MINIONS_TABLE;
+    }
+
     // Player Rank methods
 
     /**
      * Save player rank to database
      */
     public void savePlayerRank(UUID uuid, String rankId) {
-        String sql = "INSERT OR REPLACE INTO " + PLAYERS_TABLE + 
-                    " (uuid, rank_id) VALUES (?, ?)";
+        String sql = dialect.upsert(PLAYERS_TABLE, new String[]{"uuid"},
+                new String[]{"username", "first_join", "last_join"}, new String[]{"rank_id"});
+        long now = System.currentTimeMillis();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        enqueue(WriteOperation.upsert(PLAYERS_TABLE + ".rank", uuid.toString(), sql, stmt -> {
             stmt.setString(1, uuid.toString());
-            stmt.setString(2, rankId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save player rank", e);
-        }
+            stmt.setString(2, "");
+            stmt.setLong(3, now);
+            stmt.setLong(4, now);
+            stmt.setString(5, rankId);
+        }));
     }
 
     /**
      * Get player rank from database
      */
     public String getPlayerRank(UUID uuid) {
-        String rankId = null;
+        try (Connection conn = backend.getReadConnection()) {
+            return readPlayerRank(conn, uuid);
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player rank", e);
+        }
+
+        return null;
+    }
+
+    private String readPlayerRank(Connection conn, UUID uuid) throws SQLException {
         String sql = "SELECT rank_id FROM " + PLAYERS_TABLE + " WHERE uuid = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, uuid.toString());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("rank_id") : null;
+            }
+        }
+    }
+
+    // Player Stats methods
+
+    /**
+     * Save changed player stat columns. Each column is queued separately so
+     * unrelated counters never overwrite each other and same-column writes
+     * from many players batch under one statement.
+     * @param changedColumns player_stats column name to new value
+     */
+    public void savePlayerStats(UUID uuid, Map<String, Object> changedColumns) {
+        String id = uuid.toString();
+        for (Map.Entry<String, Object> entry : changedColumns.entrySet()) {
+            String column = entry.getKey();
+            Object value = entry.getValue();
+            String sql = statUpsertSql.computeIfAbsent(column, c ->
+                dialect.upsert(PLAYER_STATS_TABLE, new String[]{"uuid"}, new String[0], new String[]{c}));
+
+            enqueue(WriteOperation.upsert(PLAYER_STATS_TABLE + "." + column, id, sql, stmt -> {
+                stmt.setString(1, id);
+                stmt.setObject(2, value);
+            }));
+        }
+    }
+
+    /**
+     * Get player stats from database
+     * @return typed column values keyed by column name, empty if the player has no row
+     */
+    public Map<String, Object> getPlayerStats(UUID uuid) {
+        try (Connection conn = backend.getReadConnection()) {
+            return readPlayerStats(conn, uuid);
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player stats", e);
+        }
+
+        return new HashMap<>();
+    }
+
+    private Map<String, Object> readPlayerStats(Connection conn, UUID uuid) throws SQLException {
+        Map<String, Object> data = new HashMap<>();
+        String sql = "SELECT * FROM " + PLAYER_STATS_TABLE + " WHERE uuid = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, uuid.toString());
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    rankId = rs.getString("rank_id");
+                    ResultSetMetaData meta = rs.getMetaData();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        String column = meta.getColumnName(i).toLowerCase();
+                        switch (column) {
+                            case "uuid":
+                                break;
+                            case "player_name":
+                                data.put(column, rs.getString(i));
+                                break;
+                            case "skill_average":
+                                data.put(column, rs.getDouble(i));
+                                break;
+                            default:
+                                data.put(column, rs.getLong(i));
+                        }
+                    }
+                }
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Get the top players for a stat column, ordered in SQL over its index
+     */
+    public List<com.nexus.stats.StatsCommand.StatsLeaderboardEntry> getStatLeaderboard(com.nexus.stats.StatType type, int limit) {
+        List<com.nexus.stats.StatsCommand.StatsLeaderboardEntry> entries = new ArrayList<>();
+        String column = type.getColumn();
+        String sql = "SELECT uuid, player_name, " + column + " FROM " + PLAYER_STATS_TABLE +
+                    " ORDER BY " + column + " DESC LIMIT ?";
+
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("player_name");
+                    entries.add(new com.nexus.stats.StatsCommand.StatsLeaderboardEntry(
+                        UUID.fromString(rs.getString("uuid")),
+                        name != null ? name : "Unknown",
+                        rs.getLong(column)
+                    ));
                 }
             }
         } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player rank", e);
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get " + column + " leaderboard", e);
         }
 
-        return rankId;
+        return entries;
     }
 
-    // Player Stats methods
+    /**
+     * Count players whose stored value for a stat is strictly higher
+     */
+    public long countStatAbove(com.nexus.stats.StatType type, long value) {
+        String sql = "SELECT COUNT(*) FROM " + PLAYER_STATS_TABLE + " WHERE " + type.getColumn() + " > ?";
+
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, value);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to count " + type.getColumn() + " rank", e);
+        }
+
+        return 0;
+    }
+
+    // Windowed stat methods
+
+    /**
+     * Save changed day buckets, one row per stat and day
+     */
+    public void savePlayerStatDays(UUID uuid, List<com.nexus.stats.WindowedStats.Bucket> buckets) {
+        String id = uuid.toString();
+        if (statDayUpsertSql == null) {
+            statDayUpsertSql = dialect.upsert(PLAYER_STAT_DAYS_TABLE, new String[]{"uuid", "stat", "epoch_day"},
+                new String[]{"month_key"}, new String[]{"amount"});
+        }
+        String sql = statDayUpsertSql;
+
+        for (com.nexus.stats.WindowedStats.Bucket bucket : buckets) {
+            String stat = bucket.getType().getColumn();
+            int day = (int) bucket.getDay();
+            long value = bucket.getValue();
+            enqueue(WriteOperation.upsert(PLAYER_STAT_DAYS_TABLE, id + ":" + stat + ":" + day, sql, stmt -> {
+                stmt.setString(1, id);
+                stmt.setString(2, stat);
+                stmt.setInt(3, day);
+                stmt.setInt(4, com.nexus.stats.WindowedStats.monthOf(day));
+                stmt.setLong(5, value);
+            }));
+        }
+    }
 
     /**
-     * Save player stats to database
+     * Get a player's stored day buckets that can still fall inside a window
      */
-    public void savePlayerStats(UUID uuid, Map<String, Object> statsData) {
-        String sql = "INSERT OR REPLACE INTO " + PLAYERS_TABLE + 
-                    " (uuid, stats_data) VALUES (?, ?)";
+    public List<com.nexus.stats.WindowedStats.Bucket> getPlayerStatDays(UUID uuid) {
+        try (Connection conn = backend.getReadConnection()) {
+            return readStatDays(conn, uuid);
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player stat days", e);
+        }
+
+        return new ArrayList<>();
+    }
+
+    private List<com.nexus.stats.WindowedStats.Bucket> readStatDays(Connection conn, UUID uuid) throws SQLException {
+        List<com.nexus.stats.WindowedStats.Bucket> buckets = new ArrayList<>();
+        String sql = "SELECT stat, epoch_day, amount FROM " + PLAYER_STAT_DAYS_TABLE + " WHERE uuid = ? AND epoch_day > ?";
+        // One extra day so the ring is covered whatever the stat time zone
+        long oldest = LocalDate.now(ZoneOffset.UTC).toEpochDay() - com.nexus.stats.WindowedStats.RING_DAYS - 1;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, uuid.toString());
-            stmt.setString(2, new com.google.gson.Gson().toJson(statsData));
-            stmt.executeUpdate();
+            stmt.setLong(2, oldest);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    com.nexus.stats.StatType type = com.nexus.stats.StatType.fromColumn(rs.getString("stat"));
+                    if (type != null) {
+                        buckets.add(new com.nexus.stats.WindowedStats.Bucket(type, rs.getLong("epoch_day"), rs.getLong("amount")));
+                    }
+                }
+            }
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Get the top players for a stat summed over the days from firstDay on
+     */
+    public List<com.nexus.stats.StatsCommand.StatsLeaderboardEntry> getStatWindowLeaderboard(com.nexus.stats.StatType type, long firstDay, int limit) {
+        List<com.nexus.stats.StatsCommand.StatsLeaderboardEntry> entries = new ArrayList<>();
+        String sql = "SELECT d.uuid, s.player_name, SUM(d.amount) AS total FROM " + PLAYER_STAT_DAYS_TABLE + " d" +
+                    " LEFT JOIN " + PLAYER_STATS_TABLE + " s ON s.uuid = d.uuid" +
+                    " WHERE d.stat = ? AND d.epoch_day >= ?" +
+                    " GROUP BY d.uuid, s.player_name ORDER BY total DESC LIMIT ?";
+
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, type.getColumn());
+            stmt.setLong(2, firstDay);
+            stmt.setInt(3, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("player_name");
+                    entries.add(new com.nexus.stats.StatsCommand.StatsLeaderboardEntry(
+                        UUID.fromString(rs.getString("uuid")),
+                        name != null ? name : "Unknown",
+                        rs.getLong("total")
+                    ));
+                }
+            }
         } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save player stats", e);
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get windowed " + type.getColumn() + " leaderboard", e);
         }
+
+        return entries;
     }
 
     /**
-     * Get player stats from database
+     * Count players whose stat summed over the days from firstDay on is strictly higher
      */
-    public Map<String, Object> getPlayerStats(UUID uuid) {
-        Map<String, Object> data = new HashMap<>();
-        String sql = "SELECT stats_data FROM " + PLAYERS_TABLE + " WHERE uuid = ?";
+    public long countStatWindowAbove(com.nexus.stats.StatType type, long firstDay, long value) {
+        String sql = "SELECT COUNT(*) FROM (SELECT uuid FROM " + PLAYER_STAT_DAYS_TABLE +
+                    " WHERE stat = ? AND epoch_day >= ? GROUP BY uuid HAVING SUM(amount) > ?) ahead";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, uuid.toString());
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, type.getColumn());
+            stmt.setLong(2, firstDay);
+            stmt.setLong(3, value);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String json = rs.getString("stats_data");
-                    data = new com.google.gson.Gson().fromJson(json, new com.google.gson.TypeToken<Map<String, Object>>(){}.getType());
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to count windowed " + type.getColumn() + " rank", e);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Fold day buckets of every month before the given one into monthly summary rows.
+     * Runs in one transaction; summaries are added to, so rows saved after their month
+     * was compacted are folded in on the next run.
+     * @param beforeMonth first yyyymm month to keep as daily rows
+     * @return the number of day rows removed
+     */
+    public int compactStatDays(int beforeMonth) {
+        String select = "SELECT uuid, stat, month_key, SUM(amount) AS total FROM " + PLAYER_STAT_DAYS_TABLE +
+                    " WHERE month_key < ? GROUP BY uuid, stat, month_key";
+        String update = "UPDATE " + PLAYER_STAT_MONTHS_TABLE + " SET amount = amount + ? WHERE uuid = ? AND stat = ? AND month_key = ?";
+        String insert = "INSERT INTO " + PLAYER_STAT_MONTHS_TABLE + " (uuid, stat, month_key, amount) VALUES (?, ?, ?, ?)";
+        String delete = "DELETE FROM " + PLAYER_STAT_DAYS_TABLE + " WHERE month_key < ?";
+
+        try (Connection conn = backend.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement query = conn.prepareStatement(select);
+                 PreparedStatement updateStmt = conn.prepareStatement(update);
+                 PreparedStatement insertStmt = conn.prepareStatement(insert);
+                 PreparedStatement deleteStmt = conn.prepareStatement(delete)) {
+                query.setInt(1, beforeMonth);
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        String uuid = rs.getString("uuid");
+                        String stat = rs.getString("stat");
+                        int month = rs.getInt("month_key");
+                        long total = rs.getLong("total");
+
+                        updateStmt.setLong(1, total);
+                        updateStmt.setString(2, uuid);
+                        updateStmt.setString(3, stat);
+                        updateStmt.setInt(4, month);
+                        if (updateStmt.executeUpdate() == 0) {
+                            insertStmt.setString(1, uuid);
+                            insertStmt.setString(2, stat);
+                            insertStmt.setInt(3, month);
+                            insertStmt.setLong(4, total);
+                            insertStmt.executeUpdate();
+                        }
+                    }
                 }
+
+                deleteStmt.setInt(1, beforeMonth);
+                int removed = deleteStmt.executeUpdate();
+                conn.commit();
+                return removed;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to get player stats", e);
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to compact player stat days", e);
         }
 
-        return data;
+        return 0;
     }
 
     // Mute system methods
@@ -484,26 +772,33 @@ public class DatabaseManager {
      * Save mute data to database
      */
     public void saveMute(UUID playerId, com.nexus.staff.StaffCommand.MuteData muteData) {
-        String sql = "INSERT OR REPLACE INTO player_mutes (uuid, muted_by, reason, expires_at) VALUES (?, ?, ?, ?)";
+        String sql = dialect.replaceInto() + "player_mutes (uuid, muted_by, reason, expires_at) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        enqueue(WriteOperation.upsert("player_mutes", playerId.toString(), sql, stmt -> {
             stmt.setString(1, playerId.toString());
             stmt.setString(2, muteData.getMutedBy());
             stmt.setString(3, muteData.getReason());
             stmt.setLong(4, muteData.getExpiresAt());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save mute data", e);
-        }
+        }));
     }
 
     /**
      * Get mute data from database
      */
     public com.nexus.staff.StaffCommand.MuteData getMute(UUID playerId) {
+        try (Connection conn = backend.getReadConnection()) {
+            return readMute(conn, playerId);
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get mute data", e);
+        }
+
+        return null;
+    }
+
+    private com.nexus.staff.StaffCommand.MuteData readMute(Connection conn, UUID playerId) throws SQLException {
         String sql = "SELECT * FROM player_mutes WHERE uuid = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, playerId.toString());
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -516,8 +811,6 @@ public class DatabaseManager {
                     );
                 }
             }
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to get mute data", e);
         }
 
         return null;
@@ -529,12 +822,8 @@ public class DatabaseManager {
     public void removeMute(UUID playerId) {
         String sql = "DELETE FROM player_mutes WHERE uuid = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, playerId.toString());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to remove mute data", e);
-        }
+        enqueue(WriteOperation.delete("player_mutes", playerId.toString(), sql,
+            stmt -> stmt.setString(1, playerId.toString())));
     }
 
     // Guild system methods
@@ -542,34 +831,43 @@ public class DatabaseManager {
     /**
      * Save guild to database
      */
-    public void saveGuild(com.nexus.guilds.Guild guild) {
-        String sql = "INSERT OR REPLACE INTO guilds (id, name, tag, data) VALUES (?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, guild.getId().toString());
-            stmt.setString(2, guild.getName());
-            stmt.setString(3, guild.getTag());
-            stmt.setString(4, new com.google.gson.Gson().toJson(guild.serialize()));
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save guild", e);
-        }
+    public void saveGuild(Guild guild) {
+        String sql = dialect.replaceInto() + "guilds (id, name, tag, data) VALUES (?, ?, ?, ?)";
+
+        // Snapshot the guild now; it keeps changing on the main thread
+        String id = guild.getId().toString();
+        String name = guild.getName();
+        String tag = guild.getTag();
+        byte[] data = Codecs.GUILD.encode(guild);
+
+        enqueue(WriteOperation.upsert("guilds", id, sql, stmt -> {
+            stmt.setString(1, id);
+            stmt.setString(2, name);
+            stmt.setString(3, tag);
+            stmt.setBytes(4, data);
+        }));
     }
 
     /**
      * Get all guilds from database
      */
-    public List<Map<String, Object>> getAllGuilds() {
-        List<Map<String, Object>> guilds = new ArrayList<>();
-        String sql = "SELECT data FROM guilds";
+    public List<Guild> getAllGuilds() {
+        List<Guild> guilds = new ArrayList<>();
+        String sql = "SELECT id, data FROM guilds";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                String json = rs.getString("data");
-                Map<String, Object> data = new com.google.gson.Gson().fromJson(
-                    json, new com.google.gson.TypeToken<Map<String, Object>>(){}.getType());
-                guilds.add(data);
+                try {
+                    Guild guild = Codecs.GUILD.decode(rs.getBytes("data"));
+                    if (guild != null) {
+                        guilds.add(guild);
+                    }
+                } catch (RuntimeException e) {
+                    // One unreadable row should not hide every other guild
+                    plugin.getNexusLogger().log(Level.WARNING, "Skipping unreadable guild " + rs.getString("id"), e);
+                }
             }
         } catch (SQLException e) {
             plugin.getNexusLogger().log(Level.WARNING, "Failed to get guilds", e);
@@ -584,28 +882,23 @@ public class DatabaseManager {
     public void deleteGuild(UUID guildId) {
         String sql = "DELETE FROM guilds WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, guildId.toString());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to delete guild", e);
-        }
+        enqueue(WriteOperation.delete("guilds", guildId.toString(), sql,
+            stmt -> stmt.setString(1, guildId.toString())));
     }
 
     /**
      * Get guild by name
      */
-    public Map<String, Object> getGuildByName(String name) {
+    public Guild getGuildByName(String name) {
         String sql = "SELECT data FROM guilds WHERE name = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, name);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    String json = rs.getString("data");
-                    return new com.google.gson.Gson().fromJson(
-                        json, new com.google.gson.TypeToken<Map<String, Object>>(){}.getType());
+                    return Codecs.GUILD.decode(rs.getBytes("data"));
                 }
             }
         } catch (SQLException e) {
@@ -614,4 +907,97 @@ public class DatabaseManager {
 
         return null;
     }
+
+    // Minion methods
+
+    /**
+     * Save a minion under the chunk it stands in
+     * @param data the minion encoded with {@link Codecs#MINION}, taken on the main thread
+     */
+    public void saveMinion(MinionData minion, byte[] data) {
+        String sql = dialect.replaceInto() + MINIONS_TABLE
+                + " (id, owner_uuid, island_id, world_name, chunk_x, chunk_z, data) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        String id = minion.getId().toString();
+        String owner = minion.getOwnerUUID().toString();
+        String island = minion.getIslandId().toString();
+        String world = minion.getLocation().getWorld().getName();
+        int chunkX = minion.getLocation().getBlockX() >> 4;
+        int chunkZ = minion.getLocation().getBlockZ() >> 4;
+
+        enqueue(WriteOperation.upsert(MINIONS_TABLE, id, sql, stmt -> {
+            stmt.setString(1, id);
+            stmt.setString(2, owner);
+            stmt.setString(3, island);
+            stmt.setString(4, world);
+            stmt.setInt(5, chunkX);
+            stmt.setInt(6, chunkZ);
+            stmt.setBytes(7, data);
+        }));
+    }
+
+    /**
+     * Delete a minion
+     */
+    public void deleteMinion(UUID minionId) {
+        String sql = "DELETE FROM " + MINIONS_TABLE + " WHERE id = ?";
+
+        enqueue(WriteOperation.delete(MINIONS_TABLE, minionId.toString(), sql,
+            stmt -> stmt.setString(1, minionId.toString())));
+    }
+
+    /**
+     * Count stored minions per chunk, keyed by {@link MinionData#chunkKey}
+     */
+    public Map<String, Integer> getMinionChunkCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        String sql = "SELECT world_name, chunk_x, chunk_z, COUNT(*) AS minions FROM " + MINIONS_TABLE
+                + " GROUP BY world_name, chunk_x, chunk_z";
+
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                counts.put(MinionData.chunkKey(rs.getString("world_name"), rs.getInt("chunk_x"), rs.getInt("chunk_z")),
+                        rs.getInt("minions"));
+            }
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to count minions per chunk", e);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Get the minions standing in a chunk
+     */
+    public List<MinionData> getMinionsInChunk(String world, int chunkX, int chunkZ) {
+        List<MinionData> minions = new ArrayList<>();
+        String sql = "SELECT id, data FROM " + MINIONS_TABLE
+                + " WHERE world_name = ? AND chunk_x = ? AND chunk_z = ?";
+
+        try (Connection conn = backend.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, world);
+            stmt.setInt(2, chunkX);
+            stmt.setInt(3, chunkZ);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        MinionData minion = Codecs.MINION.decode(rs.getBytes("data"));
+                        if (minion != null) {
+                            minions.add(minion);
+                        }
+                    } catch (RuntimeException e) {
+                        plugin.getNexusLogger().log(Level.WARNING, "Skipping unreadable minion " + rs.getString("id"), e);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to get minions in chunk", e);
+        }
+
+        return minions;
+    }
 }
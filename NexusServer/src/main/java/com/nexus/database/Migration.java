@@ -0,0 +1,92 @@
+package com.nexus.database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A numbered schema change.
+ * Migrations run once, in version order, each inside its own transaction.
+ * Never edit a migration that has shipped; add a new one instead.
+ */
+public abstract class Migration {
+
+    private final int version;
+    private final String description;
+
+    protected Migration(int version, String description) {
+        this.version = version;
+        this.description = description;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Apply this migration on the given connection
+     */
+    public abstract void migrate(Connection connection, SqlDialect dialect) throws SQLException;
+
+    // Helpers for migrations
+
+    /**
+     * Execute one or more statements
+     */
+    protected void execute(Connection connection, String... sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String statement : sql) {
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    /**
+     * Add a column unless it already exists (databases created by hand or by older builds)
+     */
+    protected void addColumn(Connection connection, String table, String column, String definition) throws SQLException {
+        if (!columnExists(connection, table, column)) {
+            execute(connection, "ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    /**
+     * Create an index unless one with the same name already exists
+     */
+    protected void createIndex(Connection connection, String name, String table, String columns) throws SQLException {
+        if (!indexExists(connection, table, name)) {
+            execute(connection, "CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    protected boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        try (ResultSet rs = meta.getColumns(connection.getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                if (rs.getString("COLUMN_NAME").equalsIgnoreCase(column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name != null && name.equalsIgnoreCase(index)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,371 @@
+package com.nexus.database;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Built-in schema migrations for nexus.db.
+ * Append new migrations to the end of {@link #all()} with the next version number.
+ */
+public final class Migrations {
+
+    private Migrations() {
+    }
+
+    /**
+     * Get every known migration
+     */
+    public static List<Migration> all() {
+        List<Migration> migrations = new ArrayList<>();
+        migrations.add(new BaselineTables());
+        migrations.add(new PlayerRankAndStatsColumns());
+        migrations.add(new LookupIndexes());
+        migrations.add(new TypedPlayerStats());
+        migrations.add(new BinaryBlobColumns());
+        migrations.add(new StatDayTables());
+        migrations.add(new MinionsTable());
+        return migrations;
+    }
+
+    /**
+     * 1: the tables created by createTables() before migrations existed
+     */
+    private static class BaselineTables extends Migration {
+
+        BaselineTables() {
+            super(1, "Baseline tables");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            execute(connection,
+                // Players table
+                "CREATE TABLE IF NOT EXISTS " + DatabaseManager.getPlayersTable() + " (" +
+                "uuid VARCHAR(36) PRIMARY KEY," +
+                "username VARCHAR(16) NOT NULL," +
+                "first_join BIGINT NOT NULL," +
+                "last_join BIGINT NOT NULL," +
+                "play_time BIGINT DEFAULT 0," +
+                "kills INT DEFAULT 0," +
+                "deaths INT DEFAULT 0," +
+                "games_played INT DEFAULT 0," +
+                "wins INT DEFAULT 0" +
+                ")",
+
+                // Economy table
+                "CREATE TABLE IF NOT EXISTS " + DatabaseManager.getEconomyTable() + " (" +
+                "uuid VARCHAR(36) PRIMARY KEY," +
+                "coins BIGINT DEFAULT 0," +
+                "gems INT DEFAULT 0," +
+                "last_claim BIGINT DEFAULT 0" +
+                ")",
+
+                // SkyBlock islands table
+                "CREATE TABLE IF NOT EXISTS " + DatabaseManager.getSkyblockTable() + " (" +
+                "id " + dialect.autoIncrementKey() + "," +
+                "owner_uuid VARCHAR(36) NOT NULL," +
+                "world_name VARCHAR(64) NOT NULL," +
+                "center_x INT NOT NULL," +
+                "center_z INT NOT NULL," +
+                "created_at BIGINT NOT NULL," +
+                "level INT DEFAULT 1," +
+                "members " + dialect.text("'[]'") + "," +
+                "settings " + dialect.text("'{}'") +
+                ")",
+
+                // Warps table
+                "CREATE TABLE IF NOT EXISTS " + DatabaseManager.getWarpTable() + " (" +
+                "name VARCHAR(32) PRIMARY KEY," +
+                "world_name VARCHAR(64) NOT NULL," +
+                "x DOUBLE NOT NULL," +
+                "y DOUBLE NOT NULL," +
+                "z DOUBLE NOT NULL," +
+                "yaw FLOAT NOT NULL," +
+                "pitch FLOAT NOT NULL," +
+                "created_by VARCHAR(36) NOT NULL," +
+                "created_at BIGINT NOT NULL," +
+                "uses INT DEFAULT 0" +
+                ")",
+
+                // Skills table
+                "CREATE TABLE IF NOT EXISTS " + DatabaseManager.getSkillsTable() + " (" +
+                "uuid VARCHAR(36) PRIMARY KEY," +
+                "skills_data TEXT NOT NULL" +
+                ")",
+
+                // Achievements table
+                "CREATE TABLE IF NOT EXISTS " + DatabaseManager.getAchievementsTable() + " (" +
+                "id VARCHAR(64) NOT NULL," +
+                "uuid VARCHAR(36) NOT NULL," +
+                "name VARCHAR(64) NOT NULL," +
+                "description TEXT," +
+                "coins_reward INT DEFAULT 0," +
+                "unlocked_at BIGINT NOT NULL," +
+                "PRIMARY KEY (id, uuid)" +
+                ")",
+
+                // Player mutes table
+                "CREATE TABLE IF NOT EXISTS player_mutes (" +
+                "uuid VARCHAR(36) PRIMARY KEY," +
+                "muted_by VARCHAR(36) NOT NULL," +
+                "reason TEXT," +
+                "expires_at BIGINT DEFAULT -1" +
+                ")",
+
+                // Guilds table
+                "CREATE TABLE IF NOT EXISTS guilds (" +
+                "id VARCHAR(36) PRIMARY KEY," +
+                "name VARCHAR(16) NOT NULL UNIQUE," +
+                "tag VARCHAR(4) NOT NULL UNIQUE," +
+                "data TEXT NOT NULL" +
+                ")"
+            );
+        }
+    }
+
+    /**
+     * 2: columns written by savePlayerRank and savePlayerStats but never created
+     */
+    private static class PlayerRankAndStatsColumns extends Migration {
+
+        PlayerRankAndStatsColumns() {
+            super(2, "Add players.rank_id and players.stats_data");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            addColumn(connection, DatabaseManager.getPlayersTable(), "rank_id", "VARCHAR(32)");
+            addColumn(connection, DatabaseManager.getPlayersTable(), "stats_data", "TEXT");
+        }
+    }
+
+    /**
+     * 3: indexes for per-player lookups and leaderboard ordering.
+     * guilds(name) and guilds(tag) are already indexed by their UNIQUE constraints.
+     */
+    private static class LookupIndexes extends Migration {
+
+        LookupIndexes() {
+            super(3, "Lookup and leaderboard indexes");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            // The (id, uuid) primary key cannot serve lookups by uuid alone
+            createIndex(connection, "idx_achievements_uuid", DatabaseManager.getAchievementsTable(), "uuid");
+            createIndex(connection, "idx_islands_owner", DatabaseManager.getSkyblockTable(), "owner_uuid");
+
+            String players = DatabaseManager.getPlayersTable();
+            createIndex(connection, "idx_players_kills", players, "kills");
+            createIndex(connection, "idx_players_wins", players, "wins");
+            createIndex(connection, "idx_players_play_time", players, "play_time");
+            createIndex(connection, "idx_players_rank", players, "rank_id");
+        }
+    }
+
+    /**
+     * 4: typed player_stats table replacing the players.stats_data JSON blob
+     */
+    private static class TypedPlayerStats extends Migration {
+
+        // Legacy JSON key -> column, frozen as of this migration
+        private static final String[][] COUNTERS = {
+            {"playTime", "play_time"},
+            {"kills", "kills"},
+            {"deaths", "deaths"},
+            {"gamesPlayed", "games_played"},
+            {"wins", "wins"},
+            {"losses", "losses"},
+            {"islandLevel", "island_level"},
+            {"islandsCreated", "islands_created"},
+            {"coinsEarned", "coins_earned"},
+            {"coinsSpent", "coins_spent"},
+            {"partiesJoined", "parties_joined"},
+            {"guildsCreated", "guilds_created"},
+            {"blocksBroken", "blocks_broken"},
+            {"blocksPlaced", "blocks_placed"},
+            {"itemsCrafted", "items_crafted"},
+            {"mobsKilled", "mobs_killed"},
+            {"fishCaught", "fish_caught"}
+        };
+
+        private static final String[] RANKED = {
+            "play_time", "kills", "deaths", "games_played", "wins", "losses", "islands_created",
+            "coins_earned", "blocks_broken", "blocks_placed", "items_crafted", "mobs_killed", "fish_caught"
+        };
+
+        TypedPlayerStats() {
+            super(4, "Typed player_stats table");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            String table = DatabaseManager.getPlayerStatsTable();
+
+            StringBuilder create = new StringBuilder("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                    "uuid VARCHAR(36) PRIMARY KEY," +
+                    "player_name VARCHAR(16)," +
+                    "skill_average DOUBLE NOT NULL DEFAULT 0");
+            for (String[] counter : COUNTERS) {
+                create.append(",").append(counter[1]).append(" BIGINT NOT NULL DEFAULT ")
+                        .append(counter[1].equals("island_level") ? "1" : "0");
+            }
+            create.append(")");
+            execute(connection, create.toString());
+
+            for (String column : RANKED) {
+                createIndex(connection, "idx_player_stats_" + column, table, column);
+            }
+
+            backfill(connection, dialect, table);
+        }
+
+        /**
+         * Copy existing stats_data JSON into the typed columns
+         */
+        private void backfill(Connection connection, SqlDialect dialect, String table) throws SQLException {
+            StringBuilder columns = new StringBuilder("uuid, player_name, skill_average");
+            StringBuilder values = new StringBuilder("?, ?, ?");
+            for (String[] counter : COUNTERS) {
+                columns.append(", ").append(counter[1]);
+                values.append(", ?");
+            }
+            String insert = dialect.replaceInto() + table + " (" + columns + ") VALUES (" + values + ")";
+
+            Gson gson = new Gson();
+            Type mapType = new TypeToken<Map<String, Object>>(){}.getType();
+            String select = "SELECT uuid, stats_data FROM " + DatabaseManager.getPlayersTable()
+                    + " WHERE stats_data IS NOT NULL";
+
+            try (Statement query = connection.createStatement();
+                 ResultSet rs = query.executeQuery(select);
+                 PreparedStatement stmt = connection.prepareStatement(insert)) {
+                while (rs.next()) {
+                    Map<String, Object> data = gson.fromJson(rs.getString("stats_data"), mapType);
+                    if (data == null) {
+                        continue;
+                    }
+
+                    stmt.setString(1, rs.getString("uuid"));
+                    Object name = data.get("playerName");
+                    stmt.setString(2, name instanceof String && !((String) name).isEmpty() ? (String) name : null);
+                    stmt.setDouble(3, number(data.get("skillAverage"), 0).doubleValue());
+                    for (int i = 0; i < COUNTERS.length; i++) {
+                        long fallback = COUNTERS[i][1].equals("island_level") ? 1 : 0;
+                        stmt.setLong(4 + i, number(data.get(COUNTERS[i][0]), fallback).longValue());
+                    }
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        private static Number number(Object value, long fallback) {
+            return value instanceof Number ? (Number) value : fallback;
+        }
+    }
+
+    /**
+     * 5: skills and guild data are stored as versioned binary blobs.
+     * SQLite keeps BLOB values as-is in TEXT columns, so only MySQL needs the
+     * column type changed; existing JSON rows stay readable and are rewritten
+     * in binary on their next save.
+     */
+    private static class BinaryBlobColumns extends Migration {
+
+        BinaryBlobColumns() {
+            super(5, "Binary skills and guild data columns");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            if (dialect != SqlDialect.MYSQL) {
+                return;
+            }
+            execute(connection,
+                "ALTER TABLE " + DatabaseManager.getSkillsTable() + " MODIFY skills_data MEDIUMBLOB NOT NULL",
+                "ALTER TABLE guilds MODIFY data MEDIUMBLOB NOT NULL"
+            );
+        }
+    }
+
+    /**
+     * 6: per-day stat buckets for windowed leaderboards, and the monthly
+     * summary rows old buckets are compacted into. Columns avoid day, month and value,
+     * which are reserved words in H2 and awkward in MySQL.
+     */
+    private static class StatDayTables extends Migration {
+
+        StatDayTables() {
+            super(6, "Daily and monthly stat tables");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            String days = DatabaseManager.getPlayerStatDaysTable();
+            String months = DatabaseManager.getPlayerStatMonthsTable();
+            execute(connection,
+                "CREATE TABLE IF NOT EXISTS " + days + " (" +
+                "uuid VARCHAR(36) NOT NULL," +
+                "stat VARCHAR(32) NOT NULL," +
+                "epoch_day INT NOT NULL," +
+                "month_key INT NOT NULL," +
+                "amount BIGINT NOT NULL DEFAULT 0," +
+                "PRIMARY KEY (uuid, stat, epoch_day)" +
+                ")",
+
+                "CREATE TABLE IF NOT EXISTS " + months + " (" +
+                "uuid VARCHAR(36) NOT NULL," +
+                "stat VARCHAR(32) NOT NULL," +
+                "month_key INT NOT NULL," +
+                "amount BIGINT NOT NULL DEFAULT 0," +
+                "PRIMARY KEY (uuid, stat, month_key)" +
+                ")"
+            );
+
+            // Windowed leaderboards sum one stat over a day range; compaction selects by month
+            createIndex(connection, "idx_player_stat_days_stat", days, "stat, epoch_day");
+            createIndex(connection, "idx_player_stat_days_month", days, "month_key");
+        }
+    }
+
+    /**
+     * 7: placed minions, one binary record each, found by the chunk they stand in
+     * or the island they belong to
+     */
+    private static class MinionsTable extends Migration {
+
+        MinionsTable() {
+            super(7, "Minions table");
+        }
+
+        @Override
+        public void migrate(Connection connection, SqlDialect dialect) throws SQLException {
+            String table = DatabaseManager.getMinionsTable();
+            execute(connection,
+                "CREATE TABLE IF NOT EXISTS " + table + " (" +
+                "id VARCHAR(36) PRIMARY KEY," +
+                "owner_uuid VARCHAR(36) NOT NULL," +
+                "island_id VARCHAR(36) NOT NULL," +
+                "world_name VARCHAR(64) NOT NULL," +
+                "chunk_x INT NOT NULL," +
+                "chunk_z INT NOT NULL," +
+                "data BLOB NOT NULL" +
+                ")"
+            );
+
+            createIndex(connection, "idx_minions_chunk", table, "world_name, chunk_x, chunk_z");
+            createIndex(connection, "idx_minions_island", table, "island_id");
+        }
+    }
+}
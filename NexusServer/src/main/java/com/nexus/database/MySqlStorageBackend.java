@@ -0,0 +1,99 @@
+package com.nexus.database;
+
+import com.nexus.core.NexusCore;
+import com.nexus.core.utils.ConfigManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Pooled MySQL/MariaDB storage backend, shared by every server on the network.
+ * Prepared statements are cached by the driver on each pooled connection.
+ * Setting database.url (for example jdbc:h2:mem:nexus;MODE=MySQL;DATABASE_TO_LOWER=TRUE)
+ * points the backend at any JDBC database that speaks the MySQL dialect.
+ */
+public class MySqlStorageBackend implements StorageBackend {
+
+    private final NexusCore plugin;
+    private ConnectionPool pool;
+
+    public MySqlStorageBackend(NexusCore plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return "MySQL";
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return SqlDialect.MYSQL;
+    }
+
+    @Override
+    public void initialize() throws SQLException {
+        ConfigManager config = plugin.getConfigManager();
+
+        String url = config.getString("database.url", "");
+        if (url.isEmpty()) {
+            url = "jdbc:mariadb://" + config.getString("database.host", "localhost") + ":"
+                    + config.getInt("database.port", 3306) + "/" + config.getString("database.name", "nexus");
+        }
+
+        String driver = config.getString("database.driver", "org.mariadb.jdbc.Driver");
+        try {
+            Class.forName(driver);
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC driver not found: " + driver, e);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("user", config.getString("database.user", "root"));
+        properties.setProperty("password", config.getString("database.password", ""));
+        properties.setProperty("useServerPrepStmts", "true");
+        properties.setProperty("cachePrepStmts", "true");
+        properties.setProperty("prepStmtCacheSize", String.valueOf(config.getInt("database.pool.statement-cache-size", 250)));
+        properties.setProperty("prepStmtCacheSqlLimit", "2048");
+        properties.setProperty("rewriteBatchedStatements", "true");
+
+        String jdbcUrl = url;
+        pool = new ConnectionPool(
+            plugin,
+            "MySQL",
+            () -> DriverManager.getConnection(jdbcUrl, properties),
+            config.getInt("database.pool.max-size", 10),
+            config.getInt("database.pool.min-idle", 2),
+            config.getLong("database.pool.connection-timeout-ms", 5000),
+            config.getInt("database.pool.validation-timeout-seconds", 2),
+            config.getLong("database.pool.validation-interval-ms", 30000),
+            config.getLong("database.pool.leak-detection-ms", 60000),
+            0 // the driver caches server-side statements itself
+        );
+        pool.start();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return pool != null && pool.isHealthy();
+    }
+
+    @Override
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void shutdown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+}
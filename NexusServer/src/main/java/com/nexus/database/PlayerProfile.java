@@ -0,0 +1,86 @@
+package com.nexus.database;
+
+import com.nexus.skyblock.skills.PlayerSkills;
+import com.nexus.staff.StaffCommand;
+import com.nexus.stats.WindowedStats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything loaded for a player before they join.
+ * Built off the main thread at pre-login and handed to each manager at login,
+ * so the join path never has to query the database.
+ */
+public class PlayerProfile {
+
+    private final UUID playerId;
+    private final String playerName;
+    private final Map<String, Object> statsColumns;
+    private final List<WindowedStats.Bucket> statDays;
+    private final String rankId;
+    private final PlayerSkills skills;
+    private final StaffCommand.MuteData mute;
+    private final long loadedAt;
+
+    public PlayerProfile(UUID playerId, String playerName, Map<String, Object> statsColumns,
+                         List<WindowedStats.Bucket> statDays, String rankId, PlayerSkills skills,
+                         StaffCommand.MuteData mute) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.statsColumns = statsColumns;
+        this.statDays = statDays;
+        this.rankId = rankId;
+        this.skills = skills;
+        this.mute = mute;
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Get typed player_stats columns, empty for new players
+     */
+    public Map<String, Object> getStatsColumns() {
+        return statsColumns;
+    }
+
+    /**
+     * Get the recent per-day stat buckets, empty for new players
+     */
+    public List<WindowedStats.Bucket> getStatDays() {
+        return statDays;
+    }
+
+    /**
+     * Get the stored rank id, or null if the player has none
+     */
+    public String getRankId() {
+        return rankId;
+    }
+
+    /**
+     * Get stored skills, or null for new players
+     */
+    public PlayerSkills getSkills() {
+        return skills;
+    }
+
+    /**
+     * Get the active mute, or null if the player is not muted
+     */
+    public StaffCommand.MuteData getMute() {
+        return mute;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+}
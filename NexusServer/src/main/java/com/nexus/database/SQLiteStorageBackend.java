@@ -0,0 +1,182 @@
+package com.nexus.database;
+
+import com.nexus.core.NexusCore;
+import com.nexus.core.utils.ConfigManager;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Single-file SQLite storage backend (the default).
+ * Runs in WAL mode so a pool of query-only reader connections can work alongside
+ * the writers; journal, sync, cache and mmap pragmas come from database.sqlite.*.
+ */
+public class SQLiteStorageBackend implements StorageBackend {
+
+    private static final Set<String> JOURNAL_MODES = Set.of("WAL", "DELETE", "TRUNCATE", "PERSIST", "MEMORY");
+    private static final Set<String> SYNC_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+
+    private final NexusCore plugin;
+    private final String databasePath;
+    private ConnectionPool pool;
+    private ConnectionPool readPool;
+
+    public SQLiteStorageBackend(NexusCore plugin, String databasePath) {
+        this.plugin = plugin;
+        this.databasePath = databasePath;
+    }
+
+    @Override
+    public String getName() {
+        return "SQLite";
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return SqlDialect.SQLITE;
+    }
+
+    @Override
+    public void initialize() throws SQLException {
+        // Ensure data folder exists
+        File dataFolder = plugin.getDataFolder();
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite driver not found", e);
+        }
+
+        ConfigManager config = plugin.getConfigManager();
+        String url = "jdbc:sqlite:" + databasePath;
+        List<String> pragmas = buildPragmas(config);
+        int statementCacheSize = config.getInt("database.sqlite.statement-cache-size", 64);
+
+        pool = new ConnectionPool(
+            plugin,
+            "SQLite",
+            () -> openConnection(url, pragmas, false),
+            config.getInt("database.sqlite.pool-size", 2),
+            1,
+            config.getLong("database.pool.connection-timeout-ms", 5000),
+            config.getInt("database.pool.validation-timeout-seconds", 2),
+            config.getLong("database.pool.validation-interval-ms", 30000),
+            config.getLong("database.pool.leak-detection-ms", 0),
+            statementCacheSize
+        );
+        pool.start();
+
+        // Concurrent readers only pay off in WAL mode; otherwise they would contend with the writer
+        if (pragmas.contains("PRAGMA journal_mode = WAL")) {
+            readPool = new ConnectionPool(
+                plugin,
+                "SQLite-Read",
+                () -> openConnection(url, pragmas, true),
+                config.getInt("database.sqlite.read-pool-size", 4),
+                1,
+                config.getLong("database.pool.connection-timeout-ms", 5000),
+                config.getInt("database.pool.validation-timeout-seconds", 2),
+                config.getLong("database.pool.validation-interval-ms", 30000),
+                config.getLong("database.pool.leak-detection-ms", 0),
+                statementCacheSize
+            );
+            readPool.start();
+        }
+    }
+
+    /**
+     * Build the per-connection pragmas from config
+     */
+    private List<String> buildPragmas(ConfigManager config) {
+        List<String> pragmas = new ArrayList<>();
+        pragmas.add("PRAGMA busy_timeout = " + config.getInt("database.sqlite.busy-timeout-ms", 5000));
+        pragmas.add("PRAGMA journal_mode = " + choice(config, "database.sqlite.journal-mode", "WAL", JOURNAL_MODES));
+        pragmas.add("PRAGMA synchronous = " + choice(config, "database.sqlite.synchronous", "NORMAL", SYNC_MODES));
+        // Negative cache_size is in KiB rather than pages
+        pragmas.add("PRAGMA cache_size = -" + Math.max(0, config.getInt("database.sqlite.cache-size-kb", 16384)));
+        pragmas.add("PRAGMA mmap_size = " + Math.max(0, config.getLong("database.sqlite.mmap-size-mb", 256)) * 1024 * 1024);
+        pragmas.add("PRAGMA temp_store = MEMORY");
+        return pragmas;
+    }
+
+    /**
+     * Read an enumerated pragma value, falling back to the default for anything unknown
+     */
+    private String choice(ConfigManager config, String path, String fallback, Set<String> allowed) {
+        String value = config.getString(path, fallback).toUpperCase(Locale.ROOT);
+        if (!allowed.contains(value)) {
+            plugin.getNexusLogger().warning("Invalid " + path + " '" + value + "', using " + fallback);
+            return fallback;
+        }
+        return value;
+    }
+
+    private Connection openConnection(String url, List<String> pragmas, boolean readOnly) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            for (String pragma : pragmas) {
+                stmt.execute(pragma);
+            }
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = 1");
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return readPool != null ? readPool.borrow() : pool.borrow();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return pool != null && pool.isHealthy() && (readPool == null || readPool.isHealthy());
+    }
+
+    @Override
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public ConnectionPool getReadPool() {
+        return readPool != null ? readPool : pool;
+    }
+
+    @Override
+    public void shutdown() {
+        if (readPool != null) {
+            readPool.close();
+        }
+        if (pool != null) {
+            // Fold the WAL back into the main file so the database is self-contained at rest
+            try (Connection connection = pool.borrow();
+                 Statement stmt = connection.createStatement()) {
+                stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            } catch (SQLException e) {
+                plugin.getNexusLogger().log(Level.WARNING, "Failed to checkpoint SQLite WAL", e);
+            }
+            pool.close();
+        }
+    }
+}
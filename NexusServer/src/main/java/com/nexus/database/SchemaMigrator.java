@@ -0,0 +1,119 @@
+package com.nexus.database;
+
+import com.nexus.core.NexusCore;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Applies pending schema migrations at startup.
+ * The current version is recorded in the schema_version table, one row per
+ * applied migration, so every server converges on the same schema.
+ */
+public class SchemaMigrator {
+
+    private static final String VERSION_TABLE = "schema_version";
+
+    private final NexusCore plugin;
+    private final StorageBackend backend;
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(NexusCore plugin, StorageBackend backend, List<Migration> migrations) {
+        this.plugin = plugin;
+        this.backend = backend;
+        this.migrations = new ArrayList<>(migrations);
+        this.migrations.sort(Comparator.comparingInt(Migration::getVersion));
+    }
+
+    /**
+     * Apply every migration newer than the recorded schema version
+     * @return number of migrations applied
+     */
+    public int migrate() throws SQLException {
+        SqlDialect dialect = backend.getDialect();
+
+        try (Connection connection = backend.getConnection()) {
+            createVersionTable(connection);
+            int current = getCurrentVersion(connection);
+            int applied = 0;
+
+            for (Migration migration : migrations) {
+                if (migration.getVersion() <= current) {
+                    continue;
+                }
+
+                plugin.getNexusLogger().info("Applying schema migration " + migration.getVersion()
+                        + ": " + migration.getDescription());
+                connection.setAutoCommit(false);
+                try {
+                    migration.migrate(connection, dialect);
+                    recordVersion(connection, migration);
+                    connection.commit();
+                    applied++;
+                } catch (SQLException e) {
+                    // MySQL commits DDL implicitly, so helpers in Migration are idempotent
+                    connection.rollback();
+                    plugin.getNexusLogger().log(Level.SEVERE, "Schema migration " + migration.getVersion()
+                            + " failed", e);
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+
+            int latest = getCurrentVersion(connection);
+            if (applied > 0) {
+                plugin.getNexusLogger().info("Database schema migrated to version " + latest);
+            } else {
+                plugin.getNexusLogger().info("Database schema is up to date (version " + latest + ")");
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Get the highest applied migration version
+     */
+    public int getCurrentVersion() throws SQLException {
+        try (Connection connection = backend.getConnection()) {
+            createVersionTable(connection);
+            return getCurrentVersion(connection);
+        }
+    }
+
+    private void createVersionTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+                "version INT PRIMARY KEY," +
+                "description VARCHAR(128) NOT NULL," +
+                "applied_at BIGINT NOT NULL" +
+                ")"
+            );
+        }
+    }
+
+    private int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM " + VERSION_TABLE)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void recordVersion(Connection connection, Migration migration) throws SQLException {
+        String sql = "INSERT INTO " + VERSION_TABLE + " (version, description, applied_at) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setLong(3, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.nexus.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL differences between the supported storage backends
+ */
+public enum SqlDialect {
+
+    SQLITE("INSERT OR REPLACE INTO ", "INTEGER PRIMARY KEY AUTOINCREMENT", true),
+    MYSQL("REPLACE INTO ", "INTEGER PRIMARY KEY AUTO_INCREMENT", false);
+
+    private final String replaceInto;
+    private final String autoIncrementKey;
+    private final boolean textDefaults;
+
+    SqlDialect(String replaceInto, String autoIncrementKey, boolean textDefaults) {
+        this.replaceInto = replaceInto;
+        this.autoIncrementKey = autoIncrementKey;
+        this.textDefaults = textDefaults;
+    }
+
+    /**
+     * Get the "insert or replace" statement prefix, including the trailing space
+     */
+    public String replaceInto() {
+        return replaceInto;
+    }
+
+    /**
+     * Get the column definition for an auto-increment integer primary key
+     */
+    public String autoIncrementKey() {
+        return autoIncrementKey;
+    }
+
+    /**
+     * Build an insert that updates only the given columns when the key already exists.
+     * Parameters are bound in order: keys, insert-only columns, updated columns.
+     * @param insertOnly columns written only when the row is created
+     * @param updated columns overwritten on conflict
+     */
+    public String upsert(String table, String[] keys, String[] insertOnly, String[] updated) {
+        List<String> columns = new ArrayList<>();
+        Collections.addAll(columns, keys);
+        Collections.addAll(columns, insertOnly);
+        Collections.addAll(columns, updated);
+
+        StringBuilder sql = new StringBuilder();
+        sql.append(this == MYSQL && updated.length == 0 ? "INSERT IGNORE INTO " : "INSERT INTO ")
+                .append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(columns.size(), "?")))
+                .append(")");
+
+        if (this == MYSQL) {
+            if (updated.length > 0) {
+                sql.append(" ON DUPLICATE KEY UPDATE ");
+                appendAssignments(sql, updated, "VALUES(", ")");
+            }
+        } else {
+            sql.append(" ON CONFLICT(").append(String.join(", ", keys)).append(")");
+            if (updated.length > 0) {
+                sql.append(" DO UPDATE SET ");
+                appendAssignments(sql, updated, "excluded.", "");
+            } else {
+                sql.append(" DO NOTHING");
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Build an insert that applies the given assignments when the key already exists, so the
+     * stored row can be merged with the new one in the statement itself. Parameters are bound
+     * in column order, then those in the assignments. Assignments read the stored row by bare
+     * column name and the new row through {@link #inserted} or a parameter. MySQL applies them
+     * left to right, so an assignment must come before any other assignment to a column it reads.
+     */
+    public String upsertMerge(String table, String[] keys, String[] columns, String... assignments) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(columns.length, "?")))
+                .append(")");
+        sql.append(this == MYSQL ? " ON DUPLICATE KEY UPDATE " : " ON CONFLICT(" + String.join(", ", keys) + ") DO UPDATE SET ");
+        sql.append(String.join(", ", assignments));
+        return sql.toString();
+    }
+
+    /**
+     * Get the expression for a column's value in the row being inserted, for use in upsert assignments
+     */
+    public String inserted(String column) {
+        return this == MYSQL ? "VALUES(" + column + ")" : "excluded." + column;
+    }
+
+    /**
+     * Get an expression dividing two integers and dropping the remainder
+     */
+    public String integerDivide(String dividend, long divisor) {
+        String quotient = "(" + dividend + ") / " + divisor;
+        return this == MYSQL ? "FLOOR(" + quotient + ")" : quotient;
+    }
+
+    private static void appendAssignments(StringBuilder sql, String[] columns, String prefix, String suffix) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(columns[i]).append(" = ").append(prefix).append(columns[i]).append(suffix);
+        }
+    }
+
+    /**
+     * Get a TEXT column definition with a default where the engine allows one
+     */
+    public String text(String defaultLiteral) {
+        return textDefaults ? "TEXT DEFAULT " + defaultLiteral : "TEXT";
+    }
+}
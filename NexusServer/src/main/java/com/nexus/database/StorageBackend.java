@@ -0,0 +1,61 @@
+package com.nexus.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Storage backend behind DatabaseManager.
+ * Connections handed out by a backend must be closed by the caller,
+ * which returns them to the backend's pool.
+ */
+public interface StorageBackend {
+
+    /**
+     * Get a human readable backend name
+     */
+    String getName();
+
+    /**
+     * Get the SQL dialect spoken by this backend
+     */
+    SqlDialect getDialect();
+
+    /**
+     * Open the backend and its connection pool
+     */
+    void initialize() throws SQLException;
+
+    /**
+     * Borrow a connection; close it to give it back
+     */
+    Connection getConnection() throws SQLException;
+
+    /**
+     * Borrow a connection for queries only; backends without separate readers share getConnection()
+     */
+    default Connection getReadConnection() throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Check that the backend can still reach its database
+     */
+    boolean isHealthy();
+
+    /**
+     * Get the connection pool for metrics
+     */
+    ConnectionPool getPool();
+
+    /**
+     * Get the pool behind getReadConnection() for metrics
+     */
+    default ConnectionPool getReadPool() {
+        return getPool();
+    }
+
+    /**
+     * Close every connection
+     */
+    void shutdown();
+}
@@ -0,0 +1,346 @@
+package com.nexus.database;
+
+import com.nexus.core.NexusCore;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Write-behind persistence queue for NexusCore.
+ * Callers enqueue write operations from any thread; a single writer thread
+ * coalesces them per row (last write wins) and commits them in JDBC batches
+ * inside one transaction.
+ */
+public class WriteBehindQueue {
+
+    private final NexusCore plugin;
+    private final StorageBackend backend;
+    private final BlockingQueue<WriteOperation> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final Thread writerThread;
+    private volatile boolean running;
+
+    // Metrics
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong backpressureStalls = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    public WriteBehindQueue(NexusCore plugin, StorageBackend backend, int capacity, int batchSize,
+                            long flushIntervalMillis, long offerTimeoutMillis) {
+        this.plugin = plugin;
+        this.backend = backend;
+        this.capacity = capacity;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writerThread = new Thread(this::runWriter, "NexusCore-DB-Writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Start the writer thread
+     */
+    public void start() {
+        running = true;
+        writerThread.start();
+        plugin.getNexusLogger().info("Write-behind queue started (capacity " + capacity + ", batch " + batchSize + ")");
+    }
+
+    /**
+     * Queue a write. When the queue is full the caller waits up to the offer
+     * timeout, then performs the write itself so no data is dropped.
+     */
+    public void enqueue(WriteOperation operation) {
+        if (!running) {
+            writeDirect(operation);
+            return;
+        }
+
+        enqueued.incrementAndGet();
+        if (queue.offer(operation)) {
+            updateHighWaterMark();
+            return;
+        }
+
+        backpressureStalls.incrementAndGet();
+        try {
+            if (queue.offer(operation, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                updateHighWaterMark();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        callerRuns.incrementAndGet();
+        writeDirect(operation);
+    }
+
+    /**
+     * Request a flush of everything queued so far
+     * @return future completed once those writes are committed
+     */
+    public CompletableFuture<Void> flush() {
+        WriteOperation barrier = WriteOperation.barrier();
+        if (!running) {
+            barrier.getBarrier().complete(null);
+            return barrier.getBarrier();
+        }
+
+        try {
+            queue.put(barrier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            barrier.getBarrier().completeExceptionally(e);
+        }
+        return barrier.getBarrier();
+    }
+
+    /**
+     * Block until everything queued so far is committed
+     * @return true if the flush completed within the timeout
+     */
+    public boolean awaitFlush(long timeout, TimeUnit unit) {
+        try {
+            flush().get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Write-behind flush did not complete", e);
+        }
+        return false;
+    }
+
+    /**
+     * Stop accepting new writes and drain the queue to the database
+     */
+    public void shutdown(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+
+        awaitFlush(timeoutMillis, TimeUnit.MILLISECONDS);
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything enqueued after the final barrier is written inline
+        List<WriteOperation> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            commit(leftovers);
+        }
+
+        plugin.getNexusLogger().info("Write-behind queue stopped (" + written.get() + " rows written, "
+                + coalesced.get() + " coalesced)");
+    }
+
+    /**
+     * Writer thread main loop
+     */
+    private void runWriter() {
+        List<WriteOperation> drained = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                WriteOperation first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                queue.drainTo(drained, batchSize - 1);
+                commit(drained);
+            } catch (InterruptedException e) {
+                // Interrupted by shutdown; loop condition decides whether to exit
+            } catch (Exception e) {
+                plugin.getNexusLogger().log(Level.SEVERE, "Write-behind writer error", e);
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    /**
+     * Coalesce a drained run of operations and commit them.
+     * Barriers split the run so a barrier only completes after every write
+     * queued before it has been committed.
+     */
+    private void commit(List<WriteOperation> drained) {
+        Map<String, WriteOperation> pending = new LinkedHashMap<>();
+
+        for (WriteOperation operation : drained) {
+            if (operation.isBarrier()) {
+                executeBatch(pending.values());
+                pending.clear();
+                operation.getBarrier().complete(null);
+                continue;
+            }
+
+            if (pending.put(operation.getKey(), operation) != null) {
+                coalesced.incrementAndGet();
+            }
+        }
+
+        executeBatch(pending.values());
+    }
+
+    /**
+     * Execute operations grouped by statement inside one transaction
+     */
+    private void executeBatch(Iterable<WriteOperation> operations) {
+        Map<String, List<WriteOperation>> bySql = new LinkedHashMap<>();
+        int count = 0;
+        for (WriteOperation operation : operations) {
+            bySql.computeIfAbsent(operation.getSql(), k -> new ArrayList<>()).add(operation);
+            count++;
+        }
+        if (bySql.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = backend.getConnection()) {
+            try {
+                connection.setAutoCommit(false);
+                for (Map.Entry<String, List<WriteOperation>> entry : bySql.entrySet()) {
+                    try (PreparedStatement stmt = connection.prepareStatement(entry.getKey())) {
+                        for (WriteOperation operation : entry.getValue()) {
+                            operation.bind(stmt);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                connection.commit();
+                written.addAndGet(count);
+                batches.incrementAndGet();
+            } catch (SQLException e) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+                plugin.getNexusLogger().log(Level.WARNING, "Batch write failed, retrying rows individually", e);
+                for (List<WriteOperation> group : bySql.values()) {
+                    for (WriteOperation operation : group) {
+                        writeDirect(connection, operation);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            failed.addAndGet(count);
+            plugin.getNexusLogger().log(Level.SEVERE, "Failed to write batch of " + count + " rows", e);
+        }
+        lastFlushNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Execute a single operation with autocommit on a borrowed connection
+     */
+    private void writeDirect(WriteOperation operation) {
+        try (Connection connection = backend.getConnection()) {
+            writeDirect(connection, operation);
+        } catch (SQLException e) {
+            failed.incrementAndGet();
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to write " + operation.getKey(), e);
+        }
+    }
+
+    /**
+     * Execute a single operation with autocommit
+     */
+    private void writeDirect(Connection connection, WriteOperation operation) {
+        try (PreparedStatement stmt = connection.prepareStatement(operation.getSql())) {
+            operation.bind(stmt);
+            stmt.executeUpdate();
+            written.incrementAndGet();
+        } catch (SQLException e) {
+            failed.incrementAndGet();
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to write " + operation.getKey(), e);
+        }
+    }
+
+    private void updateHighWaterMark() {
+        long size = queue.size();
+        long current;
+        while (size > (current = highWaterMark.get())) {
+            if (highWaterMark.compareAndSet(current, size)) {
+                break;
+            }
+        }
+    }
+
+    // Metrics getters
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getBackpressureStalls() {
+        return backpressureStalls.get();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRuns.get();
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    public long getLastFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastFlushNanos);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
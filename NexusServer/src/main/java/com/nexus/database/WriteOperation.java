@@ -0,0 +1,96 @@
+package com.nexus.database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single queued database write.
+ * Operations sharing the same key replace each other in the write-behind queue,
+ * so the key must identify the row being written (table + primary key).
+ */
+public class WriteOperation {
+
+    private final Type type;
+    private final String key;
+    private final String sql;
+    private final Binder binder;
+    private final CompletableFuture<Void> barrier;
+
+    private WriteOperation(Type type, String key, String sql, Binder binder, CompletableFuture<Void> barrier) {
+        this.type = type;
+        this.key = key;
+        this.sql = sql;
+        this.binder = binder;
+        this.barrier = barrier;
+    }
+
+    /**
+     * Create an upsert operation for a row
+     */
+    public static WriteOperation upsert(String table, String rowId, String sql, Binder binder) {
+        return new WriteOperation(Type.UPSERT, table + ":" + rowId, sql, binder, null);
+    }
+
+    /**
+     * Create a delete operation for a row
+     */
+    public static WriteOperation delete(String table, String rowId, String sql, Binder binder) {
+        return new WriteOperation(Type.DELETE, table + ":" + rowId, sql, binder, null);
+    }
+
+    /**
+     * Create a flush marker that completes once every earlier write is committed
+     */
+    static WriteOperation barrier() {
+        return new WriteOperation(Type.BARRIER, null, null, null, new CompletableFuture<>());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the coalescing key, or null for barriers
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public boolean isBarrier() {
+        return type == Type.BARRIER;
+    }
+
+    CompletableFuture<Void> getBarrier() {
+        return barrier;
+    }
+
+    /**
+     * Bind this operation's parameters onto a prepared statement
+     */
+    public void bind(PreparedStatement stmt) throws SQLException {
+        binder.bind(stmt);
+    }
+
+    /**
+     * Write operation kinds
+     */
+    public enum Type {
+        UPSERT,
+        DELETE,
+        BARRIER
+    }
+
+    /**
+     * Binds captured values onto a statement. Values must be captured when the
+     * operation is created, never read back from live game objects.
+     */
+    @FunctionalInterface
+    public interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+}
@@ -0,0 +1,102 @@
+package com.nexus.database.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Versioned binary encoding for a stored object.
+ * Every blob starts with a schema version byte. Rows written before the
+ * binary format are JSON text and are still readable; they are rewritten in
+ * binary the next time the object is saved.
+ */
+public abstract class BlobCodec<T> {
+
+    protected static final Gson GSON = new Gson();
+    protected static final Type MAP_TYPE = new TypeToken<Map<String, Object>>(){}.getType();
+
+    private final int version;
+
+    /**
+     * @param version current schema version, written on encode. It must not look like the start
+     *                of legacy JSON: {@link #isLegacyJson} skips tab, newline, carriage return and
+     *                space (9, 10, 13, 32) and stops at '{' (123), so those versions are refused.
+     */
+    protected BlobCodec(int version) {
+        if (version < 1 || version >= '{' || isJsonWhitespace(version)) {
+            throw new IllegalArgumentException("Blob version " + version + " can be mistaken for legacy JSON");
+        }
+        this.version = version;
+    }
+
+    /**
+     * Encode a value in the current schema version
+     */
+    public byte[] encode(T value) {
+        BlobWriter writer = new BlobWriter();
+        writer.writeByte(version);
+        write(writer, value);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode a stored blob, falling back to the legacy JSON format
+     * @return the value, or null for an empty column
+     */
+    public T decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (isLegacyJson(data)) {
+            Map<String, Object> map = GSON.fromJson(new String(data, StandardCharsets.UTF_8), MAP_TYPE);
+            return map != null ? readLegacy(map) : null;
+        }
+
+        BlobReader reader = new BlobReader(data);
+        int blobVersion = reader.readByte();
+        if (blobVersion < 1 || blobVersion > version) {
+            throw new IllegalArgumentException("Unsupported blob version " + blobVersion);
+        }
+        return read(reader, blobVersion);
+    }
+
+    /**
+     * Check whether a stored value predates the binary format
+     */
+    public static boolean isLegacyJson(byte[] data) {
+        for (byte b : data) {
+            if (b == '{') {
+                return true;
+            }
+            if (!isJsonWhitespace(b)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJsonWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    protected abstract void write(BlobWriter writer, T value);
+
+    /**
+     * Read a blob body written in the given schema version
+     */
+    protected abstract T read(BlobReader reader, int version);
+
+    /**
+     * Convert a legacy JSON map
+     */
+    protected T readLegacy(Map<String, Object> data) {
+        throw new IllegalArgumentException("No legacy format for " + getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,14 @@
+package com.nexus.database.codec;
+
+/**
+ * Shared codec instances; codecs are stateless and thread-safe.
+ */
+public final class Codecs {
+
+    public static final SkillsCodec SKILLS = new SkillsCodec();
+    public static final GuildCodec GUILD = new GuildCodec();
+    public static final MinionCodec MINION = new MinionCodec();
+
+    private Codecs() {
+    }
+}
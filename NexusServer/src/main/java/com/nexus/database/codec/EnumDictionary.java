@@ -0,0 +1,51 @@
+package com.nexus.database.codec;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Stable wire ids for enum constants.
+ * Ids are positions in a frozen list of names rather than live ordinals, so
+ * reordering or removing constants never corrupts stored blobs. New constants
+ * must be appended to the end of the list.
+ */
+public final class EnumDictionary<E extends Enum<E>> {
+
+    private final E[] byId;
+    private final Map<E, Integer> ids;
+
+    @SuppressWarnings("unchecked")
+    public EnumDictionary(Class<E> type, String... names) {
+        this.byId = (E[]) java.lang.reflect.Array.newInstance(type, names.length);
+        this.ids = new EnumMap<>(type);
+        for (int id = 0; id < names.length; id++) {
+            try {
+                E constant = Enum.valueOf(type, names[id]);
+                byId[id] = constant;
+                ids.put(constant, id);
+            } catch (IllegalArgumentException e) {
+                // Constant was removed; its id stays reserved
+            }
+        }
+        for (E constant : type.getEnumConstants()) {
+            if (!ids.containsKey(constant)) {
+                throw new IllegalStateException("No wire id for " + type.getSimpleName() + "." + constant.name());
+            }
+        }
+    }
+
+    /**
+     * Get the wire id of a constant
+     */
+    public int id(E constant) {
+        return ids.get(constant);
+    }
+
+    /**
+     * Get the constant for a wire id
+     * @return the constant, or null if the id is unknown or was removed
+     */
+    public E get(int id) {
+        return id >= 0 && id < byId.length ? byId[id] : null;
+    }
+}
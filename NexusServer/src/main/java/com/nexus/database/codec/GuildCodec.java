@@ -0,0 +1,83 @@
+package com.nexus.database.codec;
+
+import com.nexus.guilds.Guild;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Binary form of {@link Guild}.
+ * v1: id, name, tag, leader, officer/member/invite UUID sets, description,
+ * color, level, experience, creation time, wins, kills and visibility.
+ * UUIDs take 16 bytes each instead of 38 characters of JSON.
+ */
+public class GuildCodec extends BlobCodec<Guild> {
+
+    public GuildCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(BlobWriter writer, Guild guild) {
+        writer.writeUuid(guild.getId());
+        writer.writeString(guild.getName());
+        writer.writeString(guild.getTag());
+        writer.writeUuid(guild.getLeaderId());
+        writeUuids(writer, guild.getOfficerIds());
+        writeUuids(writer, guild.getMemberIds());
+        writeUuids(writer, guild.getInvitePending());
+        writer.writeString(guild.getDescription());
+        writer.writeString(guild.getColor());
+        writer.writeVarInt(Math.max(0, guild.getLevel()));
+        writer.writeSignedVarLong(guild.getExperience());
+        writer.writeVarLong(Math.max(0, guild.getCreatedAt()));
+        writer.writeVarInt(Math.max(0, guild.getWins()));
+        writer.writeVarInt(Math.max(0, guild.getKills()));
+        writer.writeBoolean(guild.isPublic());
+    }
+
+    @Override
+    protected Guild read(BlobReader reader, int version) {
+        UUID id = reader.readUuid();
+        String name = reader.readString();
+        String tag = reader.readString();
+        UUID leaderId = reader.readUuid();
+
+        Guild guild = new Guild(id, name, tag, leaderId);
+        readUuids(reader, guild.getOfficerIds());
+        guild.getMemberIds().clear();
+        readUuids(reader, guild.getMemberIds());
+        readUuids(reader, guild.getInvitePending());
+        guild.setDescription(reader.readString());
+        guild.setColor(reader.readString());
+        guild.setLevel(reader.readVarInt());
+        guild.setExperience(reader.readSignedVarLong());
+        guild.setCreatedAt(reader.readVarLong());
+        guild.setWins(reader.readVarInt());
+        guild.setKills(reader.readVarInt());
+        guild.setPublic(reader.readBoolean());
+        return guild;
+    }
+
+    @Override
+    protected Guild readLegacy(Map<String, Object> data) {
+        return Guild.deserialize(data);
+    }
+
+    private static void writeUuids(BlobWriter writer, Set<UUID> uuids) {
+        // Copy first; the count and the entries must agree
+        UUID[] snapshot = uuids.toArray(new UUID[0]);
+        writer.writeVarInt(snapshot.length);
+        for (UUID uuid : snapshot) {
+            writer.writeUuid(uuid);
+        }
+    }
+
+    private static void readUuids(BlobReader reader, Set<UUID> target) {
+        int count = reader.readVarInt();
+        for (int i = 0; i < count; i++) {
+            target.add(reader.readUuid());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nexus.database.codec;
+
+import com.nexus.skyblock.minions.MinionData;
+import com.nexus.skyblock.minions.MinionManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary form of {@link MinionData}.
+ * v1: id, owner, varint type id, location (world name, x/y/z, yaw/pitch), tier,
+ * last action time, active flag, luck bonus, storage as one material name and
+ * total count per material, then the island id. The spawned entity id is runtime
+ * state and is not stored.
+ */
+public class MinionCodec extends BlobCodec<MinionData> {
+
+    // Append only
+    private static final EnumDictionary<MinionManager.MinionType> TYPES = new EnumDictionary<>(
+        MinionManager.MinionType.class,
+        "COBBLESTONE", "STONE", "COAL", "IRON", "GOLD", "DIAMOND", "EMERALD", "REDSTONE", "LAPIS",
+        "OBSIDIAN", "SAND", "GRAVEL", "ICE", "NETHER_QUARTZ", "ENDERMAN", "BLAZE", "SKELETON",
+        "ZOMBIE", "SPIDER", "CACTUS", "SUGAR_CANE", "WHEAT", "CARROT", "POTATO", "MELON", "PUMPKIN",
+        "MUSHROOM", "COCOA", "CHICKEN", "PIG", "COW", "SHEEP", "RABBIT", "BAT", "MAGMA_CUBE");
+
+    public MinionCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(BlobWriter writer, MinionData minion) {
+        writer.writeUuid(minion.getId());
+        writer.writeUuid(minion.getOwnerUUID());
+        writer.writeVarInt(TYPES.id(minion.getType()));
+
+        Location location = minion.getLocation();
+        writer.writeString(location.getWorld() != null ? location.getWorld().getName() : null);
+        writer.writeDouble(location.getX());
+        writer.writeDouble(location.getY());
+        writer.writeDouble(location.getZ());
+        writer.writeFloat(location.getYaw());
+        writer.writeFloat(location.getPitch());
+
+        writer.writeVarInt(Math.max(0, minion.getTier()));
+        writer.writeVarLong(Math.max(0, minion.getLastAction()));
+        writer.writeBoolean(minion.isActive());
+        writer.writeVarInt(Math.max(0, minion.getLuckBonus()));
+
+        Map<Material, Long> storage = minion.getStorage().getContents();
+        writer.writeVarInt(storage.size());
+        for (Map.Entry<Material, Long> entry : storage.entrySet()) {
+            writer.writeString(entry.getKey().name());
+            writer.writeVarLong(entry.getValue());
+        }
+
+        writer.writeUuid(minion.getIslandId());
+    }
+
+    @Override
+    protected MinionData read(BlobReader reader, int version) {
+        UUID id = reader.readUuid();
+        UUID owner = reader.readUuid();
+        int typeId = reader.readVarInt();
+        MinionManager.MinionType type = TYPES.get(typeId);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown minion type id " + typeId);
+        }
+
+        String worldName = reader.readString();
+        Location location = new Location(worldName != null ? Bukkit.getWorld(worldName) : null,
+            reader.readDouble(), reader.readDouble(), reader.readDouble(),
+            reader.readFloat(), reader.readFloat());
+
+        int tier = reader.readVarInt();
+        long lastAction = reader.readVarLong();
+        boolean active = reader.readBoolean();
+        int luckBonus = reader.readVarInt();
+
+        MinionData minion = new MinionData(id, owner, type, location, tier);
+        int count = reader.readVarInt();
+        for (int i = 0; i < count; i++) {
+            Material material = Material.getMaterial(reader.readString());
+            long amount = reader.readVarLong();
+            if (material != null) {
+                minion.getStorage().set(material, minion.getStorage().getAmount(material) + amount);
+            }
+        }
+
+        minion.setIslandId(reader.readUuid());
+
+        minion.setLastAction(lastAction);
+        minion.setActive(active);
+        minion.setLuckBonus(luckBonus);
+        return minion;
+    }
+}
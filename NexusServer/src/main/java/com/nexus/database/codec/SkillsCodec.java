@@ -0,0 +1,76 @@
+package com.nexus.database.codec;
+
+import com.nexus.skyblock.skills.PlayerSkills;
+import com.nexus.skyblock.skills.SkillData;
+import com.nexus.skyblock.skills.SkillType;
+
+import java.util.Map;
+
+/**
+ * Binary form of {@link PlayerSkills}.
+ * v1: varint count, then per skill a varint skill id, varint level and double XP.
+ * Skills still at level 1 with no XP are left out.
+ */
+public class SkillsCodec extends BlobCodec<PlayerSkills> {
+
+    // Append only
+    private static final EnumDictionary<SkillType> SKILLS = new EnumDictionary<>(SkillType.class,
+        "MINING", "FORAGING", "FARMING", "FISHING", "COMBAT",
+        "ENCHANTING", "ALCHEMY", "CARPENTRY", "RUNECRAFT", "TAMING");
+
+    public SkillsCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(BlobWriter writer, PlayerSkills skills) {
+        SkillType[] types = SkillType.values();
+        int count = 0;
+        for (SkillType type : types) {
+            if (!isDefault(skills.getSkill(type))) {
+                count++;
+            }
+        }
+
+        writer.writeVarInt(count);
+        for (SkillType type : types) {
+            SkillData data = skills.getSkill(type);
+            if (isDefault(data)) {
+                continue;
+            }
+            writer.writeVarInt(SKILLS.id(type));
+            writer.writeVarInt(Math.max(0, data.getLevel()));
+            writer.writeDouble(data.getCurrentXp());
+        }
+    }
+
+    @Override
+    protected PlayerSkills read(BlobReader reader, int version) {
+        PlayerSkills skills = new PlayerSkills();
+        int count = reader.readVarInt();
+        for (int i = 0; i < count; i++) {
+            SkillType type = SKILLS.get(reader.readVarInt());
+            int level = reader.readVarInt();
+            double xp = reader.readDouble();
+            if (type == null) {
+                // Skill was removed
+                continue;
+            }
+            SkillData data = skills.getSkill(type);
+            data.setLevel(level);
+            data.setCurrentXp(xp);
+        }
+        return skills;
+    }
+
+    @Override
+    protected PlayerSkills readLegacy(Map<String, Object> data) {
+        PlayerSkills skills = new PlayerSkills();
+        skills.deserialize(data);
+        return skills;
+    }
+
+    private static boolean isDefault(SkillData data) {
+        return data.getLevel() == 1 && data.getCurrentXp() == 0;
+    }
+}
@@ -0,0 +1,271 @@
+package com.nexus.economy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Running economy statistics, updated by the ledger on every balance change so
+ * that dashboards never scan every account.
+ * Per currency it keeps the money supply, a log2 histogram of balances, the
+ * richest players and inflow/outflow totals per reason since startup.
+ */
+public class EconomyAggregates {
+
+    // Bucket 0 holds zero balances, bucket b holds [2^(b-1), 2^b)
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private final int topSize;
+    private final Function<String, Map<UUID, Long>> rebuildSource;
+    private final Map<String, CurrencyStats> currencies;
+
+    /**
+     * @param topSize number of richest players to track per currency
+     * @param rebuildSource full balance scan, only used if the top list runs short
+     */
+    public EconomyAggregates(int topSize, Function<String, Map<UUID, Long>> rebuildSource) {
+        this.topSize = Math.max(1, topSize);
+        this.rebuildSource = rebuildSource;
+        this.currencies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Record a balance change; called by the ledger with the account locked
+     * @param opened true if the account did not exist before (previous is then 0)
+     * @param reason why it changed, or null when restoring persisted state
+     */
+    void onChange(String currency, UUID player, long previous, long updated, boolean opened, String reason) {
+        CurrencyStats stats = stats(currency);
+        stats.supply.add(updated - previous);
+        if (opened) {
+            stats.accounts.increment();
+        } else {
+            stats.histogram.decrementAndGet(bucket(previous));
+        }
+        stats.histogram.incrementAndGet(bucket(updated));
+        stats.top.update(player, updated, stats.accounts.sum());
+
+        if (reason != null && updated != previous) {
+            LongAdder[] flow = stats.flows.computeIfAbsent(reason, k -> new LongAdder[] {new LongAdder(), new LongAdder()});
+            long delta = updated - previous;
+            flow[delta > 0 ? 0 : 1].add(Math.abs(delta));
+        }
+    }
+
+    /**
+     * Get the sum of every balance in a currency
+     */
+    public long getSupply(String currency) {
+        return stats(currency).supply.sum();
+    }
+
+    public long getAccountCount(String currency) {
+        return stats(currency).accounts.sum();
+    }
+
+    /**
+     * Get account counts per log2 bucket; see {@link #bucketFloor(int)}
+     */
+    public long[] getHistogram(String currency) {
+        AtomicLongArray histogram = stats(currency).histogram;
+        long[] copy = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Get the richest players, highest first
+     */
+    public List<Map.Entry<UUID, Long>> getTop(String currency, int limit) {
+        return stats(currency).top.get(Math.min(limit, topSize), currency);
+    }
+
+    /**
+     * Get money created (index 0) and destroyed (index 1) per reason since startup
+     */
+    public Map<String, long[]> getFlows(String currency) {
+        Map<String, long[]> copy = new HashMap<>();
+        stats(currency).flows.forEach((reason, flow) -> copy.put(reason, new long[] {flow[0].sum(), flow[1].sum()}));
+        return copy;
+    }
+
+    /**
+     * Take an immutable copy of every aggregate for one currency
+     */
+    public Metrics snapshot(String currency) {
+        return new Metrics(currency, getSupply(currency), getAccountCount(currency), getHistogram(currency),
+            getTop(currency, topSize), getFlows(currency));
+    }
+
+    /**
+     * Smallest balance that falls into a histogram bucket
+     */
+    public static long bucketFloor(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+    private static int bucket(long balance) {
+        return balance <= 0 ? 0 : Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(balance));
+    }
+
+    private CurrencyStats stats(String currency) {
+        return currencies.computeIfAbsent(currency, k -> new CurrencyStats());
+    }
+
+    private class CurrencyStats {
+        private final LongAdder supply = new LongAdder();
+        private final LongAdder accounts = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+        private final Map<String, LongAdder[]> flows = new ConcurrentHashMap<>();
+        private final TopBalances top = new TopBalances();
+    }
+
+    /**
+     * Exact top-k of all accounts for some k between topSize and twice that.
+     * Every account outside the set is no richer than the poorest inside it; a
+     * member that falls below an outsider is dropped, and the set is rebuilt from
+     * a full scan only if that leaves fewer than topSize members.
+     */
+    private class TopBalances {
+        private final TreeSet<Holder> ranked = new TreeSet<>(
+            Comparator.comparingLong((Holder h) -> h.balance).reversed().thenComparing(h -> h.player));
+        // Written under the lock, read without it by the fast path
+        private final Map<UUID, Holder> members = new ConcurrentHashMap<>();
+        private final int capacity = topSize * 2;
+        private volatile long floor = Long.MIN_VALUE;
+        private volatile boolean full;
+        private boolean stale;
+
+        void update(UUID player, long balance, long accountCount) {
+            // Lock-free fast path: outsiders that stay below the poorest member change nothing
+            if (full && balance < floor && !members.containsKey(player)) {
+                return;
+            }
+
+            synchronized (this) {
+                Holder current = members.remove(player);
+                if (current != null) {
+                    ranked.remove(current);
+                }
+
+                // An account below every member may be outranked by an outsider, so it stays out
+                boolean outsidersExist = accountCount > members.size() + 1;
+                if (!outsidersExist || ranked.isEmpty() || balance >= ranked.last().balance) {
+                    Holder holder = new Holder(player, balance);
+                    ranked.add(holder);
+                    members.put(player, holder);
+                }
+
+                while (ranked.size() > capacity) {
+                    members.remove(ranked.pollLast().player);
+                }
+                if (ranked.size() < topSize && accountCount > ranked.size()) {
+                    stale = true;
+                }
+                refreshBounds(accountCount);
+            }
+        }
+
+        synchronized List<Map.Entry<UUID, Long>> get(int limit, String currency) {
+            if (stale) {
+                rebuild(currency);
+            }
+            List<Map.Entry<UUID, Long>> result = new ArrayList<>(limit);
+            for (Holder holder : ranked) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(Map.entry(holder.player, holder.balance));
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        private void rebuild(String currency) {
+            ranked.clear();
+            members.clear();
+            Map<UUID, Long> balances = rebuildSource.apply(currency);
+            for (Map.Entry<UUID, Long> entry : balances.entrySet()) {
+                Holder holder = new Holder(entry.getKey(), entry.getValue());
+                ranked.add(holder);
+                members.put(holder.player, holder);
+                if (ranked.size() > capacity) {
+                    members.remove(ranked.pollLast().player);
+                }
+            }
+            stale = false;
+            refreshBounds(balances.size());
+        }
+
+        private void refreshBounds(long accountCount) {
+            full = accountCount > ranked.size();
+            floor = ranked.isEmpty() ? Long.MIN_VALUE : ranked.last().balance;
+        }
+    }
+
+    private static class Holder {
+        private final UUID player;
+        private final long balance;
+
+        Holder(UUID player, long balance) {
+            this.player = player;
+            this.balance = balance;
+        }
+    }
+
+    /**
+     * Point-in-time copy of one currency's aggregates
+     */
+    public static class Metrics {
+        private final String currency;
+        private final long supply;
+        private final long accounts;
+        private final long[] histogram;
+        private final List<Map.Entry<UUID, Long>> top;
+        private final Map<String, long[]> flows;
+
+        Metrics(String currency, long supply, long accounts, long[] histogram,
+                List<Map.Entry<UUID, Long>> top, Map<String, long[]> flows) {
+            this.currency = currency;
+            this.supply = supply;
+            this.accounts = accounts;
+            this.histogram = histogram;
+            this.top = top;
+            this.flows = flows;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public long getSupply() {
+            return supply;
+        }
+
+        public long getAccounts() {
+            return accounts;
+        }
+
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        public List<Map.Entry<UUID, Long>> getTop() {
+            return top;
+        }
+
+        public Map<String, long[]> getFlows() {
+            return Collections.unmodifiableMap(flows);
+        }
+    }
+}
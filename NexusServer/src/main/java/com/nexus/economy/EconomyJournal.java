@@ -0,0 +1,535 @@
+package com.nexus.economy;
+
+import com.nexus.core.NexusCore;
+import com.nexus.database.codec.BlobReader;
+import com.nexus.database.codec.BlobWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of balance changes.
+ * Records are buffered in memory and written sequentially to numbered segment
+ * files (economy-journal.N.log) by a background flush. Each record carries its
+ * own length and CRC, so a torn write at the tail is detected and dropped on replay.
+ * Appends only fill the active buffer; a full buffer is sealed and handed to the
+ * flusher thread, which does every write and fsync outside the append lock, so a
+ * balance change never waits on the disk. Records that fail to reach the disk are
+ * kept and retried on the next flush.
+ * Compaction rotates to a new segment; once a snapshot covering the old segments
+ * is safely on disk they are deleted.
+ */
+public class EconomyJournal {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("economy-journal\\.(\\d+)\\.log");
+
+    private final NexusCore plugin;
+    private final File directory;
+    private final int bufferSize;
+    private final boolean fsync;
+
+    // Append side: active buffer, sealed chunks and the segment appended to
+    private final Object lock = new Object();
+    private final Deque<Chunk> pending = new ArrayDeque<>();
+    private ByteBuffer active;
+    private ByteBuffer spare;
+    private long segment;
+    private long segmentBytes;
+    private boolean open;
+    private boolean flushRequested;
+    private ScheduledExecutorService flusher;
+
+    // Write side: held across disk I/O, never by appenders
+    private final Object ioLock = new Object();
+    private FileChannel channel;
+    private long channelSegment;
+    private long coveredSegment;
+    private boolean failing;
+
+    public EconomyJournal(NexusCore plugin, File directory) {
+        this.plugin = plugin;
+        this.directory = directory;
+        this.bufferSize = Math.max(4096, plugin.getConfigManager().getInt("economy.journal.buffer-kb", 64) * 1024);
+        this.fsync = plugin.getConfigManager().getBoolean("economy.journal.fsync", true);
+    }
+
+    /**
+     * Replay every segment after the snapshot, then open a fresh segment for appends
+     * @param afterSegment highest segment already folded into the snapshot
+     * @return number of records replayed
+     */
+    public long open(long afterSegment, Consumer<Entry> replay) throws IOException {
+        long replayed = 0;
+        long highest = afterSegment;
+
+        for (long number : listSegments()) {
+            if (number > afterSegment) {
+                replayed += replaySegment(segmentFile(number), replay);
+            }
+            highest = Math.max(highest, number);
+        }
+
+        synchronized (ioLock) {
+            coveredSegment = afterSegment;
+            openChannel(highest + 1);
+        }
+
+        long interval = Math.max(50, plugin.getConfigManager().getLong("economy.journal.flush-interval-ms", 1000));
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "NexusCore-Economy-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        synchronized (lock) {
+            active = ByteBuffer.allocate(bufferSize);
+            segment = highest + 1;
+            segmentBytes = 0;
+            flusher = executor;
+            open = true;
+        }
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        return replayed;
+    }
+
+    /**
+     * Append a balance change; it reaches disk on the next flush
+     */
+    public void append(UUID player, String currency, long delta, String reason) {
+        BlobWriter payload = new BlobWriter(64);
+        payload.writeUuid(player);
+        payload.writeString(currency);
+        payload.writeSignedVarLong(delta);
+        payload.writeString(reason);
+        payload.writeVarLong(System.currentTimeMillis());
+        byte[] body = payload.toByteArray();
+
+        BlobWriter record = new BlobWriter(body.length + 10);
+        record.writeVarInt(body.length);
+        byte[] header = record.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        boolean sealed = false;
+        synchronized (lock) {
+            if (!open) {
+                plugin.getNexusLogger().warning("Economy journal is closed; dropped change for " + player);
+                return;
+            }
+            int size = header.length + body.length + 4;
+            if (active.remaining() < size) {
+                sealed = seal();
+            }
+            ByteBuffer target = active;
+            if (target.capacity() < size) {
+                // Oversized record (a very long reason); gets a chunk of its own
+                target = ByteBuffer.allocate(size);
+            }
+            target.put(header).put(body).putInt((int) crc.getValue());
+            if (target != active) {
+                target.flip();
+                pending.add(new Chunk(segment, target));
+                sealed = true;
+            }
+            segmentBytes += size;
+        }
+        if (sealed) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Ask the flusher to write everything buffered so far without waiting for it
+     */
+    public void requestFlush() {
+        ScheduledExecutorService executor;
+        synchronized (lock) {
+            if (flushRequested || flusher == null) {
+                return;
+            }
+            flushRequested = true;
+            executor = flusher;
+        }
+        try {
+            executor.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            // Closing; close() writes whatever is left
+        }
+    }
+
+    /**
+     * Write and sync everything buffered so far, on the calling thread.
+     * Records that could not be written stay queued for the next flush.
+     */
+    public void flush() throws IOException {
+        synchronized (ioLock) {
+            List<Chunk> batch;
+            synchronized (lock) {
+                if (active != null) {
+                    seal();
+                }
+                flushRequested = false;
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            int written = 0;
+            try {
+                for (Chunk chunk : batch) {
+                    write(chunk);
+                    written++;
+                }
+                if (fsync && channel != null) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    // Back in front of anything appended meanwhile, so the order on disk is kept
+                    for (int i = batch.size() - 1; i >= written; i--) {
+                        pending.addFirst(batch.get(i));
+                    }
+                }
+                // Reopened in append mode on the next attempt, right after the bytes that made it
+                closeChannelQuietly();
+                throw e;
+            }
+
+            synchronized (lock) {
+                for (Chunk chunk : batch) {
+                    if (spare == null && chunk.data.capacity() == bufferSize) {
+                        chunk.data.clear();
+                        spare = chunk.data;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Start a new segment. Only swaps the segment appends go to; the flusher closes the
+     * old file. Everything up to the returned segment is covered by a snapshot taken now.
+     * @return the segment number that was closed
+     */
+    public long rotate() throws IOException {
+        synchronized (lock) {
+            if (!open) {
+                throw new IOException("Economy journal is closed");
+            }
+            seal();
+            long closed = segment;
+            segment = closed + 1;
+            segmentBytes = 0;
+            return closed;
+        }
+    }
+
+    /**
+     * Delete segments already folded into a snapshot. Their records still waiting to be
+     * written are dropped, since the snapshot on disk already holds them.
+     */
+    public void deleteThrough(long coveredSegment) {
+        synchronized (ioLock) {
+            this.coveredSegment = Math.max(this.coveredSegment, coveredSegment);
+            if (channel != null && channelSegment <= coveredSegment) {
+                closeChannelQuietly();
+            }
+            for (long number : listSegments()) {
+                if (number <= coveredSegment) {
+                    File file = segmentFile(number);
+                    if (!file.delete()) {
+                        plugin.getNexusLogger().warning("Failed to delete compacted " + file.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the flusher, write what is left and close; appends after this are dropped
+     */
+    public void close() {
+        ScheduledExecutorService executor;
+        synchronized (lock) {
+            if (!open) {
+                return;
+            }
+            open = false;
+            executor = flusher;
+            flusher = null;
+        }
+
+        // Let a running flush finish instead of interrupting it, which would close the channel
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getNexusLogger().warning("Economy journal flusher did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            flush();
+        } catch (IOException e) {
+            plugin.getNexusLogger().log(Level.SEVERE, "Failed to write " + getPendingBytes()
+                    + " bytes of economy journal on close", e);
+        }
+        synchronized (ioLock) {
+            closeChannelQuietly();
+        }
+    }
+
+    public long getSegment() {
+        synchronized (lock) {
+            return segment;
+        }
+    }
+
+    /**
+     * Get the size of the current segment including buffered records
+     */
+    public long getSegmentBytes() {
+        synchronized (lock) {
+            return segmentBytes;
+        }
+    }
+
+    /**
+     * Get the number of bytes appended but not yet written
+     */
+    public long getPendingBytes() {
+        synchronized (lock) {
+            long bytes = active != null ? active.position() : 0;
+            for (Chunk chunk : pending) {
+                bytes += chunk.data.remaining();
+            }
+            return bytes;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+            if (failing) {
+                failing = false;
+                plugin.getNexusLogger().info("Economy journal writes recovered");
+            }
+        } catch (IOException e) {
+            // Logged once per outage; the records stay queued and are retried every interval
+            if (!failing) {
+                failing = true;
+                plugin.getNexusLogger().log(Level.SEVERE, "Failed to flush economy journal; "
+                        + getPendingBytes() + " bytes kept for retry", e);
+            }
+        }
+    }
+
+    /**
+     * Hand the active buffer to the flusher and start a new one; caller holds lock
+     * @return true if there was anything to hand over
+     */
+    private boolean seal() {
+        if (active.position() == 0) {
+            return false;
+        }
+        active.flip();
+        pending.add(new Chunk(segment, active));
+        active = spare != null ? spare : ByteBuffer.allocate(bufferSize);
+        spare = null;
+        return true;
+    }
+
+    /**
+     * Write one chunk to its segment; caller holds ioLock
+     */
+    private void write(Chunk chunk) throws IOException {
+        if (chunk.segment <= coveredSegment) {
+            return;
+        }
+        if (channel == null || channelSegment != chunk.segment) {
+            if (channel != null) {
+                FileChannel previous = channel;
+                channel = null;
+                try {
+                    if (fsync) {
+                        previous.force(false);
+                    }
+                } finally {
+                    previous.close();
+                }
+            }
+            openChannel(chunk.segment);
+        }
+        while (chunk.data.hasRemaining()) {
+            channel.write(chunk.data);
+        }
+    }
+
+    private void openChannel(long number) throws IOException {
+        channel = FileChannel.open(segmentFile(number).toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channelSegment = number;
+    }
+
+    private void closeChannelQuietly() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to close economy journal segment", e);
+        }
+        channel = null;
+    }
+
+    /**
+     * Apply every intact record of a segment; a torn or corrupt tail ends the segment
+     */
+    private long replaySegment(File file, Consumer<Entry> replay) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        long count = 0;
+        int position = 0;
+
+        while (position < data.length) {
+            try {
+                BlobReader header = new BlobReader(slice(data, position, Math.min(5, data.length - position)));
+                int length = header.readVarInt();
+                int headerLength = varIntLength(length);
+                int end = position + headerLength + length + 4;
+                if (length < 0 || end > data.length) {
+                    break;
+                }
+
+                byte[] body = slice(data, position + headerLength, length);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                int stored = ByteBuffer.wrap(data, end - 4, 4).getInt();
+                if (stored != (int) crc.getValue()) {
+                    break;
+                }
+
+                BlobReader reader = new BlobReader(body);
+                replay.accept(new Entry(reader.readUuid(), reader.readString(), reader.readSignedVarLong(),
+                    reader.readString(), reader.readVarLong()));
+                count++;
+                position = end;
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+        }
+
+        if (position < data.length) {
+            plugin.getNexusLogger().warning("Ignored " + (data.length - position) + " trailing bytes in "
+                    + file.getName() + " (interrupted write)");
+        }
+        return count;
+    }
+
+    private List<Long> listSegments() {
+        List<Long> numbers = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+                if (matcher.matches()) {
+                    numbers.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private File segmentFile(long number) {
+        return new File(directory, "economy-journal." + number + ".log");
+    }
+
+    private static byte[] slice(byte[] data, int offset, int length) {
+        byte[] copy = new byte[length];
+        System.arraycopy(data, offset, copy, 0, length);
+        return copy;
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Sealed records waiting to be written, with the segment they belong to
+     */
+    private static class Chunk {
+        private final long segment;
+        private final ByteBuffer data;
+
+        Chunk(long segment, ByteBuffer data) {
+            this.segment = segment;
+            this.data = data;
+        }
+    }
+
+    /**
+     * One journaled balance change
+     */
+    public static class Entry {
+        private final UUID player;
+        private final String currency;
+        private final long delta;
+        private final String reason;
+        private final long timestamp;
+
+        Entry(UUID player, String currency, long delta, String reason, long timestamp) {
+            this.player = player;
+            this.currency = currency;
+            this.delta = delta;
+            this.reason = reason;
+            this.timestamp = timestamp;
+        }
+
+        public UUID getPlayer() {
+            return player;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public long getDelta() {
+            return delta;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
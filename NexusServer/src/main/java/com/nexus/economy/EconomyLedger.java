@@ -0,0 +1,329 @@
+package com.nexus.economy;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe multi-currency balance store.
+ * Reads are lock-free. Writes lock the stripe owning the account, so a check and
+ * its update are atomic; transfers lock both stripes in index order to avoid
+ * deadlock. Every write also holds the shared side of a snapshot gate, which lets
+ * {@link #snapshot(Barrier)} see a state no half-done transfer is part of.
+ * Running totals, histograms and top balances are kept in {@link EconomyAggregates}.
+ */
+public class EconomyLedger {
+
+    /**
+     * Receives every committed balance change, while the account is still locked.
+     * Must not block or do I/O; the journal only copies the change into its buffer.
+     */
+    public interface ChangeListener {
+        void onChange(UUID player, String currency, long delta, String reason);
+    }
+
+    /**
+     * Work done at the snapshot point while no balance can change
+     */
+    public interface Barrier {
+        void run() throws IOException;
+    }
+
+    private static final String STARTING_REASON = "starting-balance";
+
+    private final ReentrantLock[] stripes;
+    private final ReadWriteLock snapshotGate;
+    // currency -> player -> balance
+    private final Map<String, Map<UUID, AtomicLong>> accounts;
+    private final Map<String, Long> startingBalances;
+    private final EconomyAggregates aggregates;
+    private volatile ChangeListener listener;
+
+    /**
+     * @param topSize number of richest players tracked per currency
+     */
+    public EconomyLedger(int stripeCount, int topSize) {
+        // Power of two so the stripe index is a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.snapshotGate = new ReentrantReadWriteLock();
+        this.accounts = new ConcurrentHashMap<>();
+        this.startingBalances = new ConcurrentHashMap<>();
+        this.aggregates = new EconomyAggregates(topSize, this::balancesOf);
+    }
+
+    /**
+     * Register a currency and the balance new accounts open with
+     */
+    public void registerCurrency(String currency, long startingBalance) {
+        startingBalances.put(currency, startingBalance);
+        accounts.computeIfAbsent(currency, k -> new ConcurrentHashMap<>());
+    }
+
+    public Set<String> getCurrencies() {
+        return accounts.keySet();
+    }
+
+    public void setListener(ChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Get a balance; players without an account see the starting balance
+     */
+    public long getBalance(UUID player, String currency) {
+        AtomicLong cell = currency(currency).get(player);
+        return cell != null ? cell.get() : startingBalances.getOrDefault(currency, 0L);
+    }
+
+    /**
+     * Check if a player has an account in a currency
+     */
+    public boolean hasAccount(UUID player, String currency) {
+        return currency(currency).containsKey(player);
+    }
+
+    /**
+     * Add to a balance
+     * @return false if the amount is not positive or the balance would overflow
+     */
+    public boolean deposit(UUID player, String currency, long amount, String reason) {
+        if (amount <= 0) {
+            return false;
+        }
+        snapshotGate.readLock().lock();
+        ReentrantLock stripe = stripe(player);
+        stripe.lock();
+        try {
+            AtomicLong cell = open(player, currency);
+            long current = cell.get();
+            if (current > Long.MAX_VALUE - amount) {
+                return false;
+            }
+            cell.set(current + amount);
+            aggregates.onChange(currency, player, current, current + amount, false, reason);
+            notify(player, currency, amount, reason);
+            return true;
+        } finally {
+            stripe.unlock();
+            snapshotGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Take from a balance if it covers the amount
+     * @return false if the amount is not positive or the balance is too low
+     */
+    public boolean withdraw(UUID player, String currency, long amount, String reason) {
+        if (amount <= 0) {
+            return false;
+        }
+        snapshotGate.readLock().lock();
+        ReentrantLock stripe = stripe(player);
+        stripe.lock();
+        try {
+            AtomicLong cell = open(player, currency);
+            long current = cell.get();
+            if (current < amount) {
+                return false;
+            }
+            cell.set(current - amount);
+            aggregates.onChange(currency, player, current, current - amount, false, reason);
+            notify(player, currency, -amount, reason);
+            return true;
+        } finally {
+            stripe.unlock();
+            snapshotGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Overwrite a balance, clamped at zero
+     * @return the previous balance
+     */
+    public long set(UUID player, String currency, long amount, String reason) {
+        long updated = Math.max(0, amount);
+        snapshotGate.readLock().lock();
+        ReentrantLock stripe = stripe(player);
+        stripe.lock();
+        try {
+            AtomicLong cell = open(player, currency);
+            long previous = cell.getAndSet(updated);
+            aggregates.onChange(currency, player, previous, updated, false, reason);
+            notify(player, currency, updated - previous, reason);
+            return previous;
+        } finally {
+            stripe.unlock();
+            snapshotGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Move an amount between two players; either both balances change or neither does
+     * @return false if the amount is not positive, the players are the same,
+     *         the sender cannot cover it or the receiver would overflow
+     */
+    public boolean transfer(UUID from, UUID to, String currency, long amount, String reason) {
+        if (amount <= 0 || from.equals(to)) {
+            return false;
+        }
+        int fromIndex = stripeIndex(from);
+        int toIndex = stripeIndex(to);
+        ReentrantLock first = stripes[Math.min(fromIndex, toIndex)];
+        ReentrantLock second = stripes[Math.max(fromIndex, toIndex)];
+
+        snapshotGate.readLock().lock();
+        first.lock();
+        second.lock();
+        try {
+            AtomicLong source = open(from, currency);
+            AtomicLong target = open(to, currency);
+            long sourceBalance = source.get();
+            long targetBalance = target.get();
+            if (sourceBalance < amount || targetBalance > Long.MAX_VALUE - amount) {
+                return false;
+            }
+            source.set(sourceBalance - amount);
+            target.set(targetBalance + amount);
+            aggregates.onChange(currency, from, sourceBalance, sourceBalance - amount, false, reason);
+            aggregates.onChange(currency, to, targetBalance, targetBalance + amount, false, reason);
+            notify(from, currency, -amount, reason);
+            notify(to, currency, amount, reason);
+            return true;
+        } finally {
+            second.unlock();
+            first.unlock();
+            snapshotGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a change without notifying the listener, for restoring persisted state
+     */
+    public void apply(UUID player, String currency, long delta) {
+        ReentrantLock stripe = stripe(player);
+        stripe.lock();
+        try {
+            Map<UUID, AtomicLong> byPlayer = currency(currency);
+            AtomicLong cell = byPlayer.get(player);
+            boolean opened = cell == null;
+            if (opened) {
+                cell = new AtomicLong();
+                byPlayer.put(player, cell);
+            }
+            long previous = cell.getAndAdd(delta);
+            aggregates.onChange(currency, player, previous, previous + delta, opened, null);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Copy every balance at a single point in time
+     */
+    public Map<String, Map<UUID, Long>> snapshot() {
+        try {
+            return snapshot(null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy every balance at a single point in time, running the barrier at that point
+     * @param barrier runs with all writers held off, e.g. to rotate the journal; may be null
+     */
+    public Map<String, Map<UUID, Long>> snapshot(Barrier barrier) throws IOException {
+        snapshotGate.writeLock().lock();
+        try {
+            if (barrier != null) {
+                barrier.run();
+            }
+            Map<String, Map<UUID, Long>> copy = new HashMap<>();
+            accounts.forEach((currency, byPlayer) -> {
+                Map<UUID, Long> balances = new HashMap<>(byPlayer.size() * 2);
+                byPlayer.forEach((player, cell) -> balances.put(player, cell.get()));
+                copy.put(currency, balances);
+            });
+            return copy;
+        } finally {
+            snapshotGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the sum of every account balance in a currency
+     */
+    public long getTotal(String currency) {
+        return aggregates.getSupply(currency);
+    }
+
+    public EconomyAggregates getAggregates() {
+        return aggregates;
+    }
+
+    public int getAccountCount(String currency) {
+        return currency(currency).size();
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Get a player's cell, opening it with the starting balance on first use.
+     * Callers hold the player's stripe.
+     */
+    private AtomicLong open(UUID player, String currency) {
+        Map<UUID, AtomicLong> byPlayer = currency(currency);
+        AtomicLong cell = byPlayer.get(player);
+        if (cell == null) {
+            long starting = startingBalances.getOrDefault(currency, 0L);
+            cell = new AtomicLong(starting);
+            byPlayer.put(player, cell);
+            aggregates.onChange(currency, player, 0, starting, true, STARTING_REASON);
+            // Journaled explicitly so replay does not depend on the current config
+            notify(player, currency, starting, STARTING_REASON);
+        }
+        return cell;
+    }
+
+    /**
+     * Read every balance of one currency without holding any lock
+     */
+    private Map<UUID, Long> balancesOf(String currency) {
+        Map<UUID, Long> balances = new HashMap<>();
+        currency(currency).forEach((player, cell) -> balances.put(player, cell.get()));
+        return balances;
+    }
+
+    private Map<UUID, AtomicLong> currency(String currency) {
+        return accounts.computeIfAbsent(currency, k -> new ConcurrentHashMap<>());
+    }
+
+    private void notify(UUID player, String currency, long delta, String reason) {
+        ChangeListener current = listener;
+        if (current != null && delta != 0) {
+            current.onChange(player, currency, delta, reason);
+        }
+    }
+
+    private ReentrantLock stripe(UUID player) {
+        return stripes[stripeIndex(player)];
+    }
+
+    private int stripeIndex(UUID player) {
+        int hash = player.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -3,39 +3,67 @@ package com.nexus.economy;
 import com.nexus.core.NexusCore;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.ServicesManager;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 /**
  * Economy manager for NexusBlock Network
- * Handles coins and gems currency system
+ * Handles coins, gems and any extra configured currencies.
+ * Balances live in the thread-safe {@link EconomyLedger}; every change is appended
+ * to the economy journal and the journal is periodically compacted into a snapshot.
  */
 public class EconomyManager {
 
+    /**
+     * Told whenever a balance changes, on the thread that changed it
+     */
+    public interface BalanceListener {
+        void onBalanceChange(UUID player, String currency);
+    }
+
+    public static final String CURRENCY_COINS = "coins";
+    public static final String CURRENCY_GEMS = "gems";
+
+    // Reason recorded for callers that do not give one
+    private static final String DEFAULT_REASON = "other";
+
     private final NexusCore plugin;
-    private final Map<UUID, Long> coins;
-    private final Map<UUID, Integer> gems;
+    private final EconomyLedger ledger;
+    private final AtomicBoolean compacting;
+    private final List<BalanceListener> balanceListeners;
     private boolean useVault;
+    private VaultBridge vaultBridge;
     private long startingCoins;
     private int startingGems;
+    private EconomyJournal journal;
+    private BukkitTask compactTask;
+    private long snapshotSegment;
 
-    // Economy file path
-    private static final String ECONOMY_FILE = "economy.json";
+    // Economy file paths
+    private static final String LEGACY_ECONOMY_FILE = "economy.json";
+    private static final String SNAPSHOT_FILE = "economy.snapshot";
 
     public EconomyManager(NexusCore plugin) {
         this.plugin = plugin;
-        this.coins = new HashMap<>();
-        this.gems = new HashMap<>();
+        this.ledger = new EconomyLedger(plugin.getConfigManager().getInt("economy.ledger-stripes", 64),
+            plugin.getConfigManager().getInt("economy.top-size", 10));
+        this.compacting = new AtomicBoolean();
+        this.balanceListeners = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -46,7 +74,11 @@ public class EconomyManager {
         useVault = hookVault();
 
         if (useVault) {
-            plugin.getNexusLogger().info("Economy system: Using Vault");
+            // Gems are always internal, so the store is needed either way
+            loadStartingBalances();
+            loadEconomyData();
+            plugin.getNexusLogger().info("Economy system: Using Vault"
+                + (vaultBridge.isAvailable() ? "" : " (internal coins until an economy provider registers)"));
             return true;
         }
 
@@ -59,9 +91,7 @@ public class EconomyManager {
      */
     public boolean initializeInternal() {
         useVault = false;
-        startingCoins = plugin.getConfigManager().getLong("economy.starting-coins", 1000);
-        startingGems = plugin.getConfigManager().getInt("economy.starting-gems", 0);
-
+        loadStartingBalances();
         loadEconomyData();
 
         plugin.getNexusLogger().info("Economy system: Using internal economy");
@@ -71,6 +101,7 @@ public class EconomyManager {
 
     /**
      * Hook into Vault economy
+     * @return true if Vault is installed, whether or not an external provider exists yet
      */
     private boolean hookVault() {
         try {
@@ -79,14 +110,16 @@ public class EconomyManager {
                 return false;
             }
 
-            ServicesManager servicesManager = Bukkit.getServicesManager();
-            net.milkbowl.vault.economy.Economy vaultEconomy = servicesManager.getRegistration(net.milkbowl.vault.economy.Economy.class).getProvider();
+            // Registered even with no external economy yet: one registering later is
+            // picked up through the service events, the provider is resolved on first use
+            VaultBridge bridge = new VaultBridge(plugin);
+            Bukkit.getPluginManager().registerEvents(bridge, plugin);
+            vaultBridge = bridge;
 
-            if (vaultEconomy != null) {
-                // Register our economy as fallback
-                servicesManager.register(net.milkbowl.vault.economy.Economy.class, new NexusVaultEconomy(this), plugin, ServicePriority.Low);
-                return true;
-            }
+            // Register our economy as fallback
+            ServicesManager servicesManager = Bukkit.getServicesManager();
+            servicesManager.register(net.milkbowl.vault.economy.Economy.class, new NexusVaultEconomy(this), plugin, ServicePriority.Low);
+            return true;
 
         } catch (Exception e) {
             plugin.getNexusLogger().warning("Failed to hook Vault: " + e.getMessage());
@@ -96,14 +129,73 @@ public class EconomyManager {
     }
 
     /**
-     * Load economy data from file
+     * Register coins, gems and every currency under economy.currencies with its starting balance
+     */
+    private void loadStartingBalances() {
+        startingCoins = plugin.getConfigManager().getLong("economy.starting-coins", 1000);
+        startingGems = plugin.getConfigManager().getInt("economy.starting-gems", 0);
+        ledger.registerCurrency(CURRENCY_COINS, startingCoins);
+        ledger.registerCurrency(CURRENCY_GEMS, startingGems);
+
+        ConfigurationSection currencies = plugin.getConfigManager().getConfig().getConfigurationSection("economy.currencies");
+        if (currencies != null) {
+            for (String currency : currencies.getKeys(false)) {
+                ledger.registerCurrency(currency, currencies.getLong(currency + ".starting-balance", 0));
+            }
+        }
+    }
+
+    /**
+     * Load the latest snapshot, replay the journal on top of it and start compaction
      */
     public void loadEconomyData() {
-        File economyFile = new File(plugin.getDataFolder(), ECONOMY_FILE);
+        if (journal != null) {
+            return;
+        }
+
+        File dataFolder = plugin.getDataFolder();
+        File snapshotFile = new File(dataFolder, SNAPSHOT_FILE);
+        long coveredSegment = 0;
+
+        try {
+            EconomySnapshot snapshot = EconomySnapshot.read(snapshotFile);
+            if (snapshot != null) {
+                coveredSegment = snapshot.getCoveredSegment();
+                snapshotSegment = coveredSegment;
+                snapshot.getBalances().forEach((currency, balances) ->
+                    balances.forEach((player, amount) -> ledger.apply(player, currency, amount)));
+            } else if (importLegacyData(dataFolder)) {
+                new EconomySnapshot(coveredSegment, ledger.snapshot()).write(snapshotFile);
+                File legacyFile = new File(dataFolder, LEGACY_ECONOMY_FILE);
+                if (!legacyFile.renameTo(new File(dataFolder, LEGACY_ECONOMY_FILE + ".migrated"))) {
+                    plugin.getNexusLogger().warning("Failed to rename " + LEGACY_ECONOMY_FILE + " after import");
+                }
+            }
+
+            journal = new EconomyJournal(plugin, dataFolder);
+            long replayed = journal.open(coveredSegment,
+                entry -> ledger.apply(entry.getPlayer(), entry.getCurrency(), entry.getDelta()));
+            ledger.setListener(this::onLedgerChange);
+            plugin.getNexusLogger().info("Loaded economy data for " + ledger.getAccountCount(CURRENCY_COINS)
+                    + " players (" + replayed + " journal entries replayed)");
+        } catch (IOException e) {
+            plugin.getNexusLogger().log(Level.SEVERE, "Failed to load economy data", e);
+            return;
+        }
 
+        long interval = Math.max(1, plugin.getConfigManager().getLong("economy.journal.compact-interval-minutes", 5)) * 1200L;
+        compactTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveEconomyData, interval, interval);
+    }
+
+    /**
+     * Import balances from the old economy.json format
+     * @return true if a legacy file was found and read
+     */
+    private boolean importLegacyData(File dataFolder) throws IOException {
+        File economyFile = new File(dataFolder, LEGACY_ECONOMY_FILE);
         if (!economyFile.exists()) {
             plugin.getNexusLogger().info("No economy data found, starting fresh");
-            return;
+            return false;
         }
 
         try (FileReader reader = new FileReader(economyFile)) {
@@ -112,44 +204,94 @@ public class EconomyManager {
 
             if (data != null) {
                 if (data.coins != null) {
-                    coins.putAll(data.coins);
+                    data.coins.forEach((player, amount) -> ledger.apply(player, CURRENCY_COINS, amount));
                 }
                 if (data.gems != null) {
-                    gems.putAll(data.gems);
+                    data.gems.forEach((player, amount) -> ledger.apply(player, CURRENCY_GEMS, amount));
                 }
-                plugin.getNexusLogger().info("Loaded economy data for " + coins.size() + " players");
             }
-
-        } catch (IOException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to load economy data", e);
         }
+
+        plugin.getNexusLogger().info("Imported " + LEGACY_ECONOMY_FILE + " for "
+                + ledger.getAccountCount(CURRENCY_COINS) + " players");
+        return true;
     }
 
     /**
-     * Save economy data to file
+     * Compact the journal: rotate to a new segment, snapshot balances and write
+     * the snapshot off the main thread. Segments are deleted once it is on disk.
      */
     public void saveEconomyData() {
-        File economyFile = new File(plugin.getDataFolder(), ECONOMY_FILE);
-
-        try (FileWriter writer = new FileWriter(economyFile)) {
-            com.google.gson.Gson gson = new com.google.gson.Gson();
-            EconomyData data = new EconomyData();
-            data.coins = new HashMap<>(coins);
-            data.gems = new HashMap<>(gems);
-            gson.toJson(data, writer);
-
-            plugin.getNexusLogger().info("Saved economy data");
+        if (journal == null || !compacting.compareAndSet(false, true)) {
+            return;
+        }
 
+        EconomyJournal current = journal;
+        long[] closed = new long[1];
+        Map<String, Map<UUID, Long>> balances;
+        try {
+            // Rotate at the snapshot point so the snapshot matches the closed segments exactly
+            balances = ledger.snapshot(() -> closed[0] = current.rotate());
         } catch (IOException e) {
-            plugin.getNexusLogger().log(Level.WARNING, "Failed to save economy data", e);
+            compacting.set(false);
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to rotate economy journal", e);
+            return;
         }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                writeSnapshot(current, closed[0], balances);
+            } finally {
+                compacting.set(false);
+            }
+        });
     }
 
     /**
-     * Save all player balances
+     * Have the journal flusher write journaled changes to disk now; does not wait for it
      */
     public void saveAllBalances() {
-        saveEconomyData();
+        if (journal != null) {
+            journal.requestFlush();
+        }
+    }
+
+    /**
+     * Write a final snapshot and close the journal
+     */
+    public void shutdown() {
+        if (compactTask != null) {
+            compactTask.cancel();
+        }
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            long[] closed = new long[1];
+            Map<String, Map<UUID, Long>> balances = ledger.snapshot(() -> closed[0] = journal.rotate());
+            writeSnapshot(journal, closed[0], balances);
+        } catch (IOException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to compact economy journal on shutdown", e);
+        }
+        journal.close();
+        journal = null;
+    }
+
+    private synchronized void writeSnapshot(EconomyJournal target, long closedSegment,
+                                            Map<String, Map<UUID, Long>> balances) {
+        // A slow async compaction must not overwrite the newer snapshot taken at shutdown
+        if (closedSegment <= snapshotSegment) {
+            return;
+        }
+        try {
+            new EconomySnapshot(closedSegment, balances).write(new File(plugin.getDataFolder(), SNAPSHOT_FILE));
+            snapshotSegment = closedSegment;
+            target.deleteThrough(closedSegment);
+        } catch (IOException e) {
+            // The journal segments are kept, so nothing is lost; the next compaction retries
+            plugin.getNexusLogger().log(Level.WARNING, "Failed to write economy snapshot", e);
+        }
     }
 
     /**
@@ -157,11 +299,14 @@ public class EconomyManager {
      */
     public long getBalance(UUID player) {
         if (useVault) {
-            net.milkbowl.vault.economy.Economy vaultEco = Bukkit.getServicesManager().getRegistration(net.milkbowl.vault.economy.Economy.class).getProvider();
-            return (long) vaultEco.getBalance(Bukkit.getOfflinePlayer(player));
+            // Null if the provider went away; coins are internal again then
+            Long balance = vaultBridge.getBalance(player);
+            if (balance != null) {
+                return balance;
+            }
         }
 
-        return coins.getOrDefault(player, startingCoins);
+        return ledger.getBalance(player, CURRENCY_COINS);
     }
 
     /**
@@ -171,63 +316,157 @@ public class EconomyManager {
         return getBalance(player.getUniqueId());
     }
 
+    /**
+     * Get many coin balances in one pass, for UI refreshes
+     */
+    public Map<UUID, Long> getBalances(Collection<UUID> players) {
+        if (useVault) {
+            Map<UUID, Long> balances = vaultBridge.getBalances(players);
+            if (balances != null) {
+                return balances;
+            }
+        }
+
+        Map<UUID, Long> result = new HashMap<>(players.size() * 2);
+        for (UUID player : players) {
+            result.put(player, ledger.getBalance(player, CURRENCY_COINS));
+        }
+        return result;
+    }
+
+    /**
+     * Check if coins are currently routed through an external Vault economy
+     */
+    public boolean isVaultActive() {
+        return useVault && vaultBridge.isAvailable();
+    }
+
     /**
      * Set player balance
      */
     public void setBalance(UUID player, long amount) {
-        if (useVault) {
-            net.milkbowl.vault.economy.Economy vaultEco = Bukkit.getServicesManager().getRegistration(net.milkbowl.vault.economy.Economy.class).getProvider();
-            net.milkbowl.vault.economy.EconomyResponse response = vaultEco.bankBalance(Bukkit.getOfflinePlayer(player).getName());
-            if (response.transactionSuccess()) {
-                vaultEco.bankWithdraw(Bukkit.getOfflinePlayer(player).getName(), response.balance);
-                vaultEco.bankDeposit(Bukkit.getOfflinePlayer(player).getName(), amount);
+        setBalance(player, amount, DEFAULT_REASON);
+    }
+
+    /**
+     * Set player balance, recording why
+     */
+    public void setBalance(UUID player, long amount, String reason) {
+        if (isVaultActive()) {
+            // Vault has no set call; move the difference against a fresh balance
+            vaultBridge.invalidate(player);
+            Long current = vaultBridge.getBalance(player);
+            if (current == null) {
+                plugin.getNexusLogger().warning("Vault economy went away; balance of " + player + " not set");
+                return;
+            }
+            long difference = Math.max(0, amount) - current;
+            if (difference > 0) {
+                vaultBridge.deposit(player, difference);
+            } else if (difference < 0) {
+                vaultBridge.withdraw(player, -difference);
             }
+            fireBalanceChange(player, CURRENCY_COINS);
             return;
         }
 
-        coins.put(player, Math.max(0, amount));
+        ledger.set(player, CURRENCY_COINS, amount, reason);
     }
 
     /**
      * Add coins to player
      */
     public boolean addCoins(UUID player, long amount) {
+        return addCoins(player, amount, DEFAULT_REASON);
+    }
+
+    /**
+     * Add coins to player, recording why
+     */
+    public boolean addCoins(UUID player, long amount, String reason) {
         if (amount <= 0) {
             return false;
         }
 
-        if (useVault) {
-            net.milkbowl.vault.economy.Economy vaultEco = Bukkit.getServicesManager().getRegistration(net.milkbowl.vault.economy.Economy.class).getProvider();
-            return vaultEco.depositPlayer(Bukkit.getOfflinePlayer(player), amount).transactionSuccess();
+        if (isVaultActive()) {
+            return notifyIf(vaultBridge.deposit(player, amount), player);
         }
 
-        long current = coins.getOrDefault(player, startingCoins);
-        coins.put(player, current + amount);
-        return true;
+        return ledger.deposit(player, CURRENCY_COINS, amount, reason);
     }
 
     /**
      * Remove coins from player
      */
     public boolean removeCoins(UUID player, long amount) {
+        return removeCoins(player, amount, DEFAULT_REASON);
+    }
+
+    /**
+     * Remove coins from player, recording why
+     */
+    public boolean removeCoins(UUID player, long amount, String reason) {
         if (amount <= 0) {
             return false;
         }
 
-        if (useVault) {
-            net.milkbowl.vault.economy.Economy vaultEco = Bukkit.getServicesManager().getRegistration(net.milkbowl.vault.economy.Economy.class).getProvider();
-            return vaultEco.withdrawPlayer(Bukkit.getOfflinePlayer(player), amount).transactionSuccess();
+        if (isVaultActive()) {
+            return notifyIf(vaultBridge.withdraw(player, amount), player);
         }
 
-        long current = coins.getOrDefault(player, startingCoins);
-        if (current < amount) {
-            return false;
+        return ledger.withdraw(player, CURRENCY_COINS, amount, reason);
+    }
+
+    /**
+     * Move coins from one player to another; either both balances change or neither does
+     */
+    public boolean transferCoins(UUID from, UUID to, long amount, String reason) {
+        if (!isVaultActive()) {
+            return ledger.transfer(from, to, CURRENCY_COINS, amount, reason);
         }
 
-        coins.put(player, current - amount);
+        // Vault has no transfer call, so refund the sender if the deposit fails
+        if (amount <= 0 || from.equals(to) || !removeCoins(from, amount, reason)) {
+            return false;
+        }
+        if (!addCoins(to, amount, reason)) {
+            addCoins(from, amount, reason + "-refund");
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Register a listener for balance changes
+     */
+    public void addBalanceListener(BalanceListener listener) {
+        balanceListeners.add(listener);
+    }
+
+    /**
+     * Journal a committed ledger change and pass it on to the balance listeners
+     */
+    private void onLedgerChange(UUID player, String currency, long delta, String reason) {
+        journal.append(player, currency, delta, reason);
+        fireBalanceChange(player, currency);
+    }
+
+    private void fireBalanceChange(UUID player, String currency) {
+        for (BalanceListener listener : balanceListeners) {
+            listener.onBalanceChange(player, currency);
+        }
+    }
+
+    /**
+     * Report a coin change made through Vault if it went through
+     */
+    private boolean notifyIf(boolean changed, UUID player) {
+        if (changed) {
+            fireBalanceChange(player, CURRENCY_COINS);
+        }
+        return changed;
+    }
+
     /**
      * Check if player has enough coins
      */
@@ -239,39 +478,93 @@ public class EconomyManager {
      * Get player gems
      */
     public int getGems(UUID player) {
-        return gems.getOrDefault(player, startingGems);
+        return (int) Math.min(Integer.MAX_VALUE, ledger.getBalance(player, CURRENCY_GEMS));
     }
 
     /**
      * Set player gems
      */
     public void setGems(UUID player, int amount) {
-        gems.put(player, Math.max(0, amount));
+        setGems(player, amount, DEFAULT_REASON);
+    }
+
+    /**
+     * Set player gems, recording why
+     */
+    public void setGems(UUID player, int amount, String reason) {
+        ledger.set(player, CURRENCY_GEMS, amount, reason);
     }
 
     /**
      * Add gems to player
      */
     public void addGems(UUID player, int amount) {
-        int current = gems.getOrDefault(player, startingGems);
-        gems.put(player, current + amount);
+        addGems(player, amount, DEFAULT_REASON);
+    }
+
+    /**
+     * Add gems to player, recording why
+     */
+    public void addGems(UUID player, int amount, String reason) {
+        ledger.deposit(player, CURRENCY_GEMS, amount, reason);
     }
 
     /**
      * Remove gems from player
      */
     public boolean removeGems(UUID player, int amount) {
+        return removeGems(player, amount, DEFAULT_REASON);
+    }
+
+    /**
+     * Remove gems from player, recording why
+     */
+    public boolean removeGems(UUID player, int amount, String reason) {
         if (amount <= 0) {
             return false;
         }
 
-        int current = gems.getOrDefault(player, startingGems);
-        if (current < amount) {
-            return false;
+        return ledger.withdraw(player, CURRENCY_GEMS, amount, reason);
+    }
+
+    /**
+     * Get a balance in any registered currency
+     */
+    public long getBalance(UUID player, String currency) {
+        if (CURRENCY_COINS.equals(currency)) {
+            return getBalance(player);
         }
+        return ledger.getBalance(player, currency);
+    }
 
-        gems.put(player, current - amount);
-        return true;
+    /**
+     * Add to a balance in any registered currency
+     */
+    public boolean deposit(UUID player, String currency, long amount, String reason) {
+        if (CURRENCY_COINS.equals(currency)) {
+            return addCoins(player, amount, reason);
+        }
+        return ledger.deposit(player, currency, amount, reason);
+    }
+
+    /**
+     * Take from a balance in any registered currency if it covers the amount
+     */
+    public boolean withdraw(UUID player, String currency, long amount, String reason) {
+        if (CURRENCY_COINS.equals(currency)) {
+            return removeCoins(player, amount, reason);
+        }
+        return ledger.withdraw(player, currency, amount, reason);
+    }
+
+    /**
+     * Move an amount of any registered currency between two players
+     */
+    public boolean transfer(UUID from, UUID to, String currency, long amount, String reason) {
+        if (CURRENCY_COINS.equals(currency)) {
+            return transferCoins(from, to, amount, reason);
+        }
+        return ledger.transfer(from, to, currency, amount, reason);
     }
 
     /**
@@ -297,25 +590,43 @@ public class EconomyManager {
      * Save individual player balance
      */
     public void savePlayerBalance(UUID player) {
-        // Balance is saved periodically with all data
+        // Every change is already journaled; the flusher writes it within economy.journal.flush-interval-ms
     }
 
     /**
      * Get total server coins
      */
     public long getTotalCoins() {
-        return coins.values().stream().mapToLong(Long::longValue).sum();
+        return ledger.getTotal(CURRENCY_COINS);
     }
 
     /**
      * Get total server gems
      */
     public int getTotalGems() {
-        return gems.values().stream().mapToInt(Integer::intValue).sum();
+        return (int) Math.min(Integer.MAX_VALUE, ledger.getTotal(CURRENCY_GEMS));
+    }
+
+    public EconomyLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * Get a point-in-time copy of the running aggregates for a currency
+     */
+    public EconomyAggregates.Metrics getMetrics(String currency) {
+        return ledger.getAggregates().snapshot(currency);
+    }
+
+    /**
+     * Get the Vault bridge, or null when Vault is not installed
+     */
+    public VaultBridge getVaultBridge() {
+        return vaultBridge;
     }
 
     /**
-     * Economy data class for JSON serialization
+     * Legacy economy.json layout, read once when migrating to the journal
      */
     private static class EconomyData {
         Map<UUID, Long> coins;
@@ -0,0 +1,129 @@
+package com.nexus.economy;
+
+import com.nexus.database.codec.BlobReader;
+import com.nexus.database.codec.BlobWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time copy of every balance plus the last journal segment it covers.
+ * Written to a temp file, synced, then atomically renamed over the previous
+ * snapshot, so a crash leaves either the old or the new snapshot intact.
+ */
+public class EconomySnapshot {
+
+    private static final int VERSION = 1;
+
+    private final long coveredSegment;
+    // currency -> player -> balance
+    private final Map<String, Map<UUID, Long>> balances;
+
+    public EconomySnapshot(long coveredSegment, Map<String, Map<UUID, Long>> balances) {
+        this.coveredSegment = coveredSegment;
+        this.balances = balances;
+    }
+
+    /**
+     * Highest journal segment already folded into these balances
+     */
+    public long getCoveredSegment() {
+        return coveredSegment;
+    }
+
+    public Map<String, Map<UUID, Long>> getBalances() {
+        return balances;
+    }
+
+    /**
+     * Write the snapshot via temp file and atomic rename
+     */
+    public void write(File file) throws IOException {
+        BlobWriter writer = new BlobWriter(1024);
+        writer.writeByte(VERSION);
+        writer.writeVarLong(coveredSegment);
+        writer.writeVarInt(balances.size());
+        for (Map.Entry<String, Map<UUID, Long>> currency : balances.entrySet()) {
+            writer.writeString(currency.getKey());
+            writer.writeVarInt(currency.getValue().size());
+            for (Map.Entry<UUID, Long> account : currency.getValue().entrySet()) {
+                writer.writeUuid(account.getKey());
+                writer.writeSignedVarLong(account.getValue());
+            }
+        }
+        byte[] body = writer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = ByteBuffer.allocate(body.length + 4);
+            data.put(body).putInt((int) crc.getValue()).flip();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read a snapshot file
+     * @return the snapshot, or null if the file does not exist
+     * @throws IOException if the file is unreadable or fails its checksum
+     */
+    public static EconomySnapshot read(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+
+        byte[] data = Files.readAllBytes(file.toPath());
+        if (data.length < 5) {
+            throw new IOException("Economy snapshot " + file.getName() + " is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if (ByteBuffer.wrap(data, data.length - 4, 4).getInt() != (int) crc.getValue()) {
+            throw new IOException("Economy snapshot " + file.getName() + " failed its checksum");
+        }
+
+        try {
+            BlobReader reader = new BlobReader(data);
+            int version = reader.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported economy snapshot version " + version);
+            }
+            long coveredSegment = reader.readVarLong();
+            int currencies = reader.readVarInt();
+            Map<String, Map<UUID, Long>> balances = new HashMap<>();
+            for (int i = 0; i < currencies; i++) {
+                String currency = reader.readString();
+                int accounts = reader.readVarInt();
+                Map<UUID, Long> byPlayer = new HashMap<>(accounts * 2);
+                for (int j = 0; j < accounts; j++) {
+                    byPlayer.put(reader.readUuid(), reader.readSignedVarLong());
+                }
+                balances.put(currency, byPlayer);
+            }
+            return new EconomySnapshot(coveredSegment, balances);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Economy snapshot " + file.getName() + " is malformed", e);
+        }
+    }
+}
@@ -88,7 +88,7 @@ public class NexusVaultEconomy implements net.milkbowl.vault.economy.Economy {
             return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Cannot withdraw negative amount");
         }
 
-        boolean success = economyManager.removeCoins(player.getUniqueId(), (long) amount);
+        boolean success = economyManager.removeCoins(player.getUniqueId(), (long) amount, "vault");
         if (success) {
             return new EconomyResponse(amount, getBalance(player), EconomyResponse.ResponseType.SUCCESS, "");
         } else {
@@ -107,7 +107,7 @@ public class NexusVaultEconomy implements net.milkbowl.vault.economy.Economy {
             return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Cannot deposit negative amount");
         }
 
-        economyManager.addCoins(player.getUniqueId(), (long) amount);
+        economyManager.addCoins(player.getUniqueId(), (long) amount, "vault");
         return new EconomyResponse(amount, getBalance(player), EconomyResponse.ResponseType.SUCCESS, "");
     }
 
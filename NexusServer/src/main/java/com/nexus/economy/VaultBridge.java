@@ -0,0 +1,220 @@
+package com.nexus.economy;
+
+import com.nexus.core.NexusCore;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.bukkit.plugin.RegisteredServiceProvider;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached path to an external Vault economy.
+ * The provider is resolved once and re-resolved only when economy services change.
+ * OfflinePlayer handles are kept for each online session, and balances are read
+ * through a short-lived cache that our own deposits and withdrawals keep current.
+ * The provider can be unregistered at any time, so every call resolves it once and
+ * fails cleanly when it is gone.
+ */
+public class VaultBridge implements Listener {
+
+    private final NexusCore plugin;
+    private final long balanceTtlMillis;
+    private final Map<UUID, OfflinePlayer> sessionPlayers;
+    private final Map<UUID, CachedBalance> balances;
+
+    private volatile Economy provider;
+    private volatile boolean resolved;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VaultBridge(NexusCore plugin) {
+        this.plugin = plugin;
+        this.balanceTtlMillis = plugin.getConfigManager().getLong("economy.vault.balance-cache-ms", 3000);
+        this.sessionPlayers = new ConcurrentHashMap<>();
+        this.balances = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the external economy provider
+     * @return the provider, or null if only our own economy is registered
+     */
+    public Economy getProvider() {
+        if (!resolved) {
+            RegisteredServiceProvider<Economy> registration = Bukkit.getServicesManager().getRegistration(Economy.class);
+            Economy resolvedProvider = registration != null ? registration.getProvider() : null;
+            // Our own provider reads back through EconomyManager; using it here would recurse
+            provider = resolvedProvider instanceof NexusVaultEconomy ? null : resolvedProvider;
+            resolved = true;
+        }
+        return provider;
+    }
+
+    public boolean isAvailable() {
+        return getProvider() != null;
+    }
+
+    /**
+     * Get the OfflinePlayer handle, cached while the player is online
+     */
+    public OfflinePlayer getOfflinePlayer(UUID playerId) {
+        OfflinePlayer player = sessionPlayers.get(playerId);
+        return player != null ? player : Bukkit.getOfflinePlayer(playerId);
+    }
+
+    /**
+     * Get a balance, served from the read cache while fresh
+     * @return the balance, or null if no external provider is registered
+     */
+    public Long getBalance(UUID playerId) {
+        long now = System.currentTimeMillis();
+        CachedBalance cached = balances.get(playerId);
+        if (cached != null && cached.expiresAt > now) {
+            hits.incrementAndGet();
+            return cached.balance;
+        }
+
+        Economy economy = getProvider();
+        if (economy == null) {
+            return null;
+        }
+        misses.incrementAndGet();
+        long balance = (long) economy.getBalance(getOfflinePlayer(playerId));
+        balances.put(playerId, new CachedBalance(balance, now + balanceTtlMillis));
+        return balance;
+    }
+
+    /**
+     * Get many balances at once, for UI refreshes; only stale entries reach Vault
+     * @return the balances, or null if no external provider is registered
+     */
+    public Map<UUID, Long> getBalances(Collection<UUID> playerIds) {
+        Economy economy = getProvider();
+        if (economy == null) {
+            return null;
+        }
+        Map<UUID, Long> result = new HashMap<>(playerIds.size() * 2);
+        long now = System.currentTimeMillis();
+
+        for (UUID playerId : playerIds) {
+            CachedBalance cached = balances.get(playerId);
+            if (cached != null && cached.expiresAt > now) {
+                hits.incrementAndGet();
+                result.put(playerId, cached.balance);
+                continue;
+            }
+
+            misses.incrementAndGet();
+            long balance = (long) economy.getBalance(getOfflinePlayer(playerId));
+            balances.put(playerId, new CachedBalance(balance, now + balanceTtlMillis));
+            result.put(playerId, balance);
+        }
+        return result;
+    }
+
+    /**
+     * Deposit through Vault and keep the read cache in step
+     * @return false if it failed or no external provider is registered
+     */
+    public boolean deposit(UUID playerId, long amount) {
+        Economy economy = getProvider();
+        return economy != null && record(playerId, economy.depositPlayer(getOfflinePlayer(playerId), amount));
+    }
+
+    /**
+     * Withdraw through Vault and keep the read cache in step
+     * @return false if it failed or no external provider is registered
+     */
+    public boolean withdraw(UUID playerId, long amount) {
+        Economy economy = getProvider();
+        return economy != null && record(playerId, economy.withdrawPlayer(getOfflinePlayer(playerId), amount));
+    }
+
+    /**
+     * Drop a cached balance so the next read goes to Vault
+     */
+    public void invalidate(UUID playerId) {
+        balances.remove(playerId);
+    }
+
+    private boolean record(UUID playerId, EconomyResponse response) {
+        if (response.transactionSuccess()) {
+            // The response carries the new balance, so the cache stays warm
+            balances.put(playerId, new CachedBalance((long) response.balance,
+                System.currentTimeMillis() + balanceTtlMillis));
+            return true;
+        }
+        invalidate(playerId);
+        return false;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        sessionPlayers.put(event.getPlayer().getUniqueId(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        sessionPlayers.remove(playerId);
+        balances.remove(playerId);
+    }
+
+    @EventHandler
+    public void onServiceRegister(ServiceRegisterEvent event) {
+        if (event.getProvider().getService() == Economy.class) {
+            reset();
+        }
+    }
+
+    @EventHandler
+    public void onServiceUnregister(ServiceUnregisterEvent event) {
+        if (event.getProvider().getService() == Economy.class) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        resolved = false;
+        balances.clear();
+    }
+
+    // Metrics getters
+
+    public int getCachedBalanceCount() {
+        return balances.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static class CachedBalance {
+        private final long balance;
+        private final long expiresAt;
+
+        CachedBalance(long balance, long expiresAt) {
+            this.balance = balance;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
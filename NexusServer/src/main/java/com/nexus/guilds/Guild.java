@@ -124,6 +124,10 @@ public class Guild {
         return createdAt;
     }
     
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+    
     public int getWins() {
         return wins;
     }
@@ -334,7 +338,7 @@ public class Guild {
             guild.color = (String) data.get("color");
         }
         if (data.containsKey("level")) {
-            guild.level = (Integer) data.get("level");
+            guild.level = ((Number) data.get("level")).intValue();
         }
         if (data.containsKey("experience")) {
             guild.experience = ((Number) data.get("experience")).longValue();
@@ -343,10 +347,10 @@ public class Guild {
             guild.createdAt = ((Number) data.get("createdAt")).longValue();
         }
         if (data.containsKey("wins")) {
-            guild.wins = (Integer) data.get("wins");
+            guild.wins = ((Number) data.get("wins")).intValue();
         }
         if (data.containsKey("kills")) {
-            guild.kills = (Integer) data.get("kills");
+            guild.kills = ((Number) data.get("kills")).intValue();
         }
         if (data.containsKey("isPublic")) {
             guild.isPublic = (Boolean) data.get("isPublic");
@@ -2,6 +2,7 @@ package com.nexus.guilds;
 
 import com.nexus.core.NexusCore;
 import com.nexus.database.DatabaseManager;
+import com.nexus.network.GlobalLeaderboards;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
@@ -43,9 +44,7 @@ public class GuildManager {
      */
     private void loadGuilds() {
         try {
-            List<Map<String, Object>> guildData = plugin.getDatabaseManager().getAllGuilds();
-            for (Map<String, Object> data : guildData) {
-                Guild guild = Guild.deserialize(data);
+            for (Guild guild : plugin.getDatabaseManager().getAllGuilds()) {
                 registerGuild(guild);
             }
         } catch (Exception e) {
@@ -600,6 +599,21 @@ public class GuildManager {
         return sorted.subList(0, Math.min(limit, sorted.size()));
     }
     
+    /**
+     * Publish the guild leaderboards to the network as "guilds.level", "guilds.experience" and "guilds.wins"
+     */
+    public void registerGlobalLeaderboards(GlobalLeaderboards global) {
+        global.registerSource("guilds.level", limit -> getLeaderboardByLevel(limit).stream()
+            .map(guild -> new GlobalLeaderboards.Entry(guild.getId(), guild.getName(), guild.getLevel()))
+            .toList());
+        global.registerSource("guilds.experience", limit -> getLeaderboardByExperience(limit).stream()
+            .map(guild -> new GlobalLeaderboards.Entry(guild.getId(), guild.getName(), guild.getExperience()))
+            .toList());
+        global.registerSource("guilds.wins", limit -> getLeaderboardByWins(limit).stream()
+            .map(guild -> new GlobalLeaderboards.Entry(guild.getId(), guild.getName(), guild.getWins()))
+            .toList());
+    }
+    
     // Validation
     
     /**
@@ -0,0 +1,519 @@
+package com.nexus.network;
+
+import com.nexus.core.NexusCore;
+import com.nexus.database.codec.BlobReader;
+import com.nexus.database.codec.BlobWriter;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Network-wide leaderboards merged from every backend server's local top entries.
+ * Each server periodically publishes what changed in its local top-K per board
+ * since its last message, plus a full copy every few rounds or when a peer asks
+ * after missing a message. Every server merges what it hears into the same
+ * global top-N, so traffic grows with K and the number of boards, never with
+ * player count. A player seen on several servers keeps their highest value;
+ * with K at least N the merged top-N is exact.
+ */
+public class GlobalLeaderboards {
+
+    /**
+     * Supplies a board's local top entries, best first
+     */
+    public interface Source {
+        List<Entry> top(int limit);
+    }
+
+    private static final String CHANNEL = "nexus:leaderboards";
+    private static final int UPDATE = 1;
+    private static final int RESYNC = 2;
+    // Room kept free for the message header when packing sections
+    private static final int MESSAGE_HEADROOM = 512;
+
+    private final NexusCore plugin;
+    private final Logger logger;
+    private final MessageBus bus;
+    private final String serverId;
+    private final LongSupplier clock;
+    private final long epoch;
+    private final int size;
+    private final int fullEvery;
+    private final long intervalTicks;
+    private final long timeoutMillis;
+
+    private final Map<String, Source> sources;
+    // Board -> local top-K as last sent
+    private final Map<String, Map<UUID, Entry>> published;
+    // Server id -> what it last told us, including this server
+    private final Map<String, Peer> peers;
+    // Board -> merged top-N, dropped whenever a contribution changes
+    private final Map<String, List<Entry>> merged;
+
+    private long sequence;
+    private int roundsSinceFull;
+    private boolean resyncRequested;
+    private BukkitTask task;
+
+    public GlobalLeaderboards(NexusCore plugin, MessageBus bus, String serverId) {
+        this(plugin, plugin.getNexusLogger(), bus, serverId, System::currentTimeMillis,
+            plugin.getConfigManager().getInt("network.leaderboards.size", 10),
+            plugin.getConfigManager().getInt("network.leaderboards.full-every", 30),
+            plugin.getConfigManager().getLong("network.leaderboards.publish-interval-seconds", 10));
+    }
+
+    /**
+     * Create with explicit settings; without a plugin, {@link #publish()} has to be called by hand
+     * @param clock wall clock in milliseconds, read for the epoch and for peer timeouts
+     */
+    GlobalLeaderboards(NexusCore plugin, Logger logger, MessageBus bus, String serverId, LongSupplier clock,
+                       int size, int fullEvery, long intervalSeconds) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.bus = bus;
+        this.serverId = serverId;
+        this.clock = clock;
+        // Lets peers tell a restart from a lost message
+        this.epoch = clock.getAsLong();
+        this.size = Math.max(1, size);
+        this.fullEvery = Math.max(1, fullEvery);
+        long interval = Math.max(1, intervalSeconds);
+        this.intervalTicks = interval * 20;
+        this.timeoutMillis = interval * 3000;
+        this.sources = new LinkedHashMap<>();
+        this.published = new HashMap<>();
+        this.peers = new HashMap<>();
+        this.merged = new HashMap<>();
+        // The first round goes out in full so peers can start merging at once
+        this.resyncRequested = true;
+
+        bus.subscribe(CHANNEL, this::receive);
+    }
+
+    /**
+     * Start publishing on the main thread
+     */
+    public void start() {
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::publish, intervalTicks, intervalTicks);
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+        bus.close();
+    }
+
+    /**
+     * Register a local board under a network-wide name, e.g. "stats.kills"
+     */
+    public synchronized void registerSource(String board, Source source) {
+        sources.put(board, source);
+    }
+
+    public synchronized Set<String> getBoards() {
+        return new HashSet<>(sources.keySet());
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    /**
+     * Get the merged network-wide leaders of a board, best first
+     */
+    public synchronized List<Entry> getTop(String board, int limit) {
+        List<Entry> top = merged.get(board);
+        if (top == null) {
+            top = merge(board);
+            merged.put(board, top);
+        }
+        return top.subList(0, Math.min(limit, top.size()));
+    }
+
+    /**
+     * Get the servers currently contributing, including this one
+     */
+    public synchronized Set<String> getServers() {
+        return new HashSet<>(peers.keySet());
+    }
+
+    // Publishing
+
+    /**
+     * Read every local board, fold it into the merged view and send what changed
+     */
+    public synchronized void publish() {
+        long now = clock.getAsLong();
+        expirePeers(now);
+
+        boolean full = resyncRequested || ++roundsSinceFull >= fullEvery;
+        Peer self = peers.computeIfAbsent(serverId, id -> new Peer(epoch));
+        self.lastSeen = now;
+
+        List<Section> sections = new ArrayList<>();
+        for (Map.Entry<String, Source> entry : sources.entrySet()) {
+            String board = entry.getKey();
+            Map<UUID, Entry> current = new LinkedHashMap<>();
+            for (Entry row : entry.getValue().top(size)) {
+                current.put(row.id, new Entry(row.id, row.name, row.value, serverId));
+            }
+
+            if (!current.equals(self.boards.get(board))) {
+                self.boards.put(board, current);
+                merged.remove(board);
+            }
+
+            Section section = full ? Section.replace(board, current) : Section.diff(board, published.get(board), current);
+            if (section != null) {
+                sections.add(section);
+            }
+        }
+
+        if (send(sections) && full) {
+            resyncRequested = false;
+            roundsSinceFull = 0;
+        }
+    }
+
+    /**
+     * Send sections in as many messages as the transport needs; an empty list
+     * still goes out as a heartbeat
+     * @return true if every message was sent
+     */
+    private boolean send(List<Section> sections) {
+        int limit = bus.getMaxMessageSize() - MESSAGE_HEADROOM;
+        List<byte[]> encoded = new ArrayList<>(sections.size());
+        for (Section section : sections) {
+            BlobWriter out = new BlobWriter();
+            section.write(out);
+            encoded.add(out.toByteArray());
+        }
+
+        int index = 0;
+        do {
+            int start = index;
+            int bodySize = 0;
+            while (index < encoded.size() && (index == start || bodySize + encoded.get(index).length <= limit)) {
+                bodySize += encoded.get(index++).length;
+            }
+
+            byte[] header = new BlobWriter()
+                .writeByte(UPDATE)
+                .writeString(serverId)
+                .writeVarLong(epoch)
+                .writeVarLong(sequence)
+                .writeVarInt(index - start)
+                .toByteArray();
+            byte[] bytes = new byte[header.length + bodySize];
+            System.arraycopy(header, 0, bytes, 0, header.length);
+            int position = header.length;
+            for (int i = start; i < index; i++) {
+                byte[] part = encoded.get(i);
+                System.arraycopy(part, 0, bytes, position, part.length);
+                position += part.length;
+            }
+
+            if (!bus.publish(CHANNEL, bytes)) {
+                // Unsent boards keep their old published state and go out as a diff next round
+                return false;
+            }
+            sequence++;
+            for (int i = start; i < index; i++) {
+                published.put(sections.get(i).board, sections.get(i).after);
+            }
+        } while (index < encoded.size());
+        return true;
+    }
+
+    private void requestResync(String target) {
+        bus.publish(CHANNEL, new BlobWriter()
+            .writeByte(RESYNC)
+            .writeString(serverId)
+            .writeString(target)
+            .toByteArray());
+    }
+
+    // Receiving
+
+    private synchronized void receive(byte[] message) {
+        try {
+            BlobReader in = new BlobReader(message);
+            int type = in.readByte();
+            String source = in.readString();
+            if (serverId.equals(source)) {
+                return;
+            }
+
+            if (type == RESYNC) {
+                if (serverId.equals(in.readString())) {
+                    resyncRequested = true;
+                }
+                return;
+            }
+            if (type != UPDATE) {
+                return;
+            }
+
+            long sourceEpoch = in.readVarLong();
+            long seq = in.readVarLong();
+            Peer peer = peers.get(source);
+            if (peer == null || peer.epoch != sourceEpoch) {
+                if (peer != null) {
+                    dropMerged(peer);
+                }
+                peer = new Peer(sourceEpoch);
+                peers.put(source, peer);
+            }
+            if (peer.lastSequence >= 0 && seq != peer.lastSequence + 1) {
+                // Missed something; no diff can be trusted until a full copy arrives
+                peer.synced.clear();
+            }
+            peer.lastSequence = seq;
+            peer.lastSeen = clock.getAsLong();
+
+            boolean missing = false;
+            int count = in.readVarInt();
+            for (int i = 0; i < count; i++) {
+                missing |= !apply(source, peer, Section.read(in));
+            }
+            if (missing && peer.lastResyncRequest != seq) {
+                peer.lastResyncRequest = seq;
+                requestResync(source);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Ignored malformed leaderboard message", e);
+        }
+    }
+
+    /**
+     * Apply one board section from a peer
+     * @return false if it was a diff against a state we do not have
+     */
+    private boolean apply(String source, Peer peer, Section section) {
+        Map<UUID, Entry> board;
+        if (section.replace) {
+            board = new HashMap<>();
+            peer.synced.add(section.board);
+        } else if (peer.synced.contains(section.board)) {
+            board = peer.boards.computeIfAbsent(section.board, k -> new HashMap<>());
+        } else {
+            return false;
+        }
+
+        for (UUID removed : section.removed) {
+            board.remove(removed);
+        }
+        for (Entry entry : section.upserts) {
+            board.put(entry.id, new Entry(entry.id, entry.name, entry.value, source));
+        }
+        peer.boards.put(section.board, board);
+        merged.remove(section.board);
+        return true;
+    }
+
+    private void expirePeers(long now) {
+        Iterator<Map.Entry<String, Peer>> iterator = peers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Peer> entry = iterator.next();
+            if (!entry.getKey().equals(serverId) && now - entry.getValue().lastSeen > timeoutMillis) {
+                dropMerged(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void dropMerged(Peer peer) {
+        for (String board : peer.boards.keySet()) {
+            merged.remove(board);
+        }
+    }
+
+    private List<Entry> merge(String board) {
+        Map<UUID, Entry> best = new HashMap<>();
+        for (Peer peer : peers.values()) {
+            Map<UUID, Entry> entries = peer.boards.get(board);
+            if (entries == null) {
+                continue;
+            }
+            for (Entry entry : entries.values()) {
+                Entry current = best.get(entry.id);
+                if (current == null || entry.value > current.value) {
+                    best.put(entry.id, entry);
+                }
+            }
+        }
+
+        List<Entry> top = new ArrayList<>(best.values());
+        top.sort(Comparator.comparingLong((Entry e) -> e.value).reversed().thenComparing(e -> e.id));
+        return Collections.unmodifiableList(top.size() > size ? new ArrayList<>(top.subList(0, size)) : top);
+    }
+
+    /**
+     * What one server last reported
+     */
+    private static class Peer {
+        private final long epoch;
+        private final Map<String, Map<UUID, Entry>> boards = new HashMap<>();
+        // Boards whose full state we hold, so diffs can be applied
+        private final Set<String> synced = new HashSet<>();
+        private long lastSequence = -1;
+        private long lastResyncRequest = -1;
+        private long lastSeen;
+
+        Peer(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    /**
+     * One board's part of an update: either a full replacement or the entries
+     * that changed and the ones that left the local top-K
+     */
+    private static class Section {
+        private final String board;
+        private final boolean replace;
+        private final List<Entry> upserts;
+        private final List<UUID> removed;
+        // Local state once this section is applied; only set when sending
+        private final Map<UUID, Entry> after;
+
+        private Section(String board, boolean replace, List<Entry> upserts, List<UUID> removed, Map<UUID, Entry> after) {
+            this.board = board;
+            this.replace = replace;
+            this.upserts = upserts;
+            this.removed = removed;
+            this.after = after;
+        }
+
+        static Section replace(String board, Map<UUID, Entry> current) {
+            return new Section(board, true, new ArrayList<>(current.values()), Collections.emptyList(), current);
+        }
+
+        /**
+         * @return the changes, or null if nothing changed
+         */
+        static Section diff(String board, Map<UUID, Entry> previous, Map<UUID, Entry> current) {
+            if (previous == null) {
+                return replace(board, current);
+            }
+            List<Entry> upserts = new ArrayList<>();
+            for (Entry entry : current.values()) {
+                if (!entry.equals(previous.get(entry.id))) {
+                    upserts.add(entry);
+                }
+            }
+            List<UUID> removed = new ArrayList<>();
+            for (UUID id : previous.keySet()) {
+                if (!current.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+            return upserts.isEmpty() && removed.isEmpty() ? null : new Section(board, false, upserts, removed, current);
+        }
+
+        void write(BlobWriter out) {
+            out.writeString(board);
+            out.writeBoolean(replace);
+            out.writeVarInt(upserts.size());
+            for (Entry entry : upserts) {
+                out.writeUuid(entry.id);
+                out.writeString(entry.name);
+                out.writeSignedVarLong(entry.value);
+            }
+            out.writeVarInt(removed.size());
+            for (UUID id : removed) {
+                out.writeUuid(id);
+            }
+        }
+
+        static Section read(BlobReader in) {
+            String board = in.readString();
+            boolean replace = in.readBoolean();
+            int upsertCount = in.readVarInt();
+            List<Entry> upserts = new ArrayList<>(upsertCount);
+            for (int i = 0; i < upsertCount; i++) {
+                upserts.add(new Entry(in.readUuid(), in.readString(), in.readSignedVarLong()));
+            }
+            int removedCount = in.readVarInt();
+            List<UUID> removed = new ArrayList<>(removedCount);
+            for (int i = 0; i < removedCount; i++) {
+                removed.add(in.readUuid());
+            }
+            return new Section(board, replace, upserts, removed, null);
+        }
+    }
+
+    /**
+     * One ranked player or guild
+     */
+    public static class Entry {
+        private final UUID id;
+        private final String name;
+        private final long value;
+        private final String server;
+
+        public Entry(UUID id, String name, long value) {
+            this(id, name, value, null);
+        }
+
+        Entry(UUID id, String name, long value, String server) {
+            this.id = id;
+            this.name = name;
+            this.value = value;
+            this.server = server;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        /**
+         * Get the server that reported this value
+         */
+        public String getServer() {
+            return server;
+        }
+
+        // Server is left out: it is implied by whose board the entry sits on
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return value == other.value && id.equals(other.id) && Objects.equals(name, other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name, value);
+        }
+    }
+}
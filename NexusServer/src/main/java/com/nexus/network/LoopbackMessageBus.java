@@ -0,0 +1,66 @@
+package com.nexus.network;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process message bus. Buses joined to the same {@link Network} deliver to
+ * each other synchronously, which lets several services run side by side in one
+ * JVM for testing, or a single server run without a proxy.
+ */
+public class LoopbackMessageBus implements MessageBus {
+
+    private final Network network;
+    private final Map<String, Handler> handlers;
+
+    /**
+     * Create a bus on a network of its own
+     */
+    public LoopbackMessageBus() {
+        this(new Network());
+    }
+
+    public LoopbackMessageBus(Network network) {
+        this.network = network;
+        this.handlers = new ConcurrentHashMap<>();
+        network.members.add(this);
+    }
+
+    @Override
+    public boolean publish(String channel, byte[] message) {
+        for (LoopbackMessageBus member : network.members) {
+            if (member != this) {
+                Handler handler = member.handlers.get(channel);
+                if (handler != null) {
+                    handler.onMessage(message.clone());
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void subscribe(String channel, Handler handler) {
+        handlers.put(channel, handler);
+    }
+
+    @Override
+    public int getMaxMessageSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void close() {
+        network.members.remove(this);
+        handlers.clear();
+    }
+
+    /**
+     * A set of loopback buses that can reach each other
+     */
+    public static class Network {
+        private final List<LoopbackMessageBus> members = new CopyOnWriteArrayList<>();
+    }
+}
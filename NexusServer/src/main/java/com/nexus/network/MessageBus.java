@@ -0,0 +1,37 @@
+package com.nexus.network;
+
+/**
+ * Broadcast transport between the backend servers of the network.
+ * A published message reaches every other server subscribed to the channel;
+ * the publisher does not receive its own messages.
+ */
+public interface MessageBus {
+
+    /**
+     * Receives messages published on a channel by other servers
+     */
+    interface Handler {
+        void onMessage(byte[] message);
+    }
+
+    /**
+     * Send a message to every other server
+     * @return false if the message could not be sent right now
+     */
+    boolean publish(String channel, byte[] message);
+
+    /**
+     * Register the handler for a channel, replacing any earlier one
+     */
+    void subscribe(String channel, Handler handler);
+
+    /**
+     * Get the largest message this transport can carry, in bytes
+     */
+    int getMaxMessageSize();
+
+    /**
+     * Stop sending and receiving
+     */
+    void close();
+}
@@ -0,0 +1,98 @@
+package com.nexus.network;
+
+import com.nexus.core.NexusCore;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Message bus over the proxy's BungeeCord plugin channel, which Velocity also
+ * speaks. Messages are sent with "Forward" to ALL servers and ride on any online
+ * player's connection, so a server with nobody online can receive but not send.
+ */
+public class PluginMessageBus implements MessageBus, PluginMessageListener {
+
+    private static final String PROXY_CHANNEL = "BungeeCord";
+
+    private final NexusCore plugin;
+    private final Map<String, Handler> handlers;
+
+    public PluginMessageBus(NexusCore plugin) {
+        this.plugin = plugin;
+        this.handlers = new ConcurrentHashMap<>();
+        Bukkit.getMessenger().registerOutgoingPluginChannel(plugin, PROXY_CHANNEL);
+        Bukkit.getMessenger().registerIncomingPluginChannel(plugin, PROXY_CHANNEL, this);
+    }
+
+    @Override
+    public boolean publish(String channel, byte[] message) {
+        if (message.length > getMaxMessageSize()) {
+            plugin.getNexusLogger().log(Level.WARNING, "Dropped " + message.length + " byte message on " + channel + ", too large to forward");
+            return false;
+        }
+        Iterator<? extends Player> online = Bukkit.getOnlinePlayers().iterator();
+        if (!online.hasNext()) {
+            return false;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.length + channel.length() + 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(channel);
+            out.writeShort(message.length);
+            out.write(message);
+        } catch (IOException e) {
+            return false;
+        }
+        online.next().sendPluginMessage(plugin, PROXY_CHANNEL, bytes.toByteArray());
+        return true;
+    }
+
+    @Override
+    public void subscribe(String channel, Handler handler) {
+        handlers.put(channel, handler);
+    }
+
+    @Override
+    public int getMaxMessageSize() {
+        // Forward prefixes the payload with a signed short length
+        return Short.MAX_VALUE;
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        if (!PROXY_CHANNEL.equals(channel)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            Handler handler = handlers.get(in.readUTF());
+            if (handler == null) {
+                // Some other BungeeCord sub-channel
+                return;
+            }
+            byte[] payload = new byte[in.readUnsignedShort()];
+            in.readFully(payload);
+            handler.onMessage(payload);
+        } catch (IOException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Malformed forwarded plugin message", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        Bukkit.getMessenger().unregisterOutgoingPluginChannel(plugin, PROXY_CHANNEL);
+        Bukkit.getMessenger().unregisterIncomingPluginChannel(plugin, PROXY_CHANNEL, this);
+        handlers.clear();
+    }
+}
@@ -256,7 +256,12 @@ public class RankCommand extends SubCommand {
         }
         
         // Purchase the rank
-        plugin.getEconomyManager().withdrawCoins(player.getUniqueId(), (long) rank.getPrice());
+        if (!plugin.getEconomyManager().removeCoins(player.getUniqueId(), (long) rank.getPrice(), "rank-purchase")) {
+            sender.sendMessage(getMessage("ranks.notEnoughMoney")
+                .replace("%price%", String.valueOf((long) rank.getPrice()))
+                .replace("%balance%", String.valueOf(plugin.getEconomyManager().getBalance(player.getUniqueId()))));
+            return;
+        }
         rankManager.setPlayerRank(player.getUniqueId(), rank.getId());
         
         player.sendMessage(getMessage("ranks.purchaseSuccess")
@@ -8,6 +8,7 @@ import org.bukkit.permissions.PermissionAttachment;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manager class for handling player ranks.
@@ -15,16 +16,25 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class RankManager {
     
+    /**
+     * Told when a player's rank is changed
+     */
+    public interface RankListener {
+        void onRankChange(UUID playerId, Rank rank);
+    }
+    
     private final NexusCore plugin;
     private final Map<String, Rank> ranks;
     private final Map<UUID, PlayerRankData> playerRanks;
     private final Map<String, Rank> rankByName;
+    private final List<RankListener> listeners;
     
     public RankManager(NexusCore plugin) {
         this.plugin = plugin;
         this.ranks = new HashMap<>();
         this.playerRanks = new ConcurrentHashMap<>();
         this.rankByName = new HashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
     }
     
     /**
@@ -214,6 +224,27 @@ public class RankManager {
         
         // Save to database
         plugin.getDatabaseManager().savePlayerRank(playerId, rankId);
+        
+        for (RankListener listener : listeners) {
+            listener.onRankChange(playerId, rank);
+        }
+    }
+    
+    /**
+     * Register a listener for rank changes
+     */
+    public void addRankListener(RankListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Install a rank preloaded at pre-login, falling back to the default rank
+     */
+    public void loadPlayerRank(UUID playerId, String rankId) {
+        if (rankId == null || !ranks.containsKey(rankId.toUpperCase())) {
+            rankId = "DEFAULT";
+        }
+        playerRanks.put(playerId, new PlayerRankData(null, rankId));
     }
     
     /**
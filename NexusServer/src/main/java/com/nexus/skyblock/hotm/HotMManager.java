@@ -1,6 +1,7 @@
 package com.nexus.skyblock.hotm;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.cache.PlayerDataCache;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -19,13 +20,14 @@ public class HotMManager {
 
     private final NexusCore plugin;
     private final Map<String, HotMPerk> perks;
-    private final Map<UUID, PlayerHotMData> playerData;
+    private final PlayerDataCache<PlayerHotMData> playerData;
     private final List<HotMTier> tiers;
 
     public HotMManager(NexusCore plugin) {
         this.plugin = plugin;
         this.perks = new ConcurrentHashMap<>();
-        this.playerData = new ConcurrentHashMap<>();
+        // HotM progress is not persisted yet; without a writer the cache never evicts it, so it lasts until restart
+        this.playerData = plugin.getCacheManager().createCache("hotm", PlayerHotMData::new, null);
         this.tiers = new ArrayList<>();
     }
 
@@ -223,7 +225,7 @@ public class HotMManager {
      */
     public void openHotMInterface(Player player) {
         UUID playerId = player.getUniqueId();
-        PlayerHotMData data = playerData.computeIfAbsent(playerId, k -> new PlayerHotMData(playerId));
+        PlayerHotMData data = playerData.get(playerId);
 
         Inventory gui = Bukkit.createInventory(
             player,
@@ -396,7 +398,7 @@ public class HotMManager {
      */
     public boolean unlockPerk(Player player, String perkId) {
         UUID playerId = player.getUniqueId();
-        PlayerHotMData data = playerData.computeIfAbsent(playerId, k -> new PlayerHotMData(playerId));
+        PlayerHotMData data = playerData.get(playerId);
 
         HotMPerk perk = perks.get(perkId);
         if (perk == null) {
@@ -494,7 +496,7 @@ public class HotMManager {
      */
     public void addMiningXp(Player player, int amount) {
         UUID playerId = player.getUniqueId();
-        PlayerHotMData data = playerData.computeIfAbsent(playerId, k -> new PlayerHotMData(playerId));
+        PlayerHotMData data = playerData.get(playerId);
 
         // Apply multipliers from perks
         double multiplier = 1.0;
@@ -530,7 +532,7 @@ public class HotMManager {
      */
     public void addMithrilPowder(Player player, int amount) {
         UUID playerId = player.getUniqueId();
-        PlayerHotMData data = playerData.computeIfAbsent(playerId, k -> new PlayerHotMData(playerId));
+        PlayerHotMData data = playerData.get(playerId);
         data.setMithrilPowder(data.getMithrilPowder() + amount);
     }
 
@@ -538,14 +540,14 @@ public class HotMManager {
      * Get player HotM data
      */
     public PlayerHotMData getPlayerData(UUID playerId) {
-        return playerData.computeIfAbsent(playerId, k -> new PlayerHotMData(playerId));
+        return playerData.get(playerId);
     }
 
     /**
      * Calculate mining speed bonus
      */
     public double getMiningSpeedBonus(UUID playerId) {
-        PlayerHotMData data = playerData.get(playerId);
+        PlayerHotMData data = playerData.getIfPresent(playerId);
         if (data == null) return 0;
 
         double bonus = 0;
@@ -562,7 +564,7 @@ public class HotMManager {
      * Calculate mining fortune
      */
     public int getMiningFortune(UUID playerId) {
-        PlayerHotMData data = playerData.get(playerId);
+        PlayerHotMData data = playerData.getIfPresent(playerId);
         if (data == null) return 0;
 
         int fortune = 0;
@@ -75,6 +75,10 @@ public class MinionCommand implements CommandExecutor {
                 showTypes(player);
                 return true;
 
+            case "scheduler":
+                showScheduler(player);
+                return true;
+
             default:
                 showHelp(player);
                 return true;
@@ -108,8 +112,12 @@ public class MinionCommand implements CommandExecutor {
     }
 
     private void handleCollect(Player player) {
-        player.sendMessage(ChatColor.GREEN + "Collecting items from all minions...");
-        // Implementation: collect from all player minions
+        int collected = plugin.getMinionManager().collectAllStorage(player);
+        if (collected == 0) {
+            player.sendMessage(ChatColor.GRAY + "Your minions have nothing to collect!");
+            return;
+        }
+        player.sendMessage(ChatColor.GREEN + "Collected items from " + collected + " minion" + (collected == 1 ? "" : "s") + "!");
         player.sendMessage(ChatColor.GRAY + "Items have been added to your inventory!");
     }
 
@@ -152,6 +160,24 @@ public class MinionCommand implements CommandExecutor {
         player.sendMessage(ChatColor.GOLD + "===================================");
     }
 
+    private void showScheduler(Player player) {
+        if (!player.hasPermission("nexus.admin")) {
+            player.sendMessage(ChatColor.RED + "You don't have permission to do that!");
+            return;
+        }
+
+        MinionScheduler scheduler = plugin.getMinionManager().getMinionScheduler();
+        player.sendMessage("");
+        player.sendMessage(ChatColor.GOLD + "=== " + ChatColor.AQUA + "Minion Scheduler" + ChatColor.GOLD + " ===");
+        player.sendMessage(ChatColor.GRAY + "Scheduled: " + ChatColor.WHITE + scheduler.getScheduledCount()
+            + ChatColor.GRAY + "  Paused: " + ChatColor.WHITE + scheduler.getPausedCount());
+        player.sendMessage(ChatColor.GRAY + "Due per tick: " + ChatColor.WHITE + scheduler.getLastDue()
+            + ChatColor.GRAY + " last, " + ChatColor.WHITE + String.format("%.2f", scheduler.getAverageDue())
+            + ChatColor.GRAY + " avg, " + ChatColor.WHITE + scheduler.getMaxDue() + ChatColor.GRAY + " max");
+        player.sendMessage(ChatColor.GRAY + "Actions since startup: " + ChatColor.WHITE + scheduler.getTotalDue());
+        player.sendMessage(ChatColor.GOLD + "===================================");
+    }
+
     private String getRomanNumeral(int num) {
         String[] roman = {"", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X", "XI"};
         return roman[Math.min(num, 11)];
@@ -1,10 +1,7 @@
 package com.nexus.skyblock.minions;
 
 import org.bukkit.Location;
-import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -14,23 +11,25 @@ public class MinionData {
 
     private final UUID id;
     private final UUID ownerUUID;
+    private UUID islandId;
     private MinionManager.MinionType type;
     private Location location;
     private int tier;
-    private List<ItemStack> storage;
+    private final MinionStorage storage;
     private long lastAction;
     private boolean active;
     private UUID entityId;
     private int luckBonus;
 
     public MinionData(UUID id, UUID ownerUUID, MinionManager.MinionType type,
-                      Location location, int tier, List<ItemStack> storage) {
+                      Location location, int tier) {
         this.id = id;
         this.ownerUUID = ownerUUID;
+        this.islandId = ownerUUID;
         this.type = type;
         this.location = location;
         this.tier = tier;
-        this.storage = storage != null ? storage : new ArrayList<>();
+        this.storage = new MinionStorage();
         this.lastAction = System.currentTimeMillis();
         this.active = true;
         this.luckBonus = 0;
@@ -44,6 +43,17 @@ public class MinionData {
         return ownerUUID;
     }
 
+    /**
+     * Get the island the minion belongs to, identified by the island owner
+     */
+    public UUID getIslandId() {
+        return islandId;
+    }
+
+    public void setIslandId(UUID islandId) {
+        this.islandId = islandId;
+    }
+
     public MinionManager.MinionType getType() {
         return type;
     }
@@ -56,6 +66,23 @@ public class MinionData {
         return location;
     }
 
+    /**
+     * Get the key of the chunk the minion stands in, or null if its world is not loaded
+     */
+    public String getChunkKey() {
+        if (location == null || location.getWorld() == null) {
+            return null;
+        }
+        return chunkKey(location.getWorld().getName(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Build the key minions are grouped by per chunk
+     */
+    public static String chunkKey(String world, int chunkX, int chunkZ) {
+        return world + ":" + chunkX + ":" + chunkZ;
+    }
+
     public void setLocation(Location location) {
         this.location = location;
     }
@@ -68,14 +95,10 @@ public class MinionData {
         this.tier = tier;
     }
 
-    public List<ItemStack> getStorage() {
+    public MinionStorage getStorage() {
         return storage;
     }
 
-    public void setStorage(List<ItemStack> storage) {
-        this.storage = storage;
-    }
-
     public long getLastAction() {
         return lastAction;
     }
@@ -1,7 +1,7 @@
 package com.nexus.skyblock.minions;
 
 import com.nexus.core.NexusCore;
-import com.nexus.skyblock.island.SkyBlockIsland;
+import com.nexus.skyblock.SkyBlockManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -10,12 +10,9 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitScheduler;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Hypixel-style Minion system for NexusBlock SkyBlock
@@ -24,100 +21,51 @@ import java.util.concurrent.ConcurrentHashMap;
 public class MinionManager {
 
     private final NexusCore plugin;
-    private final Map<UUID, MinionData> playerMinions;
-    private final Map<UUID, Long> lastUpdateTimes;
+    private final MinionRegistry registry;
     private final BukkitScheduler scheduler;
-    private static final long TICK_INTERVAL = 20L; // 1 second
-    private static final long OFFLINE_CALCULATION_INTERVAL = 6000L; // 5 minutes
+    private final MinionScheduler minionScheduler;
+    private final MinionStore store;
+    private final Random random;
+    private final long maxOfflineMillis;
 
     public MinionManager(NexusCore plugin) {
         this.plugin = plugin;
-        this.playerMinions = new ConcurrentHashMap<>();
-        this.lastUpdateTimes = new ConcurrentHashMap<>();
+        this.registry = new MinionRegistry();
         this.scheduler = Bukkit.getScheduler();
+        this.minionScheduler = new MinionScheduler(plugin, this);
+        this.store = new MinionStore(plugin, this);
+        this.random = new Random();
+        this.maxOfflineMillis = Math.max(0, plugin.getConfigManager().getLong("minions.offline.max-hours", 12)) * 3600000L;
     }
 
     /**
      * Initialize the minion system
      */
     public void initialize() {
-        // Start minion ticking task
-        startMinionTicker();
+        // Start running minion actions as they come due
+        minionScheduler.start();
 
-        // Start offline calculation task
-        startOfflineCalculator();
+        // Load the minions of chunks as they load
+        store.start();
 
         plugin.getNexusLogger().info("MinionManager initialized");
     }
 
     /**
-     * Start the main minion ticking task
+     * Perform a minion's gathering action, called by the {@link MinionScheduler} when it is due
      */
-    private void startMinionTicker() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                tickAllMinions();
-            }
-        }.runTaskTimer(plugin, TICK_INTERVAL, TICK_INTERVAL);
-    }
-
-    /**
-     * Start offline resource calculation task
-     */
-    private void startOfflineCalculator() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                calculateOfflineResources();
-            }
-        }.runTaskTimerAsynchronously(plugin, OFFLINE_CALCULATION_INTERVAL, OFFLINE_CALCULATION_INTERVAL);
-    }
-
-    /**
-     * Tick all active minions
-     */
-    private void tickAllMinions() {
-        for (MinionData minion : playerMinions.values()) {
-            if (minion.isActive() && minion.getOwner().isOnline()) {
-                tickMinion(minion);
-            }
-        }
-    }
-
-    /**
-     * Process a single minion's tick
-     */
-    private void tickMinion(MinionData minion) {
-        if (!minion.isActive()) return;
-
-        long currentTime = System.currentTimeMillis();
-        long actionsPerMinute = minion.getActionsPerMinute();
-        long millisPerAction = (60000 / actionsPerMinute) * 1000;
-
-        if (currentTime - minion.getLastAction() >= millisPerAction) {
-            // Perform action
-            performMinionAction(minion);
-            minion.setLastAction(currentTime);
-        }
-    }
-
-    /**
-     * Perform a minion's gathering action
-     */
-    private void performMinionAction(MinionData minion) {
-        Player owner = minion.getOwner();
+    void performMinionAction(MinionData minion) {
+        Player owner = Bukkit.getPlayer(minion.getOwnerUUID());
         if (owner == null || !owner.isOnline()) return;
 
         // Calculate rewards
-        ItemStack reward = calculateReward(minion);
-        if (reward == null) return;
-
-        // Add to minion storage or drop at feet
-        if (hasStorageSpace(minion)) {
-            addToStorage(minion, reward);
-        } else {
-            dropAtFeet(minion, reward);
+        int reward = calculateReward(minion);
+        if (reward <= 0) return;
+
+        // Add to minion storage, dropping what does not fit at its feet
+        long overflow = addToStorage(minion, reward);
+        if (overflow > 0) {
+            dropAtFeet(minion, createItem(minion.getType(), (int) overflow));
         }
 
         // Play sound effect
@@ -135,24 +83,24 @@ public class MinionManager {
     }
 
     /**
-     * Calculate the reward item for a minion
+     * Calculate the reward amount for one action of a minion
      */
-    private ItemStack calculateReward(MinionData minion) {
-        MinionType type = minion.getType();
-        int tier = minion.getTier();
-        double multiplier = 1.0 + (tier - 1) * 0.25; // 25% bonus per tier
-
-        // Base resource
-        Material resource = type.getResource();
-        int amount = (int) (type.getBaseAmount() * multiplier);
+    private int calculateReward(MinionData minion) {
+        int amount = MinionProduction.getAmountPerAction(minion);
 
         // Chance for bonus drops (based on luck stat)
-        double luckBonus = minion.getLuckBonus() * 0.01;
-        if (Math.random() < luckBonus) {
+        if (random.nextDouble() < MinionProduction.getBonusChance(minion)) {
             amount *= 2; // Double drops!
         }
 
-        ItemStack item = new ItemStack(resource, amount);
+        return amount;
+    }
+
+    /**
+     * Create a stack of a minion type's resource
+     */
+    private ItemStack createItem(MinionType type, int amount) {
+        ItemStack item = new ItemStack(type.getResource(), amount);
         ItemMeta meta = item.getItemMeta();
         if (meta != null) {
             meta.setDisplayName(type.getDisplayName());
@@ -163,19 +111,33 @@ public class MinionManager {
     }
 
     /**
-     * Check if minion storage has space
+     * Add a minion's resource to its storage, up to its tier's slot limit
+     * @return the amount that did not fit
      */
-    private boolean hasStorageSpace(MinionData minion) {
-        // Simplified storage check
-        return true; // Full implementation would check storage size
+    private long addToStorage(MinionData minion, long amount) {
+        long overflow = minion.getStorage().add(minion.getType().getResource(), amount, minion.getMaxStorage());
+        if (overflow < amount) {
+            saveMinionData(minion);
+        }
+        return overflow;
     }
 
     /**
-     * Add item to minion storage
+     * Build full stacks of stored items, at most the given number
      */
-    private void addToStorage(MinionData minion, ItemStack item) {
-        minion.getStorage().add(item);
-        saveMinionData(minion);
+    private List<ItemStack> materializeStorage(MinionData minion, int maxStacks) {
+        List<ItemStack> stacks = new ArrayList<>();
+        for (Map.Entry<Material, Long> entry : minion.getStorage().getContents().entrySet()) {
+            Material material = entry.getKey();
+            int stackSize = material.getMaxStackSize();
+            for (long left = entry.getValue(); left > 0 && stacks.size() < maxStacks; left -= stackSize) {
+                int amount = (int) Math.min(left, stackSize);
+                stacks.add(material == minion.getType().getResource()
+                    ? createItem(minion.getType(), amount)
+                    : new ItemStack(material, amount));
+            }
+        }
+        return stacks;
     }
 
     /**
@@ -189,63 +151,36 @@ public class MinionManager {
     }
 
     /**
-     * Calculate offline resources
+     * Settle what a minion produced while it was parked, in one closed-form step.
+     * Time up to minions.offline.max-hours counts, and output stops once storage is full.
+     * The part of an interval already started carries over into the next action.
      */
-    private void calculateOfflineResources() {
-        long currentTime = System.currentTimeMillis();
-
-        for (MinionData minion : playerMinions.values()) {
-            if (!minion.isActive()) continue;
+    public MinionProduction.Yield collectOfflineProduction(MinionData minion) {
+        long now = System.currentTimeMillis();
+        long freeSpace = minion.getStorage().getFreeSpace(minion.getType().getResource(), minion.getMaxStorage());
 
-            Player owner = minion.getOwner();
-            if (owner == null || !owner.isOnline()) {
-                // Calculate offline time
-                Long lastOnline = lastUpdateTimes.get(minion.getOwnerUUID());
-                if (lastOnline == null) lastOnline = currentTime;
+        MinionProduction.Yield yield = MinionProduction.compute(
+            minion, now - minion.getLastAction(), maxOfflineMillis, freeSpace, random);
+        minion.setLastAction(yield.isCapped() ? now : minion.getLastAction() + yield.getUsedMillis());
 
-                long offlineTime = currentTime - lastOnline;
-                long offlineMinutes = offlineTime / 60000;
-
-                if (offlineMinutes > 0) {
-                    // Calculate resources generated while offline
-                    calculateOfflineGains(minion, offlineMinutes);
-                }
-            }
-
-            lastUpdateTimes.put(minion.getOwnerUUID(), currentTime);
+        if (yield.getItems() > 0) {
+            addToStorage(minion, yield.getItems());
         }
+        return yield;
     }
 
     /**
-     * Calculate offline gains for a minion
+     * Settle a minion's offline output before the scheduler puts it back on the wheel
      */
-    private void calculateOfflineGains(MinionData minion, long offlineMinutes) {
-        long actionsPerMinute = minion.getActionsPerMinute();
-        long totalActions = actionsPerMinute * offlineMinutes;
-
-        // Cap at 12 hours of offline gains
-        totalActions = Math.min(totalActions, actionsPerMinute * 720);
-
-        if (totalActions <= 0) return;
-
-        // Calculate total rewards
-        ItemStack reward = calculateReward(minion);
-        if (reward == null) return;
-
-        int totalAmount = reward.getAmount() * (int) totalActions;
-        reward.setAmount(totalAmount);
-
-        // Add to storage or notify player
-        Player owner = minion.getOwner();
-        if (owner != null && owner.isOnline()) {
-            addToStorage(minion, reward);
+    void resumeMinion(MinionData minion) {
+        MinionProduction.Yield yield = collectOfflineProduction(minion);
+        Player owner = Bukkit.getPlayer(minion.getOwnerUUID());
+        if (owner != null && yield.getItems() > 0) {
             owner.sendMessage(
                 org.bukkit.ChatColor.GREEN + "Your " + minion.getType().getDisplayName() +
-                " collected " + totalAmount + " " + reward.getType().name().toLowerCase() + " while you were away!"
+                " collected " + yield.getItems() + " " + minion.getType().getResource().name().toLowerCase() +
+                " while you were away!" + (yield.isStorageFull() ? org.bukkit.ChatColor.YELLOW + " (storage full)" : "")
             );
-        } else {
-            minion.getStorage().add(reward);
-            saveMinionData(minion);
         }
     }
 
@@ -259,19 +194,22 @@ public class MinionManager {
             owner.getUniqueId(),
             type,
             location,
-            1, // Tier 1
-            new ArrayList<>()
+            1 // Tier 1
         );
+        SkyBlockManager.SkyBlockIsland island = plugin.getSkyBlockManager().getIsland(owner.getUniqueId());
+        if (island != null) {
+            minion.setIslandId(island.getOwner());
+        }
 
         // Spawn the minion entity
         spawnMinionEntity(minion);
 
-        // Store in map
-        playerMinions.put(minionId, minion);
-        lastUpdateTimes.put(owner.getUniqueId(), System.currentTimeMillis());
+        // Register under every index
+        registry.add(minion);
+        minionScheduler.schedule(minion);
 
         // Save to database
-        saveMinionData(minion);
+        store.create(minion);
 
         owner.sendMessage(
             org.bukkit.ChatColor.GREEN + "You placed a " + type.getDisplayName() + " Minion!"
@@ -312,13 +250,8 @@ public class MinionManager {
         }
         armorStand.setHelmet(head);
 
-        // Set metadata
-        armorStand.setMetadata(
-            "minionId",
-            new FixedMetadataValue(plugin, minion.getId().toString())
-        );
-
-        minion.setEntityId(armorStand.getUniqueId());
+        // Found again through the registry's entity index
+        registry.setEntity(minion, armorStand.getUniqueId());
     }
 
     /**
@@ -334,14 +267,15 @@ public class MinionManager {
         }
 
         int upgradeCost = calculateUpgradeCost(currentTier);
-        if (!plugin.getEconomyManager().hasCoins(player.getUniqueId(), upgradeCost)) {
+
+        // Deduct cost and upgrade
+        if (!plugin.getEconomyManager().removeCoins(player.getUniqueId(), upgradeCost, "minion-upgrade")) {
             player.sendMessage(org.bukkit.ChatColor.RED + "Not enough coins! Need: " + upgradeCost);
             return false;
         }
-
-        // Deduct cost and upgrade
-        plugin.getEconomyManager().removeCoins(player.getUniqueId(), upgradeCost);
         minion.setTier(currentTier + 1);
+        // Re-filed at the new tier's rate
+        minionScheduler.schedule(minion);
 
         // Update visual
         updateMinionVisuals(minion);
@@ -392,19 +326,21 @@ public class MinionManager {
      * Open minion storage GUI
      */
     public void openStorageGUI(Player player, MinionData minion) {
+        // A parked minion is only settled when someone looks at it
+        if (!minionScheduler.isScheduled(minion)) {
+            collectOfflineProduction(minion);
+        }
+
         org.bukkit.inventory.Inventory gui = Bukkit.createInventory(
             player,
             27,
             org.bukkit.ChatColor.GREEN + minion.getType().getDisplayName() + " Storage"
         );
 
-        // Add items from storage
+        // Add items from storage, leaving the last slot for the button
         int slot = 0;
-        for (ItemStack item : minion.getStorage()) {
-            if (slot < 27) {
-                gui.setItem(slot, item);
-                slot++;
-            }
+        for (ItemStack item : materializeStorage(minion, 26)) {
+            gui.setItem(slot++, item);
         }
 
         // Add collection button
@@ -421,84 +357,177 @@ public class MinionManager {
      * Collect all items from minion storage
      */
     public void collectStorage(Player player, MinionData minion) {
-        for (ItemStack item : minion.getStorage()) {
-            if (item != null) {
-                // Add to player inventory or drop
-                HashMap<Integer, ItemStack> overflow = player.getInventory().addItem(item);
-                for (ItemStack dropped : overflow.values()) {
-                    player.getWorld().dropItemNaturally(player.getLocation(), dropped);
-                }
+        moveStorageTo(player, minion);
+
+        player.sendMessage(org.bukkit.ChatColor.GREEN + "Collected all items!");
+    }
+
+    /**
+     * Collect the storage of every loaded minion a player owns
+     * @return the number of minions that held items
+     */
+    public int collectAllStorage(Player player) {
+        int collected = 0;
+        for (MinionData minion : registry.getByOwner(player.getUniqueId())) {
+            if (moveStorageTo(player, minion)) {
+                collected++;
+            }
+        }
+        return collected;
+    }
+
+    /**
+     * Move a minion's storage into a player's inventory, dropping what does not fit
+     * @return true if there was anything to move
+     */
+    private boolean moveStorageTo(Player player, MinionData minion) {
+        if (!minionScheduler.isScheduled(minion)) {
+            collectOfflineProduction(minion);
+        }
+        if (minion.getStorage().isEmpty()) {
+            return false;
+        }
+
+        for (ItemStack item : materializeStorage(minion, Integer.MAX_VALUE)) {
+            // Add to player inventory or drop
+            HashMap<Integer, ItemStack> overflow = player.getInventory().addItem(item);
+            for (ItemStack dropped : overflow.values()) {
+                player.getWorld().dropItemNaturally(player.getLocation(), dropped);
             }
         }
 
         minion.getStorage().clear();
         saveMinionData(minion);
-
-        player.sendMessage(org.bukkit.ChatColor.GREEN + "Collected all items!");
+        return true;
     }
 
     /**
      * Remove a minion
      */
     public void removeMinion(MinionData minion) {
+        detachMinion(minion);
+
+        // Clear from database
+        clearMinionData(minion);
+    }
+
+    /**
+     * Bring a stored minion into memory once its chunk is loaded: settle the time it was
+     * away, spawn its stand and put it back on the scheduler
+     */
+    void attachMinion(MinionData minion) {
+        // A stand left behind by a crash would otherwise be doubled
+        Location loc = minion.getLocation();
+        for (org.bukkit.entity.Entity entity : loc.getChunk().getEntities()) {
+            if (entity instanceof ArmorStand && entity.getCustomName() != null
+                    && entity.getCustomName().contains(" Minion")
+                    && entity.getLocation().getBlockX() == loc.getBlockX()
+                    && entity.getLocation().getBlockY() == loc.getBlockY()
+                    && entity.getLocation().getBlockZ() == loc.getBlockZ()) {
+                entity.remove();
+            }
+        }
+
+        registry.add(minion);
+        collectOfflineProduction(minion);
+        spawnMinionEntity(minion);
+        updateMinionVisuals(minion);
+        minionScheduler.schedule(minion);
+    }
+
+    /**
+     * Drop a minion from memory and remove its stand; its record stays stored
+     */
+    void detachMinion(MinionData minion) {
+        // Remove from every index and stop its actions
+        registry.remove(minion);
+        minionScheduler.cancel(minion);
+
         // Remove entity
         if (minion.getEntityId() != null) {
             org.bukkit.entity.Entity entity = Bukkit.getEntity(minion.getEntityId());
             if (entity != null) {
                 entity.remove();
             }
+            minion.setEntityId(null);
         }
-
-        // Remove from map
-        playerMinions.remove(minion.getId());
-
-        // Clear from database
-        clearMinionData(minion);
     }
 
     /**
-     * Save minion data to database
+     * Mark minion data for the next batched save
      */
     private void saveMinionData(MinionData minion) {
-        // In full implementation, save to database
+        store.markDirty(minion);
     }
 
     /**
      * Clear minion data from database
      */
     private void clearMinionData(MinionData minion) {
-        // In full implementation, remove from database
+        store.delete(minion);
     }
 
     /**
      * Get minion by ID
      */
     public MinionData getMinion(UUID minionId) {
-        return playerMinions.get(minionId);
+        return registry.get(minionId);
     }
 
     /**
-     * Get all minions for a player
+     * Get the minion whose stand is the given entity
+     */
+    public MinionData getMinionByEntity(UUID entityId) {
+        return registry.getByEntity(entityId);
+    }
+
+    /**
+     * Get all loaded minions for a player
      */
     public List<MinionData> getPlayerMinions(UUID playerId) {
-        List<MinionData> result = new ArrayList<>();
-        for (MinionData minion : playerMinions.values()) {
-            if (minion.getOwnerUUID().equals(playerId)) {
-                result.add(minion);
-            }
-        }
-        return result;
+        return new ArrayList<>(registry.getByOwner(playerId));
+    }
+
+    /**
+     * Get all loaded minions on an island
+     */
+    public List<MinionData> getIslandMinions(UUID islandId) {
+        return new ArrayList<>(registry.getByIsland(islandId));
+    }
+
+    /**
+     * Get the registry of loaded minions, indexed by owner, island, stand and chunk
+     */
+    public MinionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Get the scheduler running minion actions
+     */
+    public MinionScheduler getMinionScheduler() {
+        return minionScheduler;
+    }
+
+    /**
+     * Get the store keeping minions in the database
+     */
+    public MinionStore getMinionStore() {
+        return store;
     }
 
     /**
      * Shutdown minion system
      */
     public void shutdown() {
-        // Save all minion data
-        for (MinionData minion : playerMinions.values()) {
-            saveMinionData(minion);
+        minionScheduler.shutdown();
+
+        // Save all minion data, then take the stands out of the world; they respawn on load
+        store.shutdown();
+        for (MinionData minion : new ArrayList<>(registry.getAll())) {
+            detachMinion(minion);
         }
-        playerMinions.clear();
+        registry.clear();
     }
 
     /**
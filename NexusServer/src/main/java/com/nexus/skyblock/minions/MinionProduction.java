@@ -0,0 +1,159 @@
+package com.nexus.skyblock.minions;
+
+import java.util.Random;
+
+/**
+ * Closed-form minion output over a stretch of time, used instead of replaying every action.
+ * Each action yields a fixed amount and is doubled with the minion's luck chance, so the
+ * number of doubled actions over n actions is binomial. Small counts are rolled exactly;
+ * larger ones are drawn from the normal approximation, keeping every call O(1).
+ */
+public final class MinionProduction {
+
+    private static final int EXACT_ROLLS = 64;
+
+    private MinionProduction() {
+    }
+
+    /**
+     * Get the time between two actions of a minion at its current tier
+     */
+    public static long getActionInterval(MinionData minion) {
+        return 60000L / Math.max(1, minion.getActionsPerMinute());
+    }
+
+    /**
+     * Get the items one action yields at the minion's tier
+     */
+    public static int getAmountPerAction(MinionData minion) {
+        double multiplier = 1.0 + (minion.getTier() - 1) * 0.25; // 25% bonus per tier
+        return (int) (minion.getType().getBaseAmount() * multiplier);
+    }
+
+    /**
+     * Get the chance that an action yields double
+     */
+    public static double getBonusChance(MinionData minion) {
+        return Math.max(0.0, Math.min(1.0, minion.getLuckBonus() * 0.01));
+    }
+
+    /**
+     * Work out what a minion produced over a stretch of time
+     * @param elapsedMillis time since the minion's last action
+     * @param maxMillis the most time that counts, e.g. the offline cap
+     * @param freeSpace items the storage can still take
+     */
+    public static Yield compute(MinionData minion, long elapsedMillis, long maxMillis, long freeSpace, Random random) {
+        long interval = getActionInterval(minion);
+        long counted = Math.max(0, Math.min(elapsedMillis, maxMillis));
+        long actions = counted / interval;
+        int perAction = getAmountPerAction(minion);
+        double chance = getBonusChance(minion);
+
+        long bonus = sampleBinomial(actions, chance, random);
+        long items = (actions + bonus) * perAction;
+        // A full storage stops the minion
+        boolean full = items > freeSpace;
+        if (full) {
+            items = Math.max(0, freeSpace);
+        }
+        // The average output is capped by the storage just like the rolled one
+        double expected = Math.min(actions * perAction * (1 + chance), Math.max(0, freeSpace));
+        return new Yield(actions, bonus, items, expected, actions * interval, full, elapsedMillis > maxMillis);
+    }
+
+    /**
+     * Draw the number of successes in n trials with chance p
+     */
+    static long sampleBinomial(long n, double p, Random random) {
+        if (n <= 0 || p <= 0) {
+            return 0;
+        }
+        if (p >= 1) {
+            return n;
+        }
+        if (n <= EXACT_ROLLS) {
+            long hits = 0;
+            for (long i = 0; i < n; i++) {
+                if (random.nextDouble() < p) {
+                    hits++;
+                }
+            }
+            return hits;
+        }
+        double mean = n * p;
+        double deviation = Math.sqrt(n * p * (1 - p));
+        long hits = Math.round(mean + deviation * random.nextGaussian());
+        return Math.max(0, Math.min(n, hits));
+    }
+
+    /**
+     * What a minion produced over a stretch of time
+     */
+    public static class Yield {
+        private final long actions;
+        private final long bonusActions;
+        private final long items;
+        private final double expectedItems;
+        private final long usedMillis;
+        private final boolean storageFull;
+        private final boolean timeCapped;
+
+        Yield(long actions, long bonusActions, long items, double expectedItems, long usedMillis,
+              boolean storageFull, boolean timeCapped) {
+            this.actions = actions;
+            this.bonusActions = bonusActions;
+            this.items = items;
+            this.expectedItems = expectedItems;
+            this.usedMillis = usedMillis;
+            this.storageFull = storageFull;
+            this.timeCapped = timeCapped;
+        }
+
+        public long getActions() {
+            return actions;
+        }
+
+        /**
+         * Get the number of actions that yielded double
+         */
+        public long getBonusActions() {
+            return bonusActions;
+        }
+
+        /**
+         * Get the items actually produced, bonus rolls included
+         */
+        public long getItems() {
+            return items;
+        }
+
+        /**
+         * Get the average output for the same actions, capped by the free storage
+         */
+        public double getExpectedItems() {
+            return expectedItems;
+        }
+
+        /**
+         * Get the time the counted actions took, to carry the remainder into the next action
+         */
+        public long getUsedMillis() {
+            return usedMillis;
+        }
+
+        /**
+         * Check whether the storage filled up and stopped the minion
+         */
+        public boolean isStorageFull() {
+            return storageFull;
+        }
+
+        /**
+         * Check whether the offline cap or the storage limit cut production short
+         */
+        public boolean isCapped() {
+            return storageFull || timeCapped;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.nexus.skyblock.minions;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The minions in memory, indexed by id, owner, island, stand entity and chunk.
+ * Every index is updated in the same call that adds or removes a minion, so lookups never
+ * see a minion in one index but not another. Lookups by owner, island or chunk cost the
+ * number of minions returned rather than the number loaded. The keys each minion was
+ * indexed under are kept with it, so removal never depends on its current fields; after
+ * changing a registered minion's island or location, {@link #add} it again to move it.
+ * Main thread only.
+ */
+public class MinionRegistry {
+
+    private final Map<UUID, MinionData> byId;
+    private final Map<UUID, Map<UUID, MinionData>> byOwner;
+    private final Map<UUID, Map<UUID, MinionData>> byIsland;
+    private final Map<String, Map<UUID, MinionData>> byChunk;
+    private final Map<UUID, MinionData> byEntity;
+    private final Map<UUID, Keys> keys;
+
+    public MinionRegistry() {
+        this.byId = new HashMap<>();
+        this.byOwner = new HashMap<>();
+        this.byIsland = new HashMap<>();
+        this.byChunk = new HashMap<>();
+        this.byEntity = new HashMap<>();
+        this.keys = new HashMap<>();
+    }
+
+    /**
+     * Add a minion to every index, replacing an older copy with the same id
+     */
+    public void add(MinionData minion) {
+        MinionData old = byId.get(minion.getId());
+        if (old != null) {
+            remove(old);
+        }
+        Keys indexed = new Keys(minion.getOwnerUUID(), minion.getIslandId(), minion.getChunkKey(), minion.getEntityId());
+        byId.put(minion.getId(), minion);
+        keys.put(minion.getId(), indexed);
+        index(byOwner, indexed.owner, minion);
+        index(byIsland, indexed.island, minion);
+        if (indexed.chunk != null) {
+            index(byChunk, indexed.chunk, minion);
+        }
+        if (indexed.entity != null) {
+            byEntity.put(indexed.entity, minion);
+        }
+    }
+
+    /**
+     * Remove a minion from every index
+     * @return true if it was registered
+     */
+    public boolean remove(MinionData minion) {
+        MinionData registered = byId.remove(minion.getId());
+        if (registered == null) {
+            return false;
+        }
+        // By the keys it was indexed under; its fields may have changed since
+        Keys indexed = keys.remove(registered.getId());
+        unindex(byOwner, indexed.owner, registered.getId());
+        unindex(byIsland, indexed.island, registered.getId());
+        if (indexed.chunk != null) {
+            unindex(byChunk, indexed.chunk, registered.getId());
+        }
+        if (indexed.entity != null) {
+            byEntity.remove(indexed.entity);
+        }
+        return true;
+    }
+
+    /**
+     * Point a minion at a new stand entity, or none
+     */
+    public void setEntity(MinionData minion, UUID entityId) {
+        Keys indexed = byId.get(minion.getId()) == minion ? keys.get(minion.getId()) : null;
+        UUID previous = indexed != null ? indexed.entity : minion.getEntityId();
+        if (previous != null && byEntity.get(previous) == minion) {
+            byEntity.remove(previous);
+        }
+        minion.setEntityId(entityId);
+        if (indexed != null) {
+            indexed.entity = entityId;
+            if (entityId != null) {
+                byEntity.put(entityId, minion);
+            }
+        }
+    }
+
+    public MinionData get(UUID minionId) {
+        return byId.get(minionId);
+    }
+
+    /**
+     * Get the minion whose stand is the given entity
+     */
+    public MinionData getByEntity(UUID entityId) {
+        return byEntity.get(entityId);
+    }
+
+    /**
+     * Get a player's minions in memory; read only
+     */
+    public Collection<MinionData> getByOwner(UUID ownerId) {
+        return view(byOwner.get(ownerId));
+    }
+
+    /**
+     * Get an island's minions in memory; read only
+     */
+    public Collection<MinionData> getByIsland(UUID islandId) {
+        return view(byIsland.get(islandId));
+    }
+
+    /**
+     * Get the minions in memory for a chunk key from {@link MinionData#chunkKey}; read only
+     */
+    public Collection<MinionData> getByChunk(String chunk) {
+        return view(byChunk.get(chunk));
+    }
+
+    /**
+     * Check whether a chunk has minions in memory
+     */
+    public boolean hasChunk(String chunk) {
+        return byChunk.containsKey(chunk);
+    }
+
+    /**
+     * Get every minion in memory; read only
+     */
+    public Collection<MinionData> getAll() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        byOwner.clear();
+        byIsland.clear();
+        byChunk.clear();
+        byEntity.clear();
+        keys.clear();
+    }
+
+    private static <K> void index(Map<K, Map<UUID, MinionData>> index, K key, MinionData minion) {
+        index.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(minion.getId(), minion);
+    }
+
+    private static <K> void unindex(Map<K, Map<UUID, MinionData>> index, K key, UUID minionId) {
+        Map<UUID, MinionData> minions = index.get(key);
+        if (minions != null && minions.remove(minionId) != null && minions.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static Collection<MinionData> view(Map<UUID, MinionData> minions) {
+        return minions != null ? Collections.unmodifiableCollection(minions.values()) : Collections.emptyList();
+    }
+
+    /**
+     * The keys a minion is filed under in each index
+     */
+    private static class Keys {
+        private final UUID owner;
+        private final UUID island;
+        private final String chunk;
+        private UUID entity;
+
+        Keys(UUID owner, UUID island, String chunk, UUID entity) {
+            this.owner = owner;
+            this.island = island;
+            this.chunk = chunk;
+            this.entity = entity;
+        }
+    }
+}
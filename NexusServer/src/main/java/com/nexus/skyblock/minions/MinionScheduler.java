@@ -0,0 +1,231 @@
+package com.nexus.skyblock.minions;
+
+import com.nexus.core.NexusCore;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Runs minion actions from a hierarchical {@link TimingWheel} keyed by each minion's next action
+ * time. Every server tick only the wheel slot for that tick is visited, so the cost per tick
+ * follows the number of minions due rather than the number placed. A minion whose owner is
+ * offline or whose chunk is unloaded is parked when it comes due. When the owner joins or the
+ * chunk loads, its parked minions are found through the {@link MinionRegistry}, the manager
+ * settles what they produced meanwhile and they go back on the wheel. Main thread only.
+ */
+public class MinionScheduler implements Listener {
+
+    private final NexusCore plugin;
+    private final MinionManager manager;
+    private final TimingWheel<MinionData> wheel;
+    private final Map<UUID, TimingWheel.Timer<MinionData>> scheduled;
+    private final MinionRegistry registry;
+    private final Set<UUID> paused;
+    private BukkitTask task;
+
+    // Instrumentation
+    private int lastDue;
+    private int maxDue;
+    private double averageDue;
+    private long totalDue;
+
+    public MinionScheduler(NexusCore plugin, MinionManager manager) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.wheel = new TimingWheel<>(System.currentTimeMillis(),
+            plugin.getConfigManager().getInt("minions.scheduler.max-catch-up-ticks", 200));
+        this.scheduled = new HashMap<>();
+        this.registry = manager.getRegistry();
+        this.paused = new HashSet<>();
+    }
+
+    /**
+     * Start advancing the wheel every server tick
+     */
+    public void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Put a minion on the wheel for its next action, or park it if it cannot run right now.
+     * Calling this again re-files the minion, e.g. after a tier change altered its rate.
+     */
+    public void schedule(MinionData minion) {
+        cancel(minion);
+        if (!minion.isActive()) {
+            return;
+        }
+        if (park(minion)) {
+            return;
+        }
+        file(minion, minion.getLastAction() + MinionProduction.getActionInterval(minion));
+    }
+
+    /**
+     * Check whether a minion is on the wheel rather than parked
+     */
+    public boolean isScheduled(MinionData minion) {
+        return scheduled.containsKey(minion.getId());
+    }
+
+    /**
+     * Take a minion off the wheel or out of the paused set
+     */
+    public void cancel(MinionData minion) {
+        TimingWheel.Timer<MinionData> timer = scheduled.remove(minion.getId());
+        if (timer != null) {
+            timer.cancel();
+        }
+        paused.remove(minion.getId());
+    }
+
+    /**
+     * Advance to the current time, running every minion due on the way
+     */
+    private void tick() {
+        List<TimingWheel.Timer<MinionData>> due = wheel.advance(System.currentTimeMillis());
+        long now = System.currentTimeMillis();
+        for (TimingWheel.Timer<MinionData> timer : due) {
+            scheduled.remove(timer.getValue().getId());
+            run(timer, now);
+        }
+        record(due.size());
+    }
+
+    private void run(TimingWheel.Timer<MinionData> timer, long now) {
+        MinionData minion = timer.getValue();
+        if (!minion.isActive() || park(minion)) {
+            return;
+        }
+        try {
+            manager.performMinionAction(minion);
+        } catch (Exception e) {
+            plugin.getNexusLogger().warning("Minion " + minion.getId() + " failed to act: " + e.getMessage());
+        }
+
+        long interval = MinionProduction.getActionInterval(minion);
+        long last = TimingWheel.carry(timer.getDeadline(), now, interval);
+        minion.setLastAction(last);
+        file(minion, last + interval);
+    }
+
+    private void file(MinionData minion, long deadline) {
+        scheduled.put(minion.getId(), wheel.schedule(minion, deadline));
+    }
+
+    /**
+     * Park a minion that cannot run right now
+     * @return true if it was parked
+     */
+    private boolean park(MinionData minion) {
+        Location location = minion.getLocation();
+        if (Bukkit.getPlayer(minion.getOwnerUUID()) == null || location.getWorld() == null
+                || !location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            paused.add(minion.getId());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Put the parked minions among these back on the wheel once their time away has been settled
+     */
+    private void resume(Collection<MinionData> minions) {
+        for (MinionData minion : new ArrayList<>(minions)) {
+            if (paused.remove(minion.getId())) {
+                manager.resumeMinion(minion);
+                schedule(minion);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        resume(registry.getByOwner(event.getPlayer().getUniqueId()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        resume(registry.getByChunk(MinionData.chunkKey(chunk.getWorld().getName(), chunk.getX(), chunk.getZ())));
+    }
+
+    private void record(int count) {
+        lastDue = count;
+        maxDue = Math.max(maxDue, count);
+        totalDue += count;
+        // Moving average over roughly the last five seconds
+        averageDue += (count - averageDue) / 100.0;
+    }
+
+    /**
+     * Get the number of minions on the wheel
+     */
+    public int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    /**
+     * Get the number of minions waiting for their owner or chunk
+     */
+    public int getPausedCount() {
+        return paused.size();
+    }
+
+    /**
+     * Get the number of minions that came due on the last tick
+     */
+    public int getLastDue() {
+        return lastDue;
+    }
+
+    /**
+     * Get the most minions that came due on a single tick
+     */
+    public int getMaxDue() {
+        return maxDue;
+    }
+
+    /**
+     * Get the recent average of minions due per tick
+     */
+    public double getAverageDue() {
+        return averageDue;
+    }
+
+    /**
+     * Get the number of minions that came due since startup
+     */
+    public long getTotalDue() {
+        return totalDue;
+    }
+
+    /**
+     * Stop advancing and drop every entry
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        wheel.clear();
+        scheduled.clear();
+        paused.clear();
+    }
+}
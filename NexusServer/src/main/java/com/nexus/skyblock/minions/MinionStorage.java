@@ -0,0 +1,112 @@
+package com.nexus.skyblock.minions;
+
+import org.bukkit.Material;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A minion's stored items, kept as one count per material instead of item stacks.
+ * Capacity is measured in slots of full stacks, like the inventory it is shown in, so
+ * the limit follows {@link MinionData#getMaxStorage()}. Item stacks are only built when
+ * the storage is viewed or collected.
+ */
+public class MinionStorage {
+
+    private final Map<Material, Long> counts;
+
+    public MinionStorage() {
+        this.counts = new EnumMap<>(Material.class);
+    }
+
+    /**
+     * Store as much of an amount as fits in the given number of slots
+     * @return the amount that did not fit
+     */
+    public long add(Material material, long amount, int maxSlots) {
+        if (amount <= 0) {
+            return 0;
+        }
+        long stored = Math.min(amount, getFreeSpace(material, maxSlots));
+        if (stored > 0) {
+            counts.merge(material, stored, Long::sum);
+        }
+        return amount - stored;
+    }
+
+    /**
+     * Set the stored amount of a material, ignoring capacity; used when loading
+     */
+    public void set(Material material, long amount) {
+        if (amount > 0) {
+            counts.put(material, amount);
+        } else {
+            counts.remove(material);
+        }
+    }
+
+    /**
+     * Take up to an amount of a material out of storage
+     * @return the amount taken
+     */
+    public long remove(Material material, long amount) {
+        long stored = getAmount(material);
+        long taken = Math.min(stored, Math.max(0, amount));
+        set(material, stored - taken);
+        return taken;
+    }
+
+    /**
+     * Get how much more of a material fits in the given number of slots
+     */
+    public long getFreeSpace(Material material, int maxSlots) {
+        int stackSize = material.getMaxStackSize();
+        long freeSlots = Math.max(0, maxSlots - getUsedSlots());
+        long partial = getAmount(material) % stackSize;
+        return freeSlots * stackSize + (partial > 0 ? stackSize - partial : 0);
+    }
+
+    /**
+     * Get the number of full or partial stacks the contents take up
+     */
+    public int getUsedSlots() {
+        long slots = 0;
+        for (Map.Entry<Material, Long> entry : counts.entrySet()) {
+            int stackSize = entry.getKey().getMaxStackSize();
+            slots += (entry.getValue() + stackSize - 1) / stackSize;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, slots);
+    }
+
+    public long getAmount(Material material) {
+        Long amount = counts.get(material);
+        return amount != null ? amount : 0;
+    }
+
+    /**
+     * Get the total number of items stored
+     */
+    public long getTotal() {
+        long total = 0;
+        for (long amount : counts.values()) {
+            total += amount;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /**
+     * Get the stored amount per material; read only
+     */
+    public Map<Material, Long> getContents() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+}
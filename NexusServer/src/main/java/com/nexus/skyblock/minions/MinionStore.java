@@ -0,0 +1,236 @@
+package com.nexus.skyblock.minions;
+
+import com.nexus.core.NexusCore;
+import com.nexus.database.DatabaseManager;
+import com.nexus.database.codec.Codecs;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps minions in the database and only the ones in loaded chunks in memory.
+ * At startup only the number of minions per chunk is read. A chunk's minions are read
+ * asynchronously when it loads, and written back and dropped when it unloads. Changes
+ * only mark a minion dirty; dirty minions are written in one batch every
+ * minions.save-interval-seconds through the write-behind queue. Records of unloaded chunks
+ * stay in memory until their write is committed, so a chunk that loads again right away
+ * never reads a stale row. Main thread only, except the reads.
+ */
+public class MinionStore implements Listener {
+
+    private final NexusCore plugin;
+    private final MinionManager manager;
+    private final DatabaseManager database;
+    private final MinionRegistry registry;
+    private final Map<String, Integer> chunkCounts;
+    private final Set<UUID> dirty;
+    private final Set<String> loading;
+    private final Map<String, Map<UUID, byte[]>> unloaded;
+    private final long saveIntervalTicks;
+    private BukkitTask saveTask;
+
+    public MinionStore(NexusCore plugin, MinionManager manager) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.database = plugin.getDatabaseManager();
+        this.registry = manager.getRegistry();
+        this.chunkCounts = new HashMap<>();
+        this.dirty = new LinkedHashSet<>();
+        this.loading = new HashSet<>();
+        this.unloaded = new ConcurrentHashMap<>();
+        this.saveIntervalTicks = Math.max(1, plugin.getConfigManager().getLong("minions.save-interval-seconds", 30)) * 20L;
+    }
+
+    /**
+     * Read which chunks hold minions, load the ones already loaded and start saving
+     */
+    public void start() {
+        chunkCounts.putAll(database.getMinionChunkCounts());
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                loadChunk(chunk);
+            }
+        }
+        saveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveDirty, saveIntervalTicks, saveIntervalTicks);
+
+        int total = 0;
+        for (int count : chunkCounts.values()) {
+            total += count;
+        }
+        plugin.getNexusLogger().info("Tracking " + total + " stored minions in " + chunkCounts.size() + " chunks");
+    }
+
+    /**
+     * Store a newly placed minion right away
+     */
+    public void create(MinionData minion) {
+        String chunk = minion.getChunkKey();
+        chunkCounts.merge(chunk, 1, Integer::sum);
+        save(minion);
+    }
+
+    /**
+     * Remember that a minion changed; it is written with the next batch
+     */
+    public void markDirty(MinionData minion) {
+        dirty.add(minion.getId());
+    }
+
+    /**
+     * Delete a minion for good
+     */
+    public void delete(MinionData minion) {
+        String chunk = minion.getChunkKey();
+        chunkCounts.computeIfPresent(chunk, (k, count) -> count > 1 ? count - 1 : null);
+        dirty.remove(minion.getId());
+        Map<UUID, byte[]> records = unloaded.get(chunk);
+        if (records != null) {
+            records.remove(minion.getId());
+        }
+        database.deleteMinion(minion.getId());
+    }
+
+    /**
+     * Check whether a chunk has stored minions
+     */
+    public boolean hasMinions(String chunk) {
+        return chunkCounts.containsKey(chunk);
+    }
+
+    private byte[] save(MinionData minion) {
+        byte[] data = Codecs.MINION.encode(minion);
+        database.saveMinion(minion, data);
+        return data;
+    }
+
+    /**
+     * Write every dirty minion, then let go of unloaded records once they are committed
+     */
+    public void saveDirty() {
+        for (UUID id : dirty) {
+            MinionData minion = manager.getMinion(id);
+            if (minion != null) {
+                save(minion);
+            }
+        }
+        dirty.clear();
+
+        if (!unloaded.isEmpty()) {
+            Map<String, Map<UUID, byte[]>> written = new HashMap<>(unloaded);
+            // The barrier is queued behind every write enqueued so far
+            database.getWriteQueue().flush().thenRun(() -> written.forEach(unloaded::remove));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        loadChunk(event.getChunk());
+    }
+
+    // A cancelled unload keeps the chunk loaded, so its minions must stay attached
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        String key = MinionData.chunkKey(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        if (!registry.hasChunk(key)) {
+            return;
+        }
+
+        Map<UUID, byte[]> records = new HashMap<>();
+        for (MinionData minion : new ArrayList<>(registry.getByChunk(key))) {
+            records.put(minion.getId(), save(minion));
+            dirty.remove(minion.getId());
+            // The stand is removed before the chunk is saved, so it never ends up on disk
+            manager.detachMinion(minion);
+        }
+        if (!records.isEmpty()) {
+            unloaded.merge(key, records, (old, added) -> {
+                Map<UUID, byte[]> merged = new HashMap<>(old);
+                merged.putAll(added);
+                return merged;
+            });
+        }
+    }
+
+    /**
+     * Bring a chunk's minions into memory, from unwritten records or from the database
+     */
+    private void loadChunk(Chunk chunk) {
+        String world = chunk.getWorld().getName();
+        int x = chunk.getX();
+        int z = chunk.getZ();
+        String key = MinionData.chunkKey(world, x, z);
+        if (!chunkCounts.containsKey(key) || registry.hasChunk(key) || !loading.add(key)) {
+            return;
+        }
+
+        Map<UUID, byte[]> records = unloaded.remove(key);
+        if (records != null) {
+            List<MinionData> minions = new ArrayList<>(records.size());
+            for (byte[] data : records.values()) {
+                minions.add(Codecs.MINION.decode(data));
+            }
+            attach(key, chunk, minions);
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<MinionData> minions = database.getMinionsInChunk(world, x, z);
+            Bukkit.getScheduler().runTask(plugin, () -> attach(key, chunk, minions));
+        });
+    }
+
+    private void attach(String key, Chunk chunk, List<MinionData> minions) {
+        loading.remove(key);
+        // The chunk may have unloaded while it was read; the rows are still current then
+        if (minions.isEmpty() || !chunk.isLoaded()) {
+            return;
+        }
+
+        for (MinionData minion : minions) {
+            if (minion != null && registry.get(minion.getId()) == null) {
+                manager.attachMinion(minion);
+            }
+        }
+    }
+
+    /**
+     * Get the number of minions waiting for the next batch
+     */
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Write every minion in memory and stop saving
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        for (MinionData minion : registry.getAll()) {
+            save(minion);
+        }
+        dirty.clear();
+        unloaded.clear();
+    }
+}
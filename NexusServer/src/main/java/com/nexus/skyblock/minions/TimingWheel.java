@@ -0,0 +1,178 @@
+package com.nexus.skyblock.minions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel behind {@link MinionScheduler}.
+ * Three levels of 256, 64 and 64 slots cover about 14.5 hours at 50ms resolution; later
+ * deadlines are parked in the last level and re-filed when their slot comes round. Each
+ * advance only visits the level 0 slots for the ticks passed, so its cost follows the
+ * number of timers due rather than the number scheduled. Holds no Bukkit state.
+ */
+final class TimingWheel<T> {
+
+    static final long TICK_MILLIS = 50L;
+    static final long SPAN = 1L << 20;
+    private static final int[] LEVEL_BITS = {8, 6, 6};
+    private static final int[] LEVEL_SHIFT = {0, 8, 14};
+
+    private final List<Timer<T>>[][] wheel;
+    private final long epoch;
+    private final int maxCatchUpTicks;
+    private long currentTick;
+
+    /**
+     * @param epoch wall-clock time of tick 0
+     * @param maxCatchUpTicks most ticks one advance moves, so a long stall is caught up gradually
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long epoch, int maxCatchUpTicks) {
+        this.wheel = new List[LEVEL_BITS.length][];
+        for (int level = 0; level < LEVEL_BITS.length; level++) {
+            wheel[level] = new List[1 << LEVEL_BITS[level]];
+            for (int slot = 0; slot < wheel[level].length; slot++) {
+                wheel[level][slot] = new ArrayList<>();
+            }
+        }
+        this.epoch = epoch;
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+        this.currentTick = 0;
+    }
+
+    /**
+     * Schedule a value for a wall-clock deadline; deadlines already passed fire on the next tick
+     */
+    Timer<T> schedule(T value, long deadline) {
+        Timer<T> timer = new Timer<>(value, deadline);
+        insert(timer, currentTick + 1);
+        return timer;
+    }
+
+    /**
+     * Move towards the tick for the given time, at most maxCatchUpTicks at once
+     * @return the timers that came due on the way, in tick order, cancelled ones left out
+     */
+    List<Timer<T>> advance(long now) {
+        long target = (now - epoch) / TICK_MILLIS;
+        if (target - currentTick > maxCatchUpTicks) {
+            target = currentTick + maxCatchUpTicks;
+        }
+        List<Timer<T>> due = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            cascade();
+            List<Timer<T>> slot = wheel[0][(int) (currentTick & mask(0))];
+            if (!slot.isEmpty()) {
+                for (Timer<T> timer : slot) {
+                    if (!timer.cancelled) {
+                        due.add(timer);
+                    }
+                }
+                slot.clear();
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Get the last tick visited
+     */
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Drop every timer
+     */
+    void clear() {
+        for (List<Timer<T>>[] level : wheel) {
+            for (List<Timer<T>> slot : level) {
+                slot.clear();
+            }
+        }
+    }
+
+    /**
+     * Get the time of the next action after one that was due at the deadline.
+     * Keeps the rate exact across tick rounding, but never banks actions missed during a stall.
+     */
+    static long carry(long deadline, long now, long interval) {
+        return deadline > now - interval ? deadline : now;
+    }
+
+    /**
+     * Re-file the timers of each higher level slot the wheel has just reached
+     */
+    private void cascade() {
+        for (int level = LEVEL_BITS.length - 1; level > 0; level--) {
+            if ((currentTick & ((1L << LEVEL_SHIFT[level]) - 1)) != 0) {
+                continue;
+            }
+            List<Timer<T>> slot = wheel[level][(int) ((currentTick >> LEVEL_SHIFT[level]) & mask(level))];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Timer<T>> timers = new ArrayList<>(slot);
+            slot.clear();
+            for (Timer<T> timer : timers) {
+                if (!timer.cancelled) {
+                    insert(timer, currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * File a timer in the finest level that can hold its deadline
+     * @param earliest the first tick still to be visited
+     */
+    private void insert(Timer<T> timer, long earliest) {
+        long tick = Math.max(earliest, ceilTick(timer.deadline));
+        long delta = tick - currentTick;
+        if (delta >= SPAN) {
+            // Parked in the last slot in range, re-filed with its real deadline when it comes round
+            tick = currentTick + SPAN - 1;
+            delta = SPAN - 1;
+        }
+        int level = 0;
+        while (level < LEVEL_BITS.length - 1 && delta >= (1L << LEVEL_SHIFT[level + 1])) {
+            level++;
+        }
+        wheel[level][(int) ((tick >> LEVEL_SHIFT[level]) & mask(level))].add(timer);
+    }
+
+    private long ceilTick(long millis) {
+        return Math.floorDiv(millis - epoch + TICK_MILLIS - 1, TICK_MILLIS);
+    }
+
+    private static long mask(int level) {
+        return (1L << LEVEL_BITS[level]) - 1;
+    }
+
+    /**
+     * One pending deadline; cancelled timers stay in their slot and are skipped when reached
+     */
+    static final class Timer<T> {
+        private final T value;
+        private final long deadline;
+        private boolean cancelled;
+
+        Timer(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        long getDeadline() {
+            return deadline;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
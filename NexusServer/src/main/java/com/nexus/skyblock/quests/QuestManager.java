@@ -1,6 +1,7 @@
 package com.nexus.skyblock.quests;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.cache.PlayerDataCache;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -24,15 +25,14 @@ public class QuestManager implements Listener {
 
     private final NexusCore plugin;
     private final Map<String, Quest> quests;
-    private final Map<UUID, PlayerQuestData> playerQuests;
-    private final Map<UUID, Set<String>> completedQuests;
+    private final PlayerDataCache<PlayerQuestData> playerQuests;
     private final Random random;
 
     public QuestManager(NexusCore plugin) {
         this.plugin = plugin;
         this.quests = new ConcurrentHashMap<>();
-        this.playerQuests = new ConcurrentHashMap<>();
-        this.completedQuests = new ConcurrentHashMap<>();
+        // Quest progress is not persisted yet; without a writer the cache never evicts it, so it lasts until restart
+        this.playerQuests = plugin.getCacheManager().createCache("quests", PlayerQuestData::new, null);
         this.random = new Random();
     }
 
@@ -242,26 +242,20 @@ public class QuestManager implements Listener {
             return false;
         }
 
+        PlayerQuestData data = playerQuests.get(playerId);
+
         // Check if already completed
-        Set<String> completed = completedQuests.get(playerId);
-        if (completed != null && completed.contains(questId)) {
+        if (data.getCompletedQuests().contains(questId)) {
             player.sendMessage(ChatColor.RED + "You've already completed this quest!");
             return false;
         }
 
         // Check if already in progress
-        PlayerQuestData data = playerQuests.get(playerId);
-        if (data != null && data.hasQuest(questId)) {
+        if (data.hasQuest(questId)) {
             player.sendMessage(ChatColor.RED + "You're already on this quest!");
             return false;
         }
 
-        // Initialize quest data if needed
-        if (data == null) {
-            data = new PlayerQuestData(playerId);
-            playerQuests.put(playerId, data);
-        }
-
         // Start quest
         data.startQuest(quest);
         player.sendMessage(ChatColor.GREEN + "Quest Started: " + ChatColor.WHITE + quest.getName());
@@ -275,7 +269,7 @@ public class QuestManager implements Listener {
      */
     public void progressQuest(Player player, String questId, int amount) {
         UUID playerId = player.getUniqueId();
-        PlayerQuestData data = playerQuests.get(playerId);
+        PlayerQuestData data = playerQuests.getIfPresent(playerId);
 
         if (data == null || !data.hasQuest(questId)) return;
 
@@ -302,23 +296,20 @@ public class QuestManager implements Listener {
      */
     private void completeQuest(Player player, Quest quest) {
         UUID playerId = player.getUniqueId();
-        PlayerQuestData data = playerQuests.get(playerId);
+        PlayerQuestData data = playerQuests.getIfPresent(playerId);
 
         if (data == null) return;
 
+        // Tracks completion as well
         data.completeQuest(quest.getId());
 
-        // Track completion
-        Set<String> completed = completedQuests.computeIfAbsent(playerId, k -> new HashSet<>());
-        completed.add(quest.getId());
-
         // Award rewards
         QuestReward reward = quest.getReward();
         if (reward.getCoins() > 0) {
-            plugin.getEconomyManager().addCoins(playerId, reward.getCoins());
+            plugin.getEconomyManager().addCoins(playerId, reward.getCoins(), "quest-reward");
         }
         if (reward.getGems() > 0) {
-            plugin.getEconomyManager().addGems(playerId, reward.getGems());
+            plugin.getEconomyManager().addGems(playerId, reward.getGems(), "quest-reward");
         }
 
         // Give XP (could be skill XP in full implementation)
@@ -364,8 +355,8 @@ public class QuestManager implements Listener {
      */
     public void openQuestGUI(Player player) {
         UUID playerId = player.getUniqueId();
-        PlayerQuestData data = playerQuests.get(playerId);
-        Set<String> completed = completedQuests.getOrDefault(playerId, new HashSet<>());
+        PlayerQuestData data = playerQuests.getIfPresent(playerId);
+        Set<String> completed = data != null ? data.getCompletedQuests() : Collections.emptySet();
 
         org.bukkit.inventory.Inventory gui = Bukkit.createInventory(
             player,
@@ -416,7 +407,7 @@ public class QuestManager implements Listener {
      * Get active quests for a player
      */
     public List<Quest> getActiveQuests(Player player) {
-        PlayerQuestData data = playerQuests.get(player.getUniqueId());
+        PlayerQuestData data = playerQuests.getIfPresent(player.getUniqueId());
         if (data == null) return Collections.emptyList();
 
         List<Quest> activeQuests = new ArrayList<>();
@@ -92,7 +92,7 @@ public class SellCommand implements CommandExecutor {
         }
 
         // Add coins
-        plugin.getEconomyManager().addCoins(player.getUniqueId(), totalValue);
+        plugin.getEconomyManager().addCoins(player.getUniqueId(), totalValue, "sell");
 
         // Notify player
         player.sendMessage("");
@@ -244,20 +244,17 @@ public class ShopManager {
         ShopItem item = items.get(slot);
         long cost = item.getPrice();
 
-        // Check if player has enough coins
-        if (!plugin.getEconomyManager().hasCoins(player.getUniqueId(), cost)) {
-            player.sendMessage(ChatColor.RED + "Not enough coins! Need: " + cost);
-            return false;
-        }
-
         // Check inventory space
         if (player.getInventory().firstEmpty() == -1) {
             player.sendMessage(ChatColor.RED + "Your inventory is full!");
             return false;
         }
 
-        // Process purchase
-        plugin.getEconomyManager().removeCoins(player.getUniqueId(), cost);
+        // Check and deduct in one step so the balance cannot change in between
+        if (!plugin.getEconomyManager().removeCoins(player.getUniqueId(), cost, "shop-purchase")) {
+            player.sendMessage(ChatColor.RED + "Not enough coins! Need: " + cost);
+            return false;
+        }
 
         ItemStack purchasedItem = new ItemStack(item.getMaterial(), item.getAmount());
         player.getInventory().addItem(purchasedItem);
@@ -303,7 +300,7 @@ public class ShopManager {
         }
 
         // Add coins
-        plugin.getEconomyManager().addCoins(player.getUniqueId(), totalPrice);
+        plugin.getEconomyManager().addCoins(player.getUniqueId(), totalPrice, "shop-sale");
 
         player.sendMessage(ChatColor.GREEN + "Sold " + amount + " items for " + totalPrice + " coins!");
         return true;
@@ -1,6 +1,7 @@
 package com.nexus.skyblock.skills;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.cache.PlayerDataCache;
 import com.nexus.skyblock.skills.achievements.AchievementManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -15,9 +16,10 @@ import org.bukkit.event.player.PlayerFishEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manager class for handling all skill-related operations.
@@ -25,18 +27,28 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SkillsManager {
     
+    /**
+     * Told when a player's skill level changes
+     */
+    public interface LevelListener {
+        void onLevelChange(UUID playerId, SkillType skill, int level);
+    }
+    
     private final NexusCore plugin;
-    private final Map<UUID, PlayerSkills> playerSkills;
+    private final PlayerDataCache<PlayerSkills> playerSkills;
     private final Map<Material, SkillType> blockSkills;
     private final Map<EntityType, SkillType> killSkills;
     private final Map<Material, Double> farmingSkills;
+    private final List<LevelListener> levelListeners;
     
     public SkillsManager(NexusCore plugin) {
         this.plugin = plugin;
-        this.playerSkills = new ConcurrentHashMap<>();
+        this.playerSkills = plugin.getCacheManager().createCache("skills", this::createSkills,
+            (playerId, skills) -> plugin.getDatabaseManager().savePlayerSkills(playerId, skills));
         this.blockSkills = new HashMap<>();
         this.killSkills = new HashMap<>();
         this.farmingSkills = new HashMap<>();
+        this.levelListeners = new CopyOnWriteArrayList<>();
         registerSkillMappings();
     }
     
@@ -114,7 +126,15 @@ public class SkillsManager {
      * Get or create player skills
      */
     public PlayerSkills getPlayerSkills(UUID playerId) {
-        return playerSkills.computeIfAbsent(playerId, k -> new PlayerSkills());
+        return playerSkills.get(playerId);
+    }
+    
+    /**
+     * Create skills from stored data, so evicted players come back intact
+     */
+    private PlayerSkills createSkills(UUID playerId) {
+        PlayerSkills skills = plugin.getDatabaseManager().getPlayerSkills(playerId);
+        return skills != null ? skills : new PlayerSkills();
     }
     
     /**
@@ -219,8 +239,10 @@ public class SkillsManager {
     private void addSkillXp(UUID playerId, SkillType skillType, double amount, org.bukkit.Location location) {
         PlayerSkills skills = getPlayerSkills(playerId);
         boolean leveledUp = skills.addXp(skillType, amount);
+        playerSkills.markDirty(playerId);
         
         if (leveledUp) {
+            fireLevelChange(playerId, skillType, skills.getSkill(skillType).getLevel());
             Player player = Bukkit.getPlayer(playerId);
             if (player != null && player.isOnline()) {
                 int newLevel = skills.getSkill(skillType).getLevel();
@@ -246,6 +268,21 @@ public class SkillsManager {
     public void setSkillLevel(UUID playerId, SkillType skillType, int level) {
         PlayerSkills skills = getPlayerSkills(playerId);
         skills.setLevel(skillType, level);
+        playerSkills.markDirty(playerId);
+        fireLevelChange(playerId, skillType, skills.getSkill(skillType).getLevel());
+    }
+    
+    /**
+     * Register a listener for level changes
+     */
+    public void addLevelListener(LevelListener listener) {
+        levelListeners.add(listener);
+    }
+    
+    private void fireLevelChange(UUID playerId, SkillType skillType, int level) {
+        for (LevelListener listener : levelListeners) {
+            listener.onLevelChange(playerId, skillType, level);
+        }
     }
     
     /**
@@ -260,18 +297,17 @@ public class SkillsManager {
      * Save player skills data
      */
     public void savePlayerSkills(UUID playerId) {
-        PlayerSkills skills = playerSkills.get(playerId);
+        PlayerSkills skills = playerSkills.getIfPresent(playerId);
         if (skills != null) {
-            plugin.getDatabaseManager().savePlayerSkills(playerId, skills.serialize());
+            plugin.getDatabaseManager().savePlayerSkills(playerId, skills);
+            playerSkills.markClean(playerId);
         }
     }
     
     /**
-     * Load player skills data
+     * Install skills loaded from the database
      */
-    public void loadPlayerSkills(UUID playerId, Map<String, Object> data) {
-        PlayerSkills skills = new PlayerSkills();
-        skills.deserialize(data);
+    public void loadPlayerSkills(UUID playerId, PlayerSkills skills) {
         playerSkills.put(playerId, skills);
     }
     
@@ -279,11 +315,12 @@ public class SkillsManager {
      * Get leaderboard for a specific skill
      */
     public java.util.List<Map.Entry<UUID, Integer>> getSkillLeaderboard(SkillType skillType, int limit) {
-        return playerSkills.entrySet().stream()
+        return playerSkills.snapshot().entrySet().stream()
             .sorted((a, b) -> Integer.compare(
                 b.getValue().getSkill(skillType).getLevel(),
                 a.getValue().getSkill(skillType).getLevel()))
             .limit(limit)
+            .map(e -> Map.entry(e.getKey(), e.getValue().getSkill(skillType).getLevel()))
             .toList();
     }
     
@@ -291,10 +328,7 @@ public class SkillsManager {
      * Shutdown the skills manager
      */
     public void shutdown() {
-        // Save all player skills
-        for (UUID playerId : playerSkills.keySet()) {
-            savePlayerSkills(playerId);
-        }
+        // Only players changed since their last save are written
         playerSkills.clear();
     }
 }
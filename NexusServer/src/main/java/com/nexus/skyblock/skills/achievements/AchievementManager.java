@@ -117,7 +117,7 @@ public class AchievementManager {
         
         // Give reward
         if (coinsReward > 0 && plugin.getEconomyManager() != null) {
-            plugin.getEconomyManager().depositCoins(playerId, coinsReward);
+            plugin.getEconomyManager().addCoins(playerId, coinsReward, "achievement");
         }
         
         // Notify player
@@ -1,6 +1,7 @@
 package com.nexus.skyblock.treasure;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.cache.PlayerDataCache;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
@@ -26,14 +27,15 @@ public class TreasureManager {
 
     private final NexusCore plugin;
     private final Map<UUID, TreasureChest> activeChests;
-    private final Map<UUID, PlayerTreasureData> playerData;
+    private final PlayerDataCache<PlayerTreasureData> playerData;
     private final List<TreasureTemplate> treasureTemplates;
     private final Random random;
 
     public TreasureManager(NexusCore plugin) {
         this.plugin = plugin;
         this.activeChests = new ConcurrentHashMap<>();
-        this.playerData = new ConcurrentHashMap<>();
+        // Treasure stats are not persisted yet; without a writer the cache never evicts it, so it lasts until restart
+        this.playerData = plugin.getCacheManager().createCache("treasure", PlayerTreasureData::new, null);
         this.treasureTemplates = new ArrayList<>();
         this.random = new Random();
     }
@@ -482,10 +484,7 @@ public class TreasureManager {
         }
 
         // Update player stats
-        PlayerTreasureData data = playerData.computeIfAbsent(
-            player.getUniqueId(),
-            k -> new PlayerTreasureData(player.getUniqueId())
-        );
+        PlayerTreasureData data = playerData.get(player.getUniqueId());
         data.addTreasureOpened();
         data.addTotalRewards(rewards.size());
 
@@ -10,10 +10,10 @@ import org.bukkit.entity.Player;
 
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Command handler for staff commands.
@@ -27,7 +27,7 @@ public class StaffCommand extends SubCommand {
     public StaffCommand(NexusCore plugin) {
         super(plugin, "staff", "nexus.staff.use", false);
         this.plugin = plugin;
-        this.mutedPlayers = new HashMap<>();
+        this.mutedPlayers = new ConcurrentHashMap<>();
     }
     
     @Override
@@ -234,6 +234,13 @@ public class StaffCommand extends SubCommand {
             .replace("%player%", args[1]));
     }
     
+    /**
+     * Install a mute preloaded at pre-login
+     */
+    public void loadMute(UUID playerId, MuteData muteData) {
+        mutedPlayers.put(playerId, muteData);
+    }
+    
     /**
      * Check if a player is muted
      */
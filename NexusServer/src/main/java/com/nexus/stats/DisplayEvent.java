@@ -0,0 +1,35 @@
+package com.nexus.stats;
+
+/**
+ * Domain changes that can make scoreboard or tab list text stale.
+ * Events are passed around as bitmasks so a player's pending changes fit in one int.
+ */
+public enum DisplayEvent {
+
+    /** The player's coin balance changed */
+    BALANCE,
+    /** The player's rank changed */
+    RANK,
+    /** One of the player's skills levelled */
+    SKILLS,
+    /** Someone joined or left the server */
+    ONLINE;
+
+    /** Mask of every event, used to render a display from scratch */
+    public static final int ALL = (1 << values().length) - 1;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Combine events into a mask
+     */
+    public static int maskOf(DisplayEvent... events) {
+        int mask = 0;
+        for (DisplayEvent event : events) {
+            mask |= event.mask();
+        }
+        return mask;
+    }
+}
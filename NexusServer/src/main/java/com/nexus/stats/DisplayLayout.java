@@ -0,0 +1,80 @@
+package com.nexus.stats;
+
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+/**
+ * An ordered set of {@link LineProvider}s making up one display, such as the sidebar
+ * or the tab list footer. Each player keeps their own rendered lines, and a refresh
+ * only re-renders the lines whose triggers are among the events that happened.
+ * Shared lines are rendered once into this layout and copied to each player.
+ */
+public class DisplayLayout {
+
+    private final LineProvider[] providers;
+    private final String[] shared;
+    private final int triggers;
+
+    public DisplayLayout(List<LineProvider> providers) {
+        this.providers = providers.toArray(new LineProvider[0]);
+        this.shared = new String[this.providers.length];
+        int mask = 0;
+        for (LineProvider provider : this.providers) {
+            mask |= provider.getTriggers();
+        }
+        this.triggers = mask;
+    }
+
+    /**
+     * Get the mask of every event that affects this layout
+     */
+    public int getTriggers() {
+        return triggers;
+    }
+
+    public int size() {
+        return providers.length;
+    }
+
+    /**
+     * Re-render the shared lines hit by the events
+     */
+    public void refreshShared(int events) {
+        for (int i = 0; i < providers.length; i++) {
+            LineProvider provider = providers[i];
+            if (provider.isShared() && (shared[i] == null || (provider.getTriggers() & events) != 0)) {
+                shared[i] = provider.render(null);
+            }
+        }
+    }
+
+    /**
+     * Re-render a player's lines hit by the events; lines never rendered are always filled in
+     * @param lines the player's lines, updated in place
+     * @return true if any line's text changed
+     */
+    public boolean render(Player player, String[] lines, int events) {
+        boolean changed = false;
+        for (int i = 0; i < providers.length; i++) {
+            LineProvider provider = providers[i];
+            if (lines[i] != null && (provider.getTriggers() & events) == 0) {
+                continue;
+            }
+            String text;
+            if (provider.isShared()) {
+                if (shared[i] == null) {
+                    shared[i] = provider.render(null);
+                }
+                text = shared[i];
+            } else {
+                text = provider.render(player);
+            }
+            if (!text.equals(lines[i])) {
+                lines[i] = text;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
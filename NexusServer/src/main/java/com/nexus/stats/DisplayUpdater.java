@@ -0,0 +1,230 @@
+package com.nexus.stats;
+
+import com.nexus.core.NexusCore;
+import com.nexus.economy.EconomyManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refreshes scoreboards and tab lists when something they show changes, instead of polling.
+ * Domain managers report {@link DisplayEvent}s, which are collected per player as a
+ * bitmask. Once a tick the pending players are handed to each {@link Target} with
+ * their events, at most once per display.min-interval-ms per player; anything
+ * arriving sooner waits for the next allowed refresh. Events every player shares,
+ * like the online count, are first rendered once for everyone.
+ */
+public class DisplayUpdater implements Listener {
+
+    /**
+     * A display kept up to date by the updater
+     */
+    public interface Target {
+        /**
+         * Get the mask of events this display shows
+         */
+        int getTriggers();
+
+        /**
+         * Re-render the lines every player shares
+         */
+        void refreshShared(int events);
+
+        /**
+         * Bring a player's display up to date; {@link DisplayEvent#ALL} means build it from scratch
+         */
+        void refresh(Player player, int events);
+
+        /**
+         * Forget a player who left
+         */
+        void remove(UUID playerId);
+    }
+
+    private final NexusCore plugin;
+    private final List<Target> targets;
+    private final Map<UUID, Pending> players;
+    private final Set<UUID> dirty;
+    private final AtomicInteger sharedEvents;
+    private final long minIntervalMillis;
+    private final long balancePollTicks;
+    private BukkitTask flushTask;
+    private BukkitTask pollTask;
+
+    public DisplayUpdater(NexusCore plugin) {
+        this.plugin = plugin;
+        this.targets = new CopyOnWriteArrayList<>();
+        this.players = new ConcurrentHashMap<>();
+        this.dirty = ConcurrentHashMap.newKeySet();
+        this.sharedEvents = new AtomicInteger();
+        this.minIntervalMillis = Math.max(0, plugin.getConfigManager().getLong("display.min-interval-ms", 1000));
+        this.balancePollTicks = Math.max(0, plugin.getConfigManager().getLong("display.vault-balance-poll-seconds", 5)) * 20L;
+    }
+
+    public void addTarget(Target target) {
+        targets.add(target);
+    }
+
+    /**
+     * Subscribe to domain changes and start refreshing
+     */
+    public void start() {
+        plugin.getEconomyManager().addBalanceListener((playerId, currency) -> {
+            if (EconomyManager.CURRENCY_COINS.equals(currency)) {
+                invalidate(playerId, DisplayEvent.BALANCE);
+            }
+        });
+        plugin.getRankManager().addRankListener((playerId, rank) -> invalidate(playerId, DisplayEvent.RANK));
+        plugin.getSkillsManager().addLevelListener((playerId, skill, level) -> invalidate(playerId, DisplayEvent.SKILLS));
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+
+        // Players already online after a reload
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            track(player.getUniqueId());
+        }
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, 1L, 1L);
+
+        // An external Vault economy changes balances without telling us
+        if (balancePollTicks > 0) {
+            pollTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+                if (plugin.getEconomyManager().isVaultActive()) {
+                    invalidateAll(DisplayEvent.BALANCE);
+                }
+            }, balancePollTicks, balancePollTicks);
+        }
+    }
+
+    /**
+     * Mark a player's displays stale; safe from any thread, ignored for offline players
+     */
+    public void invalidate(UUID playerId, DisplayEvent event) {
+        mark(playerId, event.mask());
+    }
+
+    /**
+     * Mark every player's displays stale, re-rendering shared lines first
+     */
+    public void invalidateAll(DisplayEvent event) {
+        sharedEvents.getAndUpdate(mask -> mask | event.mask());
+        for (UUID playerId : players.keySet()) {
+            mark(playerId, event.mask());
+        }
+    }
+
+    private void mark(UUID playerId, int events) {
+        Pending pending = players.get(playerId);
+        if (pending == null) {
+            return;
+        }
+        pending.events.getAndUpdate(mask -> mask | events);
+        dirty.add(playerId);
+    }
+
+    private void track(UUID playerId) {
+        players.put(playerId, new Pending());
+        mark(playerId, DisplayEvent.ALL);
+    }
+
+    /**
+     * Refresh the players whose displays are stale and whose rate limit allows it
+     */
+    private void flush() {
+        int shared = sharedEvents.getAndSet(0);
+        if (shared != 0) {
+            for (Target target : targets) {
+                if ((target.getTriggers() & shared) != 0) {
+                    target.refreshShared(shared);
+                }
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Iterator<UUID> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            UUID playerId = iterator.next();
+            Pending pending = players.get(playerId);
+            Player player = pending != null ? Bukkit.getPlayer(playerId) : null;
+            if (player == null) {
+                iterator.remove();
+                continue;
+            }
+            if (now - pending.lastRefresh < minIntervalMillis) {
+                continue;
+            }
+            // Removed before the events are taken, so a racing invalidate re-adds the player
+            iterator.remove();
+            int events = pending.events.getAndSet(0);
+            if (events == 0) {
+                continue;
+            }
+            pending.lastRefresh = now;
+            for (Target target : targets) {
+                if (events == DisplayEvent.ALL || (target.getTriggers() & events) != 0) {
+                    target.refresh(player, events);
+                }
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        track(event.getPlayer().getUniqueId());
+        invalidateAll(DisplayEvent.ONLINE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        players.remove(playerId);
+        dirty.remove(playerId);
+        for (Target target : targets) {
+            target.remove(playerId);
+        }
+        // Counted on the next tick, once the player is gone from the online list
+        invalidateAll(DisplayEvent.ONLINE);
+    }
+
+    /**
+     * Get the number of players waiting for a refresh
+     */
+    public int getPendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Stop refreshing
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        if (pollTask != null) {
+            pollTask.cancel();
+        }
+        players.clear();
+        dirty.clear();
+    }
+
+    private static class Pending {
+        private final AtomicInteger events = new AtomicInteger();
+        // Only touched on the main thread
+        private long lastRefresh;
+    }
+}
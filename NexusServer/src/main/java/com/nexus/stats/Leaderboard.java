@@ -0,0 +1,300 @@
+package com.nexus.stats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ordered ranking for one stat, kept as an indexable skip list.
+ * Entries are ordered by value descending, then by UUID so ties are stable.
+ * Every link stores how many entries it skips, which makes update, removal and
+ * rank-of-player O(log n) and top-N a walk of the first N entries.
+ */
+public class Leaderboard {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final StatType type;
+    private final Node head;
+    private final Map<UUID, Node> index;
+    private int level;
+
+    // Database rows merged in so far; anyone missing ranks at or below the floor
+    private int seededDepth;
+    private long seedFloor = Long.MIN_VALUE;
+
+    public Leaderboard(StatType type) {
+        this.type = type;
+        this.head = new Node(null, null, 0, MAX_LEVEL);
+        this.index = new HashMap<>();
+        this.level = 1;
+    }
+
+    public StatType getType() {
+        return type;
+    }
+
+    /**
+     * Set a player's value, moving their entry if it changed
+     */
+    public synchronized void update(UUID player, String name, long value) {
+        Node current = index.get(player);
+        if (current != null) {
+            if (current.value == value) {
+                if (name != null) {
+                    current.name = name;
+                }
+                return;
+            }
+            if (name == null) {
+                name = current.name;
+            }
+            index.remove(player);
+            delete(current);
+        }
+        index.put(player, insert(player, name, value));
+    }
+
+    /**
+     * Add a player only if they have no entry yet, e.g. when seeding from the database
+     */
+    public synchronized void offer(UUID player, String name, long value) {
+        if (!index.containsKey(player)) {
+            index.put(player, insert(player, name, value));
+        }
+    }
+
+    public synchronized void remove(UUID player) {
+        Node node = index.remove(player);
+        if (node != null) {
+            delete(node);
+        }
+    }
+
+    /**
+     * Drop a player who is no longer loaded, unless exact ranks above the seed floor need them.
+     * A board whose seed took every row has no floor yet; it gets one at its seeded depth
+     * first, so unloaded players stop piling up in it.
+     * @return true if the entry was dropped
+     */
+    public synchronized boolean release(UUID player) {
+        Node node = index.get(player);
+        if (node == null || seededDepth == 0) {
+            return false;
+        }
+        if (seedFloor == Long.MIN_VALUE && index.size() > seededDepth) {
+            // Everyone above the depth-th value is held, since every row was
+            seedFloor = nodeAt(seededDepth).value;
+        }
+        if (node.value > seedFloor) {
+            return false;
+        }
+        index.remove(player);
+        delete(node);
+        return true;
+    }
+
+    public synchronized boolean contains(UUID player) {
+        return index.containsKey(player);
+    }
+
+    /**
+     * Get a player's ranked value
+     * @return the value, or null if the player has no entry
+     */
+    public synchronized Long getValue(UUID player) {
+        Node node = index.get(player);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Get the highest entries, best first
+     */
+    public synchronized List<StatsCommand.StatsLeaderboardEntry> getTop(int limit) {
+        List<StatsCommand.StatsLeaderboardEntry> entries = new ArrayList<>(Math.min(limit, index.size()));
+        Node node = head.next[0];
+        while (node != null && entries.size() < limit) {
+            entries.add(new StatsCommand.StatsLeaderboardEntry(node.player,
+                node.name != null ? node.name : "Unknown", node.value));
+            node = node.next[0];
+        }
+        return entries;
+    }
+
+    /**
+     * Get a player's 1-based position among the entries held here
+     * @return the rank, or -1 if the player has no entry
+     */
+    public synchronized int getRank(UUID player) {
+        Node target = index.get(player);
+        if (target == null) {
+            return -1;
+        }
+
+        int rank = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && (node.next[i] == target || precedes(node.next[i], target.value, target.player))) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node == target) {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Record that the top depth database rows have been offered
+     * @param floor lowest value among them, or Long.MIN_VALUE if the table had fewer rows
+     */
+    public synchronized void markSeeded(int depth, long floor) {
+        if (depth > seededDepth) {
+            seededDepth = depth;
+            seedFloor = floor;
+        }
+    }
+
+    public synchronized int getSeededDepth() {
+        return seededDepth;
+    }
+
+    /**
+     * Check if every player ranked above this value is held here, so in-memory ranks are exact
+     */
+    public synchronized boolean isExact(long value) {
+        return value > seedFloor;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        index.clear();
+        level = 1;
+        seededDepth = 0;
+        seedFloor = Long.MIN_VALUE;
+    }
+
+    private Node insert(UUID player, String name, long value) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && precedes(node.next[i], value, player)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = index.size();
+            }
+            level = nodeLevel;
+        }
+
+        Node inserted = new Node(player, name, value, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return inserted;
+    }
+
+    private void delete(Node target) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedes(node.next[i], target.value, target.player)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    /**
+     * Get the entry at a 1-based position, following the link spans
+     */
+    private Node nodeAt(int rank) {
+        Node node = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= rank) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (traversed == rank) {
+                return node;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Check if a node sorts before the given value and player
+     */
+    private static boolean precedes(Node node, long value, UUID player) {
+        return node.value > value || (node.value == value && node.player.compareTo(player) < 0);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static class Node {
+        private final UUID player;
+        private final long value;
+        private final Node[] next;
+        // Entries skipped by each link, counting the target
+        private final int[] span;
+        private String name;
+
+        Node(UUID player, String name, long value, int level) {
+            this.player = player;
+            this.name = name;
+            this.value = value;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.nexus.stats;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A leaderboard rendered once for every place it is shown: chat, menus and holograms.
+ * Snapshots never change after they are published; a newer one replaces them.
+ * The text is rendered wherever the snapshot is built; menu items are Bukkit objects,
+ * so they are built on the main thread the first time a menu asks for them.
+ */
+public class LeaderboardSnapshot {
+
+    private final StatType type;
+    private final StatWindow window;
+    private final long version;
+    private final long createdAt;
+    private final List<StatsCommand.StatsLeaderboardEntry> entries;
+    private final List<String> chatLines;
+    private final List<String> hologramLines;
+    private final Supplier<List<ItemStack>> menuRenderer;
+    private List<ItemStack> menuItems;
+
+    public LeaderboardSnapshot(StatType type, StatWindow window, long version,
+                               List<StatsCommand.StatsLeaderboardEntry> entries, List<String> chatLines,
+                               List<String> hologramLines, Supplier<List<ItemStack>> menuRenderer) {
+        this.type = type;
+        this.window = window;
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+        this.entries = List.copyOf(entries);
+        this.chatLines = List.copyOf(chatLines);
+        this.hologramLines = List.copyOf(hologramLines);
+        this.menuRenderer = menuRenderer;
+    }
+
+    public StatType getType() {
+        return type;
+    }
+
+    /**
+     * Get the window ranked, or null for lifetime values
+     */
+    public StatWindow getWindow() {
+        return window;
+    }
+
+    /**
+     * Get the version this snapshot was published at.
+     * A viewer holding the same version has nothing to redraw.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<StatsCommand.StatsLeaderboardEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Get the messages for /stats top, header first
+     */
+    public List<String> getChatLines() {
+        return chatLines;
+    }
+
+    /**
+     * Get the title and one line per rank, padded so the line count never changes
+     */
+    public List<String> getHologramLines() {
+        return hologramLines;
+    }
+
+    /**
+     * Get one item per entry in rank order, built on first use; main thread only.
+     * Inventories copy them, so never modify these.
+     */
+    public List<ItemStack> getMenuItems() {
+        if (menuItems == null) {
+            menuItems = List.copyOf(menuRenderer.get());
+        }
+        return menuItems;
+    }
+}
@@ -0,0 +1,207 @@
+package com.nexus.stats;
+
+import com.nexus.core.NexusCore;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes a rendered {@link LeaderboardSnapshot} for every ranked stat and window.
+ * Boards are re-read on an async timer and only re-rendered when their top entries
+ * moved, so /stats top, menus and lobby holograms just read the latest snapshot.
+ * Only text is rendered there; menu heads are Bukkit items and are built on the
+ * main thread when a menu first shows the snapshot.
+ * Every publish bumps one version counter shared by all boards.
+ */
+public class LeaderboardSnapshots {
+
+    private final NexusCore plugin;
+    private final StatsManager statsManager;
+    private final int size;
+    private final long refreshTicks;
+    private final Map<String, LeaderboardSnapshot> snapshots;
+    private final AtomicLong version;
+    private BukkitTask task;
+
+    public LeaderboardSnapshots(NexusCore plugin, StatsManager statsManager) {
+        this.plugin = plugin;
+        this.statsManager = statsManager;
+        this.size = Math.max(1, plugin.getConfigManager().getInt("stats.snapshots.size", 10));
+        this.refreshTicks = Math.max(1, plugin.getConfigManager().getLong("stats.snapshots.refresh-ticks", 40));
+        this.snapshots = new ConcurrentHashMap<>();
+        this.version = new AtomicLong();
+    }
+
+    /**
+     * Publish every board once, then keep refreshing them in the background
+     */
+    public void start() {
+        refreshAll();
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::refreshAll, 1L, refreshTicks);
+    }
+
+    /**
+     * Get the latest snapshot of a board; every board is published by {@link #start()},
+     * so this never renders
+     * @param window the window ranked, or null for lifetime values
+     * @return the snapshot, or null if the stat is not ranked or snapshots are stopped
+     */
+    public LeaderboardSnapshot get(StatType type, StatWindow window) {
+        if (type == null || !type.isRanked()) {
+            return null;
+        }
+        return snapshots.get(key(type, window));
+    }
+
+    /**
+     * Get the latest version published by any board
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get how many entries each snapshot holds
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Re-read every board and publish the ones that changed
+     */
+    public void refreshAll() {
+        for (StatType type : StatType.values()) {
+            if (!type.isRanked()) {
+                continue;
+            }
+            refresh(type, null);
+            for (StatWindow window : StatWindow.values()) {
+                refresh(type, window);
+            }
+        }
+    }
+
+    /**
+     * Re-read one board, publishing a new snapshot if its entries changed
+     */
+    private void refresh(StatType type, StatWindow window) {
+        String key = key(type, window);
+        List<StatsCommand.StatsLeaderboardEntry> entries = statsManager.getLeaderboard(type, window, size);
+        LeaderboardSnapshot current = snapshots.get(key);
+        if (current != null && sameEntries(current.getEntries(), entries)) {
+            return;
+        }
+
+        LeaderboardSnapshot rendered = render(type, window, entries);
+        // Two refreshes can race on one board; whoever read the same entries keeps the older version
+        snapshots.compute(key, (k, old) -> old != null && sameEntries(old.getEntries(), entries) ? old : rendered);
+    }
+
+    private LeaderboardSnapshot render(StatType type, StatWindow window, List<StatsCommand.StatsLeaderboardEntry> entries) {
+        String title = type.getCategory().toUpperCase();
+        if (window != null) {
+            title += " (" + window.getName().toUpperCase() + ")";
+        }
+
+        List<String> chat = new ArrayList<>(entries.size() + 1);
+        chat.add("\n" + ChatColor.GOLD + ChatColor.BOLD.toString() + "TOP " + size + " PLAYERS - " + title + "\n");
+        List<String> hologram = new ArrayList<>(size + 1);
+        hologram.add(ChatColor.GOLD + ChatColor.BOLD.toString() + "TOP " + title);
+
+        int rank = 1;
+        for (StatsCommand.StatsLeaderboardEntry entry : entries) {
+            String value = formatValue(type, entry.getValue());
+            ChatColor color = rankColor(rank);
+            chat.add(color + "#" + rank + " " + ChatColor.WHITE + entry.getPlayerName() + ChatColor.GRAY + " - " + value);
+            hologram.add(color + "#" + rank + " " + ChatColor.WHITE + entry.getPlayerName() + ChatColor.GRAY + " - " + value);
+            rank++;
+        }
+        for (; rank <= size; rank++) {
+            hologram.add(ChatColor.DARK_GRAY + "#" + rank + " ---");
+        }
+        return new LeaderboardSnapshot(type, window, version.incrementAndGet(), entries, chat, hologram,
+            () -> renderMenu(type, entries));
+    }
+
+    /**
+     * Build the menu heads for a snapshot's entries; main thread only
+     */
+    private List<ItemStack> renderMenu(StatType type, List<StatsCommand.StatsLeaderboardEntry> entries) {
+        List<ItemStack> items = new ArrayList<>(entries.size());
+        int rank = 1;
+        for (StatsCommand.StatsLeaderboardEntry entry : entries) {
+            items.add(createHead(rank, entry, type, formatValue(type, entry.getValue())));
+            rank++;
+        }
+        return items;
+    }
+
+    private ItemStack createHead(int rank, StatsCommand.StatsLeaderboardEntry entry, StatType type, String value) {
+        ItemStack head = new ItemStack(Material.SKULL_ITEM, 1, (short) 3);
+        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        meta.setOwner(entry.getPlayerName());
+        meta.setDisplayName(rankColor(rank) + "#" + rank + " " + ChatColor.WHITE + entry.getPlayerName());
+        meta.setLore(Arrays.asList(ChatColor.GRAY + type.getCategory() + ": " + ChatColor.WHITE + value));
+        head.setItemMeta(meta);
+        return head;
+    }
+
+    private static ChatColor rankColor(int rank) {
+        return switch (rank) {
+            case 1 -> ChatColor.GOLD;
+            case 2 -> ChatColor.GRAY;
+            case 3 -> ChatColor.DARK_RED;
+            default -> ChatColor.WHITE;
+        };
+    }
+
+    private static String formatValue(StatType type, long value) {
+        return switch (type) {
+            case PLAY_TIME -> String.format("%dh %dm", value / 3600, (value % 3600) / 60);
+            case COINS_EARNED -> ChatColor.GOLD + String.format("%,d", value) + ChatColor.GRAY;
+            default -> String.format("%,d", value);
+        };
+    }
+
+    private static boolean sameEntries(List<StatsCommand.StatsLeaderboardEntry> a, List<StatsCommand.StatsLeaderboardEntry> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            StatsCommand.StatsLeaderboardEntry x = a.get(i);
+            StatsCommand.StatsLeaderboardEntry y = b.get(i);
+            if (x.getValue() != y.getValue() || !x.getPlayerId().equals(y.getPlayerId())
+                    || !Objects.equals(x.getPlayerName(), y.getPlayerName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String key(StatType type, StatWindow window) {
+        return window == null ? type.getColumn() : type.getColumn() + ":" + window.getName();
+    }
+
+    /**
+     * Stop refreshing and drop every snapshot
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        snapshots.clear();
+    }
+}
@@ -0,0 +1,63 @@
+package com.nexus.stats;
+
+import org.bukkit.entity.Player;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Produces one line of display text and declares which {@link DisplayEvent}s make it stale.
+ * Shared lines read the same for every player, so they are rendered once per
+ * change and handed to everyone.
+ */
+public class LineProvider {
+
+    private final int triggers;
+    private final boolean shared;
+    private final Function<Player, String> renderer;
+
+    private LineProvider(int triggers, boolean shared, Function<Player, String> renderer) {
+        this.triggers = triggers;
+        this.shared = shared;
+        this.renderer = renderer;
+    }
+
+    /**
+     * A line that never changes
+     */
+    public static LineProvider constant(String text) {
+        return new LineProvider(0, true, player -> text);
+    }
+
+    /**
+     * A line rendered for each player, refreshed when one of the triggers fires for them
+     */
+    public static LineProvider perPlayer(Function<Player, String> renderer, DisplayEvent... triggers) {
+        return new LineProvider(DisplayEvent.maskOf(triggers), false, renderer);
+    }
+
+    /**
+     * A line every player shares, rendered once when one of the triggers fires
+     */
+    public static LineProvider shared(Supplier<String> renderer, DisplayEvent... triggers) {
+        return new LineProvider(DisplayEvent.maskOf(triggers), true, player -> renderer.get());
+    }
+
+    /**
+     * Get the mask of events that make this line stale
+     */
+    public int getTriggers() {
+        return triggers;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Render the line; shared lines are rendered with a null player
+     */
+    public String render(Player player) {
+        return renderer.apply(player);
+    }
+}
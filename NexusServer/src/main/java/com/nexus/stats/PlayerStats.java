@@ -41,6 +41,14 @@ public class PlayerStats {
     private int mobsKilled;
     private int fishCaught;
     
+    // Values as of the last save, used to write only changed columns
+    private final long[] savedValues = new long[StatType.values().length];
+    private double savedSkillAverage;
+    private String savedPlayerName;
+    
+    // Per-day counts behind the daily, weekly and monthly leaderboards
+    private final WindowedStats windows = new WindowedStats();
+    
     public PlayerStats(UUID playerId) {
         this.playerId = playerId;
         this.playerName = "";
@@ -73,6 +81,10 @@ public class PlayerStats {
     
     // Getters and Setters
     
+    public WindowedStats getWindows() {
+        return windows;
+    }
+    
     public UUID getPlayerId() {
         return playerId;
     }
@@ -412,4 +424,53 @@ public class PlayerStats {
             this.fishCaught = ((Number) data.get("fishCaught")).intValue();
         }
     }
+    
+    /**
+     * Load stats from typed player_stats columns
+     */
+    public void loadColumns(Map<String, Object> columns) {
+        for (Map.Entry<String, Object> entry : columns.entrySet()) {
+            StatType type = StatType.fromColumn(entry.getKey());
+            if (type != null && entry.getValue() instanceof Number) {
+                type.set(this, ((Number) entry.getValue()).longValue());
+            }
+        }
+        if (columns.get("skill_average") instanceof Number) {
+            this.skillAverage = ((Number) columns.get("skill_average")).doubleValue();
+        }
+        if (columns.get("player_name") instanceof String && (playerName == null || playerName.isEmpty())) {
+            this.playerName = (String) columns.get("player_name");
+        }
+    }
+    
+    /**
+     * Collect the columns changed since the last call and mark them saved
+     * @return changed column values keyed by player_stats column name
+     */
+    public Map<String, Object> collectChanges() {
+        Map<String, Object> changes = new HashMap<>();
+        for (StatType type : StatType.values()) {
+            long value = type.get(this);
+            if (value != savedValues[type.ordinal()]) {
+                savedValues[type.ordinal()] = value;
+                changes.put(type.getColumn(), value);
+            }
+        }
+        if (skillAverage != savedSkillAverage) {
+            savedSkillAverage = skillAverage;
+            changes.put("skill_average", skillAverage);
+        }
+        if (playerName != null && !playerName.isEmpty() && !playerName.equals(savedPlayerName)) {
+            savedPlayerName = playerName;
+            changes.put("player_name", playerName);
+        }
+        return changes;
+    }
+    
+    /**
+     * Treat the current values as already saved (after loading from the database)
+     */
+    public void markSaved() {
+        collectChanges();
+    }
 }
@@ -4,64 +4,92 @@ import com.nexus.core.NexusCore;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.*;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manager class for handling player scoreboards.
- * Creates and updates dynamic scoreboards for each player.
+ * Each player gets one {@link SidebarBoard} for their session. The sidebar is a
+ * {@link DisplayLayout} refreshed by the {@link DisplayUpdater}, so only lines hit by
+ * an event are re-rendered and the board sends only the lines whose text changed.
  */
-public class ScoreboardManager {
+public class ScoreboardManager implements DisplayUpdater.Target {
+    
+    private static final String SEPARATOR = ChatColor.GRAY + "─────────────────";
     
     private final NexusCore plugin;
-    private final Map<UUID, Scoreboard> playerScoreboards;
-    private final Map<UUID, Objective> playerObjectives;
-    private final Map<UUID, Map<String, Integer>> cachedScores;
+    private final Map<UUID, Sidebar> sidebars;
+    private final DisplayLayout title;
+    private final DisplayLayout lines;
     
     public ScoreboardManager(NexusCore plugin) {
         this.plugin = plugin;
-        this.playerScoreboards = new ConcurrentHashMap<>();
-        this.playerObjectives = new ConcurrentHashMap<>();
-        this.cachedScores = new ConcurrentHashMap<>();
+        this.sidebars = new ConcurrentHashMap<>();
+        this.title = new DisplayLayout(List.of(
+            LineProvider.perPlayer(this::getScoreboardTitle, DisplayEvent.RANK)));
+        this.lines = new DisplayLayout(List.of(
+            LineProvider.constant(SEPARATOR),
+            LineProvider.perPlayer(this::getRankLine, DisplayEvent.RANK),
+            LineProvider.perPlayer(player -> ChatColor.WHITE + "Coins: " + ChatColor.GOLD
+                + plugin.getEconomyManager().getBalance(player.getUniqueId()), DisplayEvent.BALANCE),
+            LineProvider.perPlayer(this::getSkillLine, DisplayEvent.SKILLS),
+            LineProvider.constant(ChatColor.WHITE + "Island: " + ChatColor.AQUA + "Lv." + 1),
+            LineProvider.constant(SEPARATOR),
+            LineProvider.shared(() -> ChatColor.WHITE + "Online: " + ChatColor.GREEN
+                + Bukkit.getOnlinePlayers().size(), DisplayEvent.ONLINE),
+            LineProvider.constant(ChatColor.YELLOW + "www.nexusblock.net")));
     }
     
     /**
-     * Create or update a player's scoreboard
+     * Rebuild a player's scoreboard from scratch
      */
     public void updateScoreboard(Player player) {
+        refresh(player, DisplayEvent.ALL);
+    }
+    
+    @Override
+    public int getTriggers() {
+        return title.getTriggers() | lines.getTriggers();
+    }
+    
+    @Override
+    public void refreshShared(int events) {
+        title.refreshShared(events);
+        lines.refreshShared(events);
+    }
+    
+    @Override
+    public void refresh(Player player, int events) {
         try {
-            Scoreboard scoreboard = playerScoreboards.computeIfAbsent(player.getUniqueId(), 
-                k -> Bukkit.getScoreboardManager().getNewScoreboard());
-            
-            // Create objective if doesn't exist or display name changed
-            String objectiveName = "nexus_stats";
-            Objective objective = scoreboard.getObjective(objectiveName);
-            
-            if (objective == null) {
-                objective = scoreboard.registerNewObjective(objectiveName, "dummy",
-                    getScoreboardTitle(player));
-                objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-            } else {
-                objective.setDisplayName(getScoreboardTitle(player));
+            Sidebar sidebar = sidebars.get(player.getUniqueId());
+            if (sidebar == null) {
+                sidebar = new Sidebar(lines.size());
+                sidebars.put(player.getUniqueId(), sidebar);
             }
+            boolean changed = title.render(player, sidebar.title, events);
+            changed |= lines.render(player, sidebar.lines, events);
             
-            playerObjectives.put(player.getUniqueId(), objective);
-            
-            // Update scores
-            updateScores(player, scoreboard, objective);
-            
-            // Set the scoreboard
-            player.setScoreboard(scoreboard);
+            if (sidebar.board == null) {
+                sidebar.board = new SidebarBoard(player, sidebar.title[0]);
+            } else if (!changed) {
+                return;
+            }
+            sidebar.board.update(sidebar.title[0], Arrays.asList(sidebar.lines));
             
         } catch (Exception e) {
             plugin.getNexusLogger().warning("Failed to update scoreboard for " + player.getName() + ": " + e.getMessage());
         }
     }
     
+    @Override
+    public void remove(UUID playerId) {
+        sidebars.remove(playerId);
+    }
+    
     /**
      * Get the scoreboard title based on player rank
      */
@@ -73,82 +101,14 @@ public class ScoreboardManager {
         return rankPrefix + " " + ChatColor.WHITE + "NexusBlock";
     }
     
-    /**
-     * Update scoreboard scores
-     */
-    private void updateScores(Player player, Scoreboard scoreboard, Objective objective) {
-        Map<String, Integer> newScores = new HashMap<>();
-        Map<String, Integer> oldScores = cachedScores.getOrDefault(player.getUniqueId(), new HashMap<>());
-        
-        // Get player data
+    private String getRankLine(Player player) {
         String rank = plugin.getRankManager().getPlayerRank(player.getUniqueId()).getName();
-        double balance = plugin.getEconomyManager().getBalance(player.getUniqueId());
+        return ChatColor.WHITE + "Rank: " + getRankColor(rank) + rank;
+    }
+    
+    private String getSkillLine(Player player) {
         double skillAvg = plugin.getSkillsManager().getPlayerSkills(player.getUniqueId()).getAverageLevel();
-        int islandLevel = 1;
-        
-        // Build scoreboard lines (top to bottom, reverse order for display)
-        int line = 0;
-        
-        // Line 1: Empty separator
-        newScores.put(ChatColor.GRAY + "─────────────────", line++);
-        
-        // Line 2: Rank
-        newScores.put(ChatColor.WHITE + "Rank: " + getRankColor(rank) + rank, line++);
-        
-        // Line 3: Coins
-        newScores.put(ChatColor.WHITE + "Coins: " + ChatColor.GOLD + String.format("%.0f", balance), line++);
-        
-        // Line 4: Skill Average
-        newScores.put(ChatColor.WHITE + "Skill Avg: " + getSkillColor(skillAvg) + String.format("%.1f", skillAvg), line++);
-        
-        // Line 5: Island Level
-        newScores.put(ChatColor.WHITE + "Island: " + ChatColor.AQUA + "Lv." + islandLevel, line++);
-        
-        // Line 6: Empty separator
-        newScores.put(ChatColor.GRAY + "─────────────────", line++);
-        
-        // Line 7: Online players
-        newScores.put(ChatColor.WHITE + "Online: " + ChatColor.GREEN + Bukkit.getOnlinePlayers().size(), line++);
-        
-        // Line 8: Website
-        newScores.put(ChatColor.YELLOW + "www.nexusblock.net", line++);
-        
-        // Remove old scores that are no longer needed
-        for (Map.Entry<String, Integer> entry : oldScores.entrySet()) {
-            String objectiveName = entry.getKey();
-            if (!newScores.containsKey(objectiveName)) {
-                Team team = scoreboard.getTeam("score_" + objectiveName.hashCode());
-                if (team != null) {
-                    team.unregister();
-                }
-            }
-        }
-        
-        // Update scores
-        for (Map.Entry<String, Integer> entry : newScores.entrySet()) {
-            String objectiveName = entry.getKey();
-            int score = entry.getValue();
-            
-            // Create or update team for color handling
-            String teamName = "score_" + Math.abs(objectiveName.hashCode());
-            Team team = scoreboard.getTeam(teamName);
-            if (team == null) {
-                team = scoreboard.registerNewTeam(teamName);
-            }
-            
-            // Remove all entries first
-            for (String existingEntry : team.getEntries()) {
-                team.removeEntry(existingEntry);
-            }
-            
-            // Add entry to team and objective
-            if (!scoreboard.getEntries().contains(objectiveName)) {
-                team.addEntry(objectiveName);
-            }
-            objective.getScore(objectiveName).setScore(score);
-        }
-        
-        cachedScores.put(player.getUniqueId(), newScores);
+        return ChatColor.WHITE + "Skill Avg: " + getSkillColor(skillAvg) + String.format("%.1f", skillAvg);
     }
     
     /**
@@ -174,9 +134,9 @@ public class ScoreboardManager {
     private ChatColor getSkillColor(double skillAvg) {
         if (skillAvg >= 50) return ChatColor.DARK_PURPLE;
         if (skillAvg >= 40) return ChatColor.RED;
-        if (skillAvg >= 30) ChatColor.GOLD;
-        if (skillAvg >= 20) ChatColor.GREEN;
-        if (skillAvg >= 10) ChatColor.AQUA;
+        if (skillAvg >= 30) return ChatColor.GOLD;
+        if (skillAvg >= 20) return ChatColor.GREEN;
+        if (skillAvg >= 10) return ChatColor.AQUA;
         return ChatColor.WHITE;
     }
     
@@ -184,56 +144,35 @@ public class ScoreboardManager {
      * Clear a player's scoreboard
      */
     public void clearScoreboard(Player player) {
-        UUID playerId = player.getUniqueId();
-        
-        Scoreboard scoreboard = playerScoreboards.get(playerId);
-        if (scoreboard != null) {
-            for (String entry : scoreboard.getEntries()) {
-                Team team = scoreboard.getTeam(entry);
-                if (team != null) {
-                    team.unregister();
-                }
-            }
-            
-            Objective objective = scoreboard.getObjective("nexus_stats");
-            if (objective != null) {
-                objective.unregister();
-            }
+        Sidebar sidebar = sidebars.remove(player.getUniqueId());
+        if (sidebar != null && sidebar.board != null) {
+            sidebar.board.destroy();
         }
         
-        playerScoreboards.remove(playerId);
-        playerObjectives.remove(playerId);
-        cachedScores.remove(playerId);
-        
         // Reset to main scoreboard
         player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
     }
     
     /**
-     * Update all online players' scoreboards
+     * Shutdown the scoreboard manager
      */
-    public void updateAllScoreboards() {
+    public void shutdown() {
         for (Player player : Bukkit.getOnlinePlayers()) {
-            updateScoreboard(player);
+            clearScoreboard(player);
         }
+        sidebars.clear();
     }
     
     /**
-     * Start automatic scoreboard update task
-     */
-    public void startAutoUpdateTask() {
-        Bukkit.getScheduler().runTaskTimer(plugin, this::updateAllScoreboards, 100L, 100L); // Every 5 seconds
-    }
-    
-    /**
-     * Shutdown the scoreboard manager
+     * A player's board and the text last rendered for it
      */
-    public void shutdown() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            clearScoreboard(player);
+    private static class Sidebar {
+        private final String[] title = new String[1];
+        private final String[] lines;
+        private SidebarBoard board;
+        
+        Sidebar(int size) {
+            this.lines = new String[size];
         }
-        playerScoreboards.clear();
-        playerObjectives.clear();
-        cachedScores.clear();
     }
 }
@@ -0,0 +1,135 @@
+package com.nexus.stats;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One player's sidebar, kept as a line model over a scoreboard created once.
+ * Each line owns a fixed team whose only entry is an invisible color code, and its
+ * text lives in the team prefix and suffix. Updating a line is then a single team
+ * update, sent only when the text differs from what the client already shows.
+ */
+public class SidebarBoard {
+
+    public static final int MAX_LINES = 15;
+    private static final int PART_LENGTH = 16;
+    private static final String OBJECTIVE_NAME = "nexus_stats";
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final Team[] teams;
+    private final String[] lines;
+    private String title;
+    private int lineCount;
+
+    public SidebarBoard(Player player, String title) {
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.objective = scoreboard.registerNewObjective(OBJECTIVE_NAME, "dummy");
+        this.objective.setDisplayName(title);
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        this.title = title;
+        this.teams = new Team[MAX_LINES];
+        this.lines = new String[MAX_LINES];
+        for (int i = 0; i < MAX_LINES; i++) {
+            teams[i] = scoreboard.registerNewTeam("nx_line_" + i);
+            teams[i].addEntry(entry(i));
+        }
+        player.setScoreboard(scoreboard);
+    }
+
+    /**
+     * Show a title and lines, top to bottom, sending only what changed
+     * @return the number of lines whose text was sent
+     */
+    public int update(String title, List<String> newLines) {
+        if (!Objects.equals(this.title, title)) {
+            objective.setDisplayName(title);
+            this.title = title;
+        }
+
+        int count = Math.min(newLines.size(), MAX_LINES);
+        if (count != lineCount) {
+            resize(count);
+        }
+
+        int sent = 0;
+        for (int i = 0; i < count; i++) {
+            String text = newLines.get(i);
+            if (!text.equals(lines[i])) {
+                setText(i, text);
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Show or hide line slots; scores count down so line 0 sits at the top
+     */
+    private void resize(int count) {
+        for (int i = count; i < lineCount; i++) {
+            scoreboard.resetScores(entry(i));
+            lines[i] = null;
+        }
+        for (int i = 0; i < count; i++) {
+            objective.getScore(entry(i)).setScore(count - i);
+        }
+        lineCount = count;
+    }
+
+    private void setText(int index, String text) {
+        String prefix = text;
+        String suffix = "";
+        if (text.length() > PART_LENGTH) {
+            int split = PART_LENGTH;
+            // Never cut a color code in half
+            if (text.charAt(split - 1) == ChatColor.COLOR_CHAR) {
+                split--;
+            }
+            prefix = text.substring(0, split);
+            suffix = ChatColor.getLastColors(prefix) + text.substring(split);
+            if (suffix.length() > PART_LENGTH) {
+                suffix = suffix.substring(0, PART_LENGTH);
+            }
+        }
+
+        String old = lines[index];
+        Team team = teams[index];
+        if (old == null || !prefix.equals(team.getPrefix())) {
+            team.setPrefix(prefix);
+        }
+        if (old == null || !suffix.equals(team.getSuffix())) {
+            team.setSuffix(suffix);
+        }
+        lines[index] = text;
+    }
+
+    /**
+     * Get the invisible entry name of a line slot
+     */
+    private static String entry(int index) {
+        return ChatColor.values()[index].toString() + ChatColor.RESET;
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    /**
+     * Remove the sidebar and its teams
+     */
+    public void destroy() {
+        objective.unregister();
+        for (Team team : teams) {
+            team.unregister();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.nexus.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stat increments waiting to be applied to {@link PlayerStats}.
+ * Recording an increment is a lock-free add into a per-player counter array, so
+ * event handlers never touch the stats object, the leaderboards or the database.
+ * Each player remembers when their oldest unapplied increment arrived, which is
+ * what {@link #due(long, long)} uses to bound staleness.
+ */
+public class StatDeltas {
+
+    private static final StatType[] TYPES = StatType.values();
+
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record an increment
+     */
+    public void add(UUID playerId, StatType type, long amount) {
+        if (amount == 0) {
+            return;
+        }
+        Pending player = pending.get(playerId);
+        if (player == null) {
+            player = pending.computeIfAbsent(playerId, k -> new Pending());
+        }
+        player.counts.addAndGet(type.ordinal(), amount);
+        player.markDirty();
+    }
+
+    /**
+     * Take a player's pending increments, leaving their counters at zero
+     * @return amounts indexed by StatType ordinal, or null if nothing was pending
+     */
+    public long[] drain(UUID playerId) {
+        Pending player = pending.get(playerId);
+        if (player == null || player.dirtySince.get() == 0) {
+            return null;
+        }
+        // Cleared first so an increment racing the drain marks the player again
+        player.dirtySince.set(0);
+
+        long[] amounts = new long[TYPES.length];
+        boolean any = false;
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = player.counts.getAndSet(i, 0);
+            any |= amounts[i] != 0;
+        }
+        return any ? amounts : null;
+    }
+
+    /**
+     * Get the players whose oldest pending increment is at least maxAgeMillis old
+     */
+    public List<UUID> due(long now, long maxAgeMillis) {
+        List<UUID> players = new ArrayList<>();
+        for (Map.Entry<UUID, Pending> entry : pending.entrySet()) {
+            long since = entry.getValue().dirtySince.get();
+            if (since != 0 && now - since >= maxAgeMillis) {
+                players.add(entry.getKey());
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Get every player with counters, pending or not
+     */
+    public Set<UUID> players() {
+        return pending.keySet();
+    }
+
+    /**
+     * Drop a player's counters; drain them first
+     */
+    public void remove(UUID playerId) {
+        pending.remove(playerId);
+    }
+
+    /**
+     * Get the number of players with unapplied increments
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (Pending player : pending.values()) {
+            if (player.dirtySince.get() != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class Pending {
+        private final AtomicLongArray counts = new AtomicLongArray(TYPES.length);
+        // Arrival time of the oldest unapplied increment, 0 when clean
+        private final AtomicLong dirtySince = new AtomicLong();
+
+        void markDirty() {
+            if (dirtySince.get() == 0) {
+                dirtySince.compareAndSet(0, System.currentTimeMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.nexus.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Counter stats stored as typed BIGINT columns in the player_stats table.
+ * Leaderboard categories map onto these so rankings can be computed in SQL.
+ */
+public enum StatType {
+
+    PLAY_TIME("play_time", PlayerStats::getPlayTime, PlayerStats::setPlayTime, "playtime"),
+    KILLS("kills", PlayerStats::getKills, (s, v) -> s.setKills((int) v), "kills"),
+    DEATHS("deaths", PlayerStats::getDeaths, (s, v) -> s.setDeaths((int) v), "deaths"),
+    GAMES_PLAYED("games_played", PlayerStats::getGamesPlayed, (s, v) -> s.setGamesPlayed((int) v), "games", "gamesplayed"),
+    WINS("wins", PlayerStats::getWins, (s, v) -> s.setWins((int) v), "wins"),
+    LOSSES("losses", PlayerStats::getLosses, (s, v) -> s.setLosses((int) v), "losses"),
+    ISLAND_LEVEL("island_level", PlayerStats::getIslandLevel, (s, v) -> s.setIslandLevel((int) v)),
+    ISLANDS_CREATED("islands_created", PlayerStats::getIslandsCreated, (s, v) -> s.setIslandsCreated((int) v), "islands"),
+    COINS_EARNED("coins_earned", PlayerStats::getCoinsEarned, PlayerStats::setCoinsEarned, "coins"),
+    COINS_SPENT("coins_spent", PlayerStats::getCoinsSpent, PlayerStats::setCoinsSpent),
+    PARTIES_JOINED("parties_joined", PlayerStats::getPartiesJoined, (s, v) -> s.setPartiesJoined((int) v)),
+    GUILDS_CREATED("guilds_created", PlayerStats::getGuildsCreated, (s, v) -> s.setGuildsCreated((int) v)),
+    BLOCKS_BROKEN("blocks_broken", PlayerStats::getBlocksBroken, (s, v) -> s.setBlocksBroken((int) v), "blocks_broken"),
+    BLOCKS_PLACED("blocks_placed", PlayerStats::getBlocksPlaced, (s, v) -> s.setBlocksPlaced((int) v), "blocks_placed"),
+    ITEMS_CRAFTED("items_crafted", PlayerStats::getItemsCrafted, (s, v) -> s.setItemsCrafted((int) v), "items_crafted"),
+    MOBS_KILLED("mobs_killed", PlayerStats::getMobsKilled, (s, v) -> s.setMobsKilled((int) v), "mobs_killed"),
+    FISH_CAUGHT("fish_caught", PlayerStats::getFishCaught, (s, v) -> s.setFishCaught((int) v), "fish_caught");
+
+    private static final Map<String, StatType> BY_CATEGORY = new HashMap<>();
+    private static final Map<String, StatType> BY_COLUMN = new HashMap<>();
+
+    static {
+        for (StatType type : values()) {
+            BY_COLUMN.put(type.column, type);
+            for (String category : type.categories) {
+                BY_CATEGORY.put(category, type);
+            }
+        }
+    }
+
+    private final String column;
+    private final ToLongFunction<PlayerStats> getter;
+    private final ObjLongConsumer<PlayerStats> setter;
+    private final String[] categories;
+
+    StatType(String column, ToLongFunction<PlayerStats> getter, ObjLongConsumer<PlayerStats> setter, String... categories) {
+        this.column = column;
+        this.getter = getter;
+        this.setter = setter;
+        this.categories = categories;
+    }
+
+    /**
+     * Get the player_stats column name
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Get the main leaderboard category name, or null if the stat is not ranked
+     */
+    public String getCategory() {
+        return categories.length > 0 ? categories[0] : null;
+    }
+
+    /**
+     * Check if this stat has a leaderboard
+     */
+    public boolean isRanked() {
+        return categories.length > 0;
+    }
+
+    public long get(PlayerStats stats) {
+        return getter.applyAsLong(stats);
+    }
+
+    public void set(PlayerStats stats, long value) {
+        setter.accept(stats, value);
+    }
+
+    /**
+     * Look up a stat by leaderboard category name
+     * @return the stat, or null if the category is unknown
+     */
+    public static StatType fromCategory(String category) {
+        return category == null ? null : BY_CATEGORY.get(category.toLowerCase());
+    }
+
+    /**
+     * Look up a stat by column name
+     * @return the stat, or null if the column is unknown
+     */
+    public static StatType fromColumn(String column) {
+        return BY_COLUMN.get(column);
+    }
+}
@@ -0,0 +1,51 @@
+package com.nexus.stats;
+
+/**
+ * Rolling time windows over the per-day stat buckets, ending today
+ */
+public enum StatWindow {
+
+    DAILY(1, "daily", "day", "today"),
+    WEEKLY(7, "weekly", "week"),
+    MONTHLY(30, "monthly", "month");
+
+    private final int days;
+    private final String[] names;
+
+    StatWindow(int days, String... names) {
+        this.days = days;
+        this.names = names;
+    }
+
+    /**
+     * Get how many day buckets the window spans, including today
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Get the name shown to players
+     */
+    public String getName() {
+        return names[0];
+    }
+
+    /**
+     * Look up a window by name
+     * @return the window, or null if the name is unknown
+     */
+    public static StatWindow fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (StatWindow window : values()) {
+            for (String candidate : window.names) {
+                if (candidate.equalsIgnoreCase(name)) {
+                    return window;
+                }
+            }
+        }
+        return null;
+    }
+}
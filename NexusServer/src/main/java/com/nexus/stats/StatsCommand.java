@@ -2,6 +2,8 @@ package com.nexus.stats;
 
 import com.nexus.core.NexusCore;
 import com.nexus.core.commands.SubCommand;
+import com.nexus.core.utils.GUIUtils;
+import com.nexus.network.GlobalLeaderboards;
 import com.nexus.ranks.Rank;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -9,6 +11,7 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -45,6 +48,7 @@ public class StatsCommand extends SubCommand {
         switch (subCommand) {
             case "help", "?" -> showHelp(sender);
             case "top", "leaderboard", "lb" -> showLeaderboard(sender, args);
+            case "menu", "gui" -> openLeaderboardMenu(sender, args);
             default -> {
                 // Try to show another player's stats
                 Player target = Bukkit.getPlayer(args[0]);
@@ -69,6 +73,8 @@ public class StatsCommand extends SubCommand {
      */
     private void showPlayerStats(Player viewer, Player target) {
         UUID targetId = target.getUniqueId();
+        // Show counters that are still waiting for the next batch
+        statsManager.flushPlayer(targetId);
         PlayerStats stats = statsManager.getPlayerStats(targetId);
         Rank rank = plugin.getRankManager().getPlayerRank(targetId);
         
@@ -157,10 +163,45 @@ public class StatsCommand extends SubCommand {
             category = args[1].toLowerCase();
         }
         
-        sender.sendMessage("\n" + ChatColor.GOLD + ChatColor.BOLD.toString() + 
-            "TOP 10 PLAYERS - " + category.toUpperCase() + "\n");
+        // Optional window or scope: /stats top kills weekly, /stats top kills global
+        boolean global = args.length >= 3 && args[2].equalsIgnoreCase("global");
+        StatWindow window = null;
+        if (args.length >= 3 && !global && !args[2].equalsIgnoreCase("all")) {
+            window = StatWindow.fromName(args[2]);
+            if (window == null) {
+                sender.sendMessage(ChatColor.RED + "Unknown period '" + args[2] + "'. Use daily, weekly, monthly, all or global.");
+                return;
+            }
+        }
+        
+        // Local boards are rendered ahead of time; only the viewer's own rank is looked up
+        if (!global) {
+            LeaderboardSnapshot snapshot = statsManager.getSnapshots().get(StatType.fromCategory(category), window);
+            if (snapshot != null) {
+                snapshot.getChatLines().forEach(sender::sendMessage);
+                showOwnRank(sender, category, window);
+                return;
+            }
+        }
         
-        List<StatsLeaderboardEntry> leaderboard = statsManager.getLeaderboard(category, 10);
+        List<StatsLeaderboardEntry> leaderboard;
+        if (global) {
+            leaderboard = getGlobalLeaderboard(sender, category);
+            if (leaderboard == null) {
+                return;
+            }
+        } else {
+            leaderboard = statsManager.getLeaderboard(category, window, 10);
+        }
+        
+        String title = category.toUpperCase();
+        if (global) {
+            title += " (NETWORK)";
+        } else if (window != null) {
+            title += " (" + window.getName().toUpperCase() + ")";
+        }
+        sender.sendMessage("\n" + ChatColor.GOLD + ChatColor.BOLD.toString() + 
+            "TOP 10 PLAYERS - " + title + "\n");
         
         int rank = 1;
         for (StatsLeaderboardEntry entry : leaderboard) {
@@ -202,6 +243,77 @@ public class StatsCommand extends SubCommand {
                 ChatColor.GRAY + " - " + displayValue);
             rank++;
         }
+        
+        if (!global) {
+            showOwnRank(sender, category, window);
+        }
+    }
+    
+    /**
+     * Tell a player where they rank on a local leaderboard.
+     * Below the seeded floor the rank is a database count, so it is resolved asynchronously
+     * and sent from the main thread once known.
+     */
+    private void showOwnRank(CommandSender sender, String category, StatWindow window) {
+        if (!(sender instanceof Player)) {
+            return;
+        }
+        UUID playerId = ((Player) sender).getUniqueId();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int position = statsManager.getRank(playerId, category, window);
+            if (position <= 0) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player != null) {
+                    player.sendMessage(ChatColor.YELLOW + "Your rank: " + ChatColor.WHITE + "#" + String.format("%,d", position));
+                }
+            });
+        });
+    }
+    
+    /**
+     * Open the leaderboard menu: /stats menu [category] [period]
+     */
+    private void openLeaderboardMenu(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(getMessage("commands.playerOnly"));
+            return;
+        }
+        StatType type = StatType.fromCategory(args.length >= 2 ? args[1] : "kills");
+        if (type == null) {
+            sender.sendMessage(ChatColor.RED + "Unknown category '" + args[1] + "'.");
+            return;
+        }
+        StatWindow window = null;
+        if (args.length >= 3 && !args[2].equalsIgnoreCase("all")) {
+            window = StatWindow.fromName(args[2]);
+            if (window == null) {
+                sender.sendMessage(ChatColor.RED + "Unknown period '" + args[2] + "'. Use daily, weekly, monthly or all.");
+                return;
+            }
+        }
+        GUIUtils.openLeaderboardMenu((Player) sender, statsManager.getSnapshots().get(type, window));
+    }
+    
+    /**
+     * Get the network-wide top 10 of a category
+     * @return the entries, or null if network leaderboards are disabled
+     */
+    private List<StatsLeaderboardEntry> getGlobalLeaderboard(CommandSender sender, String category) {
+        GlobalLeaderboards global = plugin.getGlobalLeaderboards();
+        if (global == null) {
+            sender.sendMessage(ChatColor.RED + "Network leaderboards are not enabled on this server.");
+            return null;
+        }
+        StatType type = StatType.fromCategory(category);
+        if (type == null) {
+            return new ArrayList<>();
+        }
+        return global.getTop("stats." + type.getColumn(), 10).stream()
+            .map(entry -> new StatsLeaderboardEntry(entry.getId(), entry.getName(), entry.getValue()))
+            .toList();
     }
     
     /**
@@ -224,16 +336,26 @@ public class StatsCommand extends SubCommand {
         sender.sendMessage(ChatColor.YELLOW + "/stats top kills" + ChatColor.GRAY + " - View kills leaderboard");
         sender.sendMessage(ChatColor.YELLOW + "/stats top coins" + ChatColor.GRAY + " - View coins leaderboard");
         sender.sendMessage(ChatColor.YELLOW + "/stats top playtime" + ChatColor.GRAY + " - View playtime leaderboard");
+        sender.sendMessage(ChatColor.YELLOW + "/stats top kills weekly" + ChatColor.GRAY + " - View this week's kills (daily, weekly, monthly)");
+        sender.sendMessage(ChatColor.YELLOW + "/stats top kills global" + ChatColor.GRAY + " - View kills across the whole network");
+        sender.sendMessage(ChatColor.YELLOW + "/stats menu kills" + ChatColor.GRAY + " - Browse a leaderboard in a menu");
     }
     
     @Override
     public List<String> tabComplete(CommandSender sender, Command cmd, String label, String[] args) {
         if (args.length == 1) {
-            return Arrays.asList("help", "top", "leaderboard");
+            return Arrays.asList("help", "top", "leaderboard", "menu");
         }
-        if (args.length == 2 && (args[0].equalsIgnoreCase("top") || args[0].equalsIgnoreCase("leaderboard"))) {
+        if (args.length == 2 && (args[0].equalsIgnoreCase("top") || args[0].equalsIgnoreCase("leaderboard")
+                || args[0].equalsIgnoreCase("menu"))) {
             return Arrays.asList("kills", "deaths", "wins", "coins", "playtime", "blocks_broken", "mobs_killed");
         }
+        if (args.length == 3 && (args[0].equalsIgnoreCase("top") || args[0].equalsIgnoreCase("leaderboard"))) {
+            return Arrays.asList("all", "daily", "weekly", "monthly", "global");
+        }
+        if (args.length == 3 && args[0].equalsIgnoreCase("menu")) {
+            return Arrays.asList("all", "daily", "weekly", "monthly");
+        }
         return null;
     }
     
@@ -1,166 +1,415 @@
 package com.nexus.stats;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.cache.PlayerDataCache;
+import com.nexus.network.GlobalLeaderboards;
 import com.nexus.skyblock.skills.PlayerSkills;
 import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
  * Manager class for handling all player statistics.
  * Tracks stats, manages leaderboards, and handles persistence.
+ * Each ranked stat has a {@link Leaderboard} holding every loaded player plus the
+ * top database rows, updated whenever a stat change is saved. Players leaving the
+ * cache are dropped again unless they rank above the seeded floor.
+ * Ranked stats are also counted per day, giving daily, weekly and monthly
+ * leaderboards that are rebuilt when the day rolls over.
+ * Event counters are coalesced in {@link StatDeltas} and applied in one batch
+ * per player, at most stats.max-staleness-ms after the event.
+ * Display code reads rendered boards from {@link LeaderboardSnapshots}.
  */
 public class StatsManager {
     
     private final NexusCore plugin;
-    private final Map<UUID, PlayerStats> playerStats;
-    private final Map<String, Map<UUID, Long>> leaderboardCache;
+    private final PlayerDataCache<PlayerStats> playerStats;
+    private final Map<StatType, Leaderboard> leaderboards;
+    // Replaced as a whole when the day rolls over, never cleared in place
+    private volatile Map<StatWindow, Map<StatType, Leaderboard>> windowBoards;
+    private final int seedSize;
+    private final Set<Leaderboard> reseeding;
+    // Set once the startup seed finished; deeper reads before that would only repeat it
+    private volatile boolean seeded;
+    private final ZoneId zone;
+    private final StatDeltas deltas;
+    private final long maxStalenessMillis;
+    private final LeaderboardSnapshots snapshots;
+    
+    // Current epoch day in the stat time zone, and when it ends
+    private volatile long currentDay;
+    private volatile long dayEndsAt;
     
     public StatsManager(NexusCore plugin) {
         this.plugin = plugin;
-        this.playerStats = new ConcurrentHashMap<>();
-        this.leaderboardCache = new ConcurrentHashMap<>();
+        // Mutations save their diff immediately; write-back on eviction catches anything left
+        this.playerStats = plugin.getCacheManager().createCache("stats", this::createStats,
+            (playerId, stats) -> saveChanges(playerId, stats));
+        // Boards only keep unloaded players where exact ranks need them
+        playerStats.setEvictionListener((playerId, stats) -> releasePlayer(playerId));
+        this.leaderboards = new EnumMap<>(StatType.class);
+        for (StatType type : StatType.values()) {
+            if (type.isRanked()) {
+                leaderboards.put(type, new Leaderboard(type));
+            }
+        }
+        this.windowBoards = createWindowBoards();
+        this.seedSize = plugin.getConfigManager().getInt("stats.leaderboard-seed-size", 100);
+        this.reseeding = ConcurrentHashMap.newKeySet();
+        
+        this.zone = loadZone(plugin.getConfigManager().getString("stats.windows.timezone", ""));
+        setDay(LocalDate.now(zone));
+        
+        // Event counters are applied in batches, at most this long after they happen
+        this.deltas = new StatDeltas();
+        this.maxStalenessMillis = Math.max(50, plugin.getConfigManager().getLong("stats.max-staleness-ms", 5000));
+        long checkTicks = Math.max(1, Math.min(20, maxStalenessMillis / 100));
+        Bukkit.getScheduler().runTaskTimer(plugin, this::flushDue, checkTicks, checkTicks);
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::loadLeaderboards);
+        this.snapshots = new LeaderboardSnapshots(plugin, this);
+        snapshots.start();
+        // Catches midnight even when nothing is being counted
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::getCurrentDay, 1200L, 1200L);
+    }
+
+    /**
+     * Resolve the time zone days are counted in, falling back to the server's own
+     */
+    private ZoneId loadZone(String timezone) {
+        if (timezone == null || timezone.isEmpty()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            plugin.getNexusLogger().log(Level.WARNING, "Unknown stats.windows.timezone '" + timezone + "', using the server time zone");
+            return ZoneId.systemDefault();
+        }
+    }
+
+    /**
+     * Seed every leaderboard with the top stored rows
+     */
+    private void loadLeaderboards() {
+        for (Leaderboard board : leaderboards.values()) {
+            seedLeaderboard(board, null, seedSize);
+        }
+        for (Map.Entry<StatWindow, Map<StatType, Leaderboard>> entry : windowBoards.entrySet()) {
+            for (Leaderboard board : entry.getValue().values()) {
+                seedLeaderboard(board, entry.getKey(), seedSize);
+            }
+        }
+        seeded = true;
+        compactStatDays();
+    }
+
+    /**
+     * Merge the top stored rows of a stat into its leaderboard.
+     * Loaded players keep their live values; rows only fill in offline players.
+     * @param window the window the board ranks, or null for lifetime values
+     */
+    private void seedLeaderboard(Leaderboard board, StatWindow window, int depth) {
+        List<StatsCommand.StatsLeaderboardEntry> rows = window == null
+            ? plugin.getDatabaseManager().getStatLeaderboard(board.getType(), depth)
+            : plugin.getDatabaseManager().getStatWindowLeaderboard(board.getType(), windowStart(window), depth);
+        for (StatsCommand.StatsLeaderboardEntry row : rows) {
+            board.offer(row.getPlayerId(), row.getPlayerName(), row.getValue());
+        }
+        board.markSeeded(depth, rows.size() < depth ? Long.MIN_VALUE : rows.get(rows.size() - 1).getValue());
+    }
+
+    /**
+     * Seed a board deeper in the background; a reseed already running for it is not repeated
+     */
+    private void reseedAsync(Leaderboard board, StatWindow window, int depth) {
+        if (!reseeding.add(board)) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                if (depth > board.getSeededDepth()) {
+                    seedLeaderboard(board, window, depth);
+                }
+            } finally {
+                reseeding.remove(board);
+            }
+        });
+    }
+
+    /**
+     * Put a player's current values on every leaderboard
+     */
+    private void indexPlayer(UUID playerId, PlayerStats stats) {
+        for (Leaderboard board : leaderboards.values()) {
+            board.update(playerId, stats.getPlayerName(), board.getType().get(stats));
+        }
+        indexWindows(playerId, stats, getCurrentDay());
+    }
+
+    /**
+     * Drop a player leaving the cache from every board where they rank at or below the seed floor
+     */
+    private void releasePlayer(UUID playerId) {
+        for (Leaderboard board : leaderboards.values()) {
+            board.release(playerId);
+        }
+        for (Map<StatType, Leaderboard> boards : windowBoards.values()) {
+            for (Leaderboard board : boards.values()) {
+                board.release(playerId);
+            }
+        }
+    }
+
+    /**
+     * Create an empty board for every ranked stat in every window
+     */
+    private static Map<StatWindow, Map<StatType, Leaderboard>> createWindowBoards() {
+        Map<StatWindow, Map<StatType, Leaderboard>> boards = new EnumMap<>(StatWindow.class);
+        for (StatWindow window : StatWindow.values()) {
+            Map<StatType, Leaderboard> byType = new EnumMap<>(StatType.class);
+            for (StatType type : StatType.values()) {
+                if (type.isRanked()) {
+                    byType.put(type, new Leaderboard(type));
+                }
+            }
+            boards.put(window, byType);
+        }
+        return boards;
+    }
+
+    /**
+     * Put a player's window totals on the windowed leaderboards; zero totals are left off
+     */
+    private void indexWindows(UUID playerId, PlayerStats stats, long today) {
+        indexWindows(windowBoards, playerId, stats, today);
+    }
+
+    private void indexWindows(Map<StatWindow, Map<StatType, Leaderboard>> boards, UUID playerId,
+                              PlayerStats stats, long today) {
+        WindowedStats windows = stats.getWindows();
+        for (Map.Entry<StatWindow, Map<StatType, Leaderboard>> entry : boards.entrySet()) {
+            for (Leaderboard board : entry.getValue().values()) {
+                long total = windows.getTotal(board.getType(), entry.getKey(), today);
+                if (total > 0) {
+                    board.update(playerId, stats.getPlayerName(), total);
+                }
+            }
+        }
+    }
+
+    /**
+     * Count a ranked stat in today's bucket and move the player on the windowed leaderboards
+     */
+    private void count(UUID playerId, PlayerStats stats, StatType type, long amount) {
+        if (amount <= 0 || !type.isRanked()) {
+            return;
+        }
+        long today = getCurrentDay();
+        WindowedStats windows = stats.getWindows();
+        windows.add(type, today, amount);
+        for (Map.Entry<StatWindow, Map<StatType, Leaderboard>> entry : windowBoards.entrySet()) {
+            entry.getValue().get(type).update(playerId, stats.getPlayerName(), windows.getTotal(type, entry.getKey(), today));
+        }
+    }
+
+    // Day rollover
+
+    /**
+     * Get today's epoch day in the stat time zone, rolling over if midnight has passed
+     */
+    public long getCurrentDay() {
+        if (System.currentTimeMillis() >= dayEndsAt) {
+            rollover();
+        }
+        return currentDay;
+    }
+
+    /**
+     * Get the first epoch day of a window ending today
+     */
+    public long windowStart(StatWindow window) {
+        return getCurrentDay() - window.getDays() + 1;
+    }
+
+    private synchronized void rollover() {
+        if (System.currentTimeMillis() < dayEndsAt) {
+            return;
+        }
+        setDay(LocalDate.now(zone));
+        // Each player's ring rolls forward lazily; only the boards need rebuilding
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::rebuildWindows);
+    }
+
+    private void setDay(LocalDate today) {
+        this.currentDay = today.toEpochDay();
+        this.dayEndsAt = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Rebuild the windowed leaderboards after a day dropped out of every window.
+     * The new boards are filled and seeded off to the side and swapped in whole, so
+     * readers keep the previous day's fully seeded boards until then.
+     */
+    private void rebuildWindows() {
+        long today = getCurrentDay();
+        Map<StatWindow, Map<StatType, Leaderboard>> rebuilt = createWindowBoards();
+        for (UUID playerId : playerStats.keySet()) {
+            PlayerStats stats = playerStats.getIfPresent(playerId);
+            if (stats != null) {
+                indexWindows(rebuilt, playerId, stats, today);
+            }
+        }
+        for (Map.Entry<StatWindow, Map<StatType, Leaderboard>> entry : rebuilt.entrySet()) {
+            for (Leaderboard board : entry.getValue().values()) {
+                seedLeaderboard(board, entry.getKey(), seedSize);
+            }
+        }
+        windowBoards = rebuilt;
+
+        // Counts made while the new boards were built went to the old ones
+        for (UUID playerId : playerStats.keySet()) {
+            PlayerStats stats = playerStats.getIfPresent(playerId);
+            if (stats != null) {
+                indexWindows(rebuilt, playerId, stats, today);
+            }
+        }
+        compactStatDays();
+    }
+
+    /**
+     * Fold day rows older than every window into monthly summaries
+     */
+    private void compactStatDays() {
+        // Keep the whole month the oldest ring day falls in, so a month compacts in one pass
+        int keepFrom = WindowedStats.monthOf(getCurrentDay() - WindowedStats.RING_DAYS + 1);
+        plugin.getDatabaseManager().flushWrites(10000);
+        int removed = plugin.getDatabaseManager().compactStatDays(keepFrom);
+        if (removed > 0) {
+            plugin.getNexusLogger().info("Compacted " + removed + " daily stat rows into monthly summaries");
+        }
     }
     
     /**
      * Initialize a player's stats
      */
     public void initializePlayer(UUID playerId, String playerName) {
-        playerStats.computeIfAbsent(playerId, k -> {
-            PlayerStats stats = new PlayerStats(playerId);
-            stats.setPlayerName(playerName);
-            
-            // Try loading from database
-            Map<String, Object> data = plugin.getDatabaseManager().getPlayerStats(playerId);
-            if (data != null && !data.isEmpty()) {
-                stats.deserialize(data);
-            }
-            
-            return stats;
-        });
+        getPlayerStats(playerId).setPlayerName(playerName);
+    }
+    
+    /**
+     * Install stats preloaded at pre-login
+     */
+    public void loadPlayer(UUID playerId, String playerName, Map<String, Object> columns,
+                           List<WindowedStats.Bucket> days) {
+        PlayerStats stats = new PlayerStats(playerId);
+        stats.setPlayerName(playerName);
+        if (!columns.isEmpty()) {
+            stats.loadColumns(columns);
+            stats.markSaved();
+        }
+        stats.getWindows().load(days, getCurrentDay());
+        playerStats.put(playerId, stats);
+        indexPlayer(playerId, stats);
+    }
+    
+    /**
+     * Create a stats object from stored columns
+     */
+    private PlayerStats createStats(UUID playerId) {
+        PlayerStats stats = new PlayerStats(playerId);
+        Map<String, Object> data = plugin.getDatabaseManager().getPlayerStats(playerId);
+        if (data != null && !data.isEmpty()) {
+            stats.loadColumns(data);
+            stats.markSaved();
+        }
+        stats.getWindows().load(plugin.getDatabaseManager().getPlayerStatDays(playerId), getCurrentDay());
+        indexPlayer(playerId, stats);
+        return stats;
     }
     
     /**
      * Get a player's stats
      */
     public PlayerStats getPlayerStats(UUID playerId) {
-        return playerStats.computeIfAbsent(playerId, k -> {
-            PlayerStats stats = new PlayerStats(playerId);
-            
-            // Try loading from database
-            Map<String, Object> data = plugin.getDatabaseManager().getPlayerStats(playerId);
-            if (data != null && !data.isEmpty()) {
-                stats.deserialize(data);
-            }
-            
-            return stats;
-        });
+        return playerStats.get(playerId);
     }
     
     /**
      * Update player stats on kill
      */
     public void onPlayerKill(UUID killerId, UUID victimId) {
-        PlayerStats killerStats = getPlayerStats(killerId);
-        killerStats.addKill();
-        
-        PlayerStats victimStats = getPlayerStats(victimId);
-        victimStats.addDeath();
-        
-        // Update skill average
-        updateSkillAverage(killerId);
-        updateSkillAverage(victimId);
-        
-        // Save to database
-        savePlayerStats(killerId);
-        savePlayerStats(victimId);
-        
-        // Invalidate leaderboard cache
-        invalidateLeaderboard("kills");
-        invalidateLeaderboard("deaths");
+        deltas.add(killerId, StatType.KILLS, 1);
+        deltas.add(victimId, StatType.DEATHS, 1);
     }
     
     /**
      * Update player stats on block break
      */
     public void onBlockBreak(UUID playerId) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addBlockBroken();
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.BLOCKS_BROKEN, 1);
     }
     
     /**
      * Update player stats on block place
      */
     public void onBlockPlace(UUID playerId) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addBlockPlaced();
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.BLOCKS_PLACED, 1);
     }
     
     /**
      * Update player stats on mob kill
      */
     public void onMobKill(UUID playerId) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addMobKilled();
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.MOBS_KILLED, 1);
     }
     
     /**
      * Update player stats on fish caught
      */
     public void onFishCaught(UUID playerId) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addFishCaught();
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.FISH_CAUGHT, 1);
     }
     
     /**
      * Update player stats on item crafted
      */
     public void onItemCrafted(UUID playerId) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addItemCrafted();
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.ITEMS_CRAFTED, 1);
     }
     
     /**
      * Update player stats on game played
      */
     public void onGamePlayed(UUID playerId, boolean won) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addGamePlayed();
-        if (won) {
-            stats.addWin();
-        } else {
-            stats.addLoss();
-        }
-        savePlayerStats(playerId);
-        invalidateLeaderboard("wins");
-        invalidateLeaderboard("losses");
+        deltas.add(playerId, StatType.GAMES_PLAYED, 1);
+        deltas.add(playerId, won ? StatType.WINS : StatType.LOSSES, 1);
     }
     
     /**
      * Update player stats on island created
      */
     public void onIslandCreated(UUID playerId) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addIslandCreated();
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.ISLANDS_CREATED, 1);
     }
     
     /**
      * Update skill average from skills system
      */
     public void updateSkillAverage(UUID playerId) {
+        refreshSkillAverage(playerId, getPlayerStats(playerId));
+        savePlayerStats(playerId);
+    }
+    
+    private void refreshSkillAverage(UUID playerId, PlayerStats stats) {
         try {
             PlayerSkills skills = plugin.getSkillsManager().getPlayerSkills(playerId);
-            PlayerStats stats = getPlayerStats(playerId);
             stats.setSkillAverage(skills.getAverageLevel());
-            savePlayerStats(playerId);
         } catch (Exception e) {
             // Skills might not be initialized yet
         }
@@ -170,130 +419,236 @@ public class StatsManager {
      * Update play time for a player
      */
     public void updatePlayTime(UUID playerId, long seconds) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addPlayTime(seconds);
-        savePlayerStats(playerId);
+        deltas.add(playerId, StatType.PLAY_TIME, seconds);
     }
     
     /**
      * Update coins earned/spent
      */
     public void onCoinsEarned(UUID playerId, long amount) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addCoinsEarned(amount);
-        savePlayerStats(playerId);
-        invalidateLeaderboard("coins");
+        deltas.add(playerId, StatType.COINS_EARNED, amount);
     }
     
     public void onCoinsSpent(UUID playerId, long amount) {
+        deltas.add(playerId, StatType.COINS_SPENT, amount);
+    }
+    
+    // Coalescing
+    
+    /**
+     * Apply the increments of players whose oldest one has reached the staleness limit
+     */
+    private void flushDue() {
+        for (UUID playerId : deltas.due(System.currentTimeMillis(), maxStalenessMillis)) {
+            flushPlayer(playerId);
+        }
+    }
+    
+    /**
+     * Apply a player's pending increments to their stats and leaderboards, then save the changes
+     */
+    public void flushPlayer(UUID playerId) {
+        long[] amounts = deltas.drain(playerId);
+        if (amounts == null) {
+            return;
+        }
+        
         PlayerStats stats = getPlayerStats(playerId);
-        stats.addCoinsSpent(amount);
+        StatType[] types = StatType.values();
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) {
+                types[i].set(stats, types[i].get(stats) + amounts[i]);
+                count(playerId, stats, types[i], amounts[i]);
+            }
+        }
+        if (amounts[StatType.KILLS.ordinal()] != 0 || amounts[StatType.DEATHS.ordinal()] != 0) {
+            // Refreshed once per flush instead of on every kill
+            refreshSkillAverage(playerId, stats);
+        }
+        saveChanges(playerId, stats);
+    }
+    
+    /**
+     * Apply every pending increment
+     */
+    public void flushAll() {
+        for (UUID playerId : deltas.players()) {
+            flushPlayer(playerId);
+        }
+    }
+    
+    /**
+     * Flush and save a leaving player, then drop their counters
+     */
+    public void onPlayerQuit(UUID playerId) {
         savePlayerStats(playerId);
+        deltas.remove(playerId);
     }
     
     /**
-     * Get leaderboard for a category
+     * Get the number of players with increments not yet applied
+     */
+    public int getPendingCount() {
+        return deltas.getPendingCount();
+    }
+    
+    /**
+     * Get leaderboard for a category.
+     * Served from the in-memory ranking; asking deeper than it was seeded returns
+     * what is held now and pulls more rows from the database in the background.
      */
     public List<StatsCommand.StatsLeaderboardEntry> getLeaderboard(String category, int limit) {
-        // Check cache first
-        Map<UUID, Long> cached = leaderboardCache.get(category);
-        if (cached != null) {
-            return buildLeaderboardFromCache(cached, limit);
+        return getLeaderboard(category, null, limit);
+    }
+    
+    /**
+     * Get leaderboard for a category over a time window
+     * @param window the window to rank, or null for lifetime values
+     */
+    public List<StatsCommand.StatsLeaderboardEntry> getLeaderboard(String category, StatWindow window, int limit) {
+        return getLeaderboard(StatType.fromCategory(category), window, limit);
+    }
+    
+    /**
+     * Get the top entries of a stat over a time window
+     * @param window the window to rank, or null for lifetime values
+     */
+    public List<StatsCommand.StatsLeaderboardEntry> getLeaderboard(StatType type, StatWindow window, int limit) {
+        Leaderboard board = type == null ? null : window == null ? leaderboards.get(type) : windowBoards.get(window).get(type);
+        if (board == null) {
+            return new ArrayList<>();
         }
         
-        // Build from player stats
-        Map<UUID, Long> values = new HashMap<>();
-        
-        for (Map.Entry<UUID, PlayerStats> entry : playerStats.entrySet()) {
-            PlayerStats stats = entry.getValue();
-            long value = getStatValue(stats, category);
-            values.put(entry.getKey(), value);
+        if (seeded && limit > board.getSeededDepth()) {
+            reseedAsync(board, window, Math.max(limit, seedSize));
         }
-        
-        // Cache the result
-        leaderboardCache.put(category, values);
-        
-        return buildLeaderboardFromCache(values, limit);
+        return board.getTop(limit);
     }
     
     /**
-     * Get a specific stat value from PlayerStats
+     * Get a loaded player's 1-based rank in a category.
+     * Exact from memory above the seeded floor; below it the database counts who is ahead,
+     * so call this off the main thread.
+     * @return the rank, or -1 if the category is unknown or the player is not loaded
      */
-    private long getStatValue(PlayerStats stats, String category) {
-        return switch (category.toLowerCase()) {
-            case "kills" -> stats.getKills();
-            case "deaths" -> stats.getDeaths();
-            case "wins" -> stats.getWins();
-            case "losses" -> stats.getLosses();
-            case "games", "gamesplayed" -> stats.getGamesPlayed();
-            case "coins" -> stats.getCoinsEarned();
-            case "playtime" -> stats.getPlayTime();
-            case "blocks_broken" -> stats.getBlocksBroken();
-            case "blocks_placed" -> stats.getBlocksPlaced();
-            case "items_crafted" -> stats.getItemsCrafted();
-            case "mobs_killed" -> stats.getMobsKilled();
-            case "fish_caught" -> stats.getFishCaught();
-            case "islands" -> stats.getIslandsCreated();
-            default -> 0;
-        };
+    public int getRank(UUID playerId, String category) {
+        return getRank(playerId, category, null);
     }
     
     /**
-     * Build leaderboard from cached values
+     * Get a loaded player's 1-based rank in a category over a time window.
+     * May count rows in the database; call this off the main thread.
+     * @param window the window to rank, or null for lifetime values
+     * @return the rank, or -1 if the category is unknown or the player is not loaded
      */
-    private List<StatsCommand.StatsLeaderboardEntry> buildLeaderboardFromCache(Map<UUID, Long> values, int limit) {
-        List<StatsCommand.StatsLeaderboardEntry> entries = new ArrayList<>();
-        
-        for (Map.Entry<UUID, Long> entry : values.entrySet()) {
-            UUID playerId = entry.getKey();
-            String playerName = getPlayerName(playerId);
-            entries.add(new StatsCommand.StatsLeaderboardEntry(playerId, playerName, entry.getValue()));
+    public int getRank(UUID playerId, String category, StatWindow window) {
+        Leaderboard board = getLeaderboard(category, window);
+        if (board == null) {
+            return -1;
         }
         
-        // Sort by value descending
-        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
-        
-        return entries.subList(0, Math.min(limit, entries.size()));
+        StatType type = board.getType();
+        Long value = board.getValue(playerId);
+        if (value == null) {
+            // Never load an offline player here; that would read the database on the calling thread
+            PlayerStats stats = playerStats.getIfPresent(playerId);
+            if (stats == null) {
+                return -1;
+            }
+            value = window == null ? type.get(stats) : stats.getWindows().getTotal(type, window, getCurrentDay());
+        }
+        if (board.contains(playerId) && board.isExact(value)) {
+            return board.getRank(playerId);
+        }
+        long ahead = window == null
+            ? plugin.getDatabaseManager().countStatAbove(type, value)
+            : plugin.getDatabaseManager().countStatWindowAbove(type, windowStart(window), value);
+        return (int) ahead + 1;
     }
     
     /**
-     * Get player name from cache or UUID
+     * Get the ranking for a category
+     * @return the leaderboard, or null if the category is unknown
      */
-    private String getPlayerName(UUID playerId) {
-        Player player = Bukkit.getPlayer(playerId);
-        if (player != null && player.isOnline()) {
-            return player.getName();
-        }
-        
-        PlayerStats stats = playerStats.get(playerId);
-        if (stats != null) {
-            return stats.getPlayerName();
+    public Leaderboard getLeaderboard(String category) {
+        return getLeaderboard(category, null);
+    }
+    
+    /**
+     * Get the lifetime ranking of a stat
+     * @return the leaderboard, or null if the stat is not ranked
+     */
+    public Leaderboard getLeaderboard(StatType type) {
+        return leaderboards.get(type);
+    }
+    
+    /**
+     * Publish every lifetime leaderboard to the network as "stats.<column>"
+     */
+    public void registerGlobalLeaderboards(GlobalLeaderboards global) {
+        for (Leaderboard board : leaderboards.values()) {
+            global.registerSource("stats." + board.getType().getColumn(), limit -> board.getTop(limit).stream()
+                .map(entry -> new GlobalLeaderboards.Entry(entry.getPlayerId(), entry.getPlayerName(), entry.getValue()))
+                .toList());
         }
-        
-        return "Unknown";
     }
     
     /**
-     * Invalidate leaderboard cache for a category
+     * Get the pre-rendered leaderboards for chat, menus and holograms
      */
-    public void invalidateLeaderboard(String category) {
-        leaderboardCache.remove(category);
+    public LeaderboardSnapshots getSnapshots() {
+        return snapshots;
     }
     
     /**
-     * Invalidate all leaderboard caches
+     * Get the ranking for a category over a time window
+     * @param window the window to rank, or null for lifetime values
+     * @return the leaderboard, or null if the category is unknown
      */
-    public void invalidateAllLeaderboards() {
-        leaderboardCache.clear();
+    public Leaderboard getLeaderboard(String category, StatWindow window) {
+        StatType type = StatType.fromCategory(category);
+        if (type == null) {
+            return null;
+        }
+        return window == null ? leaderboards.get(type) : windowBoards.get(window).get(type);
     }
     
     /**
-     * Save player stats to database
+     * Save player stats to database, applying any pending increments first
      */
     public void savePlayerStats(UUID playerId) {
-        PlayerStats stats = playerStats.get(playerId);
+        flushPlayer(playerId);
+        PlayerStats stats = playerStats.getIfPresent(playerId);
         if (stats != null) {
-            plugin.getDatabaseManager().savePlayerStats(playerId, stats.serialize());
+            saveChanges(playerId, stats);
+        }
+    }
+    
+    /**
+     * Enqueue the columns and day buckets changed since the last save
+     */
+    private void saveChanges(UUID playerId, PlayerStats stats) {
+        List<WindowedStats.Bucket> days = stats.getWindows().collectDirty();
+        if (!days.isEmpty()) {
+            plugin.getDatabaseManager().savePlayerStatDays(playerId, days);
+        }
+        
+        Map<String, Object> changes = stats.collectChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
+        plugin.getDatabaseManager().savePlayerStats(playerId, changes);
+        
+        if (changes.containsKey("player_name")) {
+            indexPlayer(playerId, stats);
+            return;
+        }
+        for (String column : changes.keySet()) {
+            StatType type = StatType.fromColumn(column);
+            Leaderboard board = type != null ? leaderboards.get(type) : null;
+            if (board != null) {
+                board.update(playerId, stats.getPlayerName(), type.get(stats));
+            }
         }
     }
     
@@ -301,6 +656,7 @@ public class StatsManager {
      * Save all player stats
      */
     public void saveAllStats() {
+        flushAll();
         for (UUID playerId : playerStats.keySet()) {
             savePlayerStats(playerId);
         }
@@ -310,8 +666,12 @@ public class StatsManager {
      * Shutdown the stats manager
      */
     public void shutdown() {
+        snapshots.shutdown();
         saveAllStats();
         playerStats.clear();
-        leaderboardCache.clear();
+        leaderboards.values().forEach(Leaderboard::clear);
+        for (Map<StatType, Leaderboard> boards : windowBoards.values()) {
+            boards.values().forEach(Leaderboard::clear);
+        }
     }
 }
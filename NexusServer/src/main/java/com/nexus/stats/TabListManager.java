@@ -1,229 +1,114 @@
 package com.nexus.stats;
 
 import com.nexus.core.NexusCore;
+import com.nexus.core.utils.NMSUtils;
 import com.nexus.ranks.Rank;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.UUID;
 
 /**
  * Manager class for handling custom tab list headers and footers.
  * Provides dynamic information display above/below the player list.
+ * Header and footer are {@link DisplayLayout}s refreshed by the {@link DisplayUpdater};
+ * the packet is only sent when the joined text actually changed.
  */
-public class TabListManager {
+public class TabListManager implements DisplayUpdater.Target {
+    
+    private static final String DIVIDER = ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━";
     
     private final NexusCore plugin;
     private final Map<UUID, TabListData> playerTabLists;
+    private final DisplayLayout header;
+    private final DisplayLayout footer;
     
     public TabListManager(NexusCore plugin) {
         this.plugin = plugin;
         this.playerTabLists = new ConcurrentHashMap<>();
+        this.header = new DisplayLayout(List.of(
+            LineProvider.constant(ChatColor.GOLD + ChatColor.BOLD.toString() + "❖ NexusBlock Network ❖"),
+            LineProvider.perPlayer(this::getWelcomeLine, DisplayEvent.RANK),
+            LineProvider.constant(DIVIDER),
+            LineProvider.constant("")));
+        this.footer = new DisplayLayout(List.of(
+            LineProvider.constant(DIVIDER),
+            LineProvider.shared(() -> ChatColor.GREEN + "Online: " + ChatColor.WHITE
+                + Bukkit.getOnlinePlayers().size() + "/" + Bukkit.getMaxPlayers(), DisplayEvent.ONLINE),
+            LineProvider.perPlayer(this::getSkillLine, DisplayEvent.SKILLS),
+            LineProvider.perPlayer(player -> ChatColor.GOLD + "Coins: " + ChatColor.WHITE
+                + plugin.getEconomyManager().getBalance(player.getUniqueId()), DisplayEvent.BALANCE),
+            LineProvider.constant(ChatColor.YELLOW + "Website: www.nexusblock.net")));
     }
     
     /**
-     * Update a player's tab list header and footer
+     * Rebuild a player's tab list header and footer from scratch
      */
     public void updateTabList(Player player) {
-        try {
-            TabListData data = playerTabLists.computeIfAbsent(player.getUniqueId(), 
-                k -> new TabListData());
-            
-            String header = buildHeader(player);
-            String footer = buildFooter(player);
-            
-            // Use reflection to send tab list packets (works on 1.8-1.21)
-            sendTabList(player, header, footer);
-            
-            data.setLastUpdate(System.currentTimeMillis());
-            
-        } catch (Exception e) {
-            plugin.getNexusLogger().warning("Failed to update tab list for " + player.getName() + ": " + e.getMessage());
-        }
+        refresh(player, DisplayEvent.ALL);
     }
     
-    /**
-     * Build the header text
-     */
-    private String buildHeader(Player player) {
-        StringBuilder header = new StringBuilder();
-        
-        // Server name with rank
-        Rank rank = plugin.getRankManager().getPlayerRank(player.getUniqueId());
-        header.append(ChatColor.GOLD).append(ChatColor.BOLD).append("❖ NexusBlock Network ❖\n");
-        
-        // Player info
-        header.append(ChatColor.WHITE).append("Welcome, ")
-              .append(rank.getPrefix()).append(ChatColor.WHITE).append(" ")
-              .append(player.getName()).append("\n");
-        
-        // Decorative line
-        header.append(ChatColor.GRAY).append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        
-        return header.toString();
+    @Override
+    public int getTriggers() {
+        return header.getTriggers() | footer.getTriggers();
     }
     
-    /**
-     * Build the footer text
-     */
-    private String buildFooter(Player player) {
-        StringBuilder footer = new StringBuilder();
-        
-        // Server stats
-        int online = Bukkit.getOnlinePlayers().size();
-        int max = Bukkit.getMaxPlayers();
-        
-        footer.append(ChatColor.GRAY).append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        
-        // Online players
-        footer.append(ChatColor.GREEN).append("Online: ").append(ChatColor.WHITE)
-              .append(online).append("/").append(max).append("\n");
-        
-        // Skills info
-        double skillAvg = plugin.getSkillsManager().getPlayerSkills(player.getUniqueId()).getAverageLevel();
-        footer.append(ChatColor.AQUA).append("Skill Avg: ").append(ChatColor.WHITE)
-              .append(String.format("%.1f", skillAvg)).append("\n");
-        
-        // Coins
-        double coins = plugin.getEconomyManager().getBalance(player.getUniqueId());
-        footer.append(ChatColor.GOLD).append("Coins: ").append(ChatColor.WHITE)
-              .append(String.format("%.0f", coins)).append("\n");
-        
-        // Website
-        footer.append(ChatColor.YELLOW).append("Website: www.nexusblock.net");
-        
-        return footer.toString();
+    @Override
+    public void refreshShared(int events) {
+        header.refreshShared(events);
+        footer.refreshShared(events);
     }
     
-    /**
-     * Send tab list update using ProtocolLib if available
-     */
-    private void sendTabList(Player player, String header, String footer) {
-        // Try using ProtocolLib if available
+    @Override
+    public void refresh(Player player, int events) {
         try {
-            Class<?> packetClass = Class.forName("net.minecraft.server.VERSION.PacketPlayOutPlayerListHeaderFooter");
-            Object packet = packetClass.getDeclaredConstructor().newInstance();
-            
-            // Set header
-            setPacketField(packet, "a", createChatComponent(header));
-            // Set footer
-            setPacketField(packet, "b", createChatComponent(footer));
-            
-            // Send packet
-            Object handle = player.getClass().getMethod("getHandle").invoke(player);
-            Object playerConnection = handle.getClass().getField("playerConnection").get(handle);
-            playerConnection.getClass().getMethod("sendPacket", packetClass).invoke(playerConnection, packet);
+            TabListData data = playerTabLists.computeIfAbsent(player.getUniqueId(), 
+                k -> new TabListData(header.size(), footer.size()));
             
-        } catch (ClassNotFoundException e) {
-            // ProtocolLib not available, try NMS approach
-            sendTabListNMS(player, header, footer);
-        } catch (Exception e) {
-            // Fallback: Use Bukkit's setPlayerListHeader/Footer (1.8+)
-            try {
-                player.setPlayerListHeaderFooter(
-                    org.bukkit.ChatColor.translateAlternateColorCodes('&', header),
-                    org.bukkit.ChatColor.translateAlternateColorCodes('&', footer)
-                );
-            } catch (Exception ex) {
-                // Some versions don't support this method
+            boolean changed = header.render(player, data.header, events);
+            changed |= footer.render(player, data.footer, events);
+            if (!changed) {
+                return;
             }
-        }
-    }
-    
-    /**
-     * Send tab list using NMS (older approach)
-     */
-    private void sendTabListNMS(Player player, String header, String footer) {
-        try {
-            Object handle = player.getClass().getMethod("getHandle").invoke(player);
-            Object playerConnection = handle.getClass().getField("playerConnection").get(handle);
             
-            // Create IChatBaseComponent
-            Class<?> chatBaseComponentClass = Class.forName("net.minecraft.server." + getServerVersion() + ".IChatBaseComponent");
-            Object headerComponent = chatBaseComponentClass.getDeclaredClasses()[0].getMethod("a", String.class)
-                .invoke(null, "{\"text\":\"" + escapeJson(header) + "\"}");
-            Object footerComponent = chatBaseComponentClass.getDeclaredClasses()[0].getMethod("a", String.class)
-                .invoke(null, "{\"text\":\"" + escapeJson(footer) + "\"}");
+            sendTabList(player, String.join("\n", data.header), String.join("\n", data.footer));
             
-            // Create packet
-            Class<?> packetClass = Class.forName("net.minecraft.server." + getServerVersion() + ".PacketPlayOutPlayerListHeaderFooter");
-            Object packet = packetClass.getDeclaredConstructor().newInstance();
-            
-            packetClass.getMethod("a", chatBaseComponentClass).invoke(packet, headerComponent);
-            packetClass.getMethod("b", chatBaseComponentClass).invoke(packet, footerComponent);
-            
-            playerConnection.getClass().getMethod("sendPacket", packetClass).invoke(playerConnection, packet);
+            data.setLastUpdate(System.currentTimeMillis());
             
         } catch (Exception e) {
-            // Fallback for unsupported versions
+            plugin.getNexusLogger().warning("Failed to update tab list for " + player.getName() + ": " + e.getMessage());
         }
     }
     
-    /**
-     * Create a Chat Component from text
-     */
-    private Object createChatComponent(String text) {
-        try {
-            Class<?> chatBaseComponentClass = Class.forName("net.minecraft.server." + getServerVersion() + ".IChatBaseComponent");
-            Class<?> chatSerializerClass = Class.forName("net.minecraft.server." + getServerVersion() + ".IChatBaseComponent$ChatSerializer");
-            
-            return chatSerializerClass.getMethod("a", String.class).invoke(null, 
-                "{\"text\":\"" + escapeJson(text) + "\"}");
-        } catch (Exception e) {
-            return null;
-        }
+    @Override
+    public void remove(UUID playerId) {
+        playerTabLists.remove(playerId);
     }
     
-    /**
-     * Set a field on a packet object using reflection
-     */
-    private void setPacketField(Object packet, String fieldName, Object value) {
-        try {
-            java.lang.reflect.Field field = packet.getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
-            field.set(packet, value);
-        } catch (Exception e) {
-            // Field not found or other error
-        }
-    }
-    
-    /**
-     * Get the server NMS version
-     */
-    private String getServerVersion() {
-        String packageName = Bukkit.getServer().getClass().getPackage().getName();
-        return packageName.substring(packageName.lastIndexOf('.') + 1);
+    private String getWelcomeLine(Player player) {
+        Rank rank = plugin.getRankManager().getPlayerRank(player.getUniqueId());
+        return ChatColor.WHITE + "Welcome, " + rank.getPrefix() + ChatColor.WHITE + " " + player.getName();
     }
     
-    /**
-     * Escape special characters for JSON
-     */
-    private String escapeJson(String text) {
-        return text.replace("\\", "\\\\")
-                   .replace("\"", "\\\"")
-                   .replace("\n", "\\n")
-                   .replace("\r", "\\r")
-                   .replace("\t", "\\t");
+    private String getSkillLine(Player player) {
+        double skillAvg = plugin.getSkillsManager().getPlayerSkills(player.getUniqueId()).getAverageLevel();
+        return ChatColor.AQUA + "Skill Avg: " + ChatColor.WHITE + String.format("%.1f", skillAvg);
     }
     
     /**
-     * Update all online players' tab lists
+     * Send the header and footer through the packet layer resolved at startup
      */
-    public void updateAllTabLists() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            updateTabList(player);
+    private void sendTabList(Player player, String header, String footer) {
+        NMSUtils nms = plugin.getNmsUtils();
+        if (nms != null) {
+            nms.sendTabList(player, header, footer);
         }
     }
     
-    /**
-     * Start automatic tab list update task
-     */
-    public void startAutoUpdateTask() {
-        Bukkit.getScheduler().runTaskTimer(plugin, this::updateAllTabLists, 200L, 200L); // Every 10 seconds
-    }
-    
     /**
      * Clear a player's tab list data
      */
@@ -239,11 +124,18 @@ public class TabListManager {
     }
     
     /**
-     * Helper class to store tab list update time
+     * Helper class to store the text last rendered for a player
      */
     private static class TabListData {
+        private final String[] header;
+        private final String[] footer;
         private long lastUpdate;
         
+        TabListData(int headerSize, int footerSize) {
+            this.header = new String[headerSize];
+            this.footer = new String[footerSize];
+        }
+        
         public long getLastUpdate() {
             return lastUpdate;
         }
@@ -0,0 +1,177 @@
+package com.nexus.stats;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-day counters for one player's ranked stats, kept as ring buffers of day buckets.
+ * Days are epoch days in the server's stat time zone. The ring rolls forward lazily
+ * whenever it is touched with a newer day, so players need no work at midnight.
+ * Buckets changed since the last save are tracked by bitmask and persisted one row per day.
+ */
+public class WindowedStats {
+
+    /**
+     * Days kept in memory; must cover the longest {@link StatWindow}
+     */
+    public static final int RING_DAYS = 30;
+
+    private static final StatType[] TYPES = StatType.values();
+
+    // Stat ordinal -> ring of day buckets, allocated on first use
+    private final long[][] buckets = new long[TYPES.length][];
+    // Stat ordinal -> bit per ring slot changed since the last save
+    private final int[] dirty = new int[TYPES.length];
+    // Newest day held in the ring
+    private long day = Long.MIN_VALUE;
+    // Unsaved buckets pushed out of the ring by a rollover
+    private List<Bucket> evicted;
+
+    /**
+     * Add to today's bucket of a stat
+     */
+    public synchronized void add(StatType type, long today, long amount) {
+        advance(today);
+        int slot = slot(today);
+        ring(type)[slot] += amount;
+        dirty[type.ordinal()] |= 1 << slot;
+    }
+
+    /**
+     * Get a stat's total over a window ending today
+     */
+    public synchronized long getTotal(StatType type, StatWindow window, long today) {
+        advance(today);
+        long[] ring = buckets[type.ordinal()];
+        if (ring == null) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < window.getDays(); i++) {
+            total += ring[slot(day - i)];
+        }
+        return total;
+    }
+
+    /**
+     * Install stored buckets; rows outside the ring are ignored
+     */
+    public synchronized void load(Collection<Bucket> rows, long today) {
+        advance(today);
+        for (Bucket row : rows) {
+            if (row.day <= day && row.day > day - RING_DAYS) {
+                ring(row.type)[slot(row.day)] = row.value;
+            }
+        }
+    }
+
+    /**
+     * Collect the buckets changed since the last call and mark them saved
+     */
+    public synchronized List<Bucket> collectDirty() {
+        List<Bucket> changed = evicted != null ? evicted : new ArrayList<>();
+        evicted = null;
+        for (int ordinal = 0; ordinal < TYPES.length; ordinal++) {
+            int bits = dirty[ordinal];
+            while (bits != 0) {
+                int slot = Integer.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                changed.add(new Bucket(TYPES[ordinal], dayOfSlot(slot), buckets[ordinal][slot]));
+            }
+            dirty[ordinal] = 0;
+        }
+        return changed;
+    }
+
+    /**
+     * Roll the ring forward to today, clearing the slots of days that fell out.
+     * A clock that moved backwards keeps writing into the newest day.
+     */
+    private void advance(long today) {
+        if (day == Long.MIN_VALUE) {
+            day = today;
+            return;
+        }
+        if (today <= day) {
+            return;
+        }
+
+        long last = Math.min(today, day + RING_DAYS);
+        for (long next = day + 1; next <= last; next++) {
+            int slot = slot(next);
+            int bit = 1 << slot;
+            for (int ordinal = 0; ordinal < TYPES.length; ordinal++) {
+                long[] ring = buckets[ordinal];
+                if (ring == null) {
+                    continue;
+                }
+                if ((dirty[ordinal] & bit) != 0) {
+                    if (evicted == null) {
+                        evicted = new ArrayList<>();
+                    }
+                    evicted.add(new Bucket(TYPES[ordinal], next - RING_DAYS, ring[slot]));
+                    dirty[ordinal] &= ~bit;
+                }
+                ring[slot] = 0;
+            }
+        }
+        day = today;
+    }
+
+    private long[] ring(StatType type) {
+        long[] ring = buckets[type.ordinal()];
+        if (ring == null) {
+            ring = new long[RING_DAYS];
+            buckets[type.ordinal()] = ring;
+        }
+        return ring;
+    }
+
+    private long dayOfSlot(int slot) {
+        return day - Math.floorMod(day - slot, RING_DAYS);
+    }
+
+    private static int slot(long day) {
+        return (int) Math.floorMod(day, (long) RING_DAYS);
+    }
+
+    /**
+     * Get the yyyymm month an epoch day falls in, used to group compacted rows
+     */
+    public static int monthOf(long day) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    /**
+     * One stat's count for one day
+     */
+    public static class Bucket {
+        private final StatType type;
+        private final long day;
+        private final long value;
+
+        public Bucket(StatType type, long day, long value) {
+            this.type = type;
+            this.day = day;
+            this.value = value;
+        }
+
+        public StatType getType() {
+            return type;
+        }
+
+        /**
+         * Get the epoch day
+         */
+        public long getDay() {
+            return day;
+        }
+
+        public long getValue() {
+            return value;
+        }
+    }
+}
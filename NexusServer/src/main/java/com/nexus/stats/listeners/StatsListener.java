@@ -28,12 +28,7 @@ public class StatsListener implements Listener {
         
         // Initialize player stats
         plugin.getStatsManager().initializePlayer(player.getUniqueId(), player.getName());
-        
-        // Update scoreboard for new player
-        plugin.getScoreboardManager().updateScoreboard(player);
-        
-        // Update tab list for new player
-        plugin.getTabListManager().updateTabList(player);
+        // Scoreboard and tab list are built by the DisplayUpdater on the next tick
     }
     
     /**
@@ -43,7 +38,7 @@ public class StatsListener implements Listener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
         
-        // Save player stats on quit
-        plugin.getStatsManager().savePlayerStats(player.getUniqueId());
+        // Apply pending counters and save player stats on quit
+        plugin.getStatsManager().onPlayerQuit(player.getUniqueId());
     }
 }
@@ -0,0 +1,145 @@
+package com.nexus.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Smoke test for the MySQL schema and upsert dialect against H2 in MySQL mode,
+ * the in-process stand-in for a MySQL/MariaDB server
+ */
+class MySqlDialectH2Test {
+
+    private static final SqlDialect DIALECT = SqlDialect.MYSQL;
+
+    private Connection connection;
+
+    @BeforeEach
+    void open() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:nexus-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void migrationsApplyAndBackfillStats() throws SQLException {
+        List<Migration> migrations = Migrations.all();
+        String uuid = UUID.randomUUID().toString();
+
+        for (Migration migration : migrations) {
+            if (migration.getVersion() == 4) {
+                // A pre-migration player with legacy JSON stats, to exercise the backfill
+                execute("INSERT INTO players (uuid, username, first_join, last_join, stats_data) VALUES ('"
+                        + uuid + "', 'Steve', 0, 0, '{\"kills\":12,\"playerName\":\"Steve\"}')");
+            }
+            migration.migrate(connection, DIALECT);
+        }
+        // Every helper is idempotent, so running them all again must not fail
+        for (Migration migration : migrations) {
+            migration.migrate(connection, DIALECT);
+        }
+
+        assertEquals(12L, queryLong("SELECT kills FROM player_stats WHERE uuid = '" + uuid + "'"));
+        assertEquals(0L, queryLong("SELECT COUNT(*) FROM minions"));
+        assertEquals(0L, queryLong("SELECT COUNT(*) FROM player_stat_months"));
+    }
+
+    @Test
+    void upsertOverwritesOnlyUpdatedColumns() throws SQLException {
+        migrateAll();
+        String sql = DIALECT.upsert(DatabaseManager.getPlayerStatDaysTable(),
+                new String[]{"uuid", "stat", "epoch_day"}, new String[]{"month_key"}, new String[]{"amount"});
+
+        upsertDay(sql, 202401, 5);
+        upsertDay(sql, 209912, 9);
+
+        assertEquals(1L, queryLong("SELECT COUNT(*) FROM player_stat_days"));
+        assertEquals(9L, queryLong("SELECT amount FROM player_stat_days"));
+        assertEquals(202401L, queryLong("SELECT month_key FROM player_stat_days"));
+    }
+
+    @Test
+    void upsertMergeAddsPlayTime() throws SQLException {
+        migrateAll();
+        String sql = DIALECT.upsertMerge(DatabaseManager.getPlayersTable(), new String[]{"uuid"},
+                new String[]{"uuid", "username", "first_join", "last_join", "play_time"},
+                "play_time = play_time + " + DIALECT.integerDivide("? - last_join", 1000),
+                "username = " + DIALECT.inserted("username"),
+                "last_join = " + DIALECT.inserted("last_join"));
+
+        savePlayer(sql, "Steve", 10_000L);
+        savePlayer(sql, "Alex", 72_500L);
+
+        assertEquals(62L, queryLong("SELECT play_time FROM players"));
+        assertEquals(10_000L, queryLong("SELECT first_join FROM players"));
+        assertEquals(72_500L, queryLong("SELECT last_join FROM players"));
+        assertEquals("Alex", queryString("SELECT username FROM players"));
+    }
+
+    private void migrateAll() throws SQLException {
+        for (Migration migration : Migrations.all()) {
+            migration.migrate(connection, DIALECT);
+        }
+    }
+
+    private void upsertDay(String sql, int month, long amount) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, "00000000-0000-0000-0000-000000000001");
+            stmt.setString(2, "kills");
+            stmt.setInt(3, 19723);
+            stmt.setInt(4, month);
+            stmt.setLong(5, amount);
+            stmt.executeUpdate();
+        }
+    }
+
+    private void savePlayer(String sql, String name, long now) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, "00000000-0000-0000-0000-000000000001");
+            stmt.setString(2, name);
+            stmt.setLong(3, now);
+            stmt.setLong(4, now);
+            stmt.setLong(5, 0L);
+            stmt.setLong(6, now);
+            stmt.executeUpdate();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nexus.database.codec;
+
+import com.google.gson.Gson;
+import com.nexus.guilds.Guild;
+import com.nexus.skyblock.skills.PlayerSkills;
+import com.nexus.skyblock.skills.SkillType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of the binary skills and guild codecs against the Gson
+ * {@code Map} path they replaced, which is still what a legacy row decodes through.
+ * Not run by the build; after {@code mvn test-compile} start {@link #main} with the
+ * test classpath, e.g.
+ * {@code mvn exec:java -Dexec.mainClass=com.nexus.database.codec.CodecBenchmark -Dexec.classpathScope=test}.
+ * Row sizes are printed before the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private static final Gson GSON = new Gson();
+    private static final int GUILD_MEMBERS = 50;
+
+    private PlayerSkills skills;
+    private Guild guild;
+    private byte[] skillsBlob;
+    private byte[] skillsJson;
+    private byte[] guildBlob;
+    private byte[] guildJson;
+
+    @Setup
+    public void setup() {
+        skills = skills();
+        guild = guild();
+        skillsBlob = Codecs.SKILLS.encode(skills);
+        skillsJson = json(skills.serialize());
+        guildBlob = Codecs.GUILD.encode(guild);
+        guildJson = json(guild.serialize());
+    }
+
+    @Benchmark
+    public byte[] encodeSkillsBinary() {
+        return Codecs.SKILLS.encode(skills);
+    }
+
+    @Benchmark
+    public byte[] encodeSkillsJson() {
+        return json(skills.serialize());
+    }
+
+    @Benchmark
+    public PlayerSkills decodeSkillsBinary() {
+        return Codecs.SKILLS.decode(skillsBlob);
+    }
+
+    @Benchmark
+    public PlayerSkills decodeSkillsJson() {
+        return Codecs.SKILLS.decode(skillsJson);
+    }
+
+    @Benchmark
+    public byte[] encodeGuildBinary() {
+        return Codecs.GUILD.encode(guild);
+    }
+
+    @Benchmark
+    public byte[] encodeGuildJson() {
+        return json(guild.serialize());
+    }
+
+    @Benchmark
+    public Guild decodeGuildBinary() {
+        return Codecs.GUILD.decode(guildBlob);
+    }
+
+    @Benchmark
+    public Guild decodeGuildJson() {
+        return Codecs.GUILD.decode(guildJson);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        CodecBenchmark rows = new CodecBenchmark();
+        rows.setup();
+        System.out.printf("skills row: %d bytes binary, %d bytes json%n", rows.skillsBlob.length, rows.skillsJson.length);
+        System.out.printf("guild row (%d members): %d bytes binary, %d bytes json%n",
+            GUILD_MEMBERS, rows.guildBlob.length, rows.guildJson.length);
+
+        new Runner(new OptionsBuilder()
+            .include(CodecBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    private static byte[] json(Map<String, Object> data) {
+        return GSON.toJson(data).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A player partway through every skill
+     */
+    private static PlayerSkills skills() {
+        PlayerSkills skills = new PlayerSkills();
+        int level = 3;
+        for (SkillType type : SkillType.values()) {
+            skills.getSkill(type).setLevel(level);
+            skills.getSkill(type).setCurrentXp(level * 137.25);
+            level += 4;
+        }
+        return skills;
+    }
+
+    private static Guild guild() {
+        Guild guild = new Guild(UUID.randomUUID(), "Builders", "BLD", UUID.randomUUID());
+        for (int i = 0; i < 3; i++) {
+            guild.getOfficerIds().add(UUID.randomUUID());
+        }
+        for (int i = 0; i < GUILD_MEMBERS; i++) {
+            guild.getMemberIds().add(UUID.randomUUID());
+        }
+        guild.getInvitePending().add(UUID.randomUUID());
+        guild.setDescription("We build things");
+        guild.setColor("GOLD");
+        guild.setLevel(7);
+        guild.setExperience(123_456L);
+        guild.setCreatedAt(1_600_000_000_000L);
+        guild.setWins(42);
+        guild.setKills(9);
+        return guild;
+    }
+}
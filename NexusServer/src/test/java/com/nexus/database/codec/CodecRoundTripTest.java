@@ -0,0 +1,207 @@
+package com.nexus.database.codec;
+
+import com.google.gson.Gson;
+import com.nexus.guilds.Guild;
+import com.nexus.skyblock.minions.MinionData;
+import com.nexus.skyblock.minions.MinionManager;
+import com.nexus.skyblock.skills.PlayerSkills;
+import com.nexus.skyblock.skills.SkillType;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips, legacy JSON fallback and truncated input for the stored blob codecs
+ */
+class CodecRoundTripTest {
+
+    private static final Gson GSON = new Gson();
+
+    @Test
+    void skillsRoundTrip() {
+        PlayerSkills skills = skills();
+
+        PlayerSkills decoded = Codecs.SKILLS.decode(Codecs.SKILLS.encode(skills));
+
+        for (SkillType type : SkillType.values()) {
+            assertEquals(skills.getSkill(type).getLevel(), decoded.getSkill(type).getLevel());
+            assertEquals(skills.getSkill(type).getCurrentXp(), decoded.getSkill(type).getCurrentXp(), 0.0);
+        }
+    }
+
+    @Test
+    void skillsReadLegacyJson() {
+        PlayerSkills skills = skills();
+        byte[] json = ("\n " + GSON.toJson(skills.serialize())).getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(BlobCodec.isLegacyJson(json));
+        PlayerSkills decoded = Codecs.SKILLS.decode(json);
+
+        assertEquals(12, decoded.getSkill(SkillType.MINING).getLevel());
+        assertEquals(345.5, decoded.getSkill(SkillType.MINING).getCurrentXp(), 0.0);
+        assertEquals(1, decoded.getSkill(SkillType.FISHING).getLevel());
+    }
+
+    @Test
+    void guildRoundTrip() {
+        Guild guild = guild();
+
+        Guild decoded = Codecs.GUILD.decode(Codecs.GUILD.encode(guild));
+
+        assertGuildEquals(guild, decoded);
+    }
+
+    @Test
+    void guildReadLegacyJson() {
+        Guild guild = guild();
+        byte[] json = GSON.toJson(guild.serialize()).getBytes(StandardCharsets.UTF_8);
+
+        Guild decoded = Codecs.GUILD.decode(json);
+
+        assertGuildEquals(guild, decoded);
+        assertTrue(Codecs.GUILD.encode(guild).length < json.length);
+    }
+
+    @Test
+    void minionRoundTrip() {
+        MinionData minion = new MinionData(UUID.randomUUID(), UUID.randomUUID(), MinionManager.MinionType.DIAMOND,
+            new Location(null, 12.5, 70, -300.25, 90f, 0f), 4);
+        minion.setIslandId(UUID.randomUUID());
+        minion.setLastAction(1_700_000_000_000L);
+        minion.setActive(false);
+        minion.setLuckBonus(15);
+        minion.getStorage().set(Material.DIAMOND, 1_000);
+        minion.getStorage().set(Material.COBBLESTONE, 7);
+
+        MinionData decoded = Codecs.MINION.decode(Codecs.MINION.encode(minion));
+
+        assertEquals(minion.getId(), decoded.getId());
+        assertEquals(minion.getOwnerUUID(), decoded.getOwnerUUID());
+        assertEquals(minion.getIslandId(), decoded.getIslandId());
+        assertEquals(minion.getType(), decoded.getType());
+        assertEquals(minion.getTier(), decoded.getTier());
+        assertEquals(minion.getLastAction(), decoded.getLastAction());
+        assertEquals(minion.isActive(), decoded.isActive());
+        assertEquals(minion.getLuckBonus(), decoded.getLuckBonus());
+        assertEquals(minion.getStorage().getContents(), decoded.getStorage().getContents());
+        assertNull(decoded.getLocation().getWorld());
+        assertEquals(-300.25, decoded.getLocation().getZ(), 0.0);
+        assertEquals(90f, decoded.getLocation().getYaw(), 0.0);
+    }
+
+    @Test
+    void minionHasNoLegacyJson() {
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> Codecs.MINION.decode(json));
+    }
+
+    @Test
+    void truncatedBlobsFail() {
+        byte[][] blobs = {
+            Codecs.SKILLS.encode(skills()),
+            Codecs.GUILD.encode(guild()),
+            Codecs.MINION.encode(new MinionData(UUID.randomUUID(), UUID.randomUUID(),
+                MinionManager.MinionType.COAL, new Location(null, 0, 64, 0), 1))
+        };
+        BlobCodec<?>[] codecs = {Codecs.SKILLS, Codecs.GUILD, Codecs.MINION};
+
+        for (int i = 0; i < blobs.length; i++) {
+            BlobCodec<?> codec = codecs[i];
+            // Every strict prefix past the version byte must be rejected, never half-decoded
+            for (int length = 1; length < blobs[i].length; length++) {
+                byte[] truncated = Arrays.copyOf(blobs[i], length);
+                assertFalse(BlobCodec.isLegacyJson(truncated));
+                assertThrows(IllegalArgumentException.class, () -> codec.decode(truncated),
+                    codec.getClass().getSimpleName() + " accepted " + length + " bytes");
+            }
+        }
+    }
+
+    @Test
+    void unknownVersionFails() {
+        byte[] blob = Codecs.GUILD.encode(guild());
+        blob[0] = (byte) (Codecs.GUILD.getVersion() + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> Codecs.GUILD.decode(blob));
+    }
+
+    @Test
+    void versionsThatLookLikeJsonAreRefused() {
+        for (int version : new int[]{9, 10, 13, 32, '{'}) {
+            assertThrows(IllegalArgumentException.class, () -> new SkillsCodecAt(version));
+        }
+    }
+
+    private static PlayerSkills skills() {
+        PlayerSkills skills = new PlayerSkills();
+        skills.getSkill(SkillType.MINING).setLevel(12);
+        skills.getSkill(SkillType.MINING).setCurrentXp(345.5);
+        skills.getSkill(SkillType.COMBAT).setLevel(3);
+        return skills;
+    }
+
+    private static Guild guild() {
+        UUID leader = UUID.randomUUID();
+        Guild guild = new Guild(UUID.randomUUID(), "Builders", "BLD", leader);
+        guild.getOfficerIds().add(UUID.randomUUID());
+        guild.getMemberIds().add(UUID.randomUUID());
+        guild.getInvitePending().add(UUID.randomUUID());
+        guild.setDescription("We build things");
+        guild.setColor("GOLD");
+        guild.setLevel(7);
+        guild.setExperience(123_456L);
+        guild.setCreatedAt(1_600_000_000_000L);
+        guild.setWins(42);
+        guild.setKills(9);
+        guild.setPublic(false);
+        return guild;
+    }
+
+    private static void assertGuildEquals(Guild expected, Guild actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getTag(), actual.getTag());
+        assertEquals(expected.getLeaderId(), actual.getLeaderId());
+        assertEquals(expected.getOfficerIds(), actual.getOfficerIds());
+        assertEquals(expected.getMemberIds(), actual.getMemberIds());
+        assertEquals(expected.getInvitePending(), actual.getInvitePending());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getColor(), actual.getColor());
+        assertEquals(expected.getLevel(), actual.getLevel());
+        assertEquals(expected.getExperience(), actual.getExperience());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getWins(), actual.getWins());
+        assertEquals(expected.getKills(), actual.getKills());
+        assertEquals(expected.isPublic(), actual.isPublic());
+    }
+
+    /**
+     * A skills codec at an arbitrary version, to check the constructor guard
+     */
+    private static class SkillsCodecAt extends BlobCodec<PlayerSkills> {
+
+        SkillsCodecAt(int version) {
+            super(version);
+        }
+
+        @Override
+        protected void write(BlobWriter writer, PlayerSkills value) {
+        }
+
+        @Override
+        protected PlayerSkills read(BlobReader reader, int version) {
+            return null;
+        }
+    }
+}
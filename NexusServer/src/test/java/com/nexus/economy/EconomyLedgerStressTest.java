@@ -0,0 +1,141 @@
+package com.nexus.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency stress test for the ledger: transfers on many threads while snapshots are taken.
+ * The barrier of each snapshot starts a new segment the way the journal rotates, so besides
+ * total supply holding and every snapshot summing correctly, each snapshot plus the changes
+ * recorded after it must replay to the final balances. Each writer uses a fixed seed; raise
+ * -Dnexus.stress.transfers for a longer run.
+ */
+class EconomyLedgerStressTest {
+
+    private static final String CURRENCY = "coins";
+    private static final int PLAYERS = 200;
+    private static final long STARTING = 1_000L;
+    private static final long SUPPLY = PLAYERS * STARTING;
+    private static final int WRITERS = 8;
+    private static final int TRANSFERS = Integer.getInteger("nexus.stress.transfers", 50_000);
+
+    private final List<Map<UUID, LongAdder>> segments = new CopyOnWriteArrayList<>();
+    private volatile Map<UUID, LongAdder> current;
+
+    @Test
+    void transfersKeepSupplyAcrossSnapshots() throws Exception {
+        EconomyLedger ledger = new EconomyLedger(16, 10);
+        ledger.registerCurrency(CURRENCY, 0L);
+        UUID[] players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new UUID(0L, i + 1);
+            ledger.apply(players[i], CURRENCY, STARTING);
+        }
+
+        rotate();
+        ledger.setListener((player, currency, delta, reason) ->
+                current.computeIfAbsent(player, k -> new LongAdder()).add(delta));
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            long seed = 0x5EED_0000L + w;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < TRANSFERS; i++) {
+                    UUID from = players[random.nextInt(PLAYERS)];
+                    UUID to = players[random.nextInt(PLAYERS)];
+                    ledger.transfer(from, to, CURRENCY, 1 + random.nextInt(500), "stress");
+                }
+                return null;
+            }));
+        }
+
+        List<Long> closedSegments = new ArrayList<>();
+        List<Map<UUID, Long>> snapshots = new ArrayList<>();
+        Future<?> snapshotter = executor.submit(() -> {
+            start.await();
+            while (writing.get()) {
+                long[] closed = new long[1];
+                Map<UUID, Long> balances = ledger.snapshot(() -> closed[0] = rotate()).get(CURRENCY);
+                closedSegments.add(closed[0]);
+                snapshots.add(balances);
+                Thread.sleep(1);
+            }
+            return null;
+        });
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            // A deadlock between stripes and the snapshot gate shows up as a timeout here
+            writer.get(2, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        snapshotter.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        Map<UUID, Long> finalBalances = ledger.snapshot().get(CURRENCY);
+        assertEquals(SUPPLY, sum(finalBalances));
+        assertEquals(SUPPLY, ledger.getTotal(CURRENCY));
+        assertFalse(snapshots.isEmpty(), "no snapshot was taken while transfers ran");
+
+        for (int i = 0; i < snapshots.size(); i++) {
+            Map<UUID, Long> snapshot = snapshots.get(i);
+            assertEquals(SUPPLY, sum(snapshot), "snapshot " + i + " does not sum to the supply");
+            for (long balance : snapshot.values()) {
+                assertTrue(balance >= 0, "snapshot " + i + " holds a negative balance");
+            }
+            assertEquals(finalBalances, replay(snapshot, closedSegments.get(i)),
+                    "snapshot " + i + " plus later changes does not replay to the final balances");
+        }
+    }
+
+    /**
+     * Start a new segment like {@link EconomyJournal#rotate()}
+     * @return the segment that was closed
+     */
+    private long rotate() {
+        Map<UUID, LongAdder> next = new ConcurrentHashMap<>();
+        segments.add(next);
+        current = next;
+        return segments.size() - 2;
+    }
+
+    private Map<UUID, Long> replay(Map<UUID, Long> snapshot, long closedSegment) {
+        Map<UUID, Long> balances = new HashMap<>(snapshot);
+        for (int segment = (int) closedSegment + 1; segment < segments.size(); segment++) {
+            segments.get(segment).forEach((player, delta) -> balances.merge(player, delta.sum(), Long::sum));
+        }
+        return balances;
+    }
+
+    private static long sum(Map<UUID, Long> balances) {
+        long total = 0;
+        for (long balance : balances.values()) {
+            total += balance;
+        }
+        return total;
+    }
+}
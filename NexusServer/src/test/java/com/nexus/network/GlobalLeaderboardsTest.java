@@ -0,0 +1,230 @@
+package com.nexus.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several servers merging their boards over one loopback network: merged values,
+ * recovery from a lost message, restarts and silent peers. The clock only moves
+ * when a test moves it.
+ */
+class GlobalLeaderboardsTest {
+
+    private static final String KILLS = "stats.kills";
+    private static final String DEATHS = "stats.deaths";
+    private static final long INTERVAL_SECONDS = 10;
+    private static final long TIMEOUT_MILLIS = INTERVAL_SECONDS * 3000;
+
+    private static final UUID ALICE = new UUID(0L, 1L);
+    private static final UUID BOB = new UUID(0L, 2L);
+    private static final UUID CAROL = new UUID(0L, 3L);
+
+    private final LoopbackMessageBus.Network network = new LoopbackMessageBus.Network();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void samePlayerOnTwoServersKeepsTheHighestValue() {
+        Server a = server("a");
+        Server b = server("b");
+        Server c = server("c");
+        a.kills.put(ALICE, 10L);
+        b.kills.put(ALICE, 30L);
+        b.kills.put(BOB, 5L);
+        c.kills.put(CAROL, 20L);
+
+        publishAll(a, b, c);
+
+        for (Server server : List.of(a, b, c)) {
+            List<GlobalLeaderboards.Entry> top = server.global.getTop(KILLS, 10);
+            assertEquals(List.of(ALICE, CAROL, BOB), ids(top), "order on " + server.id);
+            assertEquals(30L, top.get(0).getValue());
+            assertEquals("b", top.get(0).getServer());
+            assertEquals(Set.of("a", "b", "c"), server.global.getServers());
+        }
+
+        // A lower value elsewhere never wins, a higher one does
+        a.kills.put(ALICE, 25L);
+        a.global.publish();
+        assertEquals(30L, b.global.getTop(KILLS, 1).get(0).getValue());
+        a.kills.put(ALICE, 45L);
+        a.global.publish();
+        assertEquals(45L, b.global.getTop(KILLS, 1).get(0).getValue());
+        assertEquals("a", c.global.getTop(KILLS, 1).get(0).getServer());
+    }
+
+    @Test
+    void lostMessageIsRecoveredByResync() {
+        Server a = server("a");
+        Server b = server("b");
+        a.kills.put(ALICE, 10L);
+        publishAll(a, b);
+        assertEquals(10L, b.global.getTop(KILLS, 1).get(0).getValue());
+
+        // Only a diff goes out for this, and it never arrives
+        a.kills.put(ALICE, 50L);
+        a.bus.dropping = true;
+        a.global.publish();
+        a.bus.dropping = false;
+
+        // The next diff shows a sequence gap, so B must not apply it on top of what it holds
+        a.kills.put(BOB, 20L);
+        a.global.publish();
+        assertEquals(List.of(ALICE), ids(b.global.getTop(KILLS, 10)));
+        assertEquals(10L, b.global.getTop(KILLS, 1).get(0).getValue());
+
+        // B asked for a full copy, which A sends in its next round
+        a.global.publish();
+        List<GlobalLeaderboards.Entry> top = b.global.getTop(KILLS, 10);
+        assertEquals(List.of(ALICE, BOB), ids(top));
+        assertEquals(50L, top.get(0).getValue());
+
+        // Back in sync, plain diffs apply again
+        a.kills.put(BOB, 70L);
+        a.global.publish();
+        assertEquals(List.of(BOB, ALICE), ids(b.global.getTop(KILLS, 10)));
+    }
+
+    @Test
+    void restartedPeerReplacesEverythingItReportedBefore() {
+        Server a = server("a");
+        Server b = server("b");
+        b.kills.put(ALICE, 40L);
+        b.deaths.put(BOB, 7L);
+        publishAll(a, b);
+        assertEquals(List.of(ALICE), ids(a.global.getTop(KILLS, 10)));
+        assertEquals(List.of(BOB), ids(a.global.getTop(DEATHS, 10)));
+
+        b.global.shutdown();
+        now.addAndGet(1_000L);
+        // Same server id, new epoch, sequence back at 0, and no deaths board any more
+        Server restarted = new Server("b", false);
+        restarted.kills.put(CAROL, 15L);
+        restarted.global.publish();
+
+        assertEquals(List.of(CAROL), ids(a.global.getTop(KILLS, 10)));
+        assertTrue(a.global.getTop(DEATHS, 10).isEmpty());
+        assertEquals(Set.of("a", "b"), a.global.getServers());
+    }
+
+    @Test
+    void silentPeerExpires() {
+        Server a = server("a");
+        Server b = server("b");
+        b.kills.put(ALICE, 40L);
+        publishAll(a, b);
+
+        // Unchanged rounds still go out as heartbeats and keep the peer alive
+        now.addAndGet(TIMEOUT_MILLIS - 1_000L);
+        b.global.publish();
+        now.addAndGet(TIMEOUT_MILLIS - 1_000L);
+        a.global.publish();
+        assertEquals(List.of(ALICE), ids(a.global.getTop(KILLS, 10)));
+
+        now.addAndGet(2_000L);
+        a.global.publish();
+        assertTrue(a.global.getTop(KILLS, 10).isEmpty());
+        assertEquals(Set.of("a"), a.global.getServers());
+
+        // Heard from again, its diff cannot be applied; the resync it triggers brings a full copy
+        b.kills.put(ALICE, 41L);
+        b.global.publish();
+        assertTrue(a.global.getTop(KILLS, 10).isEmpty());
+        b.global.publish();
+        assertEquals(List.of(ALICE), ids(a.global.getTop(KILLS, 10)));
+        assertEquals(41L, a.global.getTop(KILLS, 1).get(0).getValue());
+    }
+
+    private Server server(String id) {
+        return new Server(id, true);
+    }
+
+    private static void publishAll(Server... servers) {
+        for (Server server : servers) {
+            server.global.publish();
+        }
+    }
+
+    private static List<UUID> ids(List<GlobalLeaderboards.Entry> entries) {
+        List<UUID> ids = new ArrayList<>();
+        for (GlobalLeaderboards.Entry entry : entries) {
+            ids.add(entry.getId());
+        }
+        return ids;
+    }
+
+    private static GlobalLeaderboards.Source source(Map<UUID, Long> values) {
+        return limit -> {
+            List<GlobalLeaderboards.Entry> entries = new ArrayList<>();
+            values.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(e -> entries.add(new GlobalLeaderboards.Entry(e.getKey(), e.getKey().toString(), e.getValue())));
+            return entries;
+        };
+    }
+
+    /**
+     * One backend server with a kills board and optionally a deaths board
+     */
+    private class Server {
+        private final String id;
+        private final DroppingBus bus;
+        private final GlobalLeaderboards global;
+        private final Map<UUID, Long> kills = new LinkedHashMap<>();
+        private final Map<UUID, Long> deaths = new LinkedHashMap<>();
+
+        Server(String id, boolean withDeaths) {
+            this.id = id;
+            this.bus = new DroppingBus(new LoopbackMessageBus(network));
+            this.global = new GlobalLeaderboards(null, Logger.getLogger("test"), bus, id, now::get,
+                10, 30, INTERVAL_SECONDS);
+            global.registerSource(KILLS, source(kills));
+            if (withDeaths) {
+                global.registerSource(DEATHS, source(deaths));
+            }
+        }
+    }
+
+    /**
+     * Loopback bus that can lose outgoing messages while still reporting them sent
+     */
+    private static class DroppingBus implements MessageBus {
+        private final MessageBus delegate;
+        private boolean dropping;
+
+        DroppingBus(MessageBus delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean publish(String channel, byte[] message) {
+            return dropping || delegate.publish(channel, message);
+        }
+
+        @Override
+        public void subscribe(String channel, Handler handler) {
+            delegate.subscribe(channel, handler);
+        }
+
+        @Override
+        public int getMaxMessageSize() {
+            return delegate.getMaxMessageSize();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nexus.skyblock.minions;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Closed-form minion output: action counts, bonus rolls and the time and storage caps
+ */
+class MinionProductionTest {
+
+    // Tier 1: 10 actions a minute, 2 coal per action
+    private static final long INTERVAL = 6_000L;
+
+    @Test
+    void countsWholeActionsAndCarriesTheRemainder() {
+        MinionData minion = coalMinion(0);
+        assertEquals(INTERVAL, MinionProduction.getActionInterval(minion));
+
+        MinionProduction.Yield yield = MinionProduction.compute(minion, 65_000L, Long.MAX_VALUE, 1_000L, new Random(1));
+
+        assertEquals(10, yield.getActions());
+        assertEquals(0, yield.getBonusActions());
+        assertEquals(20, yield.getItems());
+        assertEquals(20.0, yield.getExpectedItems());
+        assertEquals(60_000L, yield.getUsedMillis());
+        assertFalse(yield.isCapped());
+    }
+
+    @Test
+    void offlineTimeIsCapped() {
+        MinionProduction.Yield yield = MinionProduction.compute(coalMinion(0), 600_000L, 60_000L, 1_000L, new Random(1));
+
+        assertEquals(10, yield.getActions());
+        assertFalse(yield.isStorageFull());
+        assertTrue(yield.isCapped());
+    }
+
+    @Test
+    void fullStorageCapsSampledAndExpectedYield() {
+        MinionProduction.Yield yield = MinionProduction.compute(coalMinion(50), 600_000L, Long.MAX_VALUE, 7L, new Random(1));
+
+        assertEquals(7, yield.getItems());
+        assertEquals(7.0, yield.getExpectedItems());
+        assertTrue(yield.isStorageFull());
+        assertTrue(yield.isCapped());
+    }
+
+    @Test
+    void certainLuckDoublesEveryAction() {
+        MinionProduction.Yield yield = MinionProduction.compute(coalMinion(100), 60_000L, Long.MAX_VALUE, 1_000L, new Random(1));
+
+        assertEquals(10, yield.getBonusActions());
+        assertEquals(40, yield.getItems());
+        assertEquals(40.0, yield.getExpectedItems());
+    }
+
+    @Test
+    void binomialEdgeCases() {
+        Random random = new Random(7);
+
+        assertEquals(0, MinionProduction.sampleBinomial(0, 0.5, random));
+        assertEquals(0, MinionProduction.sampleBinomial(-3, 0.5, random));
+        assertEquals(0, MinionProduction.sampleBinomial(1_000, 0.0, random));
+        assertEquals(1_000, MinionProduction.sampleBinomial(1_000, 1.0, random));
+    }
+
+    @Test
+    void binomialStaysInRangeAndNearTheMean() {
+        Random random = new Random(42);
+        for (long n : new long[]{1, 10, 64, 65, 1_000, 1_000_000}) {
+            double p = 0.3;
+            long total = 0;
+            int samples = 200;
+            for (int i = 0; i < samples; i++) {
+                long hits = MinionProduction.sampleBinomial(n, p, random);
+                assertTrue(hits >= 0 && hits <= n, n + " trials gave " + hits);
+                total += hits;
+            }
+            double mean = (double) total / samples;
+            // Five standard errors of the sample mean
+            double tolerance = 5 * Math.sqrt(n * p * (1 - p) / samples);
+            assertEquals(n * p, mean, tolerance, "mean of " + n + " trials");
+        }
+    }
+
+    private static MinionData coalMinion(int luckBonus) {
+        MinionData minion = new MinionData(UUID.randomUUID(), UUID.randomUUID(), MinionManager.MinionType.COAL,
+            new Location(null, 0, 64, 0), 1);
+        minion.setLuckBonus(luckBonus);
+        return minion;
+    }
+}
@@ -0,0 +1,51 @@
+package com.nexus.skyblock.minions;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Slot-based capacity of the per-material minion storage
+ */
+class MinionStorageTest {
+
+    @Test
+    void emptyStorageHoldsFullStacks() {
+        MinionStorage storage = new MinionStorage();
+
+        assertEquals(3 * 64, storage.getFreeSpace(Material.COBBLESTONE, 3));
+        assertEquals(3 * 16, storage.getFreeSpace(Material.ENDER_PEARL, 3));
+    }
+
+    @Test
+    void partialStackLeavesRoomForItsOwnMaterialOnly() {
+        MinionStorage storage = new MinionStorage();
+        storage.add(Material.COBBLESTONE, 70, 3);
+
+        assertEquals(2, storage.getUsedSlots());
+        // One free slot plus the rest of the partial stack
+        assertEquals(64 + 58, storage.getFreeSpace(Material.COBBLESTONE, 3));
+        assertEquals(16, storage.getFreeSpace(Material.ENDER_PEARL, 3));
+    }
+
+    @Test
+    void addReturnsWhatDoesNotFit() {
+        MinionStorage storage = new MinionStorage();
+
+        assertEquals(8, storage.add(Material.ENDER_PEARL, 40, 2));
+        assertEquals(32, storage.getAmount(Material.ENDER_PEARL));
+        assertEquals(0, storage.getFreeSpace(Material.ENDER_PEARL, 2));
+        assertEquals(0, storage.getFreeSpace(Material.COBBLESTONE, 2));
+    }
+
+    @Test
+    void overfullStorageHasNoSpace() {
+        MinionStorage storage = new MinionStorage();
+        // set() ignores capacity, e.g. a tier downgrade
+        storage.set(Material.COBBLESTONE, 5 * 64);
+
+        assertEquals(0, storage.getFreeSpace(Material.COBBLESTONE, 3));
+        assertEquals(0, storage.getFreeSpace(Material.ENDER_PEARL, 3));
+    }
+}
@@ -0,0 +1,137 @@
+package com.nexus.skyblock.minions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timing wheel behind the minion scheduler: every timer must fire on the tick of its
+ * deadline, whichever level it was filed in and however the slots wrap
+ */
+class TimingWheelTest {
+
+    private static final long EPOCH = 1_000_000L;
+
+    @Test
+    void firesOnTheDeadlineTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        TimingWheel.Timer<String> timer = wheel.schedule("a", at(10));
+
+        assertEquals(10, runUntilDue(wheel, timer, 100));
+    }
+
+    @Test
+    void roundsDeadlinesUpToTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        TimingWheel.Timer<String> timer = wheel.schedule("a", at(10) + 1);
+
+        assertEquals(11, runUntilDue(wheel, timer, 100));
+    }
+
+    @Test
+    void passedDeadlineFiresOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        advanceTo(wheel, 50);
+        TimingWheel.Timer<String> timer = wheel.schedule("late", at(3));
+
+        assertEquals(51, runUntilDue(wheel, timer, 100));
+    }
+
+    @Test
+    void levelZeroSlotWrapsBehindTheCurrentSlot() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        advanceTo(wheel, 200);
+        // Slot 455 & 255 = 199, just behind the current slot 200
+        TimingWheel.Timer<String> timer = wheel.schedule("a", at(455));
+
+        assertEquals(455, runUntilDue(wheel, timer, 1000));
+    }
+
+    @Test
+    void levelOneSlotWrapsOntoTheCurrentSlot() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        advanceTo(wheel, 200);
+        // (16500 >> 8) & 63 == (200 >> 8) & 63, a slot that already cascaded this round
+        TimingWheel.Timer<String> timer = wheel.schedule("a", at(16_500));
+
+        assertEquals(16_500, runUntilDue(wheel, timer, 20_000));
+    }
+
+    @Test
+    void deadlinesBeyondTheSpanAreRefiled() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        long tick = TimingWheel.SPAN + 5_000;
+        TimingWheel.Timer<String> timer = wheel.schedule("far", at(tick));
+
+        assertEquals(tick, runUntilDue(wheel, timer, tick + 10));
+    }
+
+    @Test
+    void catchUpIsBounded() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        TimingWheel.Timer<String> early = wheel.schedule("early", at(150));
+        TimingWheel.Timer<String> later = wheel.schedule("later", at(300));
+
+        List<TimingWheel.Timer<String>> due = wheel.advance(at(10_000));
+        assertEquals(200, wheel.getCurrentTick());
+        assertEquals(List.of(early), due);
+
+        due = wheel.advance(at(10_000));
+        assertEquals(400, wheel.getCurrentTick());
+        assertEquals(List.of(later), due);
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(EPOCH, 200);
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", at(20));
+        TimingWheel.Timer<String> kept = wheel.schedule("kept", at(20));
+        cancelled.cancel();
+
+        List<TimingWheel.Timer<String>> due = wheel.advance(at(20));
+        assertEquals(1, due.size());
+        assertSame(kept, due.get(0));
+    }
+
+    @Test
+    void carriedDeadlineKeepsTheRate() {
+        // Fired a tick late: the next action still counts from the deadline
+        assertEquals(6_000L, TimingWheel.carry(6_000L, 6_050L, 6_000L));
+    }
+
+    @Test
+    void carriedDeadlineDropsActionsMissedInAStall() {
+        // A whole interval or more late: restart from now instead of banking actions
+        assertEquals(20_000L, TimingWheel.carry(6_000L, 20_000L, 6_000L));
+        assertEquals(12_000L, TimingWheel.carry(6_000L, 12_000L, 6_000L));
+    }
+
+    private static long at(long tick) {
+        return EPOCH + tick * TimingWheel.TICK_MILLIS;
+    }
+
+    private static void advanceTo(TimingWheel<String> wheel, long tick) {
+        while (wheel.getCurrentTick() < tick) {
+            wheel.advance(at(tick));
+        }
+    }
+
+    /**
+     * Step one tick at a time
+     * @return the tick the timer fired on
+     */
+    private static long runUntilDue(TimingWheel<String> wheel, TimingWheel.Timer<String> timer, long limit) {
+        while (wheel.getCurrentTick() < limit) {
+            List<TimingWheel.Timer<String>> due = wheel.advance(at(wheel.getCurrentTick() + 1));
+            if (due.contains(timer)) {
+                return wheel.getCurrentTick();
+            }
+            assertTrue(due.isEmpty(), "unexpected timer fired at tick " + wheel.getCurrentTick());
+        }
+        return -1;
+    }
+}